@@ -58,6 +58,19 @@ public final class ConfigurationProperties {
      * @since 1.1.0
      */
     public static final String SIZE_TO_COUNT_TRANSFORMATION = "com.blazebit.persistence.size_to_count_transformation";
+
+    /**
+     * If set to true, aggregate subqueries in the SELECT clause that share the same root entity and correlation predicate
+     * are transformed to a single left entity join and the aggregates are grouped by the query root.
+     * By default the subquery to join transformation is disabled.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     * Default is <code>false</code>
+     *
+     * The property can be changed for a criteria builder before generating the query.
+     *
+     * @since 1.6.12
+     */
+    public static final String SUBQUERY_TO_JOIN_TRANSFORMATION = "com.blazebit.persistence.subquery_to_join_transformation";
     
     /**
      * If set to false, no implicit group by clauses will be generated from the SELECT part of the query.
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.spi;
+
+import javax.persistence.EntityManager;
+
+/**
+ * A listener that is notified about modifications of entity types done through DML criteria builders.
+ * Listeners are registered through the {@link EntityModificationListenerRegistry}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface EntityModificationListener {
+
+    /**
+     * Invoked after an update, delete or insert statement for the given entity type was executed.
+     * This includes statements executed through the query objects of DML criteria builders and modification CTEs.
+     * Note that the entity class might be a super type of the actually affected entities.
+     *
+     * @param entityManager The entity manager through which the statement was executed
+     * @param entityClass The modified entity type
+     */
+    public void onEntityModification(EntityManager entityManager, Class<?> entityClass);
+}
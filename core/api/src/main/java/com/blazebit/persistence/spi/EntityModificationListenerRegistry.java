@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.spi;
+
+/**
+ * A registry for {@link EntityModificationListener} instances that can be obtained
+ * through {@link com.blazebit.persistence.CriteriaBuilderFactory#getService(Class)}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface EntityModificationListenerRegistry {
+
+    /**
+     * Registers the given listener.
+     *
+     * @param listener The listener to register
+     */
+    public void addEntityModificationListener(EntityModificationListener listener);
+
+    /**
+     * Unregisters the given listener.
+     *
+     * @param listener The listener to unregister
+     */
+    public void removeEntityModificationListener(EntityModificationListener listener);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.spi;
+
+import java.util.Set;
+
+/**
+ * Collects the entity types that are accessed by a query builder.
+ * An instance can be retrieved via {@link ServiceProvider#getService(Class)} of a query builder
+ * and is useful for invalidating caches that contain query results.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface QueryEntityTypeCollector {
+
+    /**
+     * Adds the entity classes of all join nodes, including the ones of subqueries, to the given set.
+     * Returns <code>false</code> if the query accesses data that can't be attributed to entity types,
+     * like e.g. CTEs, entity functions or set operations in subqueries. In that case the set is incomplete.
+     *
+     * @param entityClasses The set to which to add the entity classes
+     * @return Whether the collected entity classes are complete
+     */
+    public boolean collectEntityClasses(Set<Class<?>> entityClasses);
+}
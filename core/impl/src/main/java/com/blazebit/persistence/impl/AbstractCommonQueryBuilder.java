@@ -108,6 +108,7 @@ import com.blazebit.persistence.spi.ExtendedAttribute;
 import com.blazebit.persistence.spi.ExtendedManagedType;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
 import com.blazebit.persistence.spi.JpqlMacro;
+import com.blazebit.persistence.spi.QueryEntityTypeCollector;
 import com.blazebit.persistence.spi.LateralStyle;
 import com.blazebit.persistence.spi.ServiceProvider;
 import com.blazebit.persistence.spi.SetOperationType;
@@ -210,6 +211,8 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
 
     private boolean checkSetBuilderEnded = true;
     private boolean implicitJoinsApplied = false;
+    // The subquery to join transformation applied to the prepared state, which is reverted before modifications and copies
+    private SubqueryToJoinTransformer subqueryToJoinTransformer;
 
     /**
      * Create flat copy of builder
@@ -218,6 +221,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
      */
     @SuppressWarnings("unchecked")
     protected AbstractCommonQueryBuilder(AbstractCommonQueryBuilder<QueryResultType, ?, ?, ?, ?> builder) {
+        builder.revertSubqueryToJoinTransformation();
         this.mainQuery = builder.mainQuery;
         this.queryContext = builder.queryContext;
         this.isMainQuery = builder.isMainQuery;
@@ -381,6 +385,8 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
     abstract AbstractCommonQueryBuilder<QueryResultType, BuilderType, SetReturn, SubquerySetReturn, FinalSetReturn> copy(QueryContext queryContext, Map<JoinManager, JoinManager> joinManagerMapping, ExpressionCopyContext copyContext);
 
     ExpressionCopyContext applyFrom(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> builder, boolean copyMainQuery, boolean copySelect, boolean fixedSelect, boolean copyOrderBy, Set<ClauseType> clauseExclusions, Set<JoinNode> alwaysIncludedNodes, Map<JoinManager, JoinManager> joinManagerMapping, ExpressionCopyContext copyContext) {
+        // Copies must start from the query as the user defined it
+        builder.revertSubqueryToJoinTransformation();
         if (copyMainQuery) {
             copyContext = new ExpressionCopyContextMap(parameterManager.copyFrom(builder.parameterManager));
             mainQuery.cteManager.applyFrom(builder.mainQuery.cteManager, joinManagerMapping, copyContext);
@@ -441,6 +447,8 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
             // TODO: We should think of a better way to expose a where builder to clients as an on builder
             // TODO: Setting the expression via this does not clear the cache
             return (T) whereManager.startOnBuilder(this);
+        } else if (QueryEntityTypeCollector.class.equals(serviceClass)) {
+            return (T) new QueryEntityTypeCollectorImpl(this);
         }
         
         return cbf.getService(serviceClass);
@@ -2815,6 +2823,39 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         }
     }
 
+    protected void applySubqueryToJoinTransformation(JoinVisitor joinVisitor) {
+        QueryConfiguration queryConfiguration = mainQuery.getQueryConfiguration();
+        if (joinVisitor == null || !isMainQuery || statementType != DbmsStatementType.SELECT || finalSetOperationBuilder != null
+                || !queryConfiguration.isSubqueryToJoinTransformationEnabled() || !queryConfiguration.isImplicitGroupByFromSelectEnabled()) {
+            return;
+        }
+        // Grouping by the select items is only equivalent if the query wasn't grouped or aggregated before
+        if (groupByManager.hasGroupBys() || !havingManager.isEmpty() || !joinManager.getCollectionJoins().isEmpty()
+                || Boolean.TRUE.equals(selectManager.acceptVisitor(AggregateDetectionVisitor.INSTANCE, true))
+                || Boolean.TRUE.equals(orderByManager.acceptVisitor(AggregateDetectionVisitor.INSTANCE, true))) {
+            return;
+        }
+        SubqueryToJoinTransformer transformer = new SubqueryToJoinTransformer(mainQuery, joinManager, selectManager, whereManager, orderByManager, aliasManager);
+        Map<String, List<SelectInfo>> groups = transformer.collectGroups();
+        if (transformer.isApplicable(groups)) {
+            transformer.transform(groups, joinVisitor);
+            subqueryToJoinTransformer = transformer;
+        }
+    }
+
+    protected void revertSubqueryToJoinTransformation() {
+        if (subqueryToJoinTransformer != null) {
+            subqueryToJoinTransformer.revert();
+            subqueryToJoinTransformer = null;
+            // The prepared state contained the rewritten select items, so the query must be prepared again
+            needsCheck = true;
+            cachedQueryString = null;
+            cachedExternalQueryString = null;
+            cachedGroupByIdentifierExpressions = null;
+            implicitJoinsApplied = false;
+        }
+    }
+
     protected void buildImplicitGroupByClauses(JoinVisitor joinVisitor) {
         if (hasGroupBy) {
             if (mainQuery.getQueryConfiguration().isImplicitGroupByFromSelectEnabled()) {
@@ -3614,6 +3655,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         if (setOperationEnded) {
             throw new IllegalStateException("Modifications to a query after connecting with a set operation is not allowed!");
         }
+        revertSubqueryToJoinTransformation();
         needsCheck = true;
         cachedQueryString = null;
         cachedExternalQueryString = null;
@@ -3681,6 +3723,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         // join("a.b", "b").where("b.c")
         // in the first case
         JoinVisitor joinVisitor = applyImplicitJoins(parentVisitor);
+        applySubqueryToJoinTransformation(joinVisitor);
         applyExpressionTransformersAndBuildGroupByClauses(joinVisitor);
         analyzeConstantifiedJoinNodes();
         hasCollections = joinManager.hasCollections();
@@ -298,6 +298,10 @@ public abstract class AbstractDeleteCollectionCriteriaBuilder<T, X extends BaseD
         for (Map.Entry<String, String> entry : joinTable.getTargetColumnMappings().entrySet()) {
             columnExpressionRemappings.put(CollectionDmlSupportFunction.FUNCTION_NAME + "(" + targetAlias + "." + entry.getValue() + ")", tablePrefix + "." + entry.getKey());
             columnExpressionRemappings.put(CollectionDmlSupportFunction.FUNCTION_NAME + "(" + targetAlias + "." + entry.getKey() + ")", tablePrefix + "." + entry.getKey());
+            if (joinTable.getTargetAttributeNames() == null) {
+                // Basic element values live in the collection table, so references to the element columns must be remapped as well
+                columnExpressionRemappings.put(collectionAlias + "." + entry.getKey(), tablePrefix + "." + entry.getKey());
+            }
         }
         // If the id attribute is an embedded type, there is the possibility that row value expressions are used which we need to handle as well
         Set<SingularAttribute<?, ?>> idAttributes = JpaMetamodelUtils.getIdAttributes(entityType);
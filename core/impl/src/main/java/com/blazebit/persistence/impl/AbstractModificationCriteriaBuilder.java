@@ -27,10 +27,12 @@ import com.blazebit.persistence.SelectRecursiveCTECriteriaBuilder;
 import com.blazebit.persistence.SimpleReturningBuilder;
 import com.blazebit.persistence.impl.builder.object.ReturningTupleObjectBuilder;
 import com.blazebit.persistence.impl.dialect.DB2DbmsDialect;
+import com.blazebit.persistence.impl.query.AbstractCustomQuery;
 import com.blazebit.persistence.impl.query.CTENode;
 import com.blazebit.persistence.impl.query.CustomReturningSQLTypedQuery;
 import com.blazebit.persistence.impl.query.CustomSQLQuery;
 import com.blazebit.persistence.impl.query.EntityFunctionNode;
+import com.blazebit.persistence.impl.query.EntityModificationQueryWrapper;
 import com.blazebit.persistence.impl.query.ModificationQuerySpecification;
 import com.blazebit.persistence.impl.query.QuerySpecification;
 import com.blazebit.persistence.impl.query.QueryWrapper;
@@ -184,9 +186,18 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
         }
     }
 
+    public EntityType<T> getEntityType() {
+        return entityType;
+    }
+
     @Override
     public Query getQuery() {
-        return getQuery(null);
+        Query query = getQuery(null);
+        if (query instanceof AbstractCustomQuery<?>) {
+            // Custom queries notify the entity modification listeners through their query specification
+            return query;
+        }
+        return new EntityModificationQueryWrapper(query, mainQuery.cbf.getEntityModificationListenerRegistry(), em, entityType.getJavaType());
     }
 
     @Override
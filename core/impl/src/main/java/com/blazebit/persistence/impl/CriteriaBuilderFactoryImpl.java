@@ -32,6 +32,7 @@ import com.blazebit.persistence.parser.expression.SimpleCachingExpressionFactory
 import com.blazebit.persistence.parser.expression.SubqueryExpressionFactory;
 import com.blazebit.persistence.spi.ConfigurationSource;
 import com.blazebit.persistence.spi.DbmsDialect;
+import com.blazebit.persistence.spi.EntityModificationListenerRegistry;
 import com.blazebit.persistence.spi.EntityManagerFactoryIntegrator;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
 import com.blazebit.persistence.spi.JpaProvider;
@@ -75,6 +76,7 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
     private final Map<String, String> registeredFunctionNames;
     private final JpaProviderFactory configuredJpaProviderFactory;
     private final JpaProvider jpaProvider;
+    private final EntityModificationListenerRegistryImpl entityModificationListenerRegistry = new EntityModificationListenerRegistryImpl();
 
     public CriteriaBuilderFactoryImpl(CriteriaBuilderConfigurationImpl config, EntityManagerFactory entityManagerFactory) {
         List<EntityManagerFactoryIntegrator> integrators = config.getEntityManagerIntegrators();
@@ -188,6 +190,10 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         return Collections.unmodifiableMap(types);
     }
 
+    public EntityModificationListenerRegistryImpl getEntityModificationListenerRegistry() {
+        return entityModificationListenerRegistry;
+    }
+
     public JpaProvider getJpaProvider() {
         return jpaProvider;
     }
@@ -370,6 +376,8 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
             return (T) metamodel;
         } else if (EntityManagerFactory.class.equals(serviceClass)) {
             return (T) entityManagerFactory;
+        } else if (EntityModificationListenerRegistry.class.equals(serviceClass)) {
+            return (T) entityModificationListenerRegistry;
         } else if (PackageOpener.class.equals(serviceClass)) {
             if (CallerChecker.isCallerTrusted()) {
                 return (T) packageOpener;
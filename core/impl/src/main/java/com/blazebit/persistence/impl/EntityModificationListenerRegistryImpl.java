@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.spi.EntityModificationListener;
+import com.blazebit.persistence.spi.EntityModificationListenerRegistry;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class EntityModificationListenerRegistryImpl implements EntityModificationListenerRegistry {
+
+    private final List<EntityModificationListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void addEntityModificationListener(EntityModificationListener listener) {
+        if (listener == null) {
+            throw new NullPointerException("listener");
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeEntityModificationListener(EntityModificationListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void onEntityModification(EntityManager entityManager, Class<?> entityClass) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (EntityModificationListener listener : listeners) {
+            listener.onEntityModification(entityManager, entityClass);
+        }
+    }
+}
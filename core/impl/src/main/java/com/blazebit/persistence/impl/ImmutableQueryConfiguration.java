@@ -35,6 +35,7 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
 
     private final boolean returningClauseCaseSensitive;
     private final boolean sizeToCountTransformationEnabled;
+    private final boolean subqueryToJoinTransformationEnabled;
     private final boolean implicitGroupByFromSelectEnabled;
     private final boolean implicitGroupByFromHavingEnabled;
     private final boolean implicitGroupByFromOrderByEnabled;
@@ -53,6 +54,7 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
 
         this.returningClauseCaseSensitive =                 getBooleanProperty(properties, ConfigurationProperties.RETURNING_CLAUSE_CASE_SENSITIVE,     "false");
         this.sizeToCountTransformationEnabled =             getBooleanProperty(properties, ConfigurationProperties.SIZE_TO_COUNT_TRANSFORMATION,        "true");
+        this.subqueryToJoinTransformationEnabled =          getBooleanProperty(properties, ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION,     "false");
         this.implicitGroupByFromSelectEnabled =             getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_SELECT,       "true");
         this.implicitGroupByFromHavingEnabled =             getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING,       "true");
         this.implicitGroupByFromOrderByEnabled =            getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY,     "true");
@@ -93,6 +95,11 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return sizeToCountTransformationEnabled;
     }
 
+    @Override
+    public boolean isSubqueryToJoinTransformationEnabled() {
+        return subqueryToJoinTransformationEnabled;
+    }
+
     @Override
     public boolean isImplicitGroupByFromSelectEnabled() {
         return implicitGroupByFromSelectEnabled;
@@ -159,6 +166,7 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
             case ConfigurationProperties.COMPATIBLE_MODE: return Boolean.toString(compatibleModeEnabled);
             case ConfigurationProperties.RETURNING_CLAUSE_CASE_SENSITIVE: return Boolean.toString(returningClauseCaseSensitive);
             case ConfigurationProperties.SIZE_TO_COUNT_TRANSFORMATION: return Boolean.toString(sizeToCountTransformationEnabled);
+            case ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION: return Boolean.toString(subqueryToJoinTransformationEnabled);
             case ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_SELECT: return Boolean.toString(implicitGroupByFromSelectEnabled);
             case ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING: return Boolean.toString(implicitGroupByFromHavingEnabled);
             case ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY: return Boolean.toString(implicitGroupByFromOrderByEnabled);
@@ -181,6 +189,7 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         properties.put(ConfigurationProperties.COMPATIBLE_MODE, Boolean.toString(compatibleModeEnabled));
         properties.put(ConfigurationProperties.RETURNING_CLAUSE_CASE_SENSITIVE, Boolean.toString(returningClauseCaseSensitive));
         properties.put(ConfigurationProperties.SIZE_TO_COUNT_TRANSFORMATION, Boolean.toString(sizeToCountTransformationEnabled));
+        properties.put(ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION, Boolean.toString(subqueryToJoinTransformationEnabled));
         properties.put(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_SELECT, Boolean.toString(implicitGroupByFromSelectEnabled));
         properties.put(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING, Boolean.toString(implicitGroupByFromHavingEnabled));
         properties.put(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY, Boolean.toString(implicitGroupByFromOrderByEnabled));
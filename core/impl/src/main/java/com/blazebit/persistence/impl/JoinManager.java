@@ -2468,15 +2468,41 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
             baseNode = ((JoinAliasInfo) aliasInfo).getJoinNode();
         }
 
+        JoinNode entityJoinNode = addEntityJoin(baseNode, entityType, alias, type, lateral);
+
+        joinOnBuilderListener.joinNode = entityJoinNode;
+        return joinOnBuilderListener.startBuilder(new JoinOnBuilderImpl<X>(result, joinOnBuilderListener, parameterManager, expressionFactory, subqueryInitFactory));
+    }
+
+    JoinNode addEntityJoin(JoinNode baseNode, EntityType<?> entityType, String alias, JoinType type, boolean lateral) {
         JoinAliasInfo joinAliasInfo = new JoinAliasInfo(alias, null, false, true, aliasManager);
         JoinNode entityJoinNode = JoinNode.createEntityJoinNode(baseNode, type, entityType, joinAliasInfo, lateral);
         joinAliasInfo.setJoinNode(entityJoinNode);
         baseNode.addEntityJoin(entityJoinNode);
         explicitJoinNodes.add(entityJoinNode);
         aliasManager.registerAliasInfo(joinAliasInfo);
+        return entityJoinNode;
+    }
 
-        joinOnBuilderListener.joinNode = entityJoinNode;
-        return joinOnBuilderListener.startBuilder(new JoinOnBuilderImpl<X>(result, joinOnBuilderListener, parameterManager, expressionFactory, subqueryInitFactory));
+    void removeEntityJoin(JoinNode entityJoinNode) {
+        entityJoinNode.getParent().getEntityJoinNodes().remove(entityJoinNode);
+        explicitJoinNodes.remove(entityJoinNode);
+        unregisterAliases(entityJoinNode);
+    }
+
+    private void unregisterAliases(JoinNode node) {
+        for (JoinTreeNode treeNode : node.getNodes().values()) {
+            for (JoinNode joinNode : treeNode.getJoinNodes().values()) {
+                unregisterAliases(joinNode);
+            }
+        }
+        for (JoinNode joinNode : node.getTreatedJoinNodes().values()) {
+            unregisterAliases(joinNode);
+        }
+        for (JoinNode joinNode : node.getEntityJoinNodes()) {
+            unregisterAliases(joinNode);
+        }
+        aliasManager.unregisterAliasInfoForBottomLevel(node.getAliasInfo());
     }
 
     <X> FullSelectCTECriteriaBuilder<X> join(X result, String correlationPath, String alias, String subqueryAlias, JoinType type) {
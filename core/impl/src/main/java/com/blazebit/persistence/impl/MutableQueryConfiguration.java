@@ -33,6 +33,7 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
 
     private boolean returningClauseCaseSensitive;
     private boolean sizeToCountTransformationEnabled;
+    private boolean subqueryToJoinTransformationEnabled;
     private boolean implicitGroupByFromSelectEnabled;
     private boolean implicitGroupByFromHavingEnabled;
     private boolean implicitGroupByFromOrderByEnabled;
@@ -51,6 +52,7 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         this.expressionCacheClass = queryConfiguration.getExpressionCacheClass();
         this.returningClauseCaseSensitive = queryConfiguration.isReturningClauseCaseSensitive();
         this.sizeToCountTransformationEnabled = queryConfiguration.isCountTransformationEnabled();
+        this.subqueryToJoinTransformationEnabled = queryConfiguration.isSubqueryToJoinTransformationEnabled();
         this.implicitGroupByFromSelectEnabled = queryConfiguration.isImplicitGroupByFromSelectEnabled();
         this.implicitGroupByFromHavingEnabled = queryConfiguration.isImplicitGroupByFromHavingEnabled();
         this.implicitGroupByFromOrderByEnabled = queryConfiguration.isImplicitGroupByFromOrderByEnabled();
@@ -88,6 +90,11 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         return sizeToCountTransformationEnabled;
     }
 
+    @Override
+    public boolean isSubqueryToJoinTransformationEnabled() {
+        return subqueryToJoinTransformationEnabled;
+    }
+
     @Override
     public boolean isImplicitGroupByFromSelectEnabled() {
         return implicitGroupByFromSelectEnabled;
@@ -162,6 +169,7 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
             case ConfigurationProperties.COMPATIBLE_MODE:                       throw propertySetNotAllowed(propertyName);
             case ConfigurationProperties.RETURNING_CLAUSE_CASE_SENSITIVE:       returningClauseCaseSensitive = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.SIZE_TO_COUNT_TRANSFORMATION:          sizeToCountTransformationEnabled = booleanOrFail(propertyName, propertyValue); break;
+            case ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION:       subqueryToJoinTransformationEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_SELECT:         implicitGroupByFromSelectEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING:         implicitGroupByFromHavingEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY:       implicitGroupByFromOrderByEnabled = booleanOrFail(propertyName, propertyValue); break;
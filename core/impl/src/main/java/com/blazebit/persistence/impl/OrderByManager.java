@@ -401,6 +401,26 @@ public class OrderByManager extends AbstractManager<ExpressionModifier> {
      * 
      * @return
      */
+    boolean isOrderingBySelectItemsOnly(List<SelectInfo> selectInfos) {
+        for (int i = 0; i < orderByInfos.size(); i++) {
+            OrderByInfo orderByInfo = orderByInfos.get(i);
+            if (aliasManager.getAliasInfo(orderByInfo.getExpressionString()) instanceof SelectInfo) {
+                continue;
+            }
+            boolean selected = false;
+            for (int j = 0; j < selectInfos.size(); j++) {
+                if (selectInfos.get(j).getExpression().equals(orderByInfo.getExpression())) {
+                    selected = true;
+                    break;
+                }
+            }
+            if (!selected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void buildImplicitGroupByClauses(GroupByManager groupByManager, boolean hasGroupBy, JoinVisitor joinVisitor) {
         if (orderByInfos.isEmpty()) {
             return;
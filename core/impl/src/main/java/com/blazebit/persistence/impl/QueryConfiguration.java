@@ -35,6 +35,8 @@ public interface QueryConfiguration {
 
     public boolean isCountTransformationEnabled();
 
+    public boolean isSubqueryToJoinTransformationEnabled();
+
     public boolean isImplicitGroupByFromSelectEnabled();
 
     public boolean isImplicitGroupByFromHavingEnabled();
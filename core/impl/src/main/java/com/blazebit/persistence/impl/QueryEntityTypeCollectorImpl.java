@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.parser.expression.SubqueryExpression;
+import com.blazebit.persistence.parser.expression.VisitorAdapter;
+import com.blazebit.persistence.spi.QueryEntityTypeCollector;
+
+import javax.persistence.metamodel.EntityType;
+import java.util.Set;
+
+/**
+ * Collects the entity types of the join graph of a query builder and its subqueries.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class QueryEntityTypeCollectorImpl implements QueryEntityTypeCollector {
+
+    private final AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder;
+
+    public QueryEntityTypeCollectorImpl(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder) {
+        this.queryBuilder = queryBuilder;
+    }
+
+    @Override
+    public boolean collectEntityClasses(Set<Class<?>> entityClasses) {
+        // Implicit joins are only created when preparing the query
+        queryBuilder.prepareAndCheck(null);
+        return collectEntityClasses(queryBuilder, entityClasses);
+    }
+
+    private static boolean collectEntityClasses(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder, final Set<Class<?>> entityClasses) {
+        // CTEs, entity functions and set operations produce data that doesn't belong to an entity type of the join graph
+        if (queryBuilder instanceof BaseFinalSetOperationBuilderImpl<?, ?, ?> || queryBuilder.mainQuery.cteManager.hasCtes() || queryBuilder.joinManager.hasEntityFunctions()) {
+            return false;
+        }
+        boolean complete = true;
+        for (JoinNode rootNode : queryBuilder.joinManager.getRoots()) {
+            complete &= collectEntityClasses(rootNode, entityClasses);
+        }
+        SubqueryCollectingVisitor visitor = new SubqueryCollectingVisitor(entityClasses);
+        queryBuilder.applyVisitor(visitor);
+        return complete && visitor.complete;
+    }
+
+    private static boolean collectEntityClasses(JoinNode node, Set<Class<?>> entityClasses) {
+        if (node.isInlineCte()) {
+            return false;
+        }
+        if (node.getNodeType() instanceof EntityType<?>) {
+            entityClasses.add(node.getJavaType());
+        }
+        boolean complete = true;
+        for (JoinTreeNode treeNode : node.getNodes().values()) {
+            for (JoinNode childNode : treeNode.getJoinNodes().values()) {
+                complete &= collectEntityClasses(childNode, entityClasses);
+            }
+        }
+        for (JoinNode treatedNode : node.getTreatedJoinNodes().values()) {
+            complete &= collectEntityClasses(treatedNode, entityClasses);
+        }
+        for (JoinNode entityJoinNode : node.getEntityJoinNodes()) {
+            complete &= collectEntityClasses(entityJoinNode, entityClasses);
+        }
+        return complete;
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class SubqueryCollectingVisitor extends VisitorAdapter {
+
+        private final Set<Class<?>> entityClasses;
+        private boolean complete = true;
+
+        public SubqueryCollectingVisitor(Set<Class<?>> entityClasses) {
+            this.entityClasses = entityClasses;
+        }
+
+        @Override
+        public void visit(SubqueryExpression expression) {
+            if (expression.getSubquery() instanceof AbstractCommonQueryBuilder<?, ?, ?, ?, ?>) {
+                complete &= collectEntityClasses((AbstractCommonQueryBuilder<?, ?, ?, ?, ?>) expression.getSubquery(), entityClasses);
+            } else {
+                complete = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.JoinType;
+import com.blazebit.persistence.parser.expression.AbortableVisitorAdapter;
+import com.blazebit.persistence.parser.expression.AggregateExpression;
+import com.blazebit.persistence.parser.expression.ArrayExpression;
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.parser.expression.ExpressionCopyContext;
+import com.blazebit.persistence.parser.expression.FunctionExpression;
+import com.blazebit.persistence.parser.expression.InplaceModificationResultVisitorAdapter;
+import com.blazebit.persistence.parser.expression.ListIndexExpression;
+import com.blazebit.persistence.parser.expression.MapEntryExpression;
+import com.blazebit.persistence.parser.expression.MapKeyExpression;
+import com.blazebit.persistence.parser.expression.MapValueExpression;
+import com.blazebit.persistence.parser.expression.ParameterExpression;
+import com.blazebit.persistence.parser.expression.PathElementExpression;
+import com.blazebit.persistence.parser.expression.PathExpression;
+import com.blazebit.persistence.parser.expression.PropertyExpression;
+import com.blazebit.persistence.parser.expression.SubqueryExpression;
+import com.blazebit.persistence.parser.expression.TreatExpression;
+import com.blazebit.persistence.parser.predicate.CompoundPredicate;
+import com.blazebit.persistence.parser.util.ExpressionUtils;
+import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
+
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites aggregate select subqueries of a query that share the same correlation into a single left entity join.
+ * The aggregates are then evaluated over the joined alias and implicit group by generation groups the result by the select items.
+ *
+ * A group of subqueries like
+ *
+ * <code>SELECT d.id, (SELECT COUNT(*) FROM Person p WHERE p.partnerDocument.id = OUTER(id)), (SELECT MAX(p.age) FROM Person p2 WHERE p2.partnerDocument.id = OUTER(id)) FROM Document d</code>
+ *
+ * is rewritten to
+ *
+ * <code>SELECT d.id, COUNT(p.id), MAX(p.age) FROM Document d LEFT JOIN Person p ON p.partnerDocument.id = d.id GROUP BY d.id</code>
+ *
+ * The transformation is only applied when the query has a shape for which the rewrite is semantically equivalent,
+ * so the root identifier must be part of the select clause, no collections may be joined and no grouping may exist yet.
+ * Only a single group is rewritten, as the joins of multiple groups would multiply each other's rows.
+ * The rewrite only applies to the prepared state of a query and is reverted through {@link #revert()} before the query is modified or copied.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+class SubqueryToJoinTransformer {
+
+    private static final Set<String> AGGREGATE_FUNCTIONS = new HashSet<>(Arrays.asList("COUNT", "SUM", "MIN", "MAX", "AVG"));
+    private static final String PLACEHOLDER_ALIAS = "_subquery_join";
+
+    private final MainQuery mainQuery;
+    private final JoinManager joinManager;
+    private final SelectManager<?> selectManager;
+    private final WhereManager<?> whereManager;
+    private final OrderByManager orderByManager;
+    private final AliasManager aliasManager;
+    private final List<SelectInfo> transformedSelectInfos = new ArrayList<>();
+    private final List<Expression> originalExpressions = new ArrayList<>();
+    private final List<JoinNode> addedJoinNodes = new ArrayList<>();
+
+    public SubqueryToJoinTransformer(MainQuery mainQuery, JoinManager joinManager, SelectManager<?> selectManager, WhereManager<?> whereManager, OrderByManager orderByManager, AliasManager aliasManager) {
+        this.mainQuery = mainQuery;
+        this.joinManager = joinManager;
+        this.selectManager = selectManager;
+        this.whereManager = whereManager;
+        this.orderByManager = orderByManager;
+        this.aliasManager = aliasManager;
+    }
+
+    /**
+     * Returns the select infos that can be rewritten, grouped by the entity type and normalized correlation predicate.
+     * Only groups with at least two subqueries are returned, as rewriting a single subquery doesn't save anything.
+     *
+     * @return The groups of select infos that can be rewritten to a join
+     */
+    public Map<String, List<SelectInfo>> collectGroups() {
+        Map<String, List<SelectInfo>> groups = new LinkedHashMap<>();
+        List<SelectInfo> selectInfos = selectManager.getSelectInfos();
+        for (int i = 0; i < selectInfos.size(); i++) {
+            SelectInfo selectInfo = selectInfos.get(i);
+            Expression expression = selectInfo.getExpression();
+            if (!(expression instanceof SubqueryExpression) || !(((SubqueryExpression) expression).getSubquery() instanceof SubqueryBuilderImpl<?>)) {
+                continue;
+            }
+            SubqueryBuilderImpl<?> subquery = (SubqueryBuilderImpl<?>) ((SubqueryExpression) expression).getSubquery();
+            if (!isTransformable(subquery)) {
+                continue;
+            }
+            String alias = subquery.joinManager.getRoots().get(0).getAliasInfo().getAlias();
+            String key = subquery.joinManager.getRoots().get(0).getEntityType().getName() + ":" + rewrite(subquery.whereManager.rootPredicate.getPredicate(), alias, PLACEHOLDER_ALIAS);
+            List<SelectInfo> group = groups.get(key);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(key, group);
+            }
+            group.add(selectInfo);
+        }
+
+        Map<String, List<SelectInfo>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<SelectInfo>> entry : groups.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the query itself allows to replace select subqueries by aggregates over a left join without changing the cardinality or the result.
+     *
+     * @param groups The groups of select infos that are about to be rewritten
+     * @return whether the transformation can be applied
+     */
+    public boolean isApplicable(Map<String, List<SelectInfo>> groups) {
+        // Joins for multiple groups would multiply the rows seen by the aggregates of the other groups
+        if (groups.size() != 1 || !mainQuery.jpaProvider.supportsEntityJoin()) {
+            return false;
+        }
+        List<JoinNode> roots = joinManager.getRoots();
+        if (roots.size() != 1) {
+            return false;
+        }
+        JoinNode root = roots.get(0);
+        if (root.getEntityType() == null || root.getValueCount() > 0 || JpaMetamodelUtils.getIdAttributes(root.getEntityType()).size() != 1) {
+            return false;
+        }
+        if (!isSimpleJoinTree(root, false)) {
+            return false;
+        }
+
+        Set<SelectInfo> transformed = new HashSet<>();
+        Set<String> transformedAliases = new HashSet<>();
+        for (List<SelectInfo> group : groups.values()) {
+            for (SelectInfo selectInfo : group) {
+                transformed.add(selectInfo);
+                if (selectInfo.getAlias() != null) {
+                    transformedAliases.add(selectInfo.getAlias());
+                }
+            }
+        }
+        // The where clause inlines select aliases, which must not resolve to aggregates
+        if (!transformedAliases.isEmpty() && Boolean.TRUE.equals(whereManager.acceptVisitor(new AliasReferenceDetectionVisitor(transformedAliases)))) {
+            return false;
+        }
+        // Order by items that aren't select items would end up in the implicit group by and change the grouping
+        if (!orderByManager.isOrderingBySelectItemsOnly(selectManager.getSelectInfos())) {
+            return false;
+        }
+        String idName = JpaMetamodelUtils.getSingleIdAttribute(root.getEntityType()).getName();
+        boolean selectsRootId = false;
+        for (SelectInfo selectInfo : selectManager.getSelectInfos()) {
+            if (transformed.contains(selectInfo)) {
+                continue;
+            }
+            Expression expression = selectInfo.getExpression();
+            if (Boolean.TRUE.equals(expression.accept(NonGroupableDetectionVisitor.INSTANCE))) {
+                return false;
+            }
+            if (expression instanceof PathExpression && ((PathExpression) expression).getBaseNode() == root) {
+                String field = ((PathExpression) expression).getField();
+                selectsRootId = selectsRootId || field == null || idName.equals(field);
+            }
+        }
+        return selectsRootId;
+    }
+
+    /**
+     * Rewrites the select infos of the given groups to aggregates over a left entity join.
+     *
+     * @param groups The groups as returned by {@link #collectGroups()}
+     * @param joinVisitor The join visitor to use for resolving the new expressions
+     */
+    public void transform(Map<String, List<SelectInfo>> groups, JoinVisitor joinVisitor) {
+        JoinNode root = joinManager.getRoots().get(0);
+        ClauseType oldFromClause = joinVisitor.getFromClause();
+        try {
+            for (List<SelectInfo> group : groups.values()) {
+                SubqueryBuilderImpl<?> firstSubquery = getSubquery(group.get(0));
+                JoinNode firstSubqueryRoot = firstSubquery.joinManager.getRoots().get(0);
+                EntityType<?> entityType = firstSubqueryRoot.getEntityType();
+                String joinAlias = aliasManager.generateJoinAlias(firstSubqueryRoot.getAliasInfo().getAlias());
+                JoinNode joinNode = joinManager.addEntityJoin(root, entityType, joinAlias, JoinType.LEFT, false);
+                addedJoinNodes.add(joinNode);
+                joinNode.setOnPredicate((CompoundPredicate) rewrite(firstSubquery.whereManager.rootPredicate.getPredicate(), firstSubqueryRoot.getAliasInfo().getAlias(), joinAlias));
+                joinVisitor.setFromClause(ClauseType.JOIN);
+                joinVisitor.visit(joinNode);
+
+                String idName = JpaMetamodelUtils.getSingleIdAttribute(entityType).getName();
+                joinVisitor.setFromClause(ClauseType.SELECT);
+                for (SelectInfo selectInfo : group) {
+                    SubqueryBuilderImpl<?> subquery = getSubquery(selectInfo);
+                    String subqueryAlias = subquery.joinManager.getRoots().get(0).getAliasInfo().getAlias();
+                    AggregateExpression aggregate = (AggregateExpression) rewrite(subquery.selectManager.getSelectInfos().get(0).getExpression(), subqueryAlias, joinAlias);
+                    if (aggregate.getExpressions().isEmpty()) {
+                        // COUNT(*) must only count matched rows, so we count the non-null identifiers of the joined entity
+                        List<PathElementExpression> idPath = new ArrayList<>(2);
+                        idPath.add(new PropertyExpression(joinAlias));
+                        idPath.add(new PropertyExpression(idName));
+                        List<Expression> arguments = new ArrayList<>(1);
+                        arguments.add(new PathExpression(idPath));
+                        aggregate = new AggregateExpression(aggregate.isDistinct(), aggregate.getFunctionName(), arguments);
+                    }
+                    transformedSelectInfos.add(selectInfo);
+                    originalExpressions.add(selectInfo.getExpression());
+                    selectInfo.set(aggregate);
+                    joinVisitor.visit(selectInfo);
+                }
+            }
+        } finally {
+            joinVisitor.setFromClause(oldFromClause);
+        }
+    }
+
+    /**
+     * Restores the select items and removes the joins added by {@link #transform(Map, JoinVisitor)}.
+     */
+    public void revert() {
+        for (int i = 0; i < transformedSelectInfos.size(); i++) {
+            transformedSelectInfos.get(i).set(originalExpressions.get(i));
+        }
+        for (int i = addedJoinNodes.size() - 1; i >= 0; i--) {
+            joinManager.removeEntityJoin(addedJoinNodes.get(i));
+        }
+        transformedSelectInfos.clear();
+        originalExpressions.clear();
+        addedJoinNodes.clear();
+    }
+
+    private static SubqueryBuilderImpl<?> getSubquery(SelectInfo selectInfo) {
+        return (SubqueryBuilderImpl<?>) ((SubqueryExpression) selectInfo.getExpression()).getSubquery();
+    }
+
+    private boolean isTransformable(SubqueryBuilderImpl<?> subquery) {
+        List<JoinNode> roots = subquery.joinManager.getRoots();
+        if (roots.size() != 1) {
+            return false;
+        }
+        JoinNode root = roots.get(0);
+        if (root.getEntityType() == null || root.getCorrelationParent() != null || root.getValueCount() > 0 || JpaMetamodelUtils.getIdAttributes(root.getEntityType()).size() != 1) {
+            return false;
+        }
+        if (!isSimpleJoinTree(root, true)) {
+            return false;
+        }
+        if (subquery.groupByManager.hasGroupBys() || !subquery.havingManager.isEmpty() || subquery.orderByManager.hasOrderBys()
+                || subquery.firstResult != 0 || subquery.maxResults != Integer.MAX_VALUE || subquery.selectManager.isDistinct()) {
+            return false;
+        }
+        List<SelectInfo> selectInfos = subquery.selectManager.getSelectInfos();
+        if (selectInfos.size() != 1 || !(selectInfos.get(0).getExpression() instanceof AggregateExpression)) {
+            return false;
+        }
+        AggregateExpression aggregate = (AggregateExpression) selectInfos.get(0).getExpression();
+        if (!AGGREGATE_FUNCTIONS.contains(aggregate.getFunctionName().toUpperCase()) || aggregate.getWindowDefinition() != null || aggregate.getWithinGroup() != null) {
+            return false;
+        }
+        CompoundPredicate predicate = subquery.whereManager.rootPredicate.getPredicate();
+        if (predicate.getChildren().isEmpty()) {
+            return false;
+        }
+        CorrelationValidationVisitor validationVisitor = new CorrelationValidationVisitor(root.getAliasInfo().getAlias(), aliasManager);
+        for (Expression argument : aggregate.getExpressions()) {
+            if (Boolean.TRUE.equals(argument.accept(validationVisitor))) {
+                return false;
+            }
+        }
+        return !Boolean.TRUE.equals(predicate.accept(validationVisitor));
+    }
+
+    private static boolean isSimpleJoinTree(JoinNode node, boolean implicitOnly) {
+        if (!node.getEntityJoinNodes().isEmpty() || !node.getTreatedJoinNodes().isEmpty() || node.isFetch()) {
+            return false;
+        }
+        for (JoinTreeNode treeNode : node.getNodes().values()) {
+            if (treeNode.isCollection()) {
+                return false;
+            }
+            for (JoinNode joinNode : treeNode.getJoinNodes().values()) {
+                if (implicitOnly && !joinNode.getAliasInfo().isImplicit() || !isSimpleJoinTree(joinNode, implicitOnly)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Expression rewrite(Expression expression, String subqueryAlias, String joinAlias) {
+        return expression.copy(ExpressionCopyContext.EMPTY).accept(new CorrelationRewriteVisitor(subqueryAlias, joinAlias));
+    }
+
+    /**
+     * Replaces the subquery root alias by the join alias and unwraps OUTER functions, as these refer to the query the join is added to.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class CorrelationRewriteVisitor extends InplaceModificationResultVisitorAdapter {
+
+        private final String subqueryAlias;
+        private final String joinAlias;
+
+        public CorrelationRewriteVisitor(String subqueryAlias, String joinAlias) {
+            this.subqueryAlias = subqueryAlias;
+            this.joinAlias = joinAlias;
+        }
+
+        @Override
+        public Expression visit(FunctionExpression expression) {
+            if (ExpressionUtils.isOuterFunction(expression)) {
+                return expression.getExpressions().get(0);
+            }
+            return super.visit(expression);
+        }
+
+        @Override
+        public Expression visit(PathExpression expression) {
+            List<PathElementExpression> expressions = expression.getExpressions();
+            if (subqueryAlias.equals(((PropertyExpression) expressions.get(0)).getProperty())) {
+                expressions.set(0, new PropertyExpression(joinAlias));
+            }
+            return expression;
+        }
+    }
+
+    /**
+     * Detects expressions that can't be moved out of the subquery into a join.
+     * Paths must either start with the subquery root alias or with an alias of the outer query.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class CorrelationValidationVisitor extends AbortableVisitorAdapter {
+
+        private final String subqueryAlias;
+        private final AliasManager outerAliasManager;
+
+        public CorrelationValidationVisitor(String subqueryAlias, AliasManager outerAliasManager) {
+            this.subqueryAlias = subqueryAlias;
+            this.outerAliasManager = outerAliasManager;
+        }
+
+        @Override
+        public Boolean visit(PathExpression expression) {
+            List<PathElementExpression> expressions = expression.getExpressions();
+            for (int i = 0; i < expressions.size(); i++) {
+                if (!(expressions.get(i) instanceof PropertyExpression)) {
+                    return true;
+                }
+            }
+            String alias = ((PropertyExpression) expressions.get(0)).getProperty();
+            if (subqueryAlias.equals(alias)) {
+                return false;
+            }
+            AliasInfo aliasInfo = outerAliasManager.getAliasInfo(alias);
+            return !(aliasInfo instanceof JoinAliasInfo) || aliasInfo.getAliasOwner() != outerAliasManager;
+        }
+
+        @Override
+        public Boolean visit(FunctionExpression expression) {
+            if (ExpressionUtils.isOuterFunction(expression)) {
+                return false;
+            }
+            if (expression instanceof AggregateExpression || expression.getWindowDefinition() != null || ExpressionUtils.isSizeFunction(expression)) {
+                // Nested aggregates, window functions and the SIZE function require the subquery context
+                return true;
+            }
+            return super.visit(expression);
+        }
+
+        @Override
+        public Boolean visit(SubqueryExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(ParameterExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(ArrayExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(TreatExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(ListIndexExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(MapEntryExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(MapKeyExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(MapValueExpression expression) {
+            return true;
+        }
+    }
+
+    /**
+     * Detects references to one of the given select aliases.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class AliasReferenceDetectionVisitor extends AbortableVisitorAdapter {
+
+        private final Set<String> aliases;
+
+        public AliasReferenceDetectionVisitor(Set<String> aliases) {
+            this.aliases = aliases;
+        }
+
+        @Override
+        public Boolean visit(PathExpression expression) {
+            return expression.getExpressions().size() == 1 && aliases.contains(expression.toString());
+        }
+    }
+
+    /**
+     * Detects expressions that can't be put into the implicit group by clause.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class NonGroupableDetectionVisitor extends AbortableVisitorAdapter {
+
+        public static final NonGroupableDetectionVisitor INSTANCE = new NonGroupableDetectionVisitor();
+
+        @Override
+        public Boolean visit(SubqueryExpression expression) {
+            return true;
+        }
+
+        @Override
+        public Boolean visit(FunctionExpression expression) {
+            if (expression instanceof AggregateExpression || expression.getWindowDefinition() != null) {
+                return true;
+            }
+            return super.visit(expression);
+        }
+    }
+}
@@ -17,7 +17,7 @@
 package com.blazebit.persistence.impl.query;
 
 import com.blazebit.persistence.ReturningObjectBuilder;
-import com.blazebit.persistence.impl.AbstractCommonQueryBuilder;
+import com.blazebit.persistence.impl.AbstractModificationCriteriaBuilder;
 import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.spi.DbmsModificationState;
 
@@ -37,7 +37,7 @@ public class CollectionDeleteModificationQuerySpecification<T> extends DeleteMod
 
     private final Map<String, String> columnExpressionRemappings;
 
-    public CollectionDeleteModificationQuerySpecification(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> commonQueryBuilder, Query baseQuery, Query exampleQuery, Collection<? extends Parameter<?>> parameters, Set<String> parameterListNames,
+    public CollectionDeleteModificationQuerySpecification(AbstractModificationCriteriaBuilder<?, ?, ?> commonQueryBuilder, Query baseQuery, Query exampleQuery, Collection<? extends Parameter<?>> parameters, Set<String> parameterListNames,
                                                           List<String> keyRestrictedLeftJoinAliases, List<EntityFunctionNode> entityFunctionNodes, boolean recursive, List<CTENode> ctes, boolean shouldRenderCteNodes, boolean isEmbedded,
                                                           String[] returningColumns, ReturningObjectBuilder<T> objectBuilder, Map<DbmsModificationState, String> includedModificationStates, Map<String, String> returningAttributeBindingMap, boolean queryPlanCacheEnabled,
                                                           String tableToDelete, String tableAlias, String[] idColumns, boolean innerJoinOnly, Query deleteExampleQuery, Map<String, String> columnExpressionRemappings) {
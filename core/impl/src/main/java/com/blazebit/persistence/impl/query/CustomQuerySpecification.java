@@ -163,6 +163,15 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         }
     }
 
+    @Override
+    public void notifyEntityModifications() {
+        if (shouldRenderCtes) {
+            for (CTENode cte : ctes) {
+                cte.getNonRecursiveQuerySpecification().notifyEntityModifications();
+            }
+        }
+    }
+
     protected void initialize() {
         List<Query> participatingQueries = new ArrayList<>();
 
@@ -47,20 +47,26 @@ public class CustomReturningSQLTypedQuery<T> extends AbstractCustomQuery<Returni
     @SuppressWarnings("unchecked")
     public List<ReturningResult<T>> getResultList() {
         bindParameters();
-        return querySpecification.createSelectPlan(firstResult, maxResults).getResultList();
+        List<ReturningResult<T>> resultList = querySpecification.createSelectPlan(firstResult, maxResults).getResultList();
+        querySpecification.notifyEntityModifications();
+        return resultList;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public ReturningResult<T> getSingleResult() {
         bindParameters();
-        return querySpecification.createSelectPlan(firstResult, maxResults).getSingleResult();
+        ReturningResult<T> result = querySpecification.createSelectPlan(firstResult, maxResults).getSingleResult();
+        querySpecification.notifyEntityModifications();
+        return result;
     }
 
     @Override
     public int executeUpdate() {
         bindParameters();
-        return querySpecification.createModificationPlan(firstResult, maxResults).executeUpdate();
+        int updateCount = querySpecification.createModificationPlan(firstResult, maxResults).executeUpdate();
+        querySpecification.notifyEntityModifications();
+        return updateCount;
     }
 
     @Override
@@ -174,7 +180,9 @@ public class CustomReturningSQLTypedQuery<T> extends AbstractCustomQuery<Returni
 
     public Stream<ReturningResult<T>> getResultStream() {
         bindParameters();
-        return querySpecification.createSelectPlan(firstResult, maxResults).getResultStream();
+        Stream<ReturningResult<T>> resultStream = querySpecification.createSelectPlan(firstResult, maxResults).getResultStream();
+        querySpecification.notifyEntityModifications();
+        return resultStream;
     }
 
 }
@@ -59,7 +59,9 @@ public class CustomSQLQuery extends AbstractCustomQuery<Object> {
     @Override
     public int executeUpdate() {
         bindParameters();
-        return querySpecification.createModificationPlan(firstResult, maxResults).executeUpdate();
+        int updateCount = querySpecification.createModificationPlan(firstResult, maxResults).executeUpdate();
+        querySpecification.notifyEntityModifications();
+        return updateCount;
     }
 
     @Override
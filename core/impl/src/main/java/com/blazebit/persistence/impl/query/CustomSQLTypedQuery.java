@@ -50,14 +50,18 @@ public class CustomSQLTypedQuery<X> extends AbstractCustomQuery<X> implements Ty
     @SuppressWarnings("unchecked")
     public List<X> getResultList() {
         bindParameters();
-        return querySpecification.createSelectPlan(firstResult, maxResults).getResultList();
+        List<X> resultList = querySpecification.createSelectPlan(firstResult, maxResults).getResultList();
+        querySpecification.notifyEntityModifications();
+        return resultList;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public X getSingleResult() {
         bindParameters();
-        return querySpecification.createSelectPlan(firstResult, maxResults).getSingleResult();
+        X result = querySpecification.createSelectPlan(firstResult, maxResults).getSingleResult();
+        querySpecification.notifyEntityModifications();
+        return result;
     }
 
     @Override
@@ -177,7 +181,9 @@ public class CustomSQLTypedQuery<X> extends AbstractCustomQuery<X> implements Ty
 
     public Stream<X> getResultStream() {
         bindParameters();
-        return querySpecification.createSelectPlan(firstResult, maxResults).getResultStream();
+        Stream<X> resultStream = querySpecification.createSelectPlan(firstResult, maxResults).getResultStream();
+        querySpecification.notifyEntityModifications();
+        return resultStream;
     }
 
 }
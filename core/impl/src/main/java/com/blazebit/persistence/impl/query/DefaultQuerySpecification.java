@@ -94,4 +94,9 @@ public class DefaultQuerySpecification implements QuerySpecification {
             query.setParameter(parameterName, value);
         }
     }
+
+    @Override
+    public void notifyEntityModifications() {
+        // A plain JPA query can't contain modification CTEs
+    }
 }
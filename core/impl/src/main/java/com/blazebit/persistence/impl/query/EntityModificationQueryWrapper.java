@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.impl.query;
+
+import com.blazebit.persistence.impl.EntityModificationListenerRegistryImpl;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+/**
+ * Notifies the entity modification listeners after executing a plain JPA modification query.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class EntityModificationQueryWrapper extends QueryWrapper {
+
+    private final EntityModificationListenerRegistryImpl entityModificationListenerRegistry;
+    private final EntityManager em;
+    private final Class<?> modifiedEntityClass;
+
+    public EntityModificationQueryWrapper(Query delegate, EntityModificationListenerRegistryImpl entityModificationListenerRegistry, EntityManager em, Class<?> modifiedEntityClass) {
+        super(delegate, null);
+        this.entityModificationListenerRegistry = entityModificationListenerRegistry;
+        this.em = em;
+        this.modifiedEntityClass = modifiedEntityClass;
+    }
+
+    @Override
+    public int executeUpdate() {
+        int updateCount = delegate.executeUpdate();
+        entityModificationListenerRegistry.onEntityModification(em, modifiedEntityClass);
+        return updateCount;
+    }
+}
@@ -17,7 +17,8 @@
 package com.blazebit.persistence.impl.query;
 
 import com.blazebit.persistence.ReturningObjectBuilder;
-import com.blazebit.persistence.impl.AbstractCommonQueryBuilder;
+import com.blazebit.persistence.impl.AbstractModificationCriteriaBuilder;
+import com.blazebit.persistence.impl.EntityModificationListenerRegistryImpl;
 import com.blazebit.persistence.impl.plan.CustomModificationQueryPlan;
 import com.blazebit.persistence.impl.plan.CustomReturningModificationQueryPlan;
 import com.blazebit.persistence.impl.plan.ModificationQueryPlan;
@@ -26,6 +27,7 @@ import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.spi.DbmsLimitHandler;
 import com.blazebit.persistence.spi.DbmsModificationState;
 import com.blazebit.persistence.spi.DbmsStatementType;
+import com.blazebit.persistence.spi.EntityModificationListenerRegistry;
 
 import javax.persistence.Parameter;
 import javax.persistence.Query;
@@ -49,10 +51,12 @@ public class ModificationQuerySpecification<T> extends CustomQuerySpecification<
     protected final Map<DbmsModificationState, String> includedModificationStates;
     protected final Map<String, String> returningAttributeBindingMap;
     protected final ReturningObjectBuilder<T> objectBuilder;
+    protected final EntityModificationListenerRegistryImpl entityModificationListenerRegistry;
+    protected final Class<?> modifiedEntityClass;
 
     protected Query query;
 
-    public ModificationQuerySpecification(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> commonQueryBuilder, Query baseQuery, Query exampleQuery, Collection<? extends Parameter<?>> parameters, Set<String> parameterListNames,
+    public ModificationQuerySpecification(AbstractModificationCriteriaBuilder<?, ?, ?> commonQueryBuilder, Query baseQuery, Query exampleQuery, Collection<? extends Parameter<?>> parameters, Set<String> parameterListNames,
                                           List<String> keyRestrictedLeftJoinAliases, List<EntityFunctionNode> entityFunctionNodes, boolean recursive, List<CTENode> ctes, boolean shouldRenderCteNodes,
                                           boolean isEmbedded, String[] returningColumns, ReturningObjectBuilder<T> objectBuilder, Map<DbmsModificationState, String> includedModificationStates, Map<String, String> returningAttributeBindingMap,
                                           boolean queryPlanCacheEnabled) {
@@ -63,6 +67,8 @@ public class ModificationQuerySpecification<T> extends CustomQuerySpecification<
         this.objectBuilder = objectBuilder;
         this.includedModificationStates = includedModificationStates;
         this.returningAttributeBindingMap = new HashMap<>(returningAttributeBindingMap);
+        this.entityModificationListenerRegistry = (EntityModificationListenerRegistryImpl) commonQueryBuilder.getService(EntityModificationListenerRegistry.class);
+        this.modifiedEntityClass = commonQueryBuilder.getEntityType().getJavaType();
     }
 
     @Override
@@ -100,6 +106,12 @@ public class ModificationQuerySpecification<T> extends CustomQuerySpecification<
         return baseQuery;
     }
 
+    @Override
+    public void notifyEntityModifications() {
+        super.notifyEntityModifications();
+        entityModificationListenerRegistry.onEntityModification(em, modifiedEntityClass);
+    }
+
     @Override
     protected void initialize() {
         List<Query> participatingQueries = new ArrayList<Query>();
@@ -48,4 +48,11 @@ public interface QuerySpecification<T> {
 
     public void onCollectionParameterChange(String parameterName, Collection<?> value);
 
+    /**
+     * Notifies the entity modification listeners about the entity types modified by the executed statement.
+     *
+     * @since 1.6.12
+     */
+    public void notifyEntityModifications();
+
 }
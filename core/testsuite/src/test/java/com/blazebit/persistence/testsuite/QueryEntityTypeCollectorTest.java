@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.spi.QueryEntityTypeCollector;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.entity.Version;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class QueryEntityTypeCollectorTest extends AbstractCoreTest {
+
+    @Test
+    public void testCollectJoinGraph() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d")
+                .leftJoin("d.versions", "v")
+                .where("d.owner.name").eq("test");
+
+        Set<Class<?>> entityClasses = new HashSet<>();
+        assertTrue(criteria.getService(QueryEntityTypeCollector.class).collectEntityClasses(entityClasses));
+        assertEquals(new HashSet<>(Arrays.<Class<?>>asList(Document.class, Version.class, Person.class)), entityClasses);
+    }
+
+    @Test
+    public void testCollectSubquery() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d")
+                .where("d.id").in()
+                    .from(Version.class, "v")
+                    .select("v.document.id")
+                .end();
+
+        Set<Class<?>> entityClasses = new HashSet<>();
+        assertTrue(criteria.getService(QueryEntityTypeCollector.class).collectEntityClasses(entityClasses));
+        assertTrue(entityClasses.contains(Document.class));
+        assertTrue(entityClasses.contains(Version.class));
+    }
+}
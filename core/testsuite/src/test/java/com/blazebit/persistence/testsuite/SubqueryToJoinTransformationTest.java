@@ -0,0 +1,230 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus4;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+// NOTE: Entity joins are supported since Hibernate 5.1, Datanucleus 5 and latest Eclipselink
+@Category({ NoHibernate42.class, NoHibernate43.class, NoHibernate50.class, NoDatanucleus4.class, NoOpenJPA.class})
+public class SubqueryToJoinTransformationTest extends AbstractCoreTest {
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person o1 = new Person("Karl1");
+                Person o2 = new Person("Karl2");
+                Person o3 = new Person("Moritz");
+                em.persist(o1);
+                em.persist(o2);
+                em.persist(o3);
+
+                Document doc1 = new Document("doc1", o1);
+                Document doc2 = new Document("doc2", o1);
+                Document doc3 = new Document("doc3", o2);
+                doc1.setResponsiblePerson(o2);
+                doc2.setResponsiblePerson(o2);
+                doc3.setResponsiblePerson(o2);
+                doc1.setAge(10L);
+                doc2.setAge(20L);
+                doc3.setAge(30L);
+                em.persist(doc1);
+                em.persist(doc2);
+                em.persist(doc3);
+            }
+        });
+    }
+
+    private CriteriaBuilder<Tuple> createAggregateSubqueriesQuery() {
+        return cbf.create(em, Tuple.class)
+                .setProperty(ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION, "true")
+                .from(Person.class, "p")
+                .select("p.id")
+                .selectSubquery()
+                    .from(Document.class, "d")
+                    .select("COUNT(*)")
+                    .where("d.owner.id").eqExpression("OUTER(id)")
+                .end()
+                .selectSubquery()
+                    .from(Document.class, "d2")
+                    .select("MAX(d2.age)")
+                    .where("d2.owner.id").eqExpression("OUTER(id)")
+                .end()
+                .orderByAsc("p.id");
+    }
+
+    @Test
+    public void testSubqueriesWithSameCorrelationAreJoined() {
+        CriteriaBuilder<Tuple> cb = createAggregateSubqueriesQuery();
+        String expectedQuery = "SELECT p.id, COUNT(d_1.id), MAX(d_1.age) FROM Person p LEFT JOIN Document d_1" + onClause("d_1.owner.id = p.id")
+                + " GROUP BY p.id ORDER BY p.id ASC";
+        assertEquals(expectedQuery, cb.getQueryString());
+        List<Tuple> result = cb.getResultList();
+        assertEquals(3, result.size());
+        assertEquals(2L, ((Number) result.get(0).get(1)).longValue());
+        assertEquals(20L, ((Number) result.get(0).get(2)).longValue());
+        assertEquals(1L, ((Number) result.get(1).get(1)).longValue());
+        assertEquals(30L, ((Number) result.get(1).get(2)).longValue());
+        assertEquals(0L, ((Number) result.get(2).get(1)).longValue());
+        assertEquals(null, result.get(2).get(2));
+    }
+
+    @Test
+    public void testSubqueriesAreNotJoinedByDefault() {
+        CriteriaBuilder<Tuple> cb = createAggregateSubqueriesQuery()
+                .setProperty(ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION, "false");
+        String expectedQuery = "SELECT p.id, (SELECT " + countStar() + " FROM Document d WHERE d.owner.id = p.id), (SELECT MAX(d2.age) FROM Document d2 WHERE d2.owner.id = p.id) FROM Person p ORDER BY p.id ASC";
+        assertEquals(expectedQuery, cb.getQueryString());
+        assertEquals(3, cb.getResultList().size());
+    }
+
+    @Test
+    public void testSubqueriesAreNotJoinedWhenOrderingByNonSelectItems() {
+        CriteriaBuilder<Tuple> cb = createAggregateSubqueriesQuery()
+                .orderByAsc("p.name");
+        // Ordering by the name would add it to the implicit group by
+        String expectedQuery = "SELECT p.id, (SELECT " + countStar() + " FROM Document d WHERE d.owner.id = p.id), (SELECT MAX(d2.age) FROM Document d2 WHERE d2.owner.id = p.id) FROM Person p ORDER BY p.id ASC, p.name ASC";
+        assertEquals(expectedQuery, cb.getQueryString());
+        assertEquals(3, cb.getResultList().size());
+    }
+
+    @Test
+    public void testTransformationIsRevertedOnModification() {
+        CriteriaBuilder<Tuple> cb = createAggregateSubqueriesQuery();
+        assertEquals("SELECT p.id, COUNT(d_1.id), MAX(d_1.age) FROM Person p LEFT JOIN Document d_1" + onClause("d_1.owner.id = p.id")
+                + " GROUP BY p.id ORDER BY p.id ASC", cb.getQueryString());
+
+        // The collection join prevents the transformation, so the subqueries as defined by the user must be rendered
+        cb.innerJoin("p.ownedDocuments", "owned");
+        String expectedQuery = "SELECT p.id, (SELECT " + countStar() + " FROM Document d WHERE d.owner.id = p.id), (SELECT MAX(d2.age) FROM Document d2 WHERE d2.owner.id = p.id) FROM Person p"
+                + " JOIN p.ownedDocuments owned ORDER BY p.id ASC";
+        assertEquals(expectedQuery, cb.getQueryString());
+        List<Tuple> result = cb.getResultList();
+        assertEquals(3, result.size());
+        assertEquals(2L, ((Number) result.get(0).get(1)).longValue());
+        assertEquals(2L, ((Number) result.get(1).get(1)).longValue());
+        assertEquals(1L, ((Number) result.get(2).get(1)).longValue());
+    }
+
+    @Test
+    public void testCopyIsNotTransformed() {
+        CriteriaBuilder<Tuple> cb = createAggregateSubqueriesQuery();
+        cb.getQueryString();
+        CriteriaBuilder<Tuple> copy = cb.copy(Tuple.class)
+                .setProperty(ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION, "false");
+        String expectedQuery = "SELECT p.id, (SELECT " + countStar() + " FROM Document d WHERE d.owner.id = p.id), (SELECT MAX(d2.age) FROM Document d2 WHERE d2.owner.id = p.id) FROM Person p ORDER BY p.id ASC";
+        assertEquals(expectedQuery, copy.getQueryString());
+        assertEquals(3, copy.getResultList().size());
+    }
+
+    @Test
+    public void testSubqueriesWithDifferentCorrelationAreNotJoined() {
+        CriteriaBuilder<Tuple> cb = cbf.create(em, Tuple.class)
+                .setProperty(ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION, "true")
+                .from(Person.class, "p")
+                .select("p.id")
+                .selectSubquery()
+                    .from(Document.class, "d")
+                    .select("COUNT(*)")
+                    .where("d.owner.id").eqExpression("OUTER(id)")
+                .end()
+                .selectSubquery()
+                    .from(Document.class, "d2")
+                    .select("MAX(d2.age)")
+                    .where("d2.owner.id").notEqExpression("OUTER(id)")
+                .end();
+        String expectedQuery = "SELECT p.id, (SELECT " + countStar() + " FROM Document d WHERE d.owner.id = p.id), (SELECT MAX(d2.age) FROM Document d2 WHERE d2.owner.id <> p.id) FROM Person p";
+        assertEquals(expectedQuery, cb.getQueryString());
+        assertEquals(3, cb.getResultList().size());
+    }
+
+    @Test
+    public void testSubqueriesOfMultipleCorrelationGroupsAreNotJoined() {
+        CriteriaBuilder<Tuple> cb = createAggregateSubqueriesQuery()
+                .selectSubquery()
+                    .from(Document.class, "d3")
+                    .select("COUNT(*)")
+                    .where("d3.responsiblePerson.id").eqExpression("OUTER(id)")
+                .end()
+                .selectSubquery()
+                    .from(Document.class, "d4")
+                    .select("SUM(d4.age)")
+                    .where("d4.responsiblePerson.id").eqExpression("OUTER(id)")
+                .end();
+        // Joining both groups would multiply the rows each aggregate sees
+        String expectedQuery = "SELECT p.id, (SELECT " + countStar() + " FROM Document d WHERE d.owner.id = p.id), (SELECT MAX(d2.age) FROM Document d2 WHERE d2.owner.id = p.id), "
+                + "(SELECT " + countStar() + " FROM Document d3 WHERE d3.responsiblePerson.id = p.id), (SELECT SUM(d4.age) FROM Document d4 WHERE d4.responsiblePerson.id = p.id) FROM Person p ORDER BY p.id ASC";
+        assertEquals(expectedQuery, cb.getQueryString());
+        List<Tuple> result = cb.getResultList();
+        assertEquals(3, result.size());
+        // Karl1 owns doc1 and doc2 but isn't responsible for any document
+        assertEquals(2L, ((Number) result.get(0).get(1)).longValue());
+        assertEquals(20L, ((Number) result.get(0).get(2)).longValue());
+        assertEquals(0L, ((Number) result.get(0).get(3)).longValue());
+        assertEquals(null, result.get(0).get(4));
+        // Karl2 owns doc3 and is responsible for all documents
+        assertEquals(1L, ((Number) result.get(1).get(1)).longValue());
+        assertEquals(30L, ((Number) result.get(1).get(2)).longValue());
+        assertEquals(3L, ((Number) result.get(1).get(3)).longValue());
+        assertEquals(60L, ((Number) result.get(1).get(4)).longValue());
+    }
+
+    @Test
+    public void testSubqueriesWithoutRootIdentifierAreNotJoined() {
+        CriteriaBuilder<Tuple> cb = cbf.create(em, Tuple.class)
+                .setProperty(ConfigurationProperties.SUBQUERY_TO_JOIN_TRANSFORMATION, "true")
+                .from(Person.class, "p")
+                .select("p.name")
+                .selectSubquery()
+                    .from(Document.class, "d")
+                    .select("COUNT(*)")
+                    .where("d.owner.id").eqExpression("OUTER(id)")
+                .end()
+                .selectSubquery()
+                    .from(Document.class, "d2")
+                    .select("MAX(d2.age)")
+                    .where("d2.owner.id").eqExpression("OUTER(id)")
+                .end();
+        // Grouping by the name alone would merge persons with the same name
+        String expectedQuery = "SELECT p.name, (SELECT " + countStar() + " FROM Document d WHERE d.owner.id = p.id), (SELECT MAX(d2.age) FROM Document d2 WHERE d2.owner.id = p.id) FROM Person p";
+        assertEquals(expectedQuery, cb.getQueryString());
+        assertEquals(3, cb.getResultList().size());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a correlated attribute that uses the {@link FetchStrategy#SELECT} fetch strategy as cacheable
+ * which makes the correlation results shared across queries in a cache that is keyed by the correlation basis value.
+ * This is useful for correlations to slowly changing reference data like countries or currencies.
+ *
+ * Cached correlation results are shared, so the correlation result must neither be an entity nor an updatable or creatable entity view.
+ * The cache is only used if the correlation does not use the <code>VIEW_ROOT</code> or <code>EMBEDDING_VIEW</code> functions or parameters
+ * and if the {@link EntityViewSetting} does not define any fetches.
+ *
+ * Entries are invalidated when the correlated entity or an entity that is referenced through the mappings
+ * of the correlation result is modified through the {@link EntityViewManager} or through DML criteria builders.
+ * Modifications that happen through other means are only picked up after the time to live elapsed.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@Target({ ElementType.METHOD, ElementType.PARAMETER, ElementType.FIELD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableCorrelation {
+
+    /**
+     * The time in milliseconds after which a cached correlation result expires.
+     * A value of -1 means that cached correlation results do not expire.
+     *
+     * @return The time to live in milliseconds
+     */
+    long timeToLive() default -1;
+
+    /**
+     * The maximum number of correlation basis values for which to cache the correlation results.
+     *
+     * @return The maximum size of the cache
+     */
+    int maxSize() default 1000;
+}
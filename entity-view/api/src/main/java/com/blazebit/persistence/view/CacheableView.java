@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity view as cacheable which makes {@link EntityViewManager#find(javax.persistence.EntityManager, Class, Object)}
+ * serve entity views of this type from a cache that is keyed by the entity id.
+ *
+ * Cached entity views are shared, so the annotation is only allowed on entity views that are neither updatable nor creatable.
+ * The cache is only used if the {@link EntityViewSetting} that is used for the lookup does not define any
+ * filters, sorters, optional parameters, properties or fetches.
+ *
+ * Entries are invalidated when the backing entity or an entity that is referenced through the mappings
+ * of the entity view is modified through the {@link EntityViewManager} or through DML criteria builders.
+ * Modifications that happen through other means are only picked up after the time to live elapsed.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@Target({ ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheableView {
+
+    /**
+     * The time in milliseconds after which a cached entity view expires.
+     * A value of -1 means that cached entity views do not expire.
+     *
+     * @return The time to live in milliseconds
+     */
+    long timeToLive() default -1;
+
+    /**
+     * The maximum number of entity views to cache.
+     *
+     * @return The maximum size of the cache
+     */
+    int maxSize() default 1000;
+}
@@ -167,6 +167,28 @@ public final class ConfigurationProperties {
      */
     public static final String UPDATER_ERROR_ON_INVALID_PLURAL_SETTER = "com.blazebit.persistence.view.updater.error_on_invalid_plural_setter";
 
+    /**
+     * A boolean flag to enable pre-loading the entity graph that is affected by cascading deletes when removing an entity view with the flush strategy {@link FlushStrategy#ENTITY}.
+     * When enabled, the entities of delete cascaded subview attributes are fetched level by level with one query per attribute,
+     * instead of lazily loading every association of every removed entity.
+     * By default the pre-loading is disabled i.e. the default value is <code>false</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.12
+     */
+    public static final String UPDATER_PRELOAD_CASCADE_DELETE_GRAPH = "com.blazebit.persistence.view.updater.preload_cascade_delete_graph";
+
+    /**
+     * A boolean flag to enable batching of optimistic lock version checks when flushing with the flush strategy {@link FlushStrategy#QUERY}.
+     * When enabled, version increments of views that have no other changes than the version are deferred to the end of the flush
+     * and executed with a single update statement per entity type, which verifies the expected update count.
+     * By default the batching is disabled i.e. the default value is <code>false</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.12
+     */
+    public static final String UPDATER_BATCH_VERSION_CHECKS = "com.blazebit.persistence.view.updater.batch_version_checks";
+
     /**
      * A boolean flag that allows to disable a count query for a paginated criteria builder.
      *
@@ -248,6 +270,30 @@ public final class ConfigurationProperties {
      */
     public static final String STATIC_METAMODEL_SCANNING_DISABLED = "com.blazebit.persistence.view.static_metamodel_scanning_disabled";
 
+    /**
+     * A boolean flag to make it possible to disable the use of the entity view index written by the annotation processor.
+     * When enabled, the index is used to determine which static implementations, metamodels and builders exist,
+     * instead of trying to load the classes reflectively. Integrations also use the index instead of class path scanning if {@link #INDEX_DISCOVERY_ENABLED} is set.
+     * By default the use of the index is enabled i.e. the default value is <code>false</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.12
+     * @see com.blazebit.persistence.view.spi.EntityViewIndex
+     */
+    public static final String INDEX_DISABLED = "com.blazebit.persistence.view.index_disabled";
+
+    /**
+     * A boolean flag to make it possible to enable the discovery of entity views and entity view listeners through the entity view index
+     * written by the annotation processor instead of class path scanning. Only entity views that were processed by the annotation processor
+     * are indexed, so this should only be enabled if the annotation processor runs for all modules that contain entity views.
+     * By default the discovery through the index is disabled i.e. the default value is <code>false</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.12
+     * @see com.blazebit.persistence.view.spi.EntityViewIndex
+     */
+    public static final String INDEX_DISCOVERY_ENABLED = "com.blazebit.persistence.view.index_discovery_enabled";
+
     /**
      * A boolean flag that allows to specify if empty flat views should be created by default if not specified via {@link EmptyFlatViewCreation}.
      * By default the creation of empty flat views is enabled i.e. the default value is <code>true</code>.
@@ -257,6 +303,75 @@ public final class ConfigurationProperties {
      */
     public static final String CREATE_EMPTY_FLAT_VIEWS = "com.blazebit.persistence.view.create_empty_flat_views";
 
+    /**
+     * An integer specifying the maximum number of transactions for which post commit listener invocations may be pending
+     * when a post commit listener executor is configured via {@link com.blazebit.persistence.view.spi.EntityViewConfiguration#setPostCommitListenerExecutor(java.util.concurrent.Executor)}.
+     * When the limit is reached, post commit listeners are invoked in the committing thread.
+     * By default the value is <code>1024</code>.
+     * Valid values for this property are positive integers.
+     *
+     * @since 1.6.12
+     */
+    public static final String POST_COMMIT_LISTENER_QUEUE_SIZE = "com.blazebit.persistence.view.post_commit_listener_queue_size";
+
+    /**
+     * A {@link java.util.concurrent.Executor} that is used to load the batches of sibling <code>SELECT</code> fetched attributes concurrently.
+     * Concurrent loading is only enabled if a {@link #CORRELATION_ENTITY_MANAGER_PROVIDER} is configured as well,
+     * which supplies the entity managers for the concurrently executed batch loads.
+     * By default no executor is configured and batches are loaded sequentially.
+     * This property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * @since 1.6.12
+     */
+    public static final String CORRELATION_EXECUTOR = "com.blazebit.persistence.view.correlation_executor";
+
+    /**
+     * A {@link com.blazebit.persistence.view.CorrelationEntityManagerProvider} that supplies the entity managers
+     * for the batch loads that are executed concurrently via the {@link #CORRELATION_EXECUTOR}.
+     * The entity manager of the query is only used by the calling thread. Every other concurrent batch load acquires its own entity manager
+     * from the provider, which doesn't share the persistence context of the query and only sees uncommitted changes of the current transaction,
+     * if the provider returns entity managers bound to that transaction. The caller is responsible for choosing entity managers with suitable isolation.
+     * This property is required when a {@link #CORRELATION_EXECUTOR} is configured.
+     * This property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * @since 1.6.12
+     */
+    public static final String CORRELATION_ENTITY_MANAGER_PROVIDER = "com.blazebit.persistence.view.correlation_entity_manager_provider";
+
+    /**
+     * A boolean flag to make it possible to disable the adaptive sizing of batches for <code>SELECT</code> fetched attributes.
+     * When enabled, every load uses the smallest power of two batch size that covers the distinct correlation keys of the load,
+     * which avoids oversized VALUES clauses. The configured batch size is the initial maximum batch size. If a load needs multiple queries
+     * whose average latency is below the {@link #ADAPTIVE_BATCH_LATENCY_THRESHOLD}, the maximum batch size of the attribute grows to the next power of two,
+     * up to the {@link #ADAPTIVE_BATCH_SIZE_LIMIT}. Slower queries shrink a grown maximum batch size again.
+     * Statistics about the used batch sizes are available via {@link com.blazebit.persistence.view.spi.CorrelationBatchStatistics}.
+     * By default the adaptive batch sizing is enabled i.e. the default value is <code>true</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.12
+     */
+    public static final String ADAPTIVE_BATCH_SIZE = "com.blazebit.persistence.view.adaptive_batch_size";
+
+    /**
+     * The upper limit up to which the batch size of <code>SELECT</code> fetched attributes may grow when {@link #ADAPTIVE_BATCH_SIZE} is enabled.
+     * A batch size configured to be bigger than this limit is never exceeded, but also never grows.
+     * By default the limit is <code>128</code>.
+     * Valid values for this property are positive integers.
+     *
+     * @since 1.6.12
+     */
+    public static final String ADAPTIVE_BATCH_SIZE_LIMIT = "com.blazebit.persistence.view.adaptive_batch_size_limit";
+
+    /**
+     * The average query latency in milliseconds of a load below which the batch size of <code>SELECT</code> fetched attributes may grow
+     * when {@link #ADAPTIVE_BATCH_SIZE} is enabled. Loads with a higher average query latency shrink a grown batch size again.
+     * By default the threshold is <code>50</code> milliseconds.
+     * Valid values for this property are non-negative integers.
+     *
+     * @since 1.6.12
+     */
+    public static final String ADAPTIVE_BATCH_LATENCY_THRESHOLD = "com.blazebit.persistence.view.adaptive_batch_latency_threshold";
+
     private ConfigurationProperties() {
     }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view;
+
+import javax.persistence.EntityManager;
+
+/**
+ * A provider for the entity managers that are used to load the batches of sibling <code>SELECT</code> fetched attributes concurrently.
+ *
+ * An entity manager is not thread-safe, so every concurrent batch load acquires a separate entity manager through {@link #acquire()}
+ * and hands it back through {@link #release(EntityManager)} when the load is done. The entity managers are only used for executing queries.
+ * Since they are distinct from the entity manager of the query, they don't share its persistence context and will only see changes
+ * of its transaction, if the provider returns entity managers that are bound to the same transaction.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ * @see ConfigurationProperties#CORRELATION_ENTITY_MANAGER_PROVIDER
+ */
+public interface CorrelationEntityManagerProvider {
+
+    /**
+     * Returns an entity manager that is used exclusively by the calling thread until it is released.
+     *
+     * @return The entity manager
+     */
+    public EntityManager acquire();
+
+    /**
+     * Releases the entity manager that was acquired through {@link #acquire()} by the calling thread.
+     *
+     * @param entityManager The entity manager
+     */
+    public void release(EntityManager entityManager);
+}
@@ -24,6 +24,8 @@ import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -81,6 +83,33 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public <T> T find(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId);
 
+    /**
+     * Loads and returns the entity views of the given type having the given entity ids.
+     * The returned list has the same size and order as the given ids and contains <code>null</code> for ids that don't exist.
+     *
+     * @param entityManager The entity manager to use for querying
+     * @param entityViewClass The entity view class to use
+     * @param entityIds The ids of the entities
+     * @param <T> The type of the entity view class
+     * @return The loaded instances of the given entity view type in the order of the ids
+     * @since 1.6.12
+     */
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds);
+
+    /**
+     * Loads and returns the entity views as determined by the given type {@link EntityViewSetting} having the given entity ids.
+     * The entity views are loaded with as few queries as possible. Ids are split into chunks to stay within the limits of the database.
+     * The returned list has the same size and order as the given ids and contains <code>null</code> for ids that don't exist.
+     *
+     * @param entityManager The entity manager to use for querying
+     * @param entityViewSetting The entity view setting to use
+     * @param entityIds The ids of the entities
+     * @param <T> The type of the entity view class
+     * @return The loaded instances of the given entity view type in the order of the ids
+     * @since 1.6.12
+     */
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds);
+
     /**
      * Creates a reference instance of the entity view class for the given id and returns it.
      *
@@ -441,6 +470,33 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public FlushOperationBuilder saveFullWithTo(EntityManager entityManager, Object view, Object entity);
 
+    /**
+     * Saves the entities which the given entity views map to.
+     * Issues partial updates if enabled for the respective views.
+     * The views are grouped by type and dirty state so that equivalent flushes are executed right after each other.
+     * Every view is still flushed with its own statements and optimistic lock check, so with {@link FlushStrategy#QUERY}
+     * one update statement is executed per view. Only entity flushes, i.e. with {@link FlushStrategy#ENTITY}, can be batched by the JPA provider.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @since 1.6.12
+     */
+    public void saveAll(EntityManager entityManager, Collection<?> views);
+
+    /**
+     * Saves the entities which the given entity views map to.
+     * Issues partial updates if enabled for the respective views.
+     * The views are grouped by type and dirty state so that equivalent flushes are executed right after each other.
+     * Every view is still flushed with its own statements and optimistic lock check, so with {@link FlushStrategy#QUERY}
+     * one update statement is executed per view. Only entity flushes, i.e. with {@link FlushStrategy#ENTITY}, can be batched by the JPA provider.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @return A flush operation builder for further configuring the flush operation
+     * @since 1.6.12
+     */
+    public FlushOperationBuilder saveAllWith(EntityManager entityManager, Collection<?> views);
+
     /**
      * Removes the entity represented by the given view.
      * Also cascades deletes to attributes that have {@link CascadeType#DELETE} enabled.
@@ -511,6 +567,23 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public <T, Q extends FullQueryBuilder<T, Q>> Q applySetting(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder, String entityViewRoot);
 
+    /**
+     * Applies the entity view setting to the given criteria builder and returns the resulting entity views.
+     * If the setting is {@linkplain EntityViewSetting#isCacheable() cacheable} and the entity view is annotated with {@link CacheableView},
+     * the result list is served from the query result cache of the entity view which skips query execution and object building.
+     * The cache key is made up of the final query string, the query parameter values and the settings configuration.
+     * Cached results are invalidated when an entity type of the join graph or of the entity view mappings is modified.
+     * Note that cached result lists are shared and must not be modified.
+     *
+     * @param setting         The setting that should be applied
+     * @param criteriaBuilder The criteria builder on which the setting should be applied
+     * @param <T>             The type of the entity view
+     * @param <Q>             {@linkplain PaginatedCriteriaBuilder} if paginated, {@linkplain CriteriaBuilder} otherwise
+     * @return A {@linkplain com.blazebit.persistence.PagedList} if paginated, the entity view list otherwise
+     * @since 1.6.12
+     */
+    public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder);
+
     /**
      * Closes this {@link EntityViewManager} and frees resources. The behavior of any method called on an entity
      * view manager after this method has been invoked is undefined.
@@ -57,9 +57,11 @@ public final class EntityViewSetting<T, Q extends FullQueryBuilder<T, Q>> implem
     private final Map<String, Object> optionalParameters;
     private final Map<String, Object> properties;
     private final Set<String> fetches;
+    private final Set<Class<?>> inheritanceSubtypes;
     
     private KeysetPage keysetPage;
     private boolean keysetPaginated;
+    private boolean cacheable;
 
     private EntityViewSetting(Class<T> entityViewClass, Object entityId, int maxResults, boolean paginate, String viewConstructorName) {
         this.entityViewClass = entityViewClass;
@@ -74,6 +76,7 @@ public final class EntityViewSetting<T, Q extends FullQueryBuilder<T, Q>> implem
         this.optionalParameters = new HashMap<>();
         this.properties = new HashMap<>();
         this.fetches = new HashSet<>();
+        this.inheritanceSubtypes = new LinkedHashSet<>();
     }
 
     private EntityViewSetting(Class<T> entityViewClass, int firstResult, int maxResults, boolean paginate, String viewConstructorName) {
@@ -93,6 +96,7 @@ public final class EntityViewSetting<T, Q extends FullQueryBuilder<T, Q>> implem
         this.optionalParameters = new HashMap<>();
         this.properties = new HashMap<>();
         this.fetches = new HashSet<>();
+        this.inheritanceSubtypes = new LinkedHashSet<>();
     }
 
     private EntityViewSetting(EntityViewSetting<? super T, ?> original, Class<T> subtype) {
@@ -104,12 +108,19 @@ public final class EntityViewSetting<T, Q extends FullQueryBuilder<T, Q>> implem
         this.paginated = original.paginated;
         this.keysetPage = original.keysetPage;
         this.keysetPaginated = original.keysetPaginated;
+        this.cacheable = original.cacheable;
         this.viewNamedFilters = new LinkedHashSet<>(original.viewNamedFilters);
         this.attributeSorters = new LinkedHashMap<>(original.attributeSorters);
         this.attributeFilters = new LinkedHashMap<>(original.attributeFilters);
         this.optionalParameters = new HashMap<>(original.optionalParameters);
         this.properties = new HashMap<>(original.properties);
         this.fetches = new HashSet<>(original.fetches);
+        this.inheritanceSubtypes = new LinkedHashSet<>();
+        for (Class<?> inheritanceSubtype : original.inheritanceSubtypes) {
+            if (subtype.isAssignableFrom(inheritanceSubtype)) {
+                this.inheritanceSubtypes.add(inheritanceSubtype);
+            }
+        }
     }
 
     /**
@@ -295,6 +306,28 @@ public final class EntityViewSetting<T, Q extends FullQueryBuilder<T, Q>> implem
         return keysetPaginated;
     }
 
+    /**
+     * Sets whether the results of this setting may be served from the query result cache
+     * when executed via {@link EntityViewManager#getResultList(EntityViewSetting, CriteriaBuilder)}.
+     * This only has an effect for entity views annotated with {@link CacheableView}.
+     *
+     * @param cacheable Whether the results of this setting may be cached
+     * @since 1.6.12
+     */
+    public void setCacheable(boolean cacheable) {
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Returns true if the results of this setting may be served from the query result cache.
+     *
+     * @return true if the results of this setting may be cached
+     * @since 1.6.12
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
     /**
      * Adds the given attribute sorters to the attribute sorters of this
      * setting. Note that the attribute sorter order is retained.
@@ -689,6 +722,54 @@ public final class EntityViewSetting<T, Q extends FullQueryBuilder<T, Q>> implem
         return Collections.unmodifiableMap(properties);
     }
 
+    /**
+     * Restricts the entity view inheritance subtypes that should be considered for the query to the given subtype.
+     * Subtypes that were not added are pruned from the query along with their selections and joins.
+     * Objects of pruned subtypes are materialized as the most specific added super type whose inheritance mapping matches,
+     * or are filtered from the result if there is no such type.
+     * Note that the entity view class itself must be added too if it should be considered.
+     * If no inheritance subtypes are added, all subtypes are considered.
+     *
+     * @param inheritanceSubtype The entity view inheritance subtype to consider
+     * @since 1.6.12
+     */
+    public void addInheritanceSubtype(Class<? extends T> inheritanceSubtype) {
+        this.inheritanceSubtypes.add(inheritanceSubtype);
+    }
+
+    /**
+     * Restricts the entity view inheritance subtypes that should be considered for the query to the given subtype.
+     *
+     * @param inheritanceSubtype The entity view inheritance subtype to consider
+     * @return <code>this</code> for method chaining
+     * @since 1.6.12
+     * @see #addInheritanceSubtype(Class)
+     */
+    public EntityViewSetting<T, Q> withInheritanceSubtype(Class<? extends T> inheritanceSubtype) {
+        addInheritanceSubtype(inheritanceSubtype);
+        return this;
+    }
+
+    /**
+     * Returns true if the inheritance subtypes to consider have been restricted, otherwise false.
+     *
+     * @return true if the inheritance subtypes to consider have been restricted, otherwise false
+     * @since 1.6.12
+     */
+    public boolean hasInheritanceSubtypes() {
+        return !inheritanceSubtypes.isEmpty();
+    }
+
+    /**
+     * Returns the entity view inheritance subtypes that should be considered for the query.
+     *
+     * @return The entity view inheritance subtypes to consider
+     * @since 1.6.12
+     */
+    public Set<Class<?>> getInheritanceSubtypes() {
+        return Collections.unmodifiableSet(inheritanceSubtypes);
+    }
+
     @Override
     public <X> SubGraph<X> fetch(String path) {
         fetches.add(path);
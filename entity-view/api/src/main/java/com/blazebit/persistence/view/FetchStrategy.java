@@ -41,5 +41,14 @@ public enum FetchStrategy {
      *
      * @since 1.5.0
      */
-    MULTISET;
+    MULTISET,
+    /**
+     * A strategy that defines that one of the other strategies is chosen when building the metamodel.
+     * Collections are join fetched unless that would produce a cartesian product with other join fetched sibling collections.
+     * Such collections are fetched via {@link #MULTISET} if supported by the DBMS and the element types, otherwise via {@link #SUBSELECT} or {@link #SELECT}.
+     * A {@link BatchFetch#size()} greater than 1 is taken as hint to use {@link #SELECT}.
+     *
+     * @since 1.6.12
+     */
+    AUTO;
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defers the loading of a correlated attribute that uses the {@link FetchStrategy#SELECT} fetch strategy until the attribute is first accessed.
+ * The first access of the attribute on any of the entity views that were loaded by the same query
+ * loads the attribute for all of these entity views with batched correlation queries.
+ * This is useful for expensive attributes that are only needed by some consumers.
+ *
+ * Lazy attributes are only supported for entity views with an id that are neither updatable nor creatable.
+ * The entity manager that was used to load the entity views must still be open when a lazy attribute is first accessed.
+ * For entity views with inheritance subtypes or entity views with a static implementation, the attribute is loaded eagerly.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@Target({ ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LazyFetch {
+}
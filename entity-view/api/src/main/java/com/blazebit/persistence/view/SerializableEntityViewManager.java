@@ -24,6 +24,8 @@ import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import javax.persistence.EntityManager;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -85,6 +87,16 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().find(entityManager, entityViewSetting, entityId);
     }
 
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds) {
+        return getEvm().findAll(entityManager, entityViewClass, entityIds);
+    }
+
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds) {
+        return getEvm().findAll(entityManager, entityViewSetting, entityIds);
+    }
+
     @Override
     public <T> T getReference(Class<T> entityViewClass, Object id) {
         return getEvm().getReference(entityViewClass, id);
@@ -242,6 +254,16 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().saveFullWithTo(entityManager, view, entity);
     }
 
+    @Override
+    public void saveAll(EntityManager entityManager, Collection<?> views) {
+        getEvm().saveAll(entityManager, views);
+    }
+
+    @Override
+    public FlushOperationBuilder saveAllWith(EntityManager entityManager, Collection<?> views) {
+        return getEvm().saveAllWith(entityManager, views);
+    }
+
     @Override
     public void remove(EntityManager entityManager, Object view) {
         getEvm().remove(entityManager, view);
@@ -272,6 +294,11 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().applySetting(setting, criteriaBuilder, entityViewRoot);
     }
 
+    @Override
+    public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder) {
+        return getEvm().getResultList(setting, criteriaBuilder);
+    }
+
     @Override
     public <T> T getService(Class<T> serviceClass) {
         return getEvm().getService(serviceClass);
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.spi;
+
+/**
+ * Statistics about the batch loading of attributes that are fetched via the {@link com.blazebit.persistence.view.FetchStrategy#SELECT} fetch strategy.
+ * The statistics can be retrieved via {@link com.blazebit.persistence.view.EntityViewManager#getService(Class)}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface CorrelationBatchStatistics {
+
+    /**
+     * Returns the statistics for the attribute with the given path relative to the given view root class,
+     * or <code>null</code> if the attribute was never batch loaded.
+     *
+     * @param viewRootClass The entity view class of the view root
+     * @param attributePath The attribute path relative to the view root
+     * @return the attribute statistics or <code>null</code>
+     */
+    public AttributeStatistics getAttributeStatistics(Class<?> viewRootClass, String attributePath);
+
+    /**
+     * Statistics about the batch loading of a single attribute.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    public static interface AttributeStatistics {
+
+        /**
+         * Returns the batch size that was used for the last load of the attribute.
+         * When adaptive batch sizing is enabled, this is the smallest power of two that covers the distinct correlation keys of the load,
+         * limited by the configured batch size or the batch size that the attribute has grown to.
+         *
+         * @return the last used batch size
+         */
+        public int getLastBatchSize();
+
+        /**
+         * Returns the number of times the attribute was loaded for a parent query.
+         *
+         * @return the number of loads
+         */
+        public long getLoadCount();
+
+        /**
+         * Returns the number of queries that were executed to load the attribute.
+         *
+         * @return the number of queries
+         */
+        public long getQueryCount();
+
+        /**
+         * Returns the sum of the distinct correlation keys of all loads.
+         * The keys of a load are the correlation values or the ids of the views, depending on which there are more of.
+         * The keys are only counted when adaptive batch sizing is enabled.
+         *
+         * @return the number of distinct correlation keys
+         */
+        public long getCorrelationKeyCount();
+
+        /**
+         * Returns the total time in nanoseconds that was spent executing queries to load the attribute.
+         *
+         * @return the total query time in nanoseconds
+         */
+        public long getQueryTimeNanos();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.spi;
+
+/**
+ * The storage for cached entity views of a single entity view type which is created by an {@link EntityViewCacheFactory}.
+ * Implementations must be thread safe.
+ * For caches created via {@link EntityViewCacheFactory#createQueryResultCache(Class, long, int)}, the keys are query keys
+ * and the values are result lists instead of entity ids and entity views.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ * @see com.blazebit.persistence.view.CacheableView
+ */
+public interface EntityViewCache {
+
+    /**
+     * Returns the cached entity view for the given entity id or <code>null</code> if there is none or it expired.
+     *
+     * @param entityId The entity id
+     * @return The cached entity view or <code>null</code>
+     */
+    public Object get(Object entityId);
+
+    /**
+     * Caches the given entity view for the given entity id.
+     *
+     * @param entityId The entity id
+     * @param entityView The entity view
+     */
+    public void put(Object entityId, Object entityView);
+
+    /**
+     * Removes the cached entity view for the given entity id.
+     *
+     * @param entityId The entity id
+     */
+    public void evict(Object entityId);
+
+    /**
+     * Removes all cached entity views.
+     */
+    public void evictAll();
+}
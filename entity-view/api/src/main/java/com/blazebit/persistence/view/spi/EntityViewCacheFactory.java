@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.spi;
+
+/**
+ * A factory for creating an {@link EntityViewCache} for an entity view type annotated with {@link com.blazebit.persistence.view.CacheableView}.
+ * This is created via the {@link java.util.ServiceLoader} API. If no factory is found, an in-process cache is used.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface EntityViewCacheFactory {
+
+    /**
+     * Creates the cache for the given entity view type.
+     *
+     * @param entityViewClass The entity view class
+     * @param timeToLive The time in milliseconds after which entries expire or -1 if entries should not expire
+     * @param maxSize The maximum number of entries
+     * @return The entity view cache
+     */
+    EntityViewCache createCache(Class<?> entityViewClass, long timeToLive, int maxSize);
+
+    /**
+     * Creates the cache for result lists of the given entity view type.
+     * The cache keys are opaque objects that implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+     *
+     * @param entityViewClass The entity view class
+     * @param timeToLive The time in milliseconds after which entries expire or -1 if entries should not expire
+     * @param maxSize The maximum number of entries
+     * @return The entity view query result cache
+     */
+    EntityViewCache createQueryResultCache(Class<?> entityViewClass, long timeToLive, int maxSize);
+
+    /**
+     * Returns a priority value that is used to select among multiple implementations.
+     * The lower the returned value, the higher the priority.
+     *
+     * @return the priority value
+     */
+    int getPriority();
+}
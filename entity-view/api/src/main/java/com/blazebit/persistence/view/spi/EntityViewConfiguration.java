@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import javax.persistence.EntityManagerFactory;
 
@@ -280,6 +281,27 @@ public interface EntityViewConfiguration {
      */
     public EntityViewConfiguration setTransactionSupport(TransactionSupport transactionSupport);
 
+    /**
+     * Returns the executor that is used to invoke post commit listeners asynchronously or <code>null</code> if post commit listeners are invoked in the committing thread.
+     *
+     * @return the configured post commit listener executor
+     * @since 1.6.12
+     */
+    public Executor getPostCommitListenerExecutor();
+
+    /**
+     * Sets the executor that is used to invoke post commit listeners asynchronously after a transaction was committed.
+     * Post commit events of one transaction are coalesced per view and passed as one task to the executor.
+     * The listeners receive a new entity manager that is closed after all listeners of the transaction were invoked.
+     * If the number of pending tasks exceeds {@link com.blazebit.persistence.view.ConfigurationProperties#POST_COMMIT_LISTENER_QUEUE_SIZE},
+     * the listeners are invoked in the committing thread instead. By default, no executor is configured.
+     *
+     * @param executor The executor for post commit listeners or <code>null</code> to invoke them in the committing thread
+     * @return this for method chaining
+     * @since 1.6.12
+     */
+    public EntityViewConfiguration setPostCommitListenerExecutor(Executor executor);
+
     /**
      * Returns all globally configured optional parameters.
      *
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * An index of entity views, entity view listeners and the static classes that were generated for them.
+ * The index is written by the entity view annotation processor to {@link #INDEX_RESOURCE} and allows integrations
+ * to skip class path scanning and the reflective lookup of static implementations, metamodels and builders.
+ *
+ * An index entry maps the binary name of a class to a comma separated list of kinds.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class EntityViewIndex {
+
+    /**
+     * The class path resource that contains the index.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/blaze-persistence/entity-views.properties";
+    /**
+     * The kind for classes annotated with {@link com.blazebit.persistence.view.EntityView}.
+     */
+    public static final String KIND_ENTITY_VIEW = "view";
+    /**
+     * The kind for classes annotated with {@link com.blazebit.persistence.view.EntityViewListener}.
+     */
+    public static final String KIND_ENTITY_VIEW_LISTENER = "listener";
+    /**
+     * The kind for entity views for which a static metamodel was generated.
+     */
+    public static final String KIND_STATIC_METAMODEL = "metamodel";
+    /**
+     * The kind for entity views for which a static implementation was generated.
+     */
+    public static final String KIND_STATIC_IMPLEMENTATION = "implementation";
+    /**
+     * The kind for entity views for which a static builder was generated.
+     */
+    public static final String KIND_STATIC_BUILDER = "builder";
+
+    private final Map<String, Set<String>> entries;
+    private final Set<String> entityViewClassNames;
+    private final Set<String> entityViewListenerClassNames;
+
+    private EntityViewIndex(Map<String, Set<String>> entries) {
+        Set<String> entityViewClassNames = new HashSet<>();
+        Set<String> entityViewListenerClassNames = new HashSet<>();
+        for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+            if (entry.getValue().contains(KIND_ENTITY_VIEW)) {
+                entityViewClassNames.add(entry.getKey());
+            }
+            if (entry.getValue().contains(KIND_ENTITY_VIEW_LISTENER)) {
+                entityViewListenerClassNames.add(entry.getKey());
+            }
+        }
+        this.entries = entries;
+        this.entityViewClassNames = Collections.unmodifiableSet(entityViewClassNames);
+        this.entityViewListenerClassNames = Collections.unmodifiableSet(entityViewListenerClassNames);
+    }
+
+    /**
+     * Loads and merges all index resources that are visible to the given class loader.
+     *
+     * @param classLoader The class loader to use for loading the index resources
+     * @return The index or <code>null</code> if no index resource could be found
+     */
+    public static EntityViewIndex load(ClassLoader classLoader) {
+        if (classLoader == null) {
+            classLoader = EntityViewIndex.class.getClassLoader();
+        }
+        Map<String, Set<String>> entries = new HashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                Properties properties = new Properties();
+                try (InputStream inputStream = url.openStream()) {
+                    properties.load(inputStream);
+                }
+                for (String className : properties.stringPropertyNames()) {
+                    Set<String> kinds = entries.get(className);
+                    if (kinds == null) {
+                        kinds = new HashSet<>();
+                        entries.put(className, kinds);
+                    }
+                    for (String kind : properties.getProperty(className).split(",")) {
+                        kinds.add(kind.trim());
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Could not load the entity view index from " + INDEX_RESOURCE, ex);
+        }
+        return new EntityViewIndex(entries);
+    }
+
+    /**
+     * Returns the binary names of all indexed entity view classes.
+     *
+     * @return The binary names of all indexed entity view classes
+     */
+    public Set<String> getEntityViewClassNames() {
+        return entityViewClassNames;
+    }
+
+    /**
+     * Returns the binary names of all indexed entity view listener classes.
+     *
+     * @return The binary names of all indexed entity view listener classes
+     */
+    public Set<String> getEntityViewListenerClassNames() {
+        return entityViewListenerClassNames;
+    }
+
+    /**
+     * Returns whether the given class is contained in the index.
+     *
+     * @param className The binary name of the class
+     * @return Whether the given class is contained in the index
+     */
+    public boolean contains(String className) {
+        return entries.containsKey(className);
+    }
+
+    /**
+     * Returns whether the given class is contained in the index with the given kind.
+     *
+     * @param className The binary name of the class
+     * @param kind The kind
+     * @return Whether the given class is contained in the index with the given kind
+     */
+    public boolean hasKind(String className, String kind) {
+        Set<String> kinds = entries.get(className);
+        return kinds != null && kinds.contains(kind);
+    }
+}
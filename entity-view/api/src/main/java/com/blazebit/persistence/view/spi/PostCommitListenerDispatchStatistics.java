@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.spi;
+
+/**
+ * Statistics about the asynchronous dispatch of post commit listeners which is enabled by configuring an executor via
+ * {@link EntityViewConfiguration#setPostCommitListenerExecutor(java.util.concurrent.Executor)}.
+ * The statistics can be retrieved via {@link com.blazebit.persistence.view.EntityViewManager#getService(Class)}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface PostCommitListenerDispatchStatistics {
+
+    /**
+     * Returns the number of transactions for which post commit listeners were handed to the executor.
+     *
+     * @return the number of asynchronously dispatched transactions
+     */
+    public long getDispatchedCount();
+
+    /**
+     * Returns the number of transactions for which post commit listeners had to be invoked in the committing thread,
+     * because the queue was full or the executor rejected the task.
+     *
+     * @return the number of transactions for which the committing thread invoked the post commit listeners
+     */
+    public long getCallerRunsCount();
+
+    /**
+     * Returns the number of post commit events that were coalesced with another event for the same view within a transaction.
+     *
+     * @return the number of coalesced post commit events
+     */
+    public long getCoalescedCount();
+
+    /**
+     * Returns the number of transactions for which post commit listener invocations are queued or running.
+     *
+     * @return the number of pending transactions
+     */
+    public int getPendingCount();
+
+    /**
+     * Returns the maximum number of transactions for which post commit listener invocations may be pending.
+     *
+     * @return the queue size
+     */
+    public int getQueueSize();
+}
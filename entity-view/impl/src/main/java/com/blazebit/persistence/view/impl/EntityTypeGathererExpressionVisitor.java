@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl;
+
+import com.blazebit.persistence.parser.EntityMetamodel;
+import com.blazebit.persistence.parser.expression.ArrayExpression;
+import com.blazebit.persistence.parser.expression.EntityLiteral;
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.parser.expression.FunctionExpression;
+import com.blazebit.persistence.parser.expression.PathElementExpression;
+import com.blazebit.persistence.parser.expression.PathExpression;
+import com.blazebit.persistence.parser.expression.PropertyExpression;
+import com.blazebit.persistence.parser.expression.SubqueryExpression;
+import com.blazebit.persistence.parser.expression.VisitorAdapter;
+import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the entity types that are traversed by the paths of an expression.
+ * If a path can't be resolved statically, the visitor marks the result as incomplete.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class EntityTypeGathererExpressionVisitor extends VisitorAdapter {
+
+    private final EntityMetamodel metamodel;
+    private final ManagedType<?> managedType;
+    private final Set<String> ignoredAliases;
+    private final Set<Class<?>> entityClasses;
+    private boolean incomplete;
+
+    public EntityTypeGathererExpressionVisitor(ManagedType<?> managedType, EntityMetamodel metamodel, Set<String> ignoredAliases, Set<Class<?>> entityClasses) {
+        this.metamodel = metamodel;
+        this.managedType = managedType;
+        this.ignoredAliases = ignoredAliases;
+        this.entityClasses = entityClasses;
+    }
+
+    public boolean isIncomplete() {
+        return incomplete;
+    }
+
+    @Override
+    public void visit(PathExpression expression) {
+        List<PathElementExpression> expressions = expression.getExpressions();
+        int size = expressions.size();
+        ManagedType<?> t = managedType;
+
+        for (int i = 0; i < size; i++) {
+            Expression e = expressions.get(i);
+            String name;
+            if (e instanceof PropertyExpression) {
+                name = ((PropertyExpression) e).getProperty();
+            } else if (e instanceof ArrayExpression && ((ArrayExpression) e).getBase() instanceof PropertyExpression) {
+                ArrayExpression arrayExpression = (ArrayExpression) e;
+                arrayExpression.getIndex().accept(this);
+                name = ((PropertyExpression) arrayExpression.getBase()).getProperty();
+            } else {
+                // Treat or qualified paths can't be resolved statically
+                incomplete = true;
+                return;
+            }
+
+            if (i == 0) {
+                if (ignoredAliases.contains(name)) {
+                    // The types of aliases are accounted for by the caller
+                    return;
+                } else if ("this".equalsIgnoreCase(name)) {
+                    continue;
+                }
+            }
+            if (t == null) {
+                incomplete = true;
+                return;
+            }
+
+            Attribute<?, ?> jpaAttribute;
+            try {
+                jpaAttribute = t.getAttribute(name);
+            } catch (IllegalArgumentException ex) {
+                jpaAttribute = null;
+            }
+            if (jpaAttribute == null) {
+                incomplete = true;
+                return;
+            }
+
+            t = metamodel.getManagedType(JpaMetamodelUtils.resolveFieldClass(t.getJavaType(), jpaAttribute));
+            if (t instanceof EntityType<?>) {
+                entityClasses.add(t.getJavaType());
+            }
+        }
+    }
+
+    @Override
+    public void visit(SubqueryExpression expression) {
+        incomplete = true;
+    }
+
+    @Override
+    public void visit(EntityLiteral expression) {
+        incomplete = true;
+    }
+
+    @Override
+    public void visit(FunctionExpression expression) {
+        String functionName = expression.getFunctionName();
+        // Macros like VIEW_ROOT or EMBEDDING_VIEW refer to other entity types which we can't resolve here
+        if ("VIEW_ROOT".equalsIgnoreCase(functionName) || "EMBEDDING_VIEW".equalsIgnoreCase(functionName) || "VIEW".equalsIgnoreCase(functionName)) {
+            incomplete = true;
+        } else {
+            super.visit(expression);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.blazebit.persistence.view.impl;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.CorrelationEntityManagerProvider;
 import com.blazebit.persistence.view.FetchStrategy;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
@@ -37,6 +38,7 @@ import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 
 /**
  * @author Christian Beikov
@@ -53,6 +55,8 @@ public final class EntityViewConfiguration {
     private final NavigableSet<String> fetches;
     private final Map<String, Integer> batchSizeConfiguration;
     private final Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration;
+    private final Executor correlationExecutor;
+    private final CorrelationEntityManagerProvider correlationEntityManagerProvider;
 
     public EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, Collection<String> fetches, String attributePath) {
         this(criteriaBuilder, expressionFactory, viewJpqlMacro, embeddingViewJpqlMacro, optionalParameters, properties, getFetches(fetches, attributePath));
@@ -65,10 +69,22 @@ public final class EntityViewConfiguration {
     private EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, NavigableSet<String> fetches) {
         Map<String, Integer> batchSizeConfiguration = new HashMap<String, Integer>(properties.size());
         Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration = new HashMap<>(properties.size());
+        Executor correlationExecutor = null;
+        CorrelationEntityManagerProvider correlationEntityManagerProvider = null;
 
         for (Map.Entry<String, Object> entry : properties.entrySet()) {
             String key = entry.getKey();
-            if (key.startsWith(ConfigurationProperties.DEFAULT_BATCH_SIZE)) {
+            if (ConfigurationProperties.CORRELATION_EXECUTOR.equals(key)) {
+                if (entry.getValue() != null && !(entry.getValue() instanceof Executor)) {
+                    throw new IllegalArgumentException("Invalid non-executor value for the correlation executor configuration: " + entry.getValue());
+                }
+                correlationExecutor = (Executor) entry.getValue();
+            } else if (ConfigurationProperties.CORRELATION_ENTITY_MANAGER_PROVIDER.equals(key)) {
+                if (entry.getValue() != null && !(entry.getValue() instanceof CorrelationEntityManagerProvider)) {
+                    throw new IllegalArgumentException("Invalid non-provider value for the correlation entity manager provider configuration: " + entry.getValue());
+                }
+                correlationEntityManagerProvider = (CorrelationEntityManagerProvider) entry.getValue();
+            } else if (key.startsWith(ConfigurationProperties.DEFAULT_BATCH_SIZE)) {
                 Integer value = getBatchSize(key, entry.getValue());
                 if (key.length() == ConfigurationProperties.DEFAULT_BATCH_SIZE.length()) {
                     batchSizeConfiguration.put("", value);
@@ -101,6 +117,11 @@ public final class EntityViewConfiguration {
             }
         }
 
+        if (correlationExecutor != null && correlationEntityManagerProvider == null) {
+            // Concurrent loads can't use the entity manager of the query, so the caller has to decide which entity managers to use
+            throw new IllegalArgumentException("The correlation executor configuration requires a correlation entity manager provider to be configured!");
+        }
+
         this.criteriaBuilder = criteriaBuilder;
         this.expressionFactory = expressionFactory;
         this.viewJpqlMacro = viewJpqlMacro;
@@ -109,6 +130,8 @@ public final class EntityViewConfiguration {
         this.fetches = fetches;
         this.batchSizeConfiguration = Collections.unmodifiableMap(batchSizeConfiguration);
         this.expectBatchCorrelationValuesConfiguration = Collections.unmodifiableMap(expectBatchCorrelationValuesConfiguration);
+        this.correlationExecutor = correlationExecutor;
+        this.correlationEntityManagerProvider = correlationEntityManagerProvider;
         this.criteriaBuilder.registerMacro("view", viewJpqlMacro);
         this.criteriaBuilder.registerMacro("embedding_view", embeddingViewJpqlMacro);
     }
@@ -122,6 +145,9 @@ public final class EntityViewConfiguration {
         this.fetches = fetches;
         this.batchSizeConfiguration = original.batchSizeConfiguration;
         this.expectBatchCorrelationValuesConfiguration = original.expectBatchCorrelationValuesConfiguration;
+        // Subview configurations are used for nested queries which might already run within a concurrent batch load
+        this.correlationExecutor = null;
+        this.correlationEntityManagerProvider = null;
     }
 
     private static NavigableSet<String> getFetches(Collection<String> fetches, String attributePath) {
@@ -246,6 +272,14 @@ public final class EntityViewConfiguration {
         return fetchedPath != null && (fetchedPath.length() == attributePath.length() || fetchedPath.startsWith(attributePath) && fetchedPath.length() > attributePath.length() && fetchedPath.charAt(attributePath.length()) == '.');
     }
 
+    public Executor getCorrelationExecutor() {
+        return correlationExecutor;
+    }
+
+    public CorrelationEntityManagerProvider getCorrelationEntityManagerProvider() {
+        return correlationEntityManagerProvider;
+    }
+
     public ViewJpqlMacro getViewJpqlMacro() {
         return viewJpqlMacro;
     }
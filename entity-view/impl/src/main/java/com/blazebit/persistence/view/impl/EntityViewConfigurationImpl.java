@@ -51,6 +51,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -65,6 +66,7 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
     private final Map<Class<?>, Object> typeTestValues = new HashMap<>();
     private Properties properties = new Properties();
     private TransactionSupport transactionSupport;
+    private Executor postCommitListenerExecutor;
     private Map<String, Object> optionalParameters = new HashMap<>();
 
     public EntityViewConfigurationImpl() {
@@ -78,10 +80,17 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
         properties.put(ConfigurationProperties.UPDATER_DISALLOW_OWNED_UPDATABLE_SUBVIEW, "true");
         properties.put(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK, "true");
         properties.put(ConfigurationProperties.UPDATER_ERROR_ON_INVALID_PLURAL_SETTER, "false");
+        properties.put(ConfigurationProperties.UPDATER_PRELOAD_CASCADE_DELETE_GRAPH, "false");
+        properties.put(ConfigurationProperties.UPDATER_BATCH_VERSION_CHECKS, "false");
         properties.put(ConfigurationProperties.STATIC_BUILDER_SCANNING_DISABLED, "false");
         properties.put(ConfigurationProperties.STATIC_IMPLEMENTATION_SCANNING_DISABLED, "false");
         properties.put(ConfigurationProperties.STATIC_METAMODEL_SCANNING_DISABLED, "false");
+        properties.put(ConfigurationProperties.INDEX_DISABLED, "false");
         properties.put(ConfigurationProperties.CREATE_EMPTY_FLAT_VIEWS, "true");
+        properties.put(ConfigurationProperties.POST_COMMIT_LISTENER_QUEUE_SIZE, "1024");
+        properties.put(ConfigurationProperties.ADAPTIVE_BATCH_SIZE, "true");
+        properties.put(ConfigurationProperties.ADAPTIVE_BATCH_SIZE_LIMIT, "128");
+        properties.put(ConfigurationProperties.ADAPTIVE_BATCH_LATENCY_THRESHOLD, "50");
 
         typeTestValues.put(boolean.class, true);
         typeTestValues.put(byte.class, Byte.MAX_VALUE);
@@ -323,6 +332,17 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
         return this;
     }
 
+    @Override
+    public Executor getPostCommitListenerExecutor() {
+        return postCommitListenerExecutor;
+    }
+
+    @Override
+    public EntityViewConfiguration setPostCommitListenerExecutor(Executor executor) {
+        this.postCommitListenerExecutor = executor;
+        return this;
+    }
+
     @Override
     public Map<String, Object> getOptionalParameters() {
         return optionalParameters;
@@ -22,6 +22,7 @@ import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.CriteriaBuilderFactory;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.Path;
 import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.AbstractCachingExpressionFactory;
@@ -30,10 +31,12 @@ import com.blazebit.persistence.parser.expression.MacroConfiguration;
 import com.blazebit.persistence.parser.expression.MacroFunction;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
 import com.blazebit.persistence.spi.DbmsDialect;
+import com.blazebit.persistence.spi.EntityModificationListenerRegistry;
 import com.blazebit.persistence.spi.JpaProvider;
 import com.blazebit.persistence.spi.JpqlFunction;
 import com.blazebit.persistence.spi.JpqlMacro;
 import com.blazebit.persistence.spi.PackageOpener;
+import com.blazebit.persistence.spi.QueryEntityTypeCollector;
 import com.blazebit.persistence.view.AttributeFilterProvider;
 import com.blazebit.persistence.view.ConfigurationProperties;
 import com.blazebit.persistence.view.ConvertOperationBuilder;
@@ -74,6 +77,9 @@ import com.blazebit.persistence.view.filter.StartsWithFilter;
 import com.blazebit.persistence.view.filter.StartsWithIgnoreCaseFilter;
 import com.blazebit.persistence.view.impl.accessor.AttributeAccessor;
 import com.blazebit.persistence.view.impl.accessor.EntityIdAttributeAccessor;
+import com.blazebit.persistence.view.impl.cache.EntityViewCacheManager;
+import com.blazebit.persistence.view.impl.cache.EntityViewCacheRegion;
+import com.blazebit.persistence.view.impl.cache.QueryResultCacheKey;
 import com.blazebit.persistence.view.impl.change.ViewChangeModel;
 import com.blazebit.persistence.view.impl.filter.BetweenFilterImpl;
 import com.blazebit.persistence.view.impl.filter.ContainsFilterImpl;
@@ -91,6 +97,7 @@ import com.blazebit.persistence.view.impl.filter.StartsWithIgnoreCaseFilterImpl;
 import com.blazebit.persistence.view.impl.macro.DefaultViewRootJpqlMacro;
 import com.blazebit.persistence.view.impl.mapper.ConvertOperationBuilderImpl;
 import com.blazebit.persistence.view.impl.mapper.ViewMapper;
+import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ConstrainedAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImpl;
@@ -102,8 +109,10 @@ import com.blazebit.persistence.view.impl.metamodel.ViewMetamodelImpl;
 import com.blazebit.persistence.view.impl.metamodel.ViewTypeImpl;
 import com.blazebit.persistence.view.impl.objectbuilder.ContainerAccumulator;
 import com.blazebit.persistence.view.impl.objectbuilder.ViewTypeObjectBuilderTemplate;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelationBatchStatisticsImpl;
 import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
 import com.blazebit.persistence.view.impl.type.DefaultBasicUserTypeRegistry;
+import com.blazebit.persistence.view.impl.update.AsyncPostCommitListenerDispatcher;
 import com.blazebit.persistence.view.impl.update.DefaultUpdateContext;
 import com.blazebit.persistence.view.impl.update.EntityViewUpdater;
 import com.blazebit.persistence.view.impl.update.EntityViewUpdaterImpl;
@@ -133,8 +142,12 @@ import com.blazebit.persistence.view.metamodel.MethodPluralAttribute;
 import com.blazebit.persistence.view.metamodel.MethodSingularAttribute;
 import com.blazebit.persistence.view.metamodel.PluralAttribute;
 import com.blazebit.persistence.view.metamodel.SingularAttribute;
+import com.blazebit.persistence.view.metamodel.Type;
 import com.blazebit.persistence.view.metamodel.ViewType;
+import com.blazebit.persistence.view.spi.CorrelationBatchStatistics;
 import com.blazebit.persistence.view.spi.EmbeddingViewJpqlMacro;
+import com.blazebit.persistence.view.spi.EntityViewIndex;
+import com.blazebit.persistence.view.spi.PostCommitListenerDispatchStatistics;
 import com.blazebit.persistence.view.spi.TransactionSupport;
 import com.blazebit.persistence.view.spi.ViewJpqlMacro;
 import com.blazebit.persistence.view.spi.type.DirtyStateTrackable;
@@ -152,16 +165,20 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -175,6 +192,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private static final String MULTI_RELATION_CLASS_NAME_SUFFIX = "MultiRelation";
     private static final String BUILDER_CLASS_NAME_SUFFIX = "Builder";
     private static final Set<ViewTransition> VIEW_TRANSITIONS = EnumSet.allOf(ViewTransition.class);
+    private static final String FIND_ALL_ENTITY_IDS_PARAMETER = "entityViewFindAllIds";
+    // Oracle only allows 1000 elements in an IN list and SQL Server only allows 2100 parameters per statement
+    private static final int FIND_ALL_CHUNK_SIZE = 1000;
     private static final Method SYNTHETIC_VERSION_GETTER;
 
     static {
@@ -194,6 +214,8 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final ViewMetamodelImpl metamodel;
     private final ProxyFactory proxyFactory;
     private final TransactionSupport transactionSupport;
+    private final AsyncPostCommitListenerDispatcher postCommitListenerDispatcher;
+    private final CorrelationBatchStatisticsImpl correlationBatchStatistics;
     private final Map<String, Object> optionalParameters;
     private final boolean supportsTransientReference;
     private final ConcurrentMap<ViewTypeObjectBuilderTemplate.Key, ViewTypeObjectBuilderTemplate<?>> objectBuilderCache;
@@ -210,8 +232,11 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final Map<Class<?>, Listeners> listeners; // A mapping from JPA managed type java type and entity view java type to listeners
     private final Map<Class<?>, Set<Class<?>>> convertibleManagedViewTypes;
     private final Map<ViewBuilderKey, Constructor<? extends EntityViewBuilder<?>>> viewBuilderClasses;
+    private final EntityViewCacheManager viewCacheManager;
     private final boolean unsafeDisabled;
     private final boolean strictCascadingCheck;
+    private final boolean preloadCascadeDeleteGraph;
+    private final boolean batchVersionChecks;
 
     public EntityViewManagerImpl(EntityViewConfigurationImpl config, CriteriaBuilderFactory cbf) {
         this.cbf = cbf;
@@ -223,8 +248,21 @@ public class EntityViewManagerImpl implements EntityViewManager {
         this.entityIdAccessor = new EntityIdAttributeAccessor(jpaProvider);
         this.unsafeDisabled = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED)));
         this.strictCascadingCheck = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK)));
+        this.preloadCascadeDeleteGraph = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_PRELOAD_CASCADE_DELETE_GRAPH)));
+        this.batchVersionChecks = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_BATCH_VERSION_CHECKS)));
         this.proxyFactory = new ProxyFactory(unsafeDisabled, strictCascadingCheck, packageOpener);
         this.transactionSupport = config.getTransactionSupport();
+        if (config.getPostCommitListenerExecutor() == null) {
+            this.postCommitListenerDispatcher = null;
+        } else {
+            int queueSize = Integer.parseInt(String.valueOf(config.getProperty(ConfigurationProperties.POST_COMMIT_LISTENER_QUEUE_SIZE)));
+            this.postCommitListenerDispatcher = new AsyncPostCommitListenerDispatcher(config.getPostCommitListenerExecutor(), queueSize);
+        }
+        this.correlationBatchStatistics = new CorrelationBatchStatisticsImpl(
+                !"false".equals(String.valueOf(config.getProperty(ConfigurationProperties.ADAPTIVE_BATCH_SIZE))),
+                Integer.parseInt(String.valueOf(config.getProperty(ConfigurationProperties.ADAPTIVE_BATCH_SIZE_LIMIT))),
+                TimeUnit.MILLISECONDS.toNanos(Long.parseLong(String.valueOf(config.getProperty(ConfigurationProperties.ADAPTIVE_BATCH_LATENCY_THRESHOLD))))
+        );
         this.optionalParameters = Collections.unmodifiableMap(new HashMap<>(config.getOptionalParameters()));
         this.serializableDelegates = new ClassValue<EntityViewManager>() {
             @Override
@@ -242,6 +280,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         boolean scanStaticBuilder = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_BUILDER_SCANNING_DISABLED)));
         boolean scanStaticImplementations = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_IMPLEMENTATION_SCANNING_DISABLED)));
         boolean scanStaticMetamodels = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_METAMODEL_SCANNING_DISABLED)));
+        boolean useIndex = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.INDEX_DISABLED)));
 
         Set<String> errors = config.getBootContext().getErrors();
         Map<String, JpqlFunction> functions = cbf.getRegisteredFunctions();
@@ -324,6 +363,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         Map<ViewBuilderKey, Constructor<? extends EntityViewBuilder<?>>> viewBuilderConstructors = new HashMap<>();
         Map<Class<?>, Constructor<?>> relationConstructors = new HashMap<>(viewMetamodel.getManagedViews().size());
         Map<Class<?>, Constructor<?>> multiRelationConstructors = new HashMap<>(viewMetamodel.getManagedViews().size());
+        Map<ClassLoader, EntityViewIndex> indexes = new HashMap<>();
         for (ManagedViewType<?> managedView : viewMetamodel.getManagedViews()) {
             Class<?> javaType = managedView.getJavaType();
             Listeners l = new Listeners(managedView.getEntityClass());
@@ -353,15 +393,28 @@ public class EntityViewManagerImpl implements EntityViewManager {
                 l.addPostRollbackListener(javaType, new ViewInstancePostRollbackListener(managedView.getPostRollbackMethod()), managedView.getPostCommitTransitions());
             }
 
+            // When the entity view is indexed, the index tells us which static classes exist, so we can avoid trying to load absent classes
+            EntityViewIndex index = null;
+            if (useIndex) {
+                ClassLoader classLoader = javaType.getClassLoader();
+                index = indexes.get(classLoader);
+                if (index == null && !indexes.containsKey(classLoader)) {
+                    index = EntityViewIndex.load(classLoader);
+                    indexes.put(classLoader, index);
+                }
+                if (index != null && !index.contains(javaType.getName())) {
+                    index = null;
+                }
+            }
             if (!javaType.isInterface() && !Modifier.isAbstract(javaType.getModifiers())) {
                 proxyFactory.setImplementation(javaType);
-            } else if (scanStaticImplementations) {
+            } else if (scanStaticImplementations && (index == null || index.hasKind(javaType.getName(), EntityViewIndex.KIND_STATIC_IMPLEMENTATION))) {
                 proxyFactory.loadImplementation(errors, managedView, this);
             }
-            if (scanStaticMetamodels) {
+            if (scanStaticMetamodels && (index == null || index.hasKind(javaType.getName(), EntityViewIndex.KIND_STATIC_METAMODEL))) {
                 initializeStaticMetamodel(errors, managedView, relationConstructors, multiRelationConstructors);
             }
-            if (scanStaticBuilder) {
+            if (scanStaticBuilder && (index == null || index.hasKind(javaType.getName(), EntityViewIndex.KIND_STATIC_BUILDER))) {
                 initializeStaticBuilder(errors, managedView, viewBuilderConstructors);
             }
 
@@ -432,6 +485,13 @@ public class EntityViewManagerImpl implements EntityViewManager {
         }
 
         this.listeners = listeners;
+        this.viewCacheManager = EntityViewCacheManager.create(metamodel);
+        if (viewCacheManager != null) {
+            EntityModificationListenerRegistry entityModificationListenerRegistry = cbf.getService(EntityModificationListenerRegistry.class);
+            if (entityModificationListenerRegistry != null) {
+                entityModificationListenerRegistry.addEntityModificationListener(viewCacheManager);
+            }
+        }
 
         if (Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.TEMPLATE_EAGER_LOADING)))) {
             for (ViewTypeImpl<?> view : metamodel.views()) {
@@ -744,6 +804,21 @@ public class EntityViewManagerImpl implements EntityViewManager {
         }
     }
 
+    public AsyncPostCommitListenerDispatcher getPostCommitListenerDispatcher() {
+        return postCommitListenerDispatcher;
+    }
+
+    public CorrelationBatchStatisticsImpl getCorrelationBatchStatistics() {
+        return correlationBatchStatistics;
+    }
+
+    public EntityViewCacheRegion getCorrelationCacheRegion(AbstractAttribute<?, ?> attribute) {
+        if (viewCacheManager == null || !attribute.isCorrelationCacheable()) {
+            return null;
+        }
+        return viewCacheManager.getCorrelationRegion(attribute);
+    }
+
     public Set<Class<?>> getJavaTypeToManagedTypeJavaTypes(Class<?> javaType) {
         Set<Class<?>> classes = javaTypeToManagedTypeJavaTypes.get(javaType);
         if (classes == null) {
@@ -758,6 +833,10 @@ public class EntityViewManagerImpl implements EntityViewManager {
             return (T) metamodel.getEntityMetamodel();
         } else if (TransactionSupport.class.isAssignableFrom(serviceClass)) {
             return (T) transactionSupport;
+        } else if (PostCommitListenerDispatchStatistics.class.isAssignableFrom(serviceClass)) {
+            return (T) postCommitListenerDispatcher;
+        } else if (CorrelationBatchStatistics.class.isAssignableFrom(serviceClass)) {
+            return (T) correlationBatchStatistics;
         } else if (CriteriaBuilderFactory.class.isAssignableFrom(serviceClass)) {
             return (T) cbf;
         }
@@ -797,6 +876,22 @@ public class EntityViewManagerImpl implements EntityViewManager {
 
     @Override
     public <T> T find(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId) {
+        EntityViewCacheRegion cacheRegion;
+        if (viewCacheManager == null || entityId == null || (cacheRegion = viewCacheManager.getRegion(entityViewSetting)) == null) {
+            return find0(entityManager, entityViewSetting, entityId);
+        }
+        T result = (T) cacheRegion.get(entityId);
+        if (result == null) {
+            long generation = cacheRegion.getGeneration();
+            result = find0(entityManager, entityViewSetting, entityId);
+            if (result != null) {
+                cacheRegion.put(entityId, result, generation);
+            }
+        }
+        return result;
+    }
+
+    private <T> T find0(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId) {
         ViewTypeImpl<T> managedViewType = metamodel.viewOrError(entityViewSetting.getEntityViewClass());
         EntityType<?> entityType = (EntityType<?>) managedViewType.getJpaManagedType();
         javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute = JpaMetamodelUtils.getSingleIdAttribute(entityType);
@@ -806,6 +901,61 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return resultList.isEmpty() ? null : resultList.get(0);
     }
 
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds) {
+        return findAll(entityManager, EntityViewSetting.create(entityViewClass), entityIds);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds) {
+        List<T> result = new ArrayList<>(entityIds.size());
+        if (entityIds.isEmpty()) {
+            return result;
+        }
+        ViewTypeImpl<T> managedViewType = metamodel.viewOrError(entityViewSetting.getEntityViewClass());
+        EntityViewCacheRegion cacheRegion = viewCacheManager == null ? null : viewCacheManager.getRegion(entityViewSetting);
+        Map<Object, T> viewsByEntityId = new HashMap<>(entityIds.size());
+        List<Object> missingEntityIds = new ArrayList<>(entityIds.size());
+        for (Object entityId : entityIds) {
+            if (entityId != null && !viewsByEntityId.containsKey(entityId)) {
+                T view = cacheRegion == null ? null : (T) cacheRegion.get(entityId);
+                if (view == null) {
+                    missingEntityIds.add(entityId);
+                }
+                viewsByEntityId.put(entityId, view);
+            }
+        }
+
+        if (!missingEntityIds.isEmpty()) {
+            long generation = cacheRegion == null ? 0L : cacheRegion.getGeneration();
+            EntityType<?> entityType = (EntityType<?>) managedViewType.getJpaManagedType();
+            javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute = JpaMetamodelUtils.getSingleIdAttribute(entityType);
+            String idPredicate = idAttribute.getName() + " IN :" + FIND_ALL_ENTITY_IDS_PARAMETER;
+            boolean basicViewId = managedViewType.getIdAttribute().getMappingType() == Attribute.MappingType.BASIC;
+            for (int i = 0; i < missingEntityIds.size(); i += FIND_ALL_CHUNK_SIZE) {
+                List<Object> chunk = missingEntityIds.subList(i, Math.min(i + FIND_ALL_CHUNK_SIZE, missingEntityIds.size()));
+                // The object builder template is cached, but the object builder itself is stateful, so we need one per query
+                CriteriaBuilder<?> cb = cbf.create(entityManager, managedViewType.getEntityClass())
+                        .whereExpression(idPredicate)
+                        .setParameter(FIND_ALL_ENTITY_IDS_PARAMETER, chunk);
+                for (T view : applySetting(entityViewSetting, cb).getResultList()) {
+                    EntityViewProxy proxy = (EntityViewProxy) view;
+                    Object entityId = basicViewId ? proxy.$$_getId() : getEntityId(entityManager, proxy);
+                    viewsByEntityId.put(entityId, view);
+                    if (cacheRegion != null) {
+                        cacheRegion.put(entityId, view, generation);
+                    }
+                }
+            }
+        }
+
+        for (Object entityId : entityIds) {
+            result.add(entityId == null ? null : viewsByEntityId.get(entityId));
+        }
+        return result;
+    }
+
     @Override
     public <T> T getReference(Class<T> entityViewClass, Object id) {
         Constructor<T> constructor = (Constructor<T>) referenceConstructorCache.get(entityViewClass);
@@ -1087,7 +1237,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
 
     @Override
     public void remove(EntityManager entityManager, Object view) {
-        remove(new DefaultUpdateContext(this, entityManager, false, false, true, null, view, null), view);
+        UpdateContext context = new DefaultUpdateContext(this, entityManager, false, false, true, null, view, null);
+        remove(context, view);
+        context.executeBatchedVersionChecks();
     }
 
     public void remove(UpdateContext context, Object view) {
@@ -1113,6 +1265,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
                     }
                 }
                 updater.remove(context, proxy);
+                if (viewCacheManager != null) {
+                    viewCacheManager.invalidate(context.getTransactionAccess(), viewType, getEntityId(context.getEntityManager(), proxy), false, true);
+                }
             }
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
@@ -1122,7 +1277,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
 
     @Override
     public void remove(EntityManager entityManager, Class<?> entityViewClass, Object viewId) {
-        remove(new DefaultUpdateContext(this, entityManager, false, false, true, entityViewClass, viewId, null), entityViewClass, viewId);
+        UpdateContext context = new DefaultUpdateContext(this, entityManager, false, false, true, entityViewClass, viewId, null);
+        remove(context, entityViewClass, viewId);
+        context.executeBatchedVersionChecks();
     }
 
     public void remove(UpdateContext context, Class<?> entityViewClass, Object viewId) {
@@ -1133,6 +1290,11 @@ public class EntityViewManagerImpl implements EntityViewManager {
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
         try {
             updater.remove(context, viewId);
+            if (viewCacheManager != null) {
+                // View ids that are subviews would have to be converted first, so we invalidate everything in that case
+                Object entityId = viewId instanceof EntityViewProxy ? null : viewId;
+                viewCacheManager.invalidate(context.getTransactionAccess(), viewType, entityId, false, true);
+            }
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
@@ -1150,11 +1312,15 @@ public class EntityViewManagerImpl implements EntityViewManager {
     }
 
     public void update(EntityManager em, Object view, boolean forceFull) {
-        update(new DefaultUpdateContext(this, em, forceFull, false, false, null, view, null), view);
+        UpdateContext context = new DefaultUpdateContext(this, em, forceFull, false, false, null, view, null);
+        update(context, view);
+        context.executeBatchedVersionChecks();
     }
 
     public void updateTo(EntityManager em, Object view, Object entity, boolean forceFull) {
-        updateTo(new DefaultUpdateContext(this, em, forceFull, true, false, null, view, null), view, entity);
+        UpdateContext context = new DefaultUpdateContext(this, em, forceFull, true, false, null, view, null);
+        updateTo(context, view, entity);
+        context.executeBatchedVersionChecks();
     }
 
     @Override
@@ -1176,6 +1342,98 @@ public class EntityViewManagerImpl implements EntityViewManager {
     public FlushOperationBuilder saveFullWithTo(EntityManager em, Object view, Object entity) {
         return new DefaultUpdateContext(this, em, true, true, false, null, view, entity);
     }
+
+    @Override
+    public void saveAll(EntityManager em, Collection<?> views) {
+        UpdateContext context = new DefaultUpdateContext(this, em, false, false, false, true, null, views, null);
+        updateAll(context, views);
+        context.executeBatchedVersionChecks();
+    }
+
+    @Override
+    public FlushOperationBuilder saveAllWith(EntityManager em, Collection<?> views) {
+        return new DefaultUpdateContext(this, em, false, false, false, true, null, views, null);
+    }
+
+    public void updateAll(UpdateContext context, Collection<?> views) {
+        // Group the views by type and dirty state so that flushes which produce the same statements run consecutively
+        // Every view still executes its own statements and optimistic lock check, but the updater and query strings are reused within a group
+        Map<UpdateGroupKey, List<Object>> groups = new LinkedHashMap<>();
+        for (Object view : views) {
+            if (!(view instanceof MutableStateTrackable)) {
+                throw new IllegalArgumentException("Can't update non-updatable entity views: " + view);
+            }
+            MutableStateTrackable updatableProxy = (MutableStateTrackable) view;
+            UpdateGroupKey groupKey = new UpdateGroupKey(updatableProxy.$$_getEntityViewClass(), updatableProxy.$$_isNew(), updatableProxy.$$_getDirty());
+            List<Object> group = groups.get(groupKey);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(groupKey, group);
+            }
+            group.add(view);
+        }
+        Set<UpdateGroupKey> flushedGroups = new HashSet<>(groups.size());
+        for (Map.Entry<UpdateGroupKey, List<Object>> entry : groups.entrySet()) {
+            updateGroup(context, groups, entry.getKey(), entry.getValue(), flushedGroups);
+        }
+    }
+
+    private void updateGroup(UpdateContext context, Map<UpdateGroupKey, List<Object>> groups, UpdateGroupKey groupKey, List<Object> group, Set<UpdateGroupKey> flushedGroups) {
+        if (!flushedGroups.add(groupKey)) {
+            return;
+        }
+        ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(groupKey.entityViewClass);
+        if (groupKey.isNew) {
+            // Persist the new views that are referenced by this group first, so that the referenced entities already exist
+            for (Map.Entry<UpdateGroupKey, List<Object>> entry : groups.entrySet()) {
+                UpdateGroupKey otherGroupKey = entry.getKey();
+                if (otherGroupKey.isNew && !flushedGroups.contains(otherGroupKey) && referencesViewType(viewType, otherGroupKey.entityViewClass)) {
+                    updateGroup(context, groups, otherGroupKey, entry.getValue(), flushedGroups);
+                }
+            }
+        }
+        // The updater is resolved once for the whole group rather than for every view
+        EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
+        boolean persisted = false;
+        try {
+            for (int i = 0; i < group.size(); i++) {
+                MutableStateTrackable updatableProxy = (MutableStateTrackable) group.get(i);
+                // A new view might have been persisted already through a cascade from a previous group
+                if (updatableProxy.$$_isNew()) {
+                    updater.executePersist(context, updatableProxy);
+                    persisted = true;
+                } else {
+                    updater.executeUpdate(context, updatableProxy);
+                    if (viewCacheManager != null) {
+                        viewCacheManager.invalidate(context.getTransactionAccess(), viewType, getEntityId(context.getEntityManager(), updatableProxy), false, false);
+                    }
+                }
+            }
+            if (persisted && viewCacheManager != null) {
+                viewCacheManager.invalidate(context.getTransactionAccess(), viewType, null, true, false);
+            }
+        } catch (Throwable t) {
+            context.getTransactionAccess().markRollbackOnly();
+            ExceptionUtils.doThrow(t);
+        }
+    }
+
+    private static boolean referencesViewType(ManagedViewType<?> viewType, Class<?> referencedViewClass) {
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            if (attribute.isSubview()) {
+                Type<?> type;
+                if (attribute instanceof PluralAttribute<?, ?, ?>) {
+                    type = ((PluralAttribute<?, ?, ?>) attribute).getElementType();
+                } else {
+                    type = ((SingularAttribute<?, ?>) attribute).getType();
+                }
+                if (type.getJavaType().isAssignableFrom(referencedViewClass)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
     
     public void update(UpdateContext context, Object view) {
         if (!(view instanceof MutableStateTrackable)) {
@@ -1189,8 +1447,14 @@ public class EntityViewManagerImpl implements EntityViewManager {
         try {
             if (updatableProxy.$$_isNew()) {
                 updater.executePersist(context, updatableProxy);
+                if (viewCacheManager != null) {
+                    viewCacheManager.invalidate(context.getTransactionAccess(), viewType, null, true, false);
+                }
             } else {
                 updater.executeUpdate(context, updatableProxy);
+                if (viewCacheManager != null) {
+                    viewCacheManager.invalidate(context.getTransactionAccess(), viewType, getEntityId(context.getEntityManager(), updatableProxy), false, false);
+                }
             }
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
@@ -1212,6 +1476,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
         try {
             updater.executeUpdate(context, entity, updatableProxy);
+            if (viewCacheManager != null) {
+                viewCacheManager.invalidate(context.getTransactionAccess(), viewType, getEntityId(context.getEntityManager(), updatableProxy), false, false);
+            }
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
@@ -1227,7 +1494,11 @@ public class EntityViewManagerImpl implements EntityViewManager {
         Class<?> entityViewClass = updatableProxy.$$_getEntityViewClass();
         ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(entityViewClass);
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
-        return updater.executePersist(context, updatableProxy);
+        Object entity = updater.executePersist(context, updatableProxy);
+        if (viewCacheManager != null) {
+            viewCacheManager.invalidate(context.getTransactionAccess(), viewType, null, true, false);
+        }
+        return entity;
     }
 
     @Override
@@ -1240,10 +1511,43 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return EntityViewSettingHelper.apply(setting, this, criteriaBuilder, entityViewRoot);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder) {
+        Q queryBuilder = applySetting(setting, criteriaBuilder);
+        EntityViewCacheRegion cacheRegion;
+        if (viewCacheManager == null || (cacheRegion = viewCacheManager.getQueryResultRegion(setting)) == null) {
+            return queryBuilder.getResultList();
+        }
+        Set<Class<?>> entityClasses = new HashSet<>();
+        boolean complete = queryBuilder.getService(QueryEntityTypeCollector.class).collectEntityClasses(entityClasses);
+        cacheRegion.addDependencies(entityClasses, !complete);
+
+        QueryResultCacheKey cacheKey = QueryResultCacheKey.of(setting, queryBuilder);
+        List<T> result = (List<T>) cacheRegion.get(cacheKey);
+        if (result == null) {
+            long generation = cacheRegion.getGeneration();
+            result = queryBuilder.getResultList();
+            if (!(result instanceof PagedList<?>)) {
+                result = Collections.unmodifiableList(result);
+            }
+            cacheRegion.put(cacheKey, result, generation);
+        }
+        return result;
+    }
+
     public boolean isUnsafeDisabled() {
         return unsafeDisabled;
     }
 
+    public boolean isPreloadCascadeDeleteGraph() {
+        return preloadCascadeDeleteGraph;
+    }
+
+    public boolean isBatchVersionChecks() {
+        return batchVersionChecks;
+    }
+
     public boolean supportsTransientReference() {
         return supportsTransientReference;
     }
@@ -1336,6 +1640,10 @@ public class EntityViewManagerImpl implements EntityViewManager {
     }
 
     public ObjectBuilder<?> createObjectBuilder(ManagedViewTypeImplementor<?> viewType, MappingConstructorImpl<?> mappingConstructor, Class<?> rootType, String entityViewRoot, String embeddingViewPath, FullQueryBuilder<?, ?> criteriaBuilder, EntityViewConfiguration configuration, int offset, int suffix, boolean nullFlatViewIfEmpty) {
+        return createObjectBuilder(viewType, mappingConstructor, rootType, entityViewRoot, embeddingViewPath, criteriaBuilder, configuration, offset, suffix, nullFlatViewIfEmpty, null);
+    }
+
+    public ObjectBuilder<?> createObjectBuilder(ManagedViewTypeImplementor<?> viewType, MappingConstructorImpl<?> mappingConstructor, Class<?> rootType, String entityViewRoot, String embeddingViewPath, FullQueryBuilder<?, ?> criteriaBuilder, EntityViewConfiguration configuration, int offset, int suffix, boolean nullFlatViewIfEmpty, Map<? extends ManagedViewType<?>, String> inheritanceSubtypeMappings) {
         ExpressionFactory ef = criteriaBuilder.getService(ExpressionFactory.class);
         if (!viewType.getEntityClass().isAssignableFrom(rootType)) {
             if (rootType.isAssignableFrom(viewType.getEntityClass())) {
@@ -1360,7 +1668,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         MacroConfigurationExpressionFactory macroEf = new MacroConfigurationExpressionFactory(cachingExpressionFactory, macroConfiguration);
         criteriaBuilder.registerMacro("view_root", viewRootJpqlMacro);
 
-        return getTemplate(macroEf, viewType, mappingConstructor, entityViewRoot, viewJpqlMacro, embeddingViewPath, embeddingViewJpqlMacro, offset)
+        return getTemplate(macroEf, viewType, mappingConstructor, entityViewRoot, viewJpqlMacro, embeddingViewPath, embeddingViewJpqlMacro, offset, inheritanceSubtypeMappings)
             .createObjectBuilder(criteriaBuilder, configuration.getOptionalParameters(), configuration, suffix, false, nullFlatViewIfEmpty);
     }
 
@@ -1374,7 +1682,11 @@ public class EntityViewManagerImpl implements EntityViewManager {
     }
 
     public ViewTypeObjectBuilderTemplate<?> getTemplate(MacroConfigurationExpressionFactory ef, ManagedViewTypeImplementor<?> viewType, MappingConstructorImpl<?> mappingConstructor, String entityViewRoot, ViewJpqlMacro viewJpqlMacro, String embeddingViewPath, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, int offset) {
-        ViewTypeObjectBuilderTemplate.Key key = new ViewTypeObjectBuilderTemplate.Key(ef, viewType, mappingConstructor, entityViewRoot, embeddingViewPath, offset);
+        return getTemplate(ef, viewType, mappingConstructor, entityViewRoot, viewJpqlMacro, embeddingViewPath, embeddingViewJpqlMacro, offset, null);
+    }
+
+    public ViewTypeObjectBuilderTemplate<?> getTemplate(MacroConfigurationExpressionFactory ef, ManagedViewTypeImplementor<?> viewType, MappingConstructorImpl<?> mappingConstructor, String entityViewRoot, ViewJpqlMacro viewJpqlMacro, String embeddingViewPath, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, int offset, Map<? extends ManagedViewType<?>, String> inheritanceSubtypeMappings) {
+        ViewTypeObjectBuilderTemplate.Key key = new ViewTypeObjectBuilderTemplate.Key(ef, viewType, mappingConstructor, entityViewRoot, embeddingViewPath, offset, inheritanceSubtypeMappings);
         if (!key.isCacheable()) {
             return key.createValue(this, proxyFactory, viewJpqlMacro, embeddingViewJpqlMacro, ef);
         }
@@ -1453,6 +1765,49 @@ public class EntityViewManagerImpl implements EntityViewManager {
     @Override
     public void close() {
         proxyFactory.clear();
+        if (viewCacheManager != null) {
+            EntityModificationListenerRegistry entityModificationListenerRegistry = cbf.getService(EntityModificationListenerRegistry.class);
+            if (entityModificationListenerRegistry != null) {
+                entityModificationListenerRegistry.removeEntityModificationListener(viewCacheManager);
+            }
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class UpdateGroupKey {
+        private final Class<?> entityViewClass;
+        private final boolean isNew;
+        private final long[] dirty;
+
+        public UpdateGroupKey(Class<?> entityViewClass, boolean isNew, long[] dirty) {
+            this.entityViewClass = entityViewClass;
+            this.isNew = isNew;
+            this.dirty = dirty;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof UpdateGroupKey)) {
+                return false;
+            }
+
+            UpdateGroupKey that = (UpdateGroupKey) o;
+            return isNew == that.isNew && Arrays.equals(dirty, that.dirty) && entityViewClass.equals(that.entityViewClass);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = entityViewClass.hashCode();
+            result = 31 * result + (isNew ? 1 : 0);
+            result = 31 * result + Arrays.hashCode(dirty);
+            return result;
+        }
     }
 
     /**
@@ -34,11 +34,13 @@ import com.blazebit.persistence.view.ViewFilterProvider;
 import com.blazebit.persistence.view.impl.macro.MutableEmbeddingViewJpqlMacro;
 import com.blazebit.persistence.view.impl.macro.MutableViewJpqlMacro;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImpl;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 import com.blazebit.persistence.view.impl.metamodel.ViewTypeImplementor;
 import com.blazebit.persistence.view.metamodel.AttributeFilterMapping;
 import com.blazebit.persistence.view.metamodel.FlatViewType;
+import com.blazebit.persistence.view.metamodel.ManagedViewType;
 import com.blazebit.persistence.view.metamodel.MappingAttribute;
 import com.blazebit.persistence.view.metamodel.MethodAttribute;
 import com.blazebit.persistence.view.metamodel.PluralAttribute;
@@ -116,7 +118,15 @@ public final class EntityViewSettingHelper {
         entityViewRoot = root.getPath();
         Q queryBuilder = getQueryBuilder(setting, criteriaBuilder, entityViewRoot, managedView, setting.getProperties());
         EntityViewConfiguration configuration = new EntityViewConfiguration(queryBuilder, ef, new MutableViewJpqlMacro(), new MutableEmbeddingViewJpqlMacro(), optionalParameters, setting.getProperties(), requestedFetches, managedView);
-        queryBuilder.selectNew(evm.createObjectBuilder(managedView, mappingConstructor, root.getJavaType(), entityViewRoot, null, criteriaBuilder, configuration, 0, 0, false));
+        Map<ManagedViewType<?>, String> inheritanceSubtypeMappings = null;
+        if (setting.hasInheritanceSubtypes()) {
+            ManagedViewTypeImpl.InheritanceSubtypeConfiguration<?> inheritanceSubtypeConfiguration = managedView.getPrunedInheritanceSubtypeConfiguration(setting.getInheritanceSubtypes());
+            if (inheritanceSubtypeConfiguration != managedView.getDefaultInheritanceSubtypeConfiguration()) {
+                inheritanceSubtypeMappings = (Map<ManagedViewType<?>, String>) (Map<?, ?>) inheritanceSubtypeConfiguration.getInheritanceSubtypeConfiguration();
+                applyInheritanceSubtypeRestriction(inheritanceSubtypeConfiguration, managedView, ef, queryBuilder, entityViewRoot);
+            }
+        }
+        queryBuilder.selectNew(evm.createObjectBuilder(managedView, mappingConstructor, root.getJavaType(), entityViewRoot, null, criteriaBuilder, configuration, 0, 0, false, inheritanceSubtypeMappings));
         Set<String> fetches = configuration.getFetches();
         applyAttributeFilters(setting, evm, queryBuilder, entityViewRoot, fetches, managedView);
         applyViewFilters(setting, evm, queryBuilder, managedView);
@@ -125,6 +135,24 @@ public final class EntityViewSettingHelper {
         return queryBuilder;
     }
 
+    private static void applyInheritanceSubtypeRestriction(ManagedViewTypeImpl.InheritanceSubtypeConfiguration<?> inheritanceSubtypeConfiguration, ManagedViewTypeImplementor<?> managedView, ExpressionFactory ef, WhereBuilder<?> whereBuilder, String entityViewRoot) {
+        // Rows of pruned subtypes would otherwise produce null elements, so we restrict the query to the considered subtypes
+        String restriction;
+        String baseMapping = inheritanceSubtypeConfiguration.getInheritanceSubtypeConfiguration().get(managedView);
+        if (inheritanceSubtypeConfiguration.hasSubtypes()) {
+            if (baseMapping != null && baseMapping.isEmpty()) {
+                return;
+            }
+            restriction = inheritanceSubtypeConfiguration.getInheritanceDiscriminatorMapping();
+            restriction = PrefixingQueryGenerator.prefix(ef, ef.createSimpleExpression(restriction, false), entityViewRoot, managedView.getEntityViewRootTypes().keySet(), false) + " IS NOT NULL";
+        } else if (baseMapping == null || baseMapping.isEmpty()) {
+            return;
+        } else {
+            restriction = PrefixingQueryGenerator.prefix(ef, ef.createBooleanExpression(baseMapping, false), entityViewRoot, managedView.getEntityViewRootTypes().keySet(), false);
+        }
+        whereBuilder.whereExpression(restriction);
+    }
+
     private static <T, Q extends FullQueryBuilder<T, Q>> Q getQueryBuilder(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder, String entityViewRoot, ManagedViewTypeImplementor<?> managedView, Map<String, Object> properties) {
         if (setting.isPaginated()) {
             KeysetPage keysetPage = setting.getKeysetPage();
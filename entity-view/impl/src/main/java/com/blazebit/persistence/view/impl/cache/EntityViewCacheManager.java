@@ -0,0 +1,447 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.cache;
+
+import com.blazebit.persistence.parser.EntityMetamodel;
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.spi.EntityModificationListener;
+import com.blazebit.persistence.spi.ExtendedAttribute;
+import com.blazebit.persistence.spi.ExtendedManagedType;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.impl.EntityTypeGathererExpressionVisitor;
+import com.blazebit.persistence.view.impl.StaticCorrelationProvider;
+import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import com.blazebit.persistence.view.impl.metamodel.ViewMetamodelImpl;
+import com.blazebit.persistence.view.impl.tx.TransactionHelper;
+import com.blazebit.persistence.view.metamodel.MapAttribute;
+import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.MappingConstructor;
+import com.blazebit.persistence.view.metamodel.MethodAttribute;
+import com.blazebit.persistence.view.metamodel.ParameterAttribute;
+import com.blazebit.persistence.view.metamodel.Type;
+import com.blazebit.persistence.view.spi.EntityViewCache;
+import com.blazebit.persistence.view.spi.EntityViewCacheFactory;
+import com.blazebit.persistence.view.spi.TransactionAccess;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import javax.transaction.Synchronization;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Manages the entity and query result caches of entity views annotated with {@link com.blazebit.persistence.view.CacheableView}
+ * as well as the caches of correlated attributes annotated with {@link com.blazebit.persistence.view.CacheableCorrelation}
+ * and invalidates them when entities are modified through the entity view manager or DML criteria builders.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class EntityViewCacheManager implements EntityModificationListener {
+
+    private final EntityMetamodel entityMetamodel;
+    private final Map<Class<?>, EntityViewCacheRegion> regions;
+    private final Map<Class<?>, EntityViewCacheRegion> queryResultRegions;
+    private final Map<AbstractAttribute<?, ?>, EntityViewCacheRegion> correlationRegions;
+    private final EntityViewCacheRegion[] regionArray;
+    private final ConcurrentMap<Class<?>, Set<Class<?>>> updateCascadedEntityClasses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Set<Class<?>>> removeCascadedEntityClasses = new ConcurrentHashMap<>();
+
+    private EntityViewCacheManager(EntityMetamodel entityMetamodel, Map<Class<?>, EntityViewCacheRegion> regions, Map<Class<?>, EntityViewCacheRegion> queryResultRegions,
+                                   Map<AbstractAttribute<?, ?>, EntityViewCacheRegion> correlationRegions) {
+        this.entityMetamodel = entityMetamodel;
+        this.regions = regions;
+        this.queryResultRegions = queryResultRegions;
+        this.correlationRegions = correlationRegions;
+        List<EntityViewCacheRegion> allRegions = new ArrayList<>(regions.size() + queryResultRegions.size() + correlationRegions.size());
+        allRegions.addAll(regions.values());
+        allRegions.addAll(queryResultRegions.values());
+        allRegions.addAll(correlationRegions.values());
+        this.regionArray = allRegions.toArray(new EntityViewCacheRegion[allRegions.size()]);
+    }
+
+    /**
+     * Creates a cache manager for the cacheable entity views and correlations of the given metamodel or returns <code>null</code> if there are none.
+     *
+     * @param metamodel The entity view metamodel
+     * @return The cache manager or <code>null</code>
+     */
+    public static EntityViewCacheManager create(ViewMetamodelImpl metamodel) {
+        Map<Class<?>, EntityViewCacheRegion> regions = null;
+        Map<Class<?>, EntityViewCacheRegion> queryResultRegions = null;
+        Map<AbstractAttribute<?, ?>, EntityViewCacheRegion> correlationRegions = new IdentityHashMap<>();
+        EntityViewCacheFactory cacheFactory = null;
+        for (ManagedViewType<?> managedViewType : metamodel.getManagedViews()) {
+            ManagedViewTypeImplementor<?> viewType = (ManagedViewTypeImplementor<?>) managedViewType;
+            for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+                addCorrelationRegion(metamodel.getEntityMetamodel(), viewType, (AbstractAttribute<?, ?>) attribute, correlationRegions);
+            }
+            for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+                for (ParameterAttribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                    addCorrelationRegion(metamodel.getEntityMetamodel(), viewType, (AbstractAttribute<?, ?>) attribute, correlationRegions);
+                }
+            }
+            if (!viewType.isCacheable()) {
+                continue;
+            }
+            if (regions == null) {
+                regions = new HashMap<>();
+                queryResultRegions = new HashMap<>();
+                cacheFactory = loadCacheFactory();
+            }
+            Set<Class<?>> dependencies = new HashSet<>();
+            boolean incomplete = collectDependencies(metamodel.getEntityMetamodel(), viewType, true, new HashSet<ManagedViewType<?>>(), dependencies);
+            EntityViewCache cache;
+            EntityViewCache queryResultCache;
+            if (cacheFactory == null) {
+                cache = new LocalEntityViewCache(viewType.getCacheTimeToLive(), viewType.getCacheMaxSize());
+                queryResultCache = new LocalEntityViewCache(viewType.getCacheTimeToLive(), viewType.getCacheMaxSize());
+            } else {
+                cache = cacheFactory.createCache(viewType.getJavaType(), viewType.getCacheTimeToLive(), viewType.getCacheMaxSize());
+                queryResultCache = cacheFactory.createQueryResultCache(viewType.getJavaType(), viewType.getCacheTimeToLive(), viewType.getCacheMaxSize());
+            }
+            regions.put(viewType.getJavaType(), new EntityViewCacheRegion(viewType.getJavaType(), viewType.getEntityClass(), Collections.unmodifiableSet(dependencies), incomplete, cache, false));
+            // The entity types of the query join graphs are added when queries are executed
+            Set<Class<?>> queryResultDependencies = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+            queryResultDependencies.addAll(dependencies);
+            queryResultRegions.put(viewType.getJavaType(), new EntityViewCacheRegion(viewType.getJavaType(), viewType.getEntityClass(), queryResultDependencies, incomplete, queryResultCache, true));
+        }
+        if (regions == null) {
+            if (correlationRegions.isEmpty()) {
+                return null;
+            }
+            regions = Collections.emptyMap();
+            queryResultRegions = Collections.emptyMap();
+        }
+        return new EntityViewCacheManager(metamodel.getEntityMetamodel(), regions, queryResultRegions, correlationRegions);
+    }
+
+    private static void addCorrelationRegion(EntityMetamodel entityMetamodel, ManagedViewTypeImplementor<?> viewType, AbstractAttribute<?, ?> attribute, Map<AbstractAttribute<?, ?>, EntityViewCacheRegion> correlationRegions) {
+        if (!attribute.isCorrelationCacheable()) {
+            return;
+        }
+        Set<Class<?>> dependencies = new HashSet<>();
+        boolean incomplete = collectDependencies(entityMetamodel, viewType.getJpaManagedType(), attribute, new HashSet<ManagedViewType<?>>(), dependencies);
+        Class<?> entityClass = attribute.getCorrelated() == null ? viewType.getEntityClass() : attribute.getCorrelated();
+        // Correlation caches are keyed by correlation basis values rather than by entity view ids, so they are always kept in-process
+        EntityViewCache cache = new LocalEntityViewCache(attribute.getCorrelationCacheTimeToLive(), attribute.getCorrelationCacheMaxSize());
+        // Any modification of a dependency could change the correlation results, so such regions are handled like query result regions
+        correlationRegions.put(attribute, new EntityViewCacheRegion(viewType.getJavaType(), entityClass, Collections.unmodifiableSet(dependencies), incomplete, cache, true));
+    }
+
+    private static EntityViewCacheFactory loadCacheFactory() {
+        List<EntityViewCacheFactory> cacheFactories = new ArrayList<>();
+        for (EntityViewCacheFactory cacheFactory : ServiceLoader.load(EntityViewCacheFactory.class)) {
+            cacheFactories.add(cacheFactory);
+        }
+        if (cacheFactories.isEmpty()) {
+            return null;
+        }
+        Collections.sort(cacheFactories, new Comparator<EntityViewCacheFactory>() {
+            @Override
+            public int compare(EntityViewCacheFactory o1, EntityViewCacheFactory o2) {
+                return Integer.compare(o1.getPriority(), o2.getPriority());
+            }
+        });
+        return cacheFactories.get(0);
+    }
+
+    /**
+     * Returns the cache region for the entity view type of the given setting,
+     * or <code>null</code> if the entity view type isn't cacheable or the setting customizes the result.
+     *
+     * @param setting The entity view setting
+     * @return The cache region or <code>null</code>
+     */
+    public EntityViewCacheRegion getRegion(EntityViewSetting<?, ?> setting) {
+        EntityViewCacheRegion region = regions.get(setting.getEntityViewClass());
+        if (region == null || setting.getViewConstructorName() != null || setting.hasAttributeFilters() || setting.hasViewFilters()
+                || setting.hasAttributeSorters() || setting.hasOptionalParameters() || !setting.getProperties().isEmpty() || !setting.getFetches().isEmpty()) {
+            return null;
+        }
+        return region;
+    }
+
+    /**
+     * Returns the query result cache region for the entity view type of the given setting,
+     * or <code>null</code> if the setting isn't cacheable, the entity view type isn't cacheable or the setting uses keyset pagination or entity page navigation.
+     *
+     * @param setting The entity view setting
+     * @return The query result cache region or <code>null</code>
+     */
+    public EntityViewCacheRegion getQueryResultRegion(EntityViewSetting<?, ?> setting) {
+        if (!setting.isCacheable() || setting.isKeysetPaginated() || setting.getEntityId() != null) {
+            return null;
+        }
+        return queryResultRegions.get(setting.getEntityViewClass());
+    }
+
+    /**
+     * Returns the correlation cache region for the given attribute or <code>null</code> if the attribute isn't a cacheable correlation.
+     *
+     * @param attribute The correlated attribute
+     * @return The correlation cache region or <code>null</code>
+     */
+    public EntityViewCacheRegion getCorrelationRegion(AbstractAttribute<?, ?> attribute) {
+        return correlationRegions.get(attribute);
+    }
+
+    @Override
+    public void onEntityModification(EntityManager entityManager, Class<?> entityClass) {
+        List<EntityViewCacheRegion> affectedRegions = null;
+        for (EntityViewCacheRegion region : regionArray) {
+            if (region.dependsOn(entityClass)) {
+                if (affectedRegions == null) {
+                    affectedRegions = new ArrayList<>();
+                }
+                affectedRegions.add(region);
+            }
+        }
+        if (affectedRegions != null) {
+            invalidate(TransactionHelper.getTransactionAccess(entityManager), affectedRegions, Collections.nCopies(affectedRegions.size(), null));
+        }
+    }
+
+    /**
+     * Invalidates the cached entity views that are affected by flushing an entity view of the given type.
+     *
+     * @param transactionAccess The transaction access
+     * @param viewType The type of the flushed entity view
+     * @param entityId The entity id of the flushed entity view or <code>null</code> if unknown
+     * @param persist Whether the entity view was persisted
+     * @param remove Whether the entity view was removed
+     */
+    public void invalidate(TransactionAccess transactionAccess, ManagedViewTypeImplementor<?> viewType, Object entityId, boolean persist, boolean remove) {
+        Class<?> entityClass = viewType.getEntityClass();
+        Set<Class<?>> cascadedEntityClasses = getCascadedEntityClasses(viewType, remove);
+        List<EntityViewCacheRegion> affectedRegions = null;
+        List<Object> affectedIds = null;
+        for (EntityViewCacheRegion region : regionArray) {
+            Object id;
+            if (region.isQueryResultRegion()) {
+                // Any modification of the root entity type could change the result lists
+                if (!region.dependsOn(entityClass) && !dependsOnCascaded(region, entityClass, cascadedEntityClasses)) {
+                    continue;
+                }
+                id = null;
+            } else if (dependsOnCascaded(region, entityClass, cascadedEntityClasses)) {
+                id = null;
+            } else if (!persist && region.isRoot(entityClass)) {
+                // Evict everything if the id is unknown
+                id = entityId;
+            } else {
+                continue;
+            }
+            if (affectedRegions == null) {
+                affectedRegions = new ArrayList<>();
+                affectedIds = new ArrayList<>();
+            }
+            affectedRegions.add(region);
+            affectedIds.add(id);
+        }
+        if (affectedRegions != null) {
+            invalidate(transactionAccess, affectedRegions, affectedIds);
+        }
+    }
+
+    private static boolean dependsOnCascaded(EntityViewCacheRegion region, Class<?> entityClass, Set<Class<?>> cascadedEntityClasses) {
+        if (region.dependsOnNested(entityClass)) {
+            return true;
+        }
+        for (Class<?> cascadedEntityClass : cascadedEntityClasses) {
+            if (region.dependsOn(cascadedEntityClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void invalidate(TransactionAccess transactionAccess, final List<EntityViewCacheRegion> affectedRegions, final List<Object> affectedIds) {
+        for (int i = 0; i < affectedRegions.size(); i++) {
+            affectedRegions.get(i).invalidate(affectedIds.get(i));
+        }
+        // Invalidate again after the transaction finished, as concurrent transactions could still have seen the old state
+        if (transactionAccess.isActive()) {
+            for (int i = 0; i < affectedRegions.size(); i++) {
+                affectedRegions.get(i).beginTransaction();
+            }
+            transactionAccess.registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    for (int i = 0; i < affectedRegions.size(); i++) {
+                        EntityViewCacheRegion region = affectedRegions.get(i);
+                        region.invalidate(affectedIds.get(i));
+                        region.endTransaction();
+                    }
+                }
+            });
+        }
+    }
+
+    private Set<Class<?>> getCascadedEntityClasses(ManagedViewTypeImplementor<?> viewType, boolean remove) {
+        ConcurrentMap<Class<?>, Set<Class<?>>> cache = remove ? removeCascadedEntityClasses : updateCascadedEntityClasses;
+        Set<Class<?>> entityClasses = cache.get(viewType.getJavaType());
+        if (entityClasses == null) {
+            entityClasses = new HashSet<>();
+            collectCascadedEntityClasses(viewType, remove, new HashSet<ManagedViewType<?>>(), entityClasses);
+            if (remove) {
+                collectCascadedEntityClasses(viewType.getJpaManagedType(), new HashSet<ManagedType<?>>(), entityClasses);
+            }
+            // The root entity is handled separately
+            entityClasses.remove(viewType.getEntityClass());
+            cache.putIfAbsent(viewType.getJavaType(), entityClasses);
+        }
+        return entityClasses;
+    }
+
+    private void collectCascadedEntityClasses(ManagedViewType<?> viewType, boolean remove, Set<ManagedViewType<?>> visited, Set<Class<?>> entityClasses) {
+        if (!visited.add(viewType)) {
+            return;
+        }
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            collectCascadedEntityClasses(subtype, remove, visited, entityClasses);
+        }
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            boolean cascaded = attribute.isPersistCascaded() || attribute.isUpdateCascaded() || attribute.getMappedBy() != null && attribute.isUpdatable()
+                    || remove && (attribute.isDeleteCascaded() || attribute.isOrphanRemoval());
+            if (!cascaded) {
+                continue;
+            }
+            Type<?> elementType = ((AbstractAttribute<?, ?>) attribute).getElementType();
+            if (elementType instanceof ManagedViewType<?>) {
+                ManagedViewType<?> elementViewType = (ManagedViewType<?>) elementType;
+                ManagedType<?> jpaManagedType = ((ManagedViewTypeImplementor<?>) elementViewType).getJpaManagedType();
+                if (jpaManagedType instanceof EntityType<?> && (elementViewType.isUpdatable() || elementViewType.isCreatable() || attribute.getMappedBy() != null
+                        || remove && attribute.isDeleteCascaded())) {
+                    entityClasses.add(jpaManagedType.getJavaType());
+                }
+                collectCascadedEntityClasses(elementViewType, remove, visited, entityClasses);
+            } else if (elementType.getMappingType() == Type.MappingType.BASIC) {
+                ManagedType<?> jpaManagedType = entityMetamodel.getManagedType(elementType.getJavaType());
+                if (jpaManagedType instanceof EntityType<?>) {
+                    entityClasses.add(jpaManagedType.getJavaType());
+                    if (remove) {
+                        collectCascadedEntityClasses(jpaManagedType, new HashSet<ManagedType<?>>(), entityClasses);
+                    }
+                }
+            }
+        }
+    }
+
+    private void collectCascadedEntityClasses(ManagedType<?> managedType, Set<ManagedType<?>> visited, Set<Class<?>> entityClasses) {
+        if (!visited.add(managedType)) {
+            return;
+        }
+        ExtendedManagedType<?> extendedManagedType = entityMetamodel.getManagedType(ExtendedManagedType.class, managedType);
+        for (ExtendedAttribute<?, ?> attribute : extendedManagedType.getOwnedAttributes().values()) {
+            if (attribute.isDeleteCascaded() || attribute.isOrphanRemoval()) {
+                ManagedType<?> elementType = entityMetamodel.getManagedType(attribute.getElementClass());
+                if (elementType instanceof EntityType<?>) {
+                    entityClasses.add(elementType.getJavaType());
+                    collectCascadedEntityClasses(elementType, visited, entityClasses);
+                }
+            }
+        }
+    }
+
+    private static boolean collectDependencies(EntityMetamodel entityMetamodel, ManagedViewType<?> viewType, boolean root, Set<ManagedViewType<?>> visited, Set<Class<?>> dependencies) {
+        if (!visited.add(viewType)) {
+            return false;
+        }
+        ManagedViewTypeImplementor<?> viewTypeImplementor = (ManagedViewTypeImplementor<?>) viewType;
+        ManagedType<?> jpaManagedType = viewTypeImplementor.getJpaManagedType();
+        if (!root && jpaManagedType instanceof EntityType<?>) {
+            dependencies.add(jpaManagedType.getJavaType());
+        }
+        // CTEs and entity view roots could refer to any entity
+        boolean incomplete = !viewType.getCteProviders().isEmpty() || !viewType.getEntityViewRoots().isEmpty();
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            if (subtype != viewType) {
+                incomplete |= collectDependencies(entityMetamodel, subtype, root, visited, dependencies);
+            }
+        }
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            incomplete |= collectDependencies(entityMetamodel, jpaManagedType, (AbstractAttribute<?, ?>) attribute, visited, dependencies);
+        }
+        for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+            for (ParameterAttribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                incomplete |= collectDependencies(entityMetamodel, jpaManagedType, (AbstractAttribute<?, ?>) attribute, visited, dependencies);
+            }
+        }
+        return incomplete;
+    }
+
+    private static boolean collectDependencies(EntityMetamodel entityMetamodel, ManagedType<?> jpaManagedType, AbstractAttribute<?, ?> attribute, Set<ManagedViewType<?>> visited, Set<Class<?>> dependencies) {
+        boolean incomplete;
+        if (attribute.isSubquery()) {
+            // Subquery providers are opaque
+            return true;
+        } else if (attribute.isCorrelated()) {
+            if (!(attribute.getCorrelationProviderFactory() instanceof StaticCorrelationProvider)) {
+                // Correlation providers are opaque
+                return true;
+            }
+            ManagedType<?> correlatedType = entityMetamodel.getManagedType(attribute.getCorrelated());
+            if (correlatedType == null) {
+                return true;
+            }
+            if (correlatedType instanceof EntityType<?>) {
+                dependencies.add(correlatedType.getJavaType());
+            }
+            Set<String> correlationKeyAlias = Collections.singleton(attribute.getCorrelationKeyAlias());
+            incomplete = collectDependencies(entityMetamodel, jpaManagedType, attribute.getCorrelationBasisExpression(), Collections.<String>emptySet(), dependencies)
+                    | collectDependencies(entityMetamodel, correlatedType, attribute.getCorrelationResultExpression(), Collections.<String>emptySet(), dependencies)
+                    | collectDependencies(entityMetamodel, correlatedType, attribute.getCorrelationPredicate(), correlationKeyAlias, dependencies);
+        } else {
+            incomplete = collectDependencies(entityMetamodel, jpaManagedType, attribute.getMappingExpression(), Collections.<String>emptySet(), dependencies)
+                    | collectDependencies(entityMetamodel, jpaManagedType, attribute.getKeyMappingExpression(), Collections.<String>emptySet(), dependencies)
+                    | collectDependencies(entityMetamodel, jpaManagedType, attribute.getMappingIndexExpression(), Collections.<String>emptySet(), dependencies);
+        }
+
+        if (attribute.getElementType() instanceof ManagedViewType<?>) {
+            incomplete |= collectDependencies(entityMetamodel, (ManagedViewType<?>) attribute.getElementType(), false, visited, dependencies);
+        }
+        if (attribute instanceof MapAttribute<?, ?, ?> && ((MapAttribute<?, ?, ?>) attribute).getKeyType() instanceof ManagedViewType<?>) {
+            incomplete |= collectDependencies(entityMetamodel, (ManagedViewType<?>) ((MapAttribute<?, ?, ?>) attribute).getKeyType(), false, visited, dependencies);
+        }
+        return incomplete;
+    }
+
+    private static boolean collectDependencies(EntityMetamodel entityMetamodel, ManagedType<?> managedType, Expression expression, Set<String> ignoredAliases, Set<Class<?>> dependencies) {
+        if (expression == null) {
+            return false;
+        }
+        EntityTypeGathererExpressionVisitor visitor = new EntityTypeGathererExpressionVisitor(managedType, entityMetamodel, ignoredAliases, dependencies);
+        expression.accept(visitor);
+        return visitor.isIncomplete();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.cache;
+
+import com.blazebit.persistence.view.spi.EntityViewCache;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cache region of a cacheable entity view type along with the entity types it depends on.
+ * A region either caches entity views by id or result lists by query key. The dependencies of a query result region
+ * grow with the entity types of the join graphs of the executed queries.
+ *
+ * A generation counter is used to prevent that entity views which were loaded before a concurrent invalidation are put into the cache.
+ * While a transaction that invalidated the region is still running, no entity views are put into the cache at all
+ * so that neither stale nor uncommitted state can be cached.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class EntityViewCacheRegion {
+
+    private final Class<?> entityViewClass;
+    private final Class<?> entityClass;
+    private final Set<Class<?>> dependencies;
+    private volatile boolean incompleteDependencies;
+    private final EntityViewCache cache;
+    private final boolean queryResultRegion;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger pendingTransactions = new AtomicInteger();
+
+    public EntityViewCacheRegion(Class<?> entityViewClass, Class<?> entityClass, Set<Class<?>> dependencies, boolean incompleteDependencies, EntityViewCache cache, boolean queryResultRegion) {
+        this.entityViewClass = entityViewClass;
+        this.entityClass = entityClass;
+        this.dependencies = dependencies;
+        this.incompleteDependencies = incompleteDependencies;
+        this.cache = cache;
+        this.queryResultRegion = queryResultRegion;
+    }
+
+    public Class<?> getEntityViewClass() {
+        return entityViewClass;
+    }
+
+    public boolean isQueryResultRegion() {
+        return queryResultRegion;
+    }
+
+    public Object get(Object entityId) {
+        return cache.get(entityId);
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public void put(Object entityId, Object entityView, long expectedGeneration) {
+        if (pendingTransactions.get() != 0 || generation.get() != expectedGeneration) {
+            return;
+        }
+        cache.put(entityId, entityView);
+        // Re-check in case an invalidation happened concurrently and evicted before we put the entry
+        if (pendingTransactions.get() != 0 || generation.get() != expectedGeneration) {
+            cache.evict(entityId);
+        }
+    }
+
+    /**
+     * Returns whether the cached entity views are affected by a modification of the given entity type.
+     *
+     * @param entityClass The modified entity type
+     * @return whether the cached entity views depend on the entity type
+     */
+    public boolean dependsOn(Class<?> entityClass) {
+        return isRelated(this.entityClass, entityClass) || dependsOnNested(entityClass);
+    }
+
+    /**
+     * Returns whether the given entity type is used anywhere besides the root of the cached entity views.
+     *
+     * @param entityClass The modified entity type
+     * @return whether the cached entity views depend on the entity type through a nested mapping
+     */
+    public boolean dependsOnNested(Class<?> entityClass) {
+        if (incompleteDependencies) {
+            return true;
+        }
+        for (Class<?> dependency : dependencies) {
+            if (isRelated(dependency, entityClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers the entity types accessed by a query whose results are cached in this query result region.
+     * Must be invoked before the query is executed so that concurrent modifications are noticed.
+     *
+     * @param entityClasses The entity types accessed by the query
+     * @param incomplete Whether the query accesses data that can't be attributed to entity types
+     */
+    public void addDependencies(Collection<Class<?>> entityClasses, boolean incomplete) {
+        if (incomplete) {
+            incompleteDependencies = true;
+        }
+        dependencies.addAll(entityClasses);
+    }
+
+    public boolean isRoot(Class<?> entityClass) {
+        return isRelated(this.entityClass, entityClass);
+    }
+
+    void invalidate(Object entityId) {
+        generation.incrementAndGet();
+        if (entityId == null) {
+            cache.evictAll();
+        } else {
+            cache.evict(entityId);
+        }
+    }
+
+    void beginTransaction() {
+        pendingTransactions.incrementAndGet();
+    }
+
+    void endTransaction() {
+        pendingTransactions.decrementAndGet();
+    }
+
+    private static boolean isRelated(Class<?> c1, Class<?> c2) {
+        return c1.isAssignableFrom(c2) || c2.isAssignableFrom(c1);
+    }
+}
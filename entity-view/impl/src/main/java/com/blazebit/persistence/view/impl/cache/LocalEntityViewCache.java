@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.cache;
+
+import com.blazebit.persistence.view.spi.EntityViewCache;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The default in-process entity view cache that evicts the oldest entries first when the max size is exceeded.
+ * Lookups are lock free so that frequently read entity views don't contend.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class LocalEntityViewCache implements EntityViewCache {
+
+    private final long timeToLive;
+    private final int maxSize;
+    private final ConcurrentMap<Object, Entry> entries;
+    private final Queue<Entry> insertionOrder;
+    private final AtomicInteger size;
+    private final AtomicInteger insertionOrderSize;
+
+    public LocalEntityViewCache(long timeToLive, int maxSize) {
+        this.timeToLive = timeToLive;
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+        this.size = new AtomicInteger();
+        this.insertionOrderSize = new AtomicInteger();
+    }
+
+    @Override
+    public Object get(Object entityId) {
+        Entry entry = entries.get(entityId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiration != -1 && entry.expiration < System.currentTimeMillis()) {
+            remove(entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(Object entityId, Object entityView) {
+        Entry entry = new Entry(entityId, entityView, timeToLive == -1 ? -1 : System.currentTimeMillis() + timeToLive);
+        Entry oldEntry = entries.put(entityId, entry);
+        if (oldEntry == null) {
+            size.incrementAndGet();
+        } else {
+            oldEntry.removed = true;
+        }
+        insertionOrder.add(entry);
+
+        while (size.get() > maxSize) {
+            Entry eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            insertionOrderSize.decrementAndGet();
+            if (!eldest.removed) {
+                remove(eldest);
+            }
+        }
+
+        // Replaced or evicted entries stay in the insertion order queue until they are polled, so compact it from time to time
+        if (insertionOrderSize.incrementAndGet() > maxSize * 2) {
+            Iterator<Entry> iterator = insertionOrder.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().removed) {
+                    iterator.remove();
+                    insertionOrderSize.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void evict(Object entityId) {
+        Entry entry = entries.remove(entityId);
+        if (entry != null) {
+            entry.removed = true;
+            size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        for (Object entityId : entries.keySet()) {
+            evict(entityId);
+        }
+        Iterator<Entry> iterator = insertionOrder.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().removed) {
+                iterator.remove();
+                insertionOrderSize.decrementAndGet();
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            entry.removed = true;
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class Entry {
+        private final Object key;
+        private final Object value;
+        private final long expiration;
+        private volatile boolean removed;
+
+        public Entry(Object key, Object value, long expiration) {
+            this.key = key;
+            this.value = value;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.cache;
+
+import com.blazebit.persistence.FullQueryBuilder;
+import com.blazebit.persistence.view.EntityViewSetting;
+
+import javax.persistence.Parameter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The key for cached result lists of an entity view setting which is made up of the final query string,
+ * the query parameter values and the parts of the setting that influence object building.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class QueryResultCacheKey {
+
+    private final String viewConstructorName;
+    private final int firstResult;
+    private final int maxResults;
+    private final String queryString;
+    private final Map<String, Object> parameterValues;
+    private final Map<String, Object> optionalParameters;
+    private final Map<String, Object> properties;
+    private final int hashCode;
+
+    private QueryResultCacheKey(String viewConstructorName, int firstResult, int maxResults, String queryString, Map<String, Object> parameterValues, Map<String, Object> optionalParameters, Map<String, Object> properties) {
+        this.viewConstructorName = viewConstructorName;
+        this.firstResult = firstResult;
+        this.maxResults = maxResults;
+        this.queryString = queryString;
+        this.parameterValues = parameterValues;
+        this.optionalParameters = optionalParameters;
+        this.properties = properties;
+        int hashCode = Objects.hashCode(viewConstructorName);
+        hashCode = 31 * hashCode + firstResult;
+        hashCode = 31 * hashCode + maxResults;
+        hashCode = 31 * hashCode + queryString.hashCode();
+        hashCode = 31 * hashCode + parameterValues.hashCode();
+        hashCode = 31 * hashCode + optionalParameters.hashCode();
+        hashCode = 31 * hashCode + properties.hashCode();
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Creates the cache key for the given setting that was applied to the given query builder.
+     *
+     * @param setting The entity view setting
+     * @param queryBuilder The query builder to which the setting was applied
+     * @return The cache key
+     */
+    public static QueryResultCacheKey of(EntityViewSetting<?, ?> setting, FullQueryBuilder<?, ?> queryBuilder) {
+        Map<String, Object> parameterValues = new HashMap<>();
+        for (Parameter<?> parameter : queryBuilder.getParameters()) {
+            parameterValues.put(parameter.getName(), queryBuilder.getParameterValue(parameter.getName()));
+        }
+        return new QueryResultCacheKey(
+                setting.getViewConstructorName(),
+                setting.getFirstResult(),
+                setting.getMaxResults(),
+                queryBuilder.getQueryString(),
+                parameterValues,
+                new HashMap<>(setting.getOptionalParameters()),
+                new HashMap<>(setting.getProperties())
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryResultCacheKey)) {
+            return false;
+        }
+
+        QueryResultCacheKey that = (QueryResultCacheKey) o;
+        return hashCode == that.hashCode
+                && firstResult == that.firstResult
+                && maxResults == that.maxResults
+                && Objects.equals(viewConstructorName, that.viewConstructorName)
+                && queryString.equals(that.queryString)
+                && parameterValues.equals(that.parameterValues)
+                && optionalParameters.equals(that.optionalParameters)
+                && properties.equals(that.properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
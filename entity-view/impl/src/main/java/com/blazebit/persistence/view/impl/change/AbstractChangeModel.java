@@ -481,7 +481,7 @@ public abstract class AbstractChangeModel<C, E> implements ChangeModel<C> {
             return Collections.emptyList();
         }
 
-        long dirty = object.$$_getSimpleDirty();
+        long[] dirty = object.$$_getDirty();
         Object[] initialState = object.$$_getInitialState();
         Object[] dirtyState = object.$$_getMutableState();
         @SuppressWarnings("unchecked")
@@ -489,8 +489,9 @@ public abstract class AbstractChangeModel<C, E> implements ChangeModel<C> {
         List<ChangeModel<?>> list = new ArrayList<>();
 
         for (int i = 0; i < dirtyState.length; i++) {
+            // Views with more than 64 mutable attributes use one mask per 64 attributes
             long mask = 1L << i;
-            if ((dirty & mask) != 0) {
+            if ((dirty[i >>> 6] & mask) != 0) {
                 if (nestedCheckers[i].getDirtyKind(initialState[i], dirtyState[i]) != DirtyChecker.DirtyKind.NONE) {
                     list.add(getChangeModel(initialState[i], dirtyState[i], elementType.getMutableAttribute(i), nestedCheckers[i]));
                 }
@@ -47,6 +47,18 @@ public class MapPutAction<C extends Map<K, V>, K, V> implements MapAction<C> {
         this.removedValueInView = removedValueInView;
     }
 
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public V getRemovedValueInView() {
+        return removedValueInView;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void doAction(C map, UpdateContext context, MapViewToEntityMapper mapper, CollectionRemoveListener keyRemoveListener, CollectionRemoveListener valueRemoveListener) {
@@ -53,6 +53,28 @@ public class MapPutAllAction<C extends Map<K, V>, K, V> implements MapAction<C>
         this.removedObjectsInView = removedObjectsInView;
     }
 
+    public MapPutAllAction(MapPutAction<C, K, V> putAction) {
+        Map<K, V> elements = new LinkedHashMap<>();
+        elements.put(putAction.getKey(), putAction.getValue());
+        this.elements = elements;
+        this.removedObjectsInView = new LinkedHashMap<>();
+        if (putAction.getRemovedValueInView() != null) {
+            this.removedObjectsInView.put(putAction.getKey(), putAction.getRemovedValueInView());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public boolean addPut(MapPutAction<C, K, V> putAction) {
+        if (elements.containsKey(putAction.getKey())) {
+            return false;
+        }
+        ((Map<K, V>) elements).put(putAction.getKey(), putAction.getValue());
+        if (putAction.getRemovedValueInView() != null) {
+            removedObjectsInView.put(putAction.getKey(), putAction.getRemovedValueInView());
+        }
+        return true;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void doAction(C map, UpdateContext context, MapViewToEntityMapper mapper, CollectionRemoveListener keyRemoveListener, CollectionRemoveListener valueRemoveListener) {
@@ -479,7 +479,7 @@ public class RecordingCollection<C extends Collection<E>, E> implements Recordin
         // addAction optimizes actions by figuring converting to physical changes
         if (optimize) {
             action.addAction(this, actions);
-        } else {
+        } else if (!mergeIntoLastAction(action)) {
             actions.add(action);
         }
 
@@ -514,6 +514,24 @@ public class RecordingCollection<C extends Collection<E>, E> implements Recordin
         $$_markDirty(-1);
     }
     
+    private boolean mergeIntoLastAction(CollectionAction<C> action) {
+        // Merging consecutive adds avoids recording an action per element when a collection is rebuilt element by element
+        // Consecutive removes can only be merged if there are no duplicates, as removing multiple elements removes all occurrences
+        if (actions.isEmpty()) {
+            return false;
+        }
+        CollectionAction<C> lastAction = actions.get(actions.size() - 1);
+        if (action instanceof CollectionAddAllAction<?, ?> && lastAction instanceof CollectionAddAllAction<?, ?>) {
+            ((CollectionAddAllAction<C, E>) lastAction).onAddObjects(action.getAddedObjects());
+            return true;
+        }
+        if (!allowDuplicates() && action instanceof CollectionRemoveAllAction<?, ?> && lastAction instanceof CollectionRemoveAllAction<?, ?>) {
+            ((CollectionRemoveAllAction<C, E>) lastAction).onRemoveObjects(action.getRemovedObjects());
+            return true;
+        }
+        return false;
+    }
+
     public void replay(C collection, UpdateContext context, ViewToEntityMapper mapper, CollectionRemoveListener removeListener) {
         if (actions != null) {
             for (CollectionAction<C> action : resetActions(context)) {
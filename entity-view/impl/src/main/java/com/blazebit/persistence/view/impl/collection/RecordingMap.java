@@ -35,6 +35,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -664,7 +665,8 @@ public class RecordingMap<C extends Map<K, V>, K, V> implements RecordingContain
         // addAction optimizes actions by figuring converting to physical changes
         if (optimize) {
             action.addAction(actions, addedKeys, removedKeys, addedElements, removedElements);
-        } else {
+        } else if (!(action instanceof MapPutAction<?, ?, ?>) || !mergePutIntoLastAction((MapPutAction<C, K, V>) action)) {
+            // Consecutive puts are merged so that rebuilding a map entry by entry doesn't record an action per entry
             actions.add(action);
         }
 
@@ -739,6 +741,28 @@ public class RecordingMap<C extends Map<K, V>, K, V> implements RecordingContain
         $$_markDirty(-1);
     }
 
+    private boolean mergePutIntoLastAction(MapPutAction<C, K, V> action) {
+        if (actions.isEmpty()) {
+            return false;
+        }
+        int lastIndex = actions.size() - 1;
+        MapAction<C> lastAction = actions.get(lastIndex);
+        if (lastAction instanceof MapPutAllAction<?, ?, ?>) {
+            return ((MapPutAllAction<C, K, V>) lastAction).addPut(action);
+        }
+        if (lastAction instanceof MapPutAction<?, ?, ?>) {
+            MapPutAction<C, K, V> lastPutAction = (MapPutAction<C, K, V>) lastAction;
+            // A put for the same key must stay separate to retain the replaced value
+            if (!Objects.equals(lastPutAction.getKey(), action.getKey())) {
+                MapPutAllAction<C, K, V> putAllAction = new MapPutAllAction<>(lastPutAction);
+                putAllAction.addPut(action);
+                actions.set(lastIndex, putAllAction);
+                return true;
+            }
+        }
+        return false;
+    }
+
     public V put(K key, V value) {
         checkType(value, "Putting");
         addAction(new MapPutAction<C, K, V>(key, value, delegate));
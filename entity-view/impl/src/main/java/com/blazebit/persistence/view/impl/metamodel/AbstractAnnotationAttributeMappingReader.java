@@ -17,8 +17,10 @@
 package com.blazebit.persistence.view.impl.metamodel;
 
 import com.blazebit.persistence.view.BatchFetch;
+import com.blazebit.persistence.view.CacheableCorrelation;
 import com.blazebit.persistence.view.CollectionMapping;
 import com.blazebit.persistence.view.EmptyFlatViewCreation;
+import com.blazebit.persistence.view.LazyFetch;
 import com.blazebit.persistence.view.Limit;
 import com.blazebit.persistence.view.MultiCollectionMapping;
 import com.blazebit.persistence.view.metamodel.PluralAttribute;
@@ -127,6 +129,15 @@ public class AbstractAnnotationAttributeMappingReader {
             attributeMapping.setDefaultBatchSize(batchFetch.size());
         }
 
+        CacheableCorrelation cacheableCorrelation = annotatedElement.getAnnotation(CacheableCorrelation.class);
+        if (cacheableCorrelation != null) {
+            attributeMapping.setCorrelationCache(cacheableCorrelation.maxSize(), cacheableCorrelation.timeToLive());
+        }
+
+        if (annotatedElement.isAnnotationPresent(LazyFetch.class)) {
+            attributeMapping.setLazy(true);
+        }
+
         EmptyFlatViewCreation emptyFlatViewCreation = annotatedElement.getAnnotation(EmptyFlatViewCreation.class);
         if (emptyFlatViewCreation != null) {
             attributeMapping.setCreateEmptyFlatViews(emptyFlatViewCreation.value());
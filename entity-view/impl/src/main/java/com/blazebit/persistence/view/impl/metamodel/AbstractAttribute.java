@@ -88,6 +88,7 @@ import com.blazebit.persistence.view.metamodel.Type;
 import com.blazebit.persistence.view.metamodel.ViewType;
 import com.blazebit.reflection.ReflectionUtils;
 
+import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.ListAttribute;
 import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.MapAttribute;
@@ -127,6 +128,9 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
     protected final String[] fetches;
     protected final FetchStrategy fetchStrategy;
     protected final int batchSize;
+    protected final int correlationCacheMaxSize;
+    protected final long correlationCacheTimeToLive;
+    protected final boolean lazy;
     protected final List<OrderByItem> orderByItems;
     protected final String limitExpression;
     protected final String offsetExpression;
@@ -240,6 +244,9 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
             mappingExpression = createSimpleExpression(mappingString, mapping, context, ExpressionLocation.MAPPING);
             fetches = m.fetches();
             fetchStrategy = m.fetch();
+            if (fetchStrategy == FetchStrategy.AUTO) {
+                fetchStrategy = mapping.resolveAutoFetchStrategy(context, batchSize, limitExpression != null);
+            }
             updateMappableAttribute = getUpdateMappableAttribute(context, mappingExpression);
             this.mappingType = MappingType.BASIC;
             this.isAggregate = isAggregate(mappingExpression);
@@ -356,6 +363,9 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
             MappingCorrelated mappingCorrelated = (MappingCorrelated) mappingAnnotation;
             fetches = mappingCorrelated.fetches();
             fetchStrategy = mappingCorrelated.fetch();
+            if (fetchStrategy == FetchStrategy.AUTO) {
+                fetchStrategy = mapping.resolveAutoFetchStrategy(context, batchSize, limitExpression != null);
+            }
 
             if (fetchStrategy != FetchStrategy.SELECT) {
                 batchSize = -1;
@@ -379,6 +389,9 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
             MappingCorrelatedSimple mappingCorrelated = (MappingCorrelatedSimple) mappingAnnotation;
             fetches = mappingCorrelated.fetches();
             fetchStrategy = mappingCorrelated.fetch();
+            if (fetchStrategy == FetchStrategy.AUTO) {
+                fetchStrategy = mapping.resolveAutoFetchStrategy(context, batchSize, limitExpression != null);
+            }
 
             if (fetchStrategy != FetchStrategy.SELECT) {
                 batchSize = -1;
@@ -418,6 +431,10 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
         this.fetches = fetches;
         this.fetchStrategy = fetchStrategy;
         this.batchSize = batchSize;
+        Integer correlationCacheMaxSize = mapping.getCorrelationCacheMaxSize();
+        this.correlationCacheMaxSize = correlationCacheMaxSize == null ? -1 : correlationCacheMaxSize;
+        this.correlationCacheTimeToLive = mapping.getCorrelationCacheTimeToLive();
+        this.lazy = mapping.isLazy();
         this.orderByItems = orderByItems;
         this.limitExpression = limitExpression;
         this.offsetExpression = offsetExpression;
@@ -955,6 +972,40 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
         }
         ScalarTargetResolvingExpressionVisitor visitor = new ScalarTargetResolvingExpressionVisitor(elementManagedType, elementAttribute, context.getEntityMetamodel(), context.getJpqlFunctions(), declaringType.getEntityViewRootTypes());
 
+        if (correlationCacheMaxSize != -1) {
+            if (!isCorrelated() || fetchStrategy != FetchStrategy.SELECT) {
+                context.addError("Only correlated attributes that use the SELECT fetch strategy can be cacheable! Remove the @CacheableCorrelation annotation from the " + getLocation() + ".");
+            }
+            if (correlationCacheMaxSize < 1) {
+                context.addError("Illegal correlation cache max size defined at the " + getLocation() + "! Use a value greater than 0!");
+            }
+            if (correlationCacheTimeToLive < 1 && correlationCacheTimeToLive != -1) {
+                context.addError("Illegal correlation cache time to live defined at the " + getLocation() + "! Use a value greater than 0 or -1!");
+            }
+            // Cached correlation results are shared, so they must not be modifiable
+            if (getElementType() instanceof ManagedViewTypeImplementor<?>) {
+                ManagedViewTypeImplementor<?> elementViewType = (ManagedViewTypeImplementor<?>) getElementType();
+                if (elementViewType.isUpdatable() || elementViewType.isCreatable()) {
+                    context.addError("Correlations with an updatable or creatable entity view result can't be cacheable! Remove the @CacheableCorrelation annotation from the " + getLocation() + ".");
+                }
+            } else if (context.getEntityMetamodel().getManagedType(getElementType().getJavaType()) instanceof EntityType<?>) {
+                context.addError("Correlations with an entity result can't be cacheable! Remove the @CacheableCorrelation annotation from the " + getLocation() + " or use an entity view for the result.");
+            }
+        }
+
+        if (lazy) {
+            if (!isCorrelated() || fetchStrategy != FetchStrategy.SELECT) {
+                context.addError("Only correlated attributes that use the SELECT fetch strategy can be lazy! Remove the @LazyFetch annotation from the " + getLocation() + ".");
+            }
+            if (!(declaringType instanceof ViewType<?>) || declaringType.isUpdatable() || declaringType.isCreatable()) {
+                context.addError("Lazy attributes are only supported in entity views with an id that are neither updatable nor creatable! Remove the @LazyFetch annotation from the " + getLocation() + ".");
+            }
+            // Cached objects outlive the EntityManager and the query that a lazy attribute is loaded with
+            if (declaringType.isCacheable()) {
+                context.addError("Lazy attributes can't be used in cacheable entity views! Remove the @LazyFetch annotation from the " + getLocation() + " or the @CacheableView annotation from the entity view class '" + declaringType.getJavaType().getName() + "'.");
+            }
+        }
+
         if (fetches.length != 0) {
             if (context.getEntityMetamodel().getManagedType(getElementType().getJavaType()) == null) {
                 context.addError("Specifying fetches for non-entity attribute type [" + Arrays.toString(fetches) + "] at the " + getLocation() + " is not allowed!");
@@ -1246,6 +1297,19 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
                 }
             }
         }
+        if (lazy) {
+            for (int i = 0; i < parents.size(); i++) {
+                AbstractAttribute<?, ?> parentAttribute = parents.get(i);
+                if (parentAttribute.isCorrelationCacheable() || parentAttribute.getDeclaringType().isCacheable()) {
+                    String path = parents.get(0).getDeclaringType().getJavaType().getName();
+                    for (i = 0; i < parents.size(); i++) {
+                        path += " > " + parents.get(i).getLocation();
+                    }
+                    context.addError("Lazy attributes can't be used in objects that are cached! Remove the @LazyFetch annotation from the " + getLocation() + " that is reachable via the path: " + path + ".");
+                    break;
+                }
+            }
+        }
         if (!parents.isEmpty()) {
             if (getDeclaringType().getMappingType() == Type.MappingType.FLAT_VIEW) {
                 // When this attribute is part of a flat view
@@ -1511,6 +1575,22 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
         return batchSize;
     }
 
+    public boolean isCorrelationCacheable() {
+        return correlationCacheMaxSize != -1;
+    }
+
+    public int getCorrelationCacheMaxSize() {
+        return correlationCacheMaxSize;
+    }
+
+    public long getCorrelationCacheTimeToLive() {
+        return correlationCacheTimeToLive;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
     public final List<OrderByItem> getOrderByItems() {
         return orderByItems;
     }
@@ -18,6 +18,7 @@ package com.blazebit.persistence.view.impl.metamodel;
 
 import com.blazebit.annotation.AnnotationUtils;
 import com.blazebit.persistence.view.BatchFetch;
+import com.blazebit.persistence.view.CacheableView;
 import com.blazebit.persistence.view.CTEProvider;
 import com.blazebit.persistence.view.CorrelationProvider;
 import com.blazebit.persistence.view.CreatableEntityView;
@@ -230,6 +231,12 @@ public class AnnotationMappingReader implements MappingReader {
             viewMapping.setDefaultBatchSize(batchFetch.size());
         }
 
+        CacheableView cacheableView = AnnotationUtils.findAnnotation(entityViewClass, CacheableView.class);
+        if (cacheableView != null) {
+            viewMapping.setCacheMaxSize(cacheableView.maxSize());
+            viewMapping.setCacheTimeToLive(cacheableView.timeToLive());
+        }
+
         Set<Class<? extends CTEProvider>> cteProviders = new LinkedHashSet<>();
         Map<String, Class<? extends ViewFilterProvider>> viewFilterProviders = new HashMap<>();
         Map<String, EntityViewRootMapping> viewRootMappings = new LinkedHashMap<>();
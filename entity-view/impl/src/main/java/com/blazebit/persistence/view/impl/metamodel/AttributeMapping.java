@@ -16,9 +16,14 @@
 
 package com.blazebit.persistence.view.impl.metamodel;
 
+import com.blazebit.persistence.spi.DbmsDialect;
+import com.blazebit.persistence.spi.LateralStyle;
+import com.blazebit.persistence.view.FetchStrategy;
 import com.blazebit.persistence.view.IdMapping;
 import com.blazebit.persistence.view.InverseRemoveStrategy;
 import com.blazebit.persistence.view.Mapping;
+import com.blazebit.persistence.view.MappingCorrelated;
+import com.blazebit.persistence.view.MappingCorrelatedSimple;
 import com.blazebit.persistence.view.MappingIndex;
 import com.blazebit.persistence.view.MappingParameter;
 import com.blazebit.persistence.view.Self;
@@ -82,6 +87,9 @@ public abstract class AttributeMapping implements EntityViewAttributeMapping {
 
     // Other configs
     protected Integer defaultBatchSize;
+    protected Integer correlationCacheMaxSize;
+    protected long correlationCacheTimeToLive = -1;
+    protected boolean lazy;
     protected Boolean createEmptyFlatViews;
     protected String limitExpression;
     protected String offsetExpression;
@@ -261,6 +269,27 @@ public abstract class AttributeMapping implements EntityViewAttributeMapping {
         this.defaultBatchSize = defaultBatchSize;
     }
 
+    public Integer getCorrelationCacheMaxSize() {
+        return correlationCacheMaxSize;
+    }
+
+    public long getCorrelationCacheTimeToLive() {
+        return correlationCacheTimeToLive;
+    }
+
+    public void setCorrelationCache(int maxSize, long timeToLive) {
+        this.correlationCacheMaxSize = maxSize;
+        this.correlationCacheTimeToLive = timeToLive;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
     @Override
     public String getLimitExpression() {
         return limitExpression;
@@ -315,6 +344,104 @@ public abstract class AttributeMapping implements EntityViewAttributeMapping {
 
     public abstract Map<String, String> determineWritableMappedByMappings(ManagedType<?> managedType, String mappedBy, MetamodelBuildingContext context);
 
+    /**
+     * Resolves the {@link FetchStrategy#AUTO} fetch strategy to a concrete one.
+     * A collection is join fetched unless it would form a cartesian product with a sibling join fetched collection.
+     * In that case it is fetched via MULTISET if the DBMS and the element types support it, or via SUBSELECT or SELECT otherwise.
+     *
+     * @param context The metamodel building context
+     * @param batchSize The batch size defined for the attribute
+     * @param hasLimit Whether the attribute defines a limit
+     * @return The resolved fetch strategy
+     */
+    public FetchStrategy resolveAutoFetchStrategy(MetamodelBuildingContext context, int batchSize, boolean hasLimit) {
+        if (!isCollection) {
+            return FetchStrategy.JOIN;
+        }
+        // An explicit batch size is a cardinality hint that elements are better loaded in separate batched queries
+        if (batchSize > 1) {
+            return FetchStrategy.SELECT;
+        }
+        if (!isAutoRelocatable(context) || !hasCompetingJoinFetchedCollection(context)) {
+            return FetchStrategy.JOIN;
+        }
+        DbmsDialect dbmsDialect = context.getDbmsDialect();
+        if (dbmsDialect.supportsArbitraryLengthMultiset() && (!hasLimit || dbmsDialect.getLateralStyle() != LateralStyle.NONE || dbmsDialect.supportsWindowFunctions())
+                && supportsMultiset(context, elementViewMapping, declaredElementTypeClass, new HashSet<ViewMapping>())) {
+            return FetchStrategy.MULTISET;
+        }
+        // Subselects are only possible if the elements can be correlated to the owner by an id
+        return viewMapping.getIdAttribute() == null ? FetchStrategy.SELECT : FetchStrategy.SUBSELECT;
+    }
+
+    boolean isAutoRelocatable(MetamodelBuildingContext context) {
+        // Maps and indexed lists need the index that is only available when join fetching
+        if (Map.class.isAssignableFrom(declaredTypeClass)) {
+            return false;
+        }
+        return !List.class.isAssignableFrom(declaredTypeClass) || !determineIndexed(context, viewMapping.getManagedType(context));
+    }
+
+    private boolean hasCompetingJoinFetchedCollection(MetamodelBuildingContext context) {
+        String name = this instanceof MethodAttributeMapping ? ((MethodAttributeMapping) this).getName() : null;
+        for (MethodAttributeMapping sibling : viewMapping.getMethodAttributes().values()) {
+            if (sibling == this || !sibling.isCollection()) {
+                continue;
+            }
+            FetchStrategy siblingFetchStrategy = getFetchStrategy(sibling.getMapping());
+            if (siblingFetchStrategy == FetchStrategy.JOIN) {
+                return true;
+            } else if (siblingFetchStrategy == FetchStrategy.AUTO) {
+                Integer siblingBatchSize = sibling.getDefaultBatchSize();
+                if (siblingBatchSize != null && siblingBatchSize > 1) {
+                    continue;
+                }
+                // Of the relocatable AUTO collections, only the first one by name stays join fetched
+                if (!sibling.isAutoRelocatable(context) || name == null || sibling.getName().compareTo(name) < 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static FetchStrategy getFetchStrategy(Annotation mapping) {
+        if (mapping instanceof Mapping) {
+            return ((Mapping) mapping).fetch();
+        } else if (mapping instanceof MappingCorrelated) {
+            return ((MappingCorrelated) mapping).fetch();
+        } else if (mapping instanceof MappingCorrelatedSimple) {
+            return ((MappingCorrelatedSimple) mapping).fetch();
+        }
+        return null;
+    }
+
+    private static boolean supportsMultiset(MetamodelBuildingContext context, ViewMapping viewMapping, Class<?> typeClass, Set<ViewMapping> visitedViewMappings) {
+        if (viewMapping == null) {
+            return context.isMultisetSupported(typeClass);
+        }
+        if (!visitedViewMappings.add(viewMapping)) {
+            return true;
+        }
+        for (MethodAttributeMapping attributeMapping : viewMapping.getMethodAttributes().values()) {
+            Annotation mapping = attributeMapping.getMapping();
+            if (mapping instanceof MappingParameter || mapping instanceof Self) {
+                continue;
+            }
+            if (attributeMapping.isCollection()) {
+                if (attributeMapping.keyViewMapping != null || attributeMapping.declaredKeyTypeClass != null && !supportsMultiset(context, null, attributeMapping.declaredKeyTypeClass, visitedViewMappings)) {
+                    return false;
+                }
+                if (!supportsMultiset(context, attributeMapping.elementViewMapping, attributeMapping.declaredElementTypeClass, visitedViewMappings)) {
+                    return false;
+                }
+            } else if (!supportsMultiset(context, attributeMapping.typeMapping, attributeMapping.declaredTypeClass, visitedViewMappings)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public boolean determineIndexed(MetamodelBuildingContext context, ManagedType<?> managedType) {
         if (containerBehavior != null) {
             return containerBehavior == ContainerBehavior.INDEXED;
@@ -94,6 +94,26 @@ public class ConvertedViewMapping implements ViewMapping {
         delegate.setDefaultBatchSize(defaultBatchSize);
     }
 
+    @Override
+    public Integer getCacheMaxSize() {
+        return delegate.getCacheMaxSize();
+    }
+
+    @Override
+    public void setCacheMaxSize(Integer cacheMaxSize) {
+        delegate.setCacheMaxSize(cacheMaxSize);
+    }
+
+    @Override
+    public long getCacheTimeToLive() {
+        return delegate.getCacheTimeToLive();
+    }
+
+    @Override
+    public void setCacheTimeToLive(long cacheTimeToLive) {
+        delegate.setCacheTimeToLive(cacheTimeToLive);
+    }
+
     @Override
     public boolean isCreatable() {
         return delegate.isCreatable();
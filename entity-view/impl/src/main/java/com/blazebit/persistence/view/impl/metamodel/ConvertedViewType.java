@@ -36,6 +36,7 @@ import com.blazebit.persistence.view.spi.type.TypeConverter;
 import javax.persistence.metamodel.ManagedType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -159,6 +160,11 @@ public class ConvertedViewType<X> implements ViewTypeImplementor<X> {
         return delegate.getDefaultInheritanceSubtypeConfiguration();
     }
 
+    @Override
+    public ManagedViewTypeImpl.InheritanceSubtypeConfiguration<X> getPrunedInheritanceSubtypeConfiguration(Collection<Class<?>> subtypes) {
+        return delegate.getPrunedInheritanceSubtypeConfiguration(subtypes);
+    }
+
     @Override
     public Map<Map<ManagedViewType<? extends X>, String>, ManagedViewTypeImpl.InheritanceSubtypeConfiguration<X>> getInheritanceSubtypeConfigurations() {
         return delegate.getInheritanceSubtypeConfigurations();
@@ -219,6 +225,21 @@ public class ConvertedViewType<X> implements ViewTypeImplementor<X> {
         return delegate.getDefaultBatchSize();
     }
 
+    @Override
+    public boolean isCacheable() {
+        return delegate.isCacheable();
+    }
+
+    @Override
+    public int getCacheMaxSize() {
+        return delegate.getCacheMaxSize();
+    }
+
+    @Override
+    public long getCacheTimeToLive() {
+        return delegate.getCacheTimeToLive();
+    }
+
     @Override
     public Set<MethodAttribute<? super X, ?>> getAttributes() {
         return delegate.getAttributes();
@@ -110,6 +110,8 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -144,6 +146,8 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
     private final FlushMode flushMode;
     private final FlushStrategy flushStrategy;
     private final int defaultBatchSize;
+    private final int cacheMaxSize;
+    private final long cacheTimeToLive;
     private final Map<String, AbstractMethodAttribute<? super X, ?>> attributes;
     private final NavigableMap<String, AbstractMethodAttribute<? super X, ?>> recursiveAttributes;
     private final NavigableMap<String, AbstractMethodAttribute<? super X, ?>> recursiveSubviewAttributes;
@@ -156,6 +160,7 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
     private final InheritanceSubtypeConfiguration<X> defaultInheritanceSubtypeConfiguration;
     private final InheritanceSubtypeConfiguration<X> overallInheritanceSubtypeConfiguration;
     private final Map<Map<ManagedViewType<? extends X>, String>, InheritanceSubtypeConfiguration<X>> inheritanceSubtypeConfigurations;
+    private final ConcurrentMap<Map<ManagedViewType<? extends X>, String>, InheritanceSubtypeConfiguration<X>> prunedInheritanceSubtypeConfigurations = new ConcurrentHashMap<>();
     private final boolean hasJoinFetchedCollections;
     private final boolean hasSelectOrSubselectFetchedAttributes;
     private final boolean hasJpaManagedAttributes;
@@ -237,6 +242,26 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
             this.defaultBatchSize = batchSize;
         }
 
+        Integer cacheMaxSize = viewMapping.getCacheMaxSize();
+        if (cacheMaxSize == null) {
+            this.cacheMaxSize = -1;
+        } else {
+            if (cacheMaxSize < 1) {
+                context.addError("Illegal cache max size defined at '" + javaType.getName() + "'! Use a value greater than 0!");
+            }
+            if (viewMapping.getCacheTimeToLive() < 1 && viewMapping.getCacheTimeToLive() != -1) {
+                context.addError("Illegal cache time to live defined at '" + javaType.getName() + "'! Use a value greater than 0 or -1!");
+            }
+            if (viewMapping.getIdAttribute() == null) {
+                context.addError("Only entity views with an id mapping can be cacheable! Remove the @CacheableView annotation from the entity view class '" + javaType.getName() + "' or add an id mapping.");
+            }
+            if (updatable || creatable) {
+                context.addError("Updatable or creatable entity views can't be cacheable! Remove the @CacheableView annotation from the entity view class '" + javaType.getName() + "'.");
+            }
+            this.cacheMaxSize = cacheMaxSize;
+        }
+        this.cacheTimeToLive = viewMapping.getCacheTimeToLive();
+
         if (viewMapping.getEntityViewRoots().isEmpty()) {
             this.viewRootTypes = Collections.emptyMap();
         } else {
@@ -1241,6 +1266,21 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
         return defaultBatchSize;
     }
 
+    @Override
+    public boolean isCacheable() {
+        return cacheMaxSize != -1;
+    }
+
+    @Override
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    @Override
+    public long getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+
     @Override
     public Set<MethodAttribute<? super X, ?>> getAttributes() {
         return new SetView<MethodAttribute<? super X, ?>>(attributes.values());
@@ -1360,7 +1400,69 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
         if (inheritanceSubtypeMapping == null || inheritanceSubtypeMapping.isEmpty() || defaultInheritanceSubtypeConfiguration.getInheritanceSubtypeConfiguration() == inheritanceSubtypeMapping) {
             return defaultInheritanceSubtypeConfiguration;
         }
-        return inheritanceSubtypeConfigurations.get(inheritanceSubtypeMapping);
+        InheritanceSubtypeConfiguration<X> configuration = inheritanceSubtypeConfigurations.get(inheritanceSubtypeMapping);
+        if (configuration == null) {
+            configuration = prunedInheritanceSubtypeConfigurations.get(inheritanceSubtypeMapping);
+        }
+        return configuration;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public InheritanceSubtypeConfiguration<X> getPrunedInheritanceSubtypeConfiguration(Collection<Class<?>> subtypes) {
+        Map<ManagedViewType<? extends X>, String> defaultMapping = defaultInheritanceSubtypeConfiguration.getInheritanceSubtypeConfiguration();
+        Map<ManagedViewType<? extends X>, String> mapping = new LinkedHashMap<>(subtypes.size());
+        for (Map.Entry<ManagedViewType<? extends X>, String> entry : defaultMapping.entrySet()) {
+            ManagedViewTypeImpl<? extends X> subtype = (ManagedViewTypeImpl<? extends X>) entry.getKey();
+            if (subtypes.contains(subtype.getJavaType())) {
+                String subtypeMapping = entry.getValue();
+                if (subtype != this && subtypeMapping != null && !subtypeMapping.isEmpty()) {
+                    // The discriminator only chains conditions of considered super types, so we have to inline the conditions of pruned super types
+                    StringBuilder sb = null;
+                    for (Map.Entry<ManagedViewType<? extends X>, String> superTypeEntry : defaultMapping.entrySet()) {
+                        ManagedViewTypeImpl<? extends X> superType = (ManagedViewTypeImpl<? extends X>) superTypeEntry.getKey();
+                        String superTypeMapping = superTypeEntry.getValue();
+                        if (superType != this && superType != subtype && !subtypes.contains(superType.getJavaType()) && superType.getJavaType().isAssignableFrom(subtype.getJavaType())
+                                && superTypeMapping != null && !superTypeMapping.isEmpty()
+                                && (superType.getJpaManagedType() == subtype.getJpaManagedType() || !superTypeMapping.equals(superType.getTypeConstraintMapping()))) {
+                            if (sb == null) {
+                                sb = new StringBuilder();
+                                sb.append('(').append(subtypeMapping).append(')');
+                            }
+                            sb.append(" AND (").append(superTypeMapping).append(')');
+                        }
+                    }
+                    if (sb != null) {
+                        subtypeMapping = sb.toString();
+                    }
+                }
+                mapping.put(subtype, subtypeMapping);
+            }
+        }
+        if (mapping.size() != new HashSet<>(subtypes).size()) {
+            List<String> subtypeNames = new ArrayList<>(defaultMapping.size());
+            for (ManagedViewType<? extends X> subtype : defaultMapping.keySet()) {
+                subtypeNames.add(subtype.getJavaType().getName());
+            }
+            throw new IllegalArgumentException("The requested inheritance subtypes " + subtypes + " are not a subset of the inheritance subtypes " + subtypeNames + " of the entity view type '" + javaType.getName() + "'!");
+        }
+        if (mapping.equals(defaultMapping)) {
+            return defaultInheritanceSubtypeConfiguration;
+        }
+        InheritanceSubtypeConfiguration<X> configuration = inheritanceSubtypeConfigurations.get(mapping);
+        if (configuration == null) {
+            configuration = prunedInheritanceSubtypeConfigurations.get(mapping);
+            if (configuration == null) {
+                ManagedViewTypeImpl<? extends X>[] orderedSubtypes = mapping.keySet().toArray(new ManagedViewTypeImpl[mapping.size()]);
+                int configurationIndex = inheritanceSubtypeConfigurations.size() + prunedInheritanceSubtypeConfigurations.size();
+                configuration = new InheritanceSubtypeConfiguration<>(this, configurationIndex, orderedSubtypes, Collections.unmodifiableMap(mapping), overallInheritanceSubtypeConfiguration);
+                InheritanceSubtypeConfiguration<X> existing = prunedInheritanceSubtypeConfigurations.putIfAbsent(mapping, configuration);
+                if (existing != null) {
+                    configuration = existing;
+                }
+            }
+        }
+        return configuration;
     }
 
     @Override
@@ -1657,10 +1759,13 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
         }
 
         public InheritanceSubtypeConfiguration(ManagedViewTypeImpl<X> baseType, ViewMapping baseTypeViewMapping, int configurationIndex, InheritanceViewMapping inheritanceViewMapping, MetamodelBuildingContext context, EmbeddableOwner embeddableMapping, InheritanceSubtypeConfiguration<X> overallConfiguration) {
+            this(baseType, configurationIndex, createOrderedSubtypes(baseType, inheritanceViewMapping, context, embeddableMapping), createInheritanceSubtypeConfiguration(baseType, inheritanceViewMapping, context, embeddableMapping), overallConfiguration);
+        }
+
+        private InheritanceSubtypeConfiguration(ManagedViewTypeImpl<X> baseType, int configurationIndex, ManagedViewTypeImpl<? extends X>[] orderedInheritanceSubtypes, Map<ManagedViewType<? extends X>, String> inheritanceSubtypeConfiguration, InheritanceSubtypeConfiguration<X> overallConfiguration) {
             this.baseType = baseType;
             this.configurationIndex = configurationIndex;
-            ManagedViewTypeImpl<? extends X>[] orderedInheritanceSubtypes = createOrderedSubtypes(inheritanceViewMapping, context, embeddableMapping);
-            this.inheritanceSubtypeConfiguration = createInheritanceSubtypeConfiguration(inheritanceViewMapping, context, embeddableMapping);
+            this.inheritanceSubtypeConfiguration = inheritanceSubtypeConfiguration;
             this.inheritanceSubtypes = Collections.unmodifiableSet(inheritanceSubtypeConfiguration.keySet());
             this.inheritanceDiscriminatorMapping = createInheritanceDiscriminatorMapping(orderedInheritanceSubtypes);
             this.attributesClosure = createSubtypeAttributesClosure(orderedInheritanceSubtypes);
@@ -1832,7 +1937,7 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
         }
 
         @SuppressWarnings("unchecked")
-        private ManagedViewTypeImpl<? extends X>[] createOrderedSubtypes(InheritanceViewMapping inheritanceViewMapping, MetamodelBuildingContext context, EmbeddableOwner embeddableMapping) {
+        private static <X> ManagedViewTypeImpl<? extends X>[] createOrderedSubtypes(ManagedViewTypeImpl<X> baseType, InheritanceViewMapping inheritanceViewMapping, MetamodelBuildingContext context, EmbeddableOwner embeddableMapping) {
             ManagedViewTypeImpl<? extends X>[] orderedSubtypes = new ManagedViewTypeImpl[inheritanceViewMapping.getInheritanceSubtypeMappings().size()];
             int i = 0;
             for (ViewMapping mapping : inheritanceViewMapping.getInheritanceSubtypeMappings().keySet()) {
@@ -1847,7 +1952,7 @@ public abstract class ManagedViewTypeImpl<X> implements ManagedViewTypeImplement
         }
 
         @SuppressWarnings("unchecked")
-        private Map<ManagedViewType<? extends X>, String> createInheritanceSubtypeConfiguration(InheritanceViewMapping inheritanceViewMapping, MetamodelBuildingContext context, EmbeddableOwner embeddableMapping) {
+        private static <X> Map<ManagedViewType<? extends X>, String> createInheritanceSubtypeConfiguration(ManagedViewTypeImpl<X> baseType, InheritanceViewMapping inheritanceViewMapping, MetamodelBuildingContext context, EmbeddableOwner embeddableMapping) {
             Map<ManagedViewType<? extends X>, String> configuration = new LinkedHashMap<>(inheritanceViewMapping.getInheritanceSubtypeMappings().size());
 
             for (Map.Entry<ViewMapping, String> mappingEntry : inheritanceViewMapping.getInheritanceSubtypeMappings().entrySet()) {
@@ -25,6 +25,7 @@ import com.blazebit.persistence.view.metamodel.OrderByItem;
 import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.Type;
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -48,6 +49,12 @@ public interface ManagedViewTypeImplementor<X> extends ManagedViewType<X> {
 
     LockMode getLockMode();
 
+    boolean isCacheable();
+
+    int getCacheMaxSize();
+
+    long getCacheTimeToLive();
+
     ManagedType<?> getJpaManagedType();
 
     MappingConstructorImpl<X> getDefaultConstructor();
@@ -74,6 +81,8 @@ public interface ManagedViewTypeImplementor<X> extends ManagedViewType<X> {
 
     ManagedViewTypeImpl.InheritanceSubtypeConfiguration<X> getDefaultInheritanceSubtypeConfiguration();
 
+    ManagedViewTypeImpl.InheritanceSubtypeConfiguration<X> getPrunedInheritanceSubtypeConfiguration(Collection<Class<?>> subtypes);
+
     Map<Map<ManagedViewType<? extends X>, String>, ManagedViewTypeImpl.InheritanceSubtypeConfiguration<X>> getInheritanceSubtypeConfigurations();
 
     AbstractMethodAttribute<?, ?> getMutableAttribute(int i);
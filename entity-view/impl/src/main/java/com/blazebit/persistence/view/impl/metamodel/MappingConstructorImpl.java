@@ -29,6 +29,8 @@ import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *
@@ -44,6 +46,7 @@ public class MappingConstructorImpl<X> implements MappingConstructor<X> {
     private final InheritanceSubtypeConstructorConfiguration<X> defaultInheritanceParametersAttributesClosureConfiguration;
     private final InheritanceSubtypeConstructorConfiguration<X> overallInheritanceParametersAttributesClosureConfiguration;
     private final Map<Map<ManagedViewType<? extends X>, String>, InheritanceSubtypeConstructorConfiguration<X>> inheritanceSubtypeParameterAttributesClosureConfigurations;
+    private final ConcurrentMap<Map<ManagedViewType<? extends X>, String>, InheritanceSubtypeConstructorConfiguration<X>> prunedInheritanceSubtypeParameterAttributesClosureConfigurations = new ConcurrentHashMap<>();
     private final boolean hasJoinFetchedCollections;
     private final boolean hasEntityAttributes;
 
@@ -119,6 +122,9 @@ public class MappingConstructorImpl<X> implements MappingConstructor<X> {
             MappingConstructorImpl<? extends X> constructor = (MappingConstructorImpl<? extends X>) subtype.getConstructor(name);
 
             if (constructor == null) {
+                if (context == null) {
+                    throw new IllegalStateException("Could not find required mapping constructor with name '" + name + "' in inheritance subtype '" + subtype.getJavaType().getName() + "'!");
+                }
                 context.addError("Could not find required mapping constructor with name '" + name + "' in inheritance subtype '" + subtype.getJavaType().getName() + "'!");
                 continue;
             }
@@ -134,7 +140,19 @@ public class MappingConstructorImpl<X> implements MappingConstructor<X> {
             return defaultInheritanceParametersAttributesClosureConfiguration;
         }
 
-        return inheritanceSubtypeParameterAttributesClosureConfigurations.get(inheritanceSubtypeMappings);
+        InheritanceSubtypeConstructorConfiguration<X> configuration = inheritanceSubtypeParameterAttributesClosureConfigurations.get(inheritanceSubtypeMappings);
+        if (configuration == null) {
+            // Pruned inheritance subtype configurations are created at runtime, so we build the parameter closure lazily
+            configuration = prunedInheritanceSubtypeParameterAttributesClosureConfigurations.get(inheritanceSubtypeMappings);
+            if (configuration == null) {
+                configuration = new InheritanceSubtypeConstructorConfiguration<>(this, inheritanceSubtypeMappings.keySet(), createParameterAttributesClosure(inheritanceSubtypeMappings, null), overallInheritanceParametersAttributesClosureConfiguration);
+                InheritanceSubtypeConstructorConfiguration<X> existing = prunedInheritanceSubtypeParameterAttributesClosureConfigurations.putIfAbsent(inheritanceSubtypeMappings, configuration);
+                if (existing != null) {
+                    configuration = existing;
+                }
+            }
+        }
+        return configuration;
     }
 
     public InheritanceSubtypeConstructorConfiguration<X> getDefaultInheritanceParametersAttributesClosureConfiguration() {
@@ -120,4 +120,6 @@ public interface MetamodelBuildingContext {
     void checkMultisetSupport(List<AbstractAttribute<?, ?>> parents, AbstractAttribute<?, ?> attribute, BasicUserType<?> userType);
 
     void checkMultisetSupport(AbstractAttribute<?, ?> attribute, BasicUserType<?> userType);
+
+    boolean isMultisetSupported(Class<?> type);
 }
@@ -515,6 +515,16 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
         }
     }
 
+    @Override
+    public boolean isMultisetSupported(Class<?> type) {
+        if (type == null || entityMetamodel.getManagedType(type) != null) {
+            return false;
+        }
+        BasicUserType<?> userType = basicUserTypeRegistry.getBasicUserType(ReflectionUtils.getObjectClassOfPrimitve(type));
+        registerMultisetSupport(userType);
+        return multisetSupport.get(userType);
+    }
+
     @Override
     public Map<String, JpqlFunction> getJpqlFunctions() {
         return jpqlFunctions;
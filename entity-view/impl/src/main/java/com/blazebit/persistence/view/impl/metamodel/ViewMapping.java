@@ -42,6 +42,14 @@ public interface ViewMapping extends Comparable<ViewMapping>, EntityViewMapping
 
     void setDefaultBatchSize(Integer defaultBatchSize);
 
+    Integer getCacheMaxSize();
+
+    void setCacheMaxSize(Integer cacheMaxSize);
+
+    long getCacheTimeToLive();
+
+    void setCacheTimeToLive(long cacheTimeToLive);
+
     Set<String> getExcludedAttributes();
 
     void setIdAttributeMapping(MethodAttributeMapping idAttribute);
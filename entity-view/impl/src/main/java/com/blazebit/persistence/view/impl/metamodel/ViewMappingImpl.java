@@ -74,6 +74,8 @@ public class ViewMappingImpl implements ViewMapping {
 
     // Other configs
     private Integer defaultBatchSize;
+    private Integer cacheMaxSize;
+    private long cacheTimeToLive = -1;
 
     // Updatable entity view configs
     private boolean updatable;
@@ -171,6 +173,26 @@ public class ViewMappingImpl implements ViewMapping {
         this.defaultBatchSize = defaultBatchSize;
     }
 
+    @Override
+    public Integer getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    @Override
+    public void setCacheMaxSize(Integer cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    @Override
+    public long getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+
+    @Override
+    public void setCacheTimeToLive(long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
     @Override
     public boolean isUpdatable() {
         return updatable;
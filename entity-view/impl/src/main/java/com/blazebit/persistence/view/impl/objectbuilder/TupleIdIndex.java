@@ -0,0 +1,244 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An index for the {@link TupleIndexValue} of tuples by the parent id at the given id positions.
+ * A single {@link Long}, {@link Integer} or {@link UUID} id is stored in open addressing primitive tables,
+ * which avoids allocating a {@link TupleId} and boxing per tuple. Other ids use a {@link TupleId} based map.
+ * A lookup is done by first probing a tuple and then calling {@link #get()} and {@link #put(TupleIndexValue)},
+ * which reuse the probed key.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class TupleIdIndex {
+
+    private static final int MODE_UNDECIDED = 0;
+    private static final int MODE_LONG = 1;
+    private static final int MODE_INTEGER = 2;
+    private static final int MODE_UUID = 3;
+    private static final int MODE_GENERIC = 4;
+    private static final int MIN_CAPACITY = 16;
+
+    private final int[] idPositions;
+    private final int idPosition;
+    private int mode;
+    private long[] keys;
+    private long[] keys2;
+    private TupleIndexValue[] values;
+    private int size;
+    private Map<TupleId, TupleIndexValue> map;
+    private final int expectedSize;
+
+    // The probed key
+    private long probeKey;
+    private long probeKey2;
+    private int probeSlot;
+    private TupleId probeId;
+
+    public TupleIdIndex(int[] idPositions, int expectedSize) {
+        this.idPositions = idPositions;
+        this.expectedSize = expectedSize;
+        if (idPositions.length == 1 && idPositions[0] >= 0) {
+            this.idPosition = idPositions[0];
+            this.mode = MODE_UNDECIDED;
+        } else {
+            this.idPosition = -1;
+            this.mode = MODE_GENERIC;
+            this.map = new HashMap<>(expectedSize);
+        }
+    }
+
+    /**
+     * Probes the id of the given tuple for subsequent {@link #get()} and {@link #put(TupleIndexValue)} calls.
+     *
+     * @param tuple The tuple
+     * @return <code>false</code> if the id of the tuple is empty i.e. <code>null</code>, otherwise <code>true</code>
+     */
+    public boolean probe(Object[] tuple) {
+        if (mode != MODE_GENERIC) {
+            Object id = tuple[idPosition];
+            if (id == null) {
+                return false;
+            }
+            if (mode == MODE_UNDECIDED) {
+                initialize(id);
+            }
+            switch (mode) {
+                case MODE_LONG:
+                    if (id instanceof Long) {
+                        probeKey = (Long) id;
+                        probeSlot = findSlot(probeKey, 0L);
+                        return true;
+                    }
+                    break;
+                case MODE_INTEGER:
+                    if (id instanceof Integer) {
+                        probeKey = (Integer) id;
+                        probeSlot = findSlot(probeKey, 0L);
+                        return true;
+                    }
+                    break;
+                case MODE_UUID:
+                    if (id instanceof UUID) {
+                        UUID uuid = (UUID) id;
+                        probeKey = uuid.getMostSignificantBits();
+                        probeKey2 = uuid.getLeastSignificantBits();
+                        probeSlot = findSlot(probeKey, probeKey2);
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            // The id type is unexpected, so fall back to the generic map
+            toGeneric();
+        }
+        probeId = new TupleId(idPositions, tuple);
+        return !probeId.isEmpty();
+    }
+
+    /**
+     * Returns the value for the probed id or <code>null</code>.
+     *
+     * @return the value for the probed id or <code>null</code>
+     */
+    public TupleIndexValue get() {
+        if (mode == MODE_GENERIC) {
+            return map.get(probeId);
+        }
+        return values[probeSlot];
+    }
+
+    /**
+     * Associates the given value with the probed id.
+     *
+     * @param value The value
+     */
+    public void put(TupleIndexValue value) {
+        if (mode == MODE_GENERIC) {
+            map.put(probeId, value);
+            return;
+        }
+        if (values[probeSlot] == null) {
+            keys[probeSlot] = probeKey;
+            if (keys2 != null) {
+                keys2[probeSlot] = probeKey2;
+            }
+            size++;
+        }
+        values[probeSlot] = value;
+        // Keep the load factor at most 0.5 so that linear probing stays short
+        if (size << 1 > values.length) {
+            resize();
+        }
+    }
+
+    private void initialize(Object id) {
+        if (id instanceof Long) {
+            mode = MODE_LONG;
+        } else if (id instanceof Integer) {
+            mode = MODE_INTEGER;
+        } else if (id instanceof UUID) {
+            mode = MODE_UUID;
+        } else {
+            mode = MODE_GENERIC;
+            map = new HashMap<>(expectedSize);
+            return;
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        if (mode == MODE_UUID) {
+            keys2 = new long[capacity];
+        }
+        values = new TupleIndexValue[capacity];
+    }
+
+    private int findSlot(long key, long key2) {
+        long[] keys = this.keys;
+        long[] keys2 = this.keys2;
+        TupleIndexValue[] values = this.values;
+        int mask = values.length - 1;
+        int slot = hash(key, key2) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key && (keys2 == null || keys2[slot] == key2)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldKeys2 = keys2;
+        TupleIndexValue[] oldValues = values;
+        int capacity = oldValues.length << 1;
+        keys = new long[capacity];
+        if (oldKeys2 != null) {
+            keys2 = new long[capacity];
+        }
+        values = new TupleIndexValue[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                long key2 = oldKeys2 == null ? 0L : oldKeys2[i];
+                int slot = findSlot(oldKeys[i], key2);
+                keys[slot] = oldKeys[i];
+                if (keys2 != null) {
+                    keys2[slot] = key2;
+                }
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void toGeneric() {
+        map = new HashMap<>(Math.max(expectedSize, size));
+        int[] positions = { 0 };
+        if (values != null) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    Object id;
+                    if (mode == MODE_LONG) {
+                        id = keys[i];
+                    } else if (mode == MODE_INTEGER) {
+                        id = (int) keys[i];
+                    } else {
+                        id = new UUID(keys[i], keys2[i]);
+                    }
+                    map.put(new TupleId(positions, new Object[]{ id }), values[i]);
+                }
+            }
+        }
+        mode = MODE_GENERIC;
+        keys = null;
+        keys2 = null;
+        values = null;
+    }
+
+    private static int hash(long key, long key2) {
+        long h = (key ^ (key2 * 0xC2B2AE3D27D4EB4FL)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -21,6 +21,8 @@ import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.ParameterHolder;
 import com.blazebit.persistence.SelectBuilder;
 import com.blazebit.persistence.view.impl.objectbuilder.mapper.TupleElementMapper;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.LazyCorrelatedValue;
+import com.blazebit.persistence.view.impl.proxy.LazyAttributeLoadingProxy;
 import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
 import com.blazebit.persistence.view.spi.EmbeddingViewJpqlMacro;
 import com.blazebit.persistence.view.spi.ViewJpqlMacro;
@@ -39,6 +41,7 @@ public class ViewTypeObjectBuilder<T> implements ObjectBuilder<T> {
 
     final boolean hasId;
     final boolean nullIfEmpty;
+    private final boolean hasLazyAttributes;
     private final ObjectInstantiator<T> objectInstantiator;
     private final TupleElementMapper[] mappers;
     private final ParameterHolder<?> parameterHolder;
@@ -58,6 +61,7 @@ public class ViewTypeObjectBuilder<T> implements ObjectBuilder<T> {
         this.embeddingViewJpqlMacro = embeddingViewJpqlMacro;
         this.fetches = fetches;
         this.nullIfEmpty = nullIfEmpty;
+        this.hasLazyAttributes = template.hasLazyAttributes();
         this.secondaryMappers = template.getSecondaryMappers();
     }
 
@@ -67,6 +71,9 @@ public class ViewTypeObjectBuilder<T> implements ObjectBuilder<T> {
             if (tuple[0] == null) {
                 return null;
             }
+            if (hasLazyAttributes) {
+                return buildWithLazyAttributes(tuple);
+            }
         } else if (nullIfEmpty) {
             for (int i = 0; i < tuple.length; i++) {
                 if (tuple[i] != null) {
@@ -80,6 +87,31 @@ public class ViewTypeObjectBuilder<T> implements ObjectBuilder<T> {
         return objectInstantiator.newInstance(tuple);
     }
 
+    private T buildWithLazyAttributes(Object[] tuple) {
+        // The tuple index of an attribute is the attribute index at this point
+        LazyCorrelatedValue[] lazyValues = null;
+        for (int i = 0; i < tuple.length; i++) {
+            if (tuple[i] instanceof LazyCorrelatedValue) {
+                if (lazyValues == null) {
+                    lazyValues = new LazyCorrelatedValue[tuple.length];
+                }
+                lazyValues[i] = (LazyCorrelatedValue) tuple[i];
+                tuple[i] = null;
+            }
+        }
+
+        T result = objectInstantiator.newInstance(tuple);
+        if (lazyValues != null) {
+            for (int i = 0; i < lazyValues.length; i++) {
+                if (lazyValues[i] != null) {
+                    lazyValues[i].register((LazyAttributeLoadingProxy) result, i);
+                }
+            }
+        }
+
+        return result;
+    }
+
     @Override
     public List<T> buildList(List<T> list) {
         return list;
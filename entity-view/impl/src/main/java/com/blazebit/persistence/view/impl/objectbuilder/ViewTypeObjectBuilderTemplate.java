@@ -22,6 +22,9 @@ import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.parser.expression.MacroFunction;
+import com.blazebit.persistence.parser.expression.PathElementExpression;
+import com.blazebit.persistence.parser.expression.PathExpression;
+import com.blazebit.persistence.parser.expression.PropertyExpression;
 import com.blazebit.persistence.parser.predicate.EqPredicate;
 import com.blazebit.persistence.parser.predicate.InPredicate;
 import com.blazebit.persistence.parser.predicate.Predicate;
@@ -38,6 +41,8 @@ import com.blazebit.persistence.view.impl.ExpressionUtils;
 import com.blazebit.persistence.view.impl.MacroConfigurationExpressionFactory;
 import com.blazebit.persistence.view.impl.PrefixingQueryGenerator;
 import com.blazebit.persistence.view.impl.ScalarTargetResolvingExpressionVisitor;
+import com.blazebit.persistence.view.impl.SimpleCorrelationProviderFactory;
+import com.blazebit.persistence.view.impl.StaticCorrelationProvider;
 import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractParameterAttribute;
@@ -70,6 +75,8 @@ import com.blazebit.persistence.view.impl.objectbuilder.transformer.IndexedTuple
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.NonIndexedTupleListTransformer;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.SingularMultisetTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.SubviewTupleTransformerFactory;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformerFactory;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.AbstractCorrelatedBatchTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.BasicCorrelator;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedCollectionBatchTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedCollectionSubselectTupleTransformerFactory;
@@ -79,9 +86,12 @@ import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSingularSubselectTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSubviewJoinTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.Correlator;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.LazyCorrelatedTupleListTransformerFactory;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.SharedCorrelatedBatchTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.SubviewCorrelator;
 import com.blazebit.persistence.view.impl.proxy.AbstractReflectionInstantiator;
 import com.blazebit.persistence.view.impl.proxy.AssignmentConstructorReflectionInstantiator;
+import com.blazebit.persistence.view.impl.proxy.LazyAttributeLoadingProxy;
 import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
 import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
 import com.blazebit.persistence.view.impl.type.IntegerBasicUserType;
@@ -109,6 +119,7 @@ import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.IdentifiableType;
 import javax.persistence.metamodel.ManagedType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -144,6 +155,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
     private final boolean hasSubqueryCorrelation;
     private final boolean hasSubviews;
     private final boolean hasSubtypes;
+    private final boolean hasLazyAttributes;
 
     private final ManagedViewTypeImplementor<?> viewRoot;
     private final String viewRootAlias;
@@ -154,6 +166,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
     private final ProxyFactory proxyFactory;
     private final TupleTransformatorFactory tupleTransformatorFactory;
     private final SecondaryMapper[] secondaryMappers;
+    private final Map<SharedCorrelationKey, SharedCorrelatedBatchTupleListTransformerFactory> sharedCorrelations = new HashMap<>();
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private ViewTypeObjectBuilderTemplate(ManagedViewTypeImplementor<?> viewRoot, String viewRootAlias, String attributePath, String aliasPrefix, String mappingPrefix, String idPrefix, TupleIdDescriptor tupleIdDescriptor, TupleIdDescriptor viewIdDescriptor, int tupleOffset, int endTupleElementsToAdd, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro,
@@ -250,6 +263,8 @@ public class ViewTypeObjectBuilderTemplate<T> {
             }
         }
 
+        this.hasLazyAttributes = hasLazyAttributes(managedViewType, inheritanceSubtypeConfiguration);
+
         // Add tuple element mappers for attributes
         for (Map.Entry<ManagedViewTypeImpl.AttributeKey, ConstrainedAttribute<AbstractMethodAttribute<? super T, ?>>> attributeEntry : attributeMap.entrySet()) {
             ConstrainedAttribute<AbstractMethodAttribute<? super T, ?>> constrainedAttribute = attributeEntry.getValue();
@@ -741,29 +756,29 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         } else {
                             indexCorrelator = new BasicCorrelator();
                         }
-                        mapperBuilder.addTupleListTransformerFactory(new CorrelatedMapBatchTupleListTransformerFactory(
+                        mapperBuilder.addTupleListTransformerFactory(createBatchTupleListTransformerFactory(attribute, new CorrelatedMapBatchTupleListTransformerFactory(
                                 new BasicCorrelator(),
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                                createLimiter(mapperBuilder, correlationAlias, attribute),
+                                createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics().getOrCreate(viewRoot.getJavaType(), attributePath), evm.getCorrelationCacheRegion(attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                                 dirtyTracking
-                        ));
+                        )));
                         return;
                     default:
                         throw new IllegalArgumentException("Unknown collection type: " + pluralAttribute.getCollectionType());
                 }
-                mapperBuilder.addTupleListTransformerFactory(new CorrelatedCollectionBatchTupleListTransformerFactory(
+                addBatchTupleListTransformerFactory(mapperBuilder, attribute, indexExpression == null, correlationKeyExpression, batchSize, new CorrelatedCollectionBatchTupleListTransformerFactory(
                         new BasicCorrelator(),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute),
+                        createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics().getOrCreate(viewRoot.getJavaType(), attributePath), evm.getCorrelationCacheRegion(attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                         dirtyTracking
                 ));
             } else {
-                mapperBuilder.addTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
+                addBatchTupleListTransformerFactory(mapperBuilder, attribute, true, correlationKeyExpression, batchSize, new CorrelatedSingularBatchTupleListTransformerFactory(
                         new BasicCorrelator(),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics().getOrCreate(viewRoot.getJavaType(), attributePath), evm.getCorrelationCacheRegion(attribute)));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1115,29 +1130,29 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         } else {
                             indexCorrelator = new BasicCorrelator();
                         }
-                        mapperBuilder.addTupleListTransformerFactory(new CorrelatedMapBatchTupleListTransformerFactory(
+                        mapperBuilder.addTupleListTransformerFactory(createBatchTupleListTransformerFactory(attribute, new CorrelatedMapBatchTupleListTransformerFactory(
                                 new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                                createLimiter(mapperBuilder, correlationAlias, attribute),
+                                createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics().getOrCreate(viewRoot.getJavaType(), attributePath), evm.getCorrelationCacheRegion(attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                                 dirtyTracking
-                        ));
+                        )));
                         return null;
                     default:
                         throw new IllegalArgumentException("Unknown collection type: " + pluralAttribute.getCollectionType());
                 }
-                mapperBuilder.addTupleListTransformerFactory(new CorrelatedCollectionBatchTupleListTransformerFactory(
+                mapperBuilder.addTupleListTransformerFactory(createBatchTupleListTransformerFactory(attribute, new CorrelatedCollectionBatchTupleListTransformerFactory(
                         new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute),
+                        createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics().getOrCreate(viewRoot.getJavaType(), attributePath), evm.getCorrelationCacheRegion(attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                         dirtyTracking
-                ));
+                )));
             } else {
-                mapperBuilder.addTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
+                mapperBuilder.addTupleListTransformerFactory(createBatchTupleListTransformerFactory(attribute, new CorrelatedSingularBatchTupleListTransformerFactory(
                         new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics().getOrCreate(viewRoot.getJavaType(), attributePath), evm.getCorrelationCacheRegion(attribute))));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1218,6 +1233,90 @@ public class ViewTypeObjectBuilderTemplate<T> {
         return "multiset_" + attributePath.replace('.', '_');
     }
 
+    private boolean hasLazyAttributes(ManagedViewTypeImplementor<T> managedViewType, ManagedViewTypeImpl.InheritanceSubtypeConfiguration<T> inheritanceSubtypeConfiguration) {
+        // Lazy loading requires that the attribute index is the tuple index which isn't the case for inheritance
+        if (inheritanceSubtypeConfiguration.hasSubtypes()) {
+            return false;
+        }
+        for (MethodAttribute<? super T, ?> attribute : managedViewType.getAttributes()) {
+            if (((AbstractMethodAttribute<?, ?>) attribute).isLazy()) {
+                // Static implementations can't be lazy loaded so we fall back to eager loading for them
+                return LazyAttributeLoadingProxy.class.isAssignableFrom(proxyFactory.getProxy(evm, managedViewType));
+            }
+        }
+        return false;
+    }
+
+    private TupleListTransformerFactory createBatchTupleListTransformerFactory(AbstractAttribute<?, ?> attribute, AbstractCorrelatedBatchTupleListTransformerFactory factory) {
+        if (hasLazyAttributes && attribute.isLazy()) {
+            return new LazyCorrelatedTupleListTransformerFactory(factory);
+        }
+        return factory;
+    }
+
+    private void addBatchTupleListTransformerFactory(TupleElementMapperBuilder mapperBuilder, AbstractAttribute<?, ?> attribute, boolean shareable, String correlationKeyExpression, int batchSize, AbstractCorrelatedBatchTupleListTransformerFactory factory) {
+        SharedCorrelationKey key = shareable ? createSharedCorrelationKey(mapperBuilder, attribute, correlationKeyExpression, batchSize) : null;
+        if (key == null) {
+            mapperBuilder.addTupleListTransformerFactory(createBatchTupleListTransformerFactory(attribute, factory));
+            return;
+        }
+        // Sibling attributes with the same correlation are loaded by a single query
+        SharedCorrelatedBatchTupleListTransformerFactory sharedFactory = sharedCorrelations.get(key);
+        if (sharedFactory == null) {
+            sharedFactory = new SharedCorrelatedBatchTupleListTransformerFactory(factory);
+            sharedCorrelations.put(key, sharedFactory);
+            mapperBuilder.addTupleListTransformerFactory(sharedFactory);
+        } else {
+            sharedFactory.addFactory(factory);
+        }
+    }
+
+    private SharedCorrelationKey createSharedCorrelationKey(TupleElementMapperBuilder mapperBuilder, AbstractAttribute<?, ?> attribute, String correlationKeyExpression, int batchSize) {
+        if (hasLazyAttributes && attribute.isLazy() || attribute.isAggregate() || attribute.getFetches().length != 0 || attribute.getLimitExpression() != null
+                || attribute.getCorrelated() == null || evm.getCorrelationCacheRegion(attribute) != null) {
+            return null;
+        }
+        Object correlation;
+        CorrelationProviderFactory factory = attribute.getCorrelationProviderFactory();
+        if (factory instanceof StaticCorrelationProvider) {
+            correlation = Arrays.asList(attribute.getCorrelated(), attribute.getCorrelationKeyAlias(), attribute.getCorrelationExpression());
+        } else if (factory instanceof SimpleCorrelationProviderFactory) {
+            correlation = attribute.getCorrelationProvider();
+        } else {
+            return null;
+        }
+        // The rows of a shared query must be the correlated entities, so the correlation result must not introduce joins
+        if (!isBasicPath(attribute.getCorrelated(), attribute.getCorrelationResultExpression())) {
+            return null;
+        }
+        return new SharedCorrelationKey(mapperBuilder.getTupleTransformatorFactory(), correlation, correlationKeyExpression, batchSize);
+    }
+
+    private boolean isBasicPath(Class<?> correlated, Expression expression) {
+        if (ExpressionUtils.isEmptyOrThis(expression)) {
+            return true;
+        }
+        if (!(expression instanceof PathExpression)) {
+            return false;
+        }
+        ManagedType<?> managedType = evm.getMetamodel().getEntityMetamodel().getManagedType(correlated);
+        for (PathElementExpression element : ((PathExpression) expression).getExpressions()) {
+            if (managedType == null || !(element instanceof PropertyExpression)) {
+                return false;
+            }
+            javax.persistence.metamodel.Attribute<?, ?> attribute = JpaMetamodelUtils.getAttribute(managedType, ((PropertyExpression) element).getProperty());
+            if (attribute == null || attribute.isCollection() || JpaMetamodelUtils.isAssociation(attribute)) {
+                return false;
+            }
+            if (attribute.getPersistentAttributeType() == javax.persistence.metamodel.Attribute.PersistentAttributeType.EMBEDDED) {
+                managedType = (ManagedType<?>) ((javax.persistence.metamodel.SingularAttribute<?, ?>) attribute).getType();
+            } else {
+                managedType = null;
+            }
+        }
+        return true;
+    }
+
     private Limiter createLimiter(TupleElementMapperBuilder mapperBuilder, String prefix, Attribute<?, ?> attribute) {
         return createLimiter(mapperBuilder, prefix, attribute.getLimitExpression(), attribute.getOffsetExpression(), attribute.getOrderByItems());
     }
@@ -1478,6 +1577,10 @@ public class ViewTypeObjectBuilderTemplate<T> {
         return hasSubtypes;
     }
 
+    public boolean hasLazyAttributes() {
+        return hasLazyAttributes;
+    }
+
     public int[] getIdPositions() {
         return idPositions;
     }
@@ -1511,9 +1614,14 @@ public class ViewTypeObjectBuilderTemplate<T> {
         private final String entityViewRoot;
         private final String embeddingViewPath;
         private final int offset;
+        private final Map<ManagedViewType<? extends Object>, String> inheritanceSubtypeMappings;
         private final boolean cacheable;
 
         public Key(MacroConfigurationExpressionFactory ef, ManagedViewTypeImplementor<?> viewType, MappingConstructorImpl<?> constructor, String entityViewRoot, String embeddingViewPath, int offset) {
+            this(ef, viewType, constructor, entityViewRoot, embeddingViewPath, offset, null);
+        }
+
+        public Key(MacroConfigurationExpressionFactory ef, ManagedViewTypeImplementor<?> viewType, MappingConstructorImpl<?> constructor, String entityViewRoot, String embeddingViewPath, int offset, Map<? extends ManagedViewType<?>, String> inheritanceSubtypeMappings) {
             this.ef = ef.getExpressionFactory();
             Map<String, MacroFunction> macros;
             if (ef.getDefaultMacroConfiguration() == null) {
@@ -1547,10 +1655,11 @@ public class ViewTypeObjectBuilderTemplate<T> {
             this.entityViewRoot = entityViewRoot;
             this.embeddingViewPath = embeddingViewPath;
             this.offset = offset;
+            this.inheritanceSubtypeMappings = (Map<ManagedViewType<? extends Object>, String>) inheritanceSubtypeMappings;
         }
 
         public ViewTypeObjectBuilderTemplate<?> createValue(EntityViewManagerImpl evm, ProxyFactory proxyFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, MacroConfigurationExpressionFactory ef) {
-            return new ViewTypeObjectBuilderTemplate<Object>(viewType, entityViewRoot, "", viewType.getJavaType().getSimpleName(), entityViewRoot, entityViewRoot, new TupleIdDescriptor(), new TupleIdDescriptor(), offset, 0, viewJpqlMacro, embeddingViewJpqlMacro, null, evm, ef, viewType, constructor, proxyFactory);
+            return new ViewTypeObjectBuilderTemplate<Object>(viewType, entityViewRoot, "", viewType.getJavaType().getSimpleName(), entityViewRoot, entityViewRoot, new TupleIdDescriptor(), new TupleIdDescriptor(), offset, 0, viewJpqlMacro, embeddingViewJpqlMacro, inheritanceSubtypeMappings, evm, ef, viewType, constructor, proxyFactory);
         }
 
         public boolean isCacheable() {
@@ -1567,6 +1676,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
             hash = 83 * hash + (this.entityViewRoot != null ? this.entityViewRoot.hashCode() : 0);
             hash = 83 * hash + (this.embeddingViewPath != null ? this.embeddingViewPath.hashCode() : 0);
             hash = 83 * hash + offset;
+            hash = 83 * hash + (this.inheritanceSubtypeMappings != null ? this.inheritanceSubtypeMappings.hashCode() : 0);
             return hash;
         }
 
@@ -1600,10 +1710,58 @@ public class ViewTypeObjectBuilderTemplate<T> {
             if (this.offset != other.offset) {
                 return false;
             }
+            if (this.inheritanceSubtypeMappings != other.inheritanceSubtypeMappings && (this.inheritanceSubtypeMappings == null || !this.inheritanceSubtypeMappings.equals(other.inheritanceSubtypeMappings))) {
+                return false;
+            }
             return true;
         }
     }
 
+    /**
+     * The key for grouping SELECT fetched correlations of sibling attributes that can share a query.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class SharedCorrelationKey {
+
+        private final TupleTransformatorFactory tupleTransformatorFactory;
+        private final Object correlation;
+        private final String correlationKeyExpression;
+        private final int batchSize;
+
+        public SharedCorrelationKey(TupleTransformatorFactory tupleTransformatorFactory, Object correlation, String correlationKeyExpression, int batchSize) {
+            this.tupleTransformatorFactory = tupleTransformatorFactory;
+            this.correlation = correlation;
+            this.correlationKeyExpression = correlationKeyExpression;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SharedCorrelationKey)) {
+                return false;
+            }
+            SharedCorrelationKey that = (SharedCorrelationKey) o;
+            return tupleTransformatorFactory == that.tupleTransformatorFactory
+                    && batchSize == that.batchSize
+                    && correlation.equals(that.correlation)
+                    && correlationKeyExpression.equals(that.correlationKeyExpression);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(tupleTransformatorFactory);
+            result = 31 * result + correlation.hashCode();
+            result = 31 * result + correlationKeyExpression.hashCode();
+            result = 31 * result + batchSize;
+            return result;
+        }
+    }
+
     /**
      *
      * @author Christian Beikov
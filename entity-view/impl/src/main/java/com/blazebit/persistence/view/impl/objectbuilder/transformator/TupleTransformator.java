@@ -16,15 +16,23 @@
 
 package com.blazebit.persistence.view.impl.objectbuilder.transformator;
 
+import com.blazebit.persistence.view.CorrelationEntityManagerProvider;
 import com.blazebit.persistence.view.impl.objectbuilder.TupleRest;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformer;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleTransformer;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Christian Beikov
@@ -33,9 +41,17 @@ import java.util.Set;
 public class TupleTransformator {
 
     private final List<TupleTransformatorLevel> transformatorLevels;
+    private final Executor correlationExecutor;
+    private final CorrelationEntityManagerProvider correlationEntityManagerProvider;
 
     public TupleTransformator(List<TupleTransformatorLevel> transformatorLevels) {
+        this(transformatorLevels, null, null);
+    }
+
+    public TupleTransformator(List<TupleTransformatorLevel> transformatorLevels, Executor correlationExecutor, CorrelationEntityManagerProvider correlationEntityManagerProvider) {
         this.transformatorLevels = transformatorLevels;
+        this.correlationExecutor = correlationExecutor;
+        this.correlationEntityManagerProvider = correlationEntityManagerProvider;
     }
 
     public List<Object[]> transformAll(List<Object[]> tupleList) {
@@ -50,6 +66,14 @@ public class TupleTransformator {
                     newTupleListIter.set(transform(i, tuple, updatableViewMap));
                 }
             }
+            if (correlationExecutor != null && correlationEntityManagerProvider != null) {
+                int end = getConcurrentLevelsEnd(i);
+                if (end - i > 1) {
+                    transformConcurrently(i, end, tupleList);
+                    i = end - 1;
+                    continue;
+                }
+            }
             tupleList = transform(i, tupleList);
         }
 
@@ -86,6 +110,79 @@ public class TupleTransformator {
         return currentTuple;
     }
 
+    private int getConcurrentLevelsEnd(int start) {
+        int end = start;
+        // Subsequent levels can only be transformed concurrently if they have no tuple transformers that would have to run in between
+        while (end < transformatorLevels.size() && (end == start || transformatorLevels.get(end).tupleTransformers.length == 0)) {
+            TupleListTransformer tupleListTransformer = transformatorLevels.get(end).tupleListTransformer;
+            if (tupleListTransformer == null || !tupleListTransformer.supportsConcurrentTransform()) {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    private void transformConcurrently(int start, int end, final List<Object[]> tupleList) {
+        List<FutureTask<Void>> tasks = new ArrayList<>(end - start - 1);
+        for (int i = start + 1; i < end; i++) {
+            final TupleListTransformer tupleListTransformer = transformatorLevels.get(i).tupleListTransformer;
+            FutureTask<Void> task = new FutureTask<>(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    // An entity manager is not thread-safe, so every concurrent load needs a separate one supplied by the caller
+                    EntityManager em = correlationEntityManagerProvider.acquire();
+                    try {
+                        tupleListTransformer.transformConcurrently(tupleList, em);
+                    } finally {
+                        correlationEntityManagerProvider.release(em);
+                    }
+                    return null;
+                }
+            });
+            tasks.add(task);
+            try {
+                correlationExecutor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                task.run();
+            }
+        }
+
+        RuntimeException exception = null;
+        try {
+            // The first level is loaded by the current thread with the entity manager of the query
+            transformatorLevels.get(start).tupleListTransformer.transformConcurrently(tupleList, null);
+        } catch (RuntimeException ex) {
+            exception = ex;
+        }
+        // Always wait for all loads, so that no load uses the tuples after this method returned
+        for (FutureTask<Void> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                if (exception == null) {
+                    exception = new RuntimeException("Interrupted while waiting for concurrent correlation batch loads", ex);
+                }
+            } catch (ExecutionException ex) {
+                if (exception == null) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    exception = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+
+        for (int i = start; i < end; i++) {
+            transformatorLevels.get(i).tupleListTransformer.finishConcurrentTransform(tupleList);
+        }
+    }
+
     private List<Object[]> transform(int level, List<Object[]> tupleList) {
         TupleListTransformer tupleListTransformer = transformatorLevels.get(level).tupleListTransformer;
         if (tupleListTransformer == null) {
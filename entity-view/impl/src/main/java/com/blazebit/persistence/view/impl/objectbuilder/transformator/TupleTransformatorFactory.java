@@ -24,6 +24,7 @@ import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTra
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleTransformer;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleTransformerFactory;
 
+import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -204,6 +205,27 @@ public class TupleTransformatorFactory {
             }
             return tuples;
         }
+
+        @Override
+        public boolean supportsConcurrentTransform() {
+            return delegate.supportsConcurrentTransform();
+        }
+
+        @Override
+        public void transformConcurrently(List<Object[]> tuples, EntityManager entityManager) {
+            ConstrainedTupleList tupleList = new ConstrainedTupleList(classMappingIndex, subtypeIndexes, tuples);
+            if (!tupleList.isEmpty()) {
+                delegate.transformConcurrently(tupleList, entityManager);
+            }
+        }
+
+        @Override
+        public void finishConcurrentTransform(List<Object[]> tuples) {
+            ConstrainedTupleList tupleList = new ConstrainedTupleList(classMappingIndex, subtypeIndexes, tuples);
+            if (!tupleList.isEmpty()) {
+                delegate.finishConcurrentTransform(tupleList);
+            }
+        }
     }
 
     /**
@@ -277,6 +299,6 @@ public class TupleTransformatorFactory {
             newTransformatorLevels[i] = new TupleTransformatorLevel(tupleTransformers, tupleListTransformer);
         }
         
-        return new TupleTransformator(Arrays.asList(newTransformatorLevels));
+        return new TupleTransformator(Arrays.asList(newTransformatorLevels), entityViewConfiguration.getCorrelationExecutor(), entityViewConfiguration.getCorrelationEntityManagerProvider());
     }
 }
@@ -17,15 +17,13 @@
 package com.blazebit.persistence.view.impl.objectbuilder.transformer;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import com.blazebit.persistence.view.impl.collection.CollectionInstantiatorImplementor;
 import com.blazebit.persistence.view.impl.collection.RecordingCollection;
-import com.blazebit.persistence.view.impl.objectbuilder.TupleId;
+import com.blazebit.persistence.view.impl.objectbuilder.TupleIdIndex;
 import com.blazebit.persistence.view.impl.objectbuilder.TupleIndexValue;
 import com.blazebit.persistence.view.spi.type.TypeConverter;
 
@@ -56,22 +54,21 @@ public class NonIndexedTupleListTransformer extends TupleListTransformer {
 
     @Override
     public List<Object[]> transform(List<Object[]> tuples) {
-        Map<TupleId, TupleIndexValue> tupleIndex = new HashMap<>(tuples.size());
+        TupleIdIndex tupleIndex = new TupleIdIndex(parentIdPositions, tuples.size());
         Iterator<Object[]> tupleListIter = tuples.iterator();
 
         while (tupleListIter.hasNext()) {
             Object[] tuple = tupleListIter.next();
-            TupleId id = new TupleId(parentIdPositions, tuple);
             // Skip constructing the collection and removing tuples when the parent is empty i.e. null
-            if (!id.isEmpty()) {
-                TupleIndexValue tupleIndexValue = tupleIndex.get(id);
+            if (tupleIndex.probe(tuple)) {
+                TupleIndexValue tupleIndexValue = tupleIndex.get();
 
                 if (tupleIndexValue == null) {
                     Object collection = createCollection();
                     tupleIndexValue = new TupleIndexValue(collection, tuple, startIndex, 1);
                     add(collection, tuple[startIndex]);
                     tuple[startIndex] = collection;
-                    tupleIndex.put(id, tupleIndexValue);
+                    tupleIndex.put(tupleIndexValue);
                 } else if (tupleIndexValue.addRestTuple(tuple, startIndex, 1)) {
                     Object collection = tupleIndexValue.getTupleValue();
                     add(collection, tuple[startIndex]);
@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.view.impl.objectbuilder.transformer;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 
 /**
@@ -34,4 +35,36 @@ public abstract class TupleListTransformer {
     public abstract int getConsumableIndex();
 
     public abstract List<Object[]> transform(List<Object[]> tuples);
+
+    /**
+     * Returns whether this transformer only populates its own tuple element in place through separate queries,
+     * so that it can run concurrently to other such transformers via {@link #transformConcurrently(List, EntityManager)}.
+     * Transformers are only ever transformed concurrently if this returns <code>true</code>.
+     *
+     * @return whether this transformer can run concurrently
+     */
+    public boolean supportsConcurrentTransform() {
+        return false;
+    }
+
+    /**
+     * Populates the tuple element like {@link #transform(List)}, but executes queries with the given entity manager
+     * and leaves tuple elements that are shared with other transformers untouched until {@link #finishConcurrentTransform(List)}.
+     * The default implementation simply delegates to {@link #transform(List)}, which is only correct for transformers that work in place.
+     *
+     * @param tuples The tuples
+     * @param entityManager The entity manager to use for queries or <code>null</code> to use the one of the query
+     */
+    public void transformConcurrently(List<Object[]> tuples, EntityManager entityManager) {
+        transform(tuples);
+    }
+
+    /**
+     * Finishes a transformation started with {@link #transformConcurrently(List, EntityManager)}.
+     * The default implementation does nothing, as {@link #transform(List)} already finished the transformation.
+     *
+     * @param tuples The tuples
+     */
+    public void finishConcurrentTransform(List<Object[]> tuples) {
+    }
 }
@@ -26,6 +26,7 @@ import com.blazebit.persistence.view.CorrelationProvider;
 import com.blazebit.persistence.view.impl.BatchCorrelationMode;
 import com.blazebit.persistence.view.CorrelationProviderFactory;
 import com.blazebit.persistence.view.impl.EntityViewConfiguration;
+import com.blazebit.persistence.view.impl.cache.EntityViewCacheRegion;
 import com.blazebit.persistence.view.impl.macro.CorrelatedSubqueryEmbeddingViewJpqlMacro;
 import com.blazebit.persistence.view.impl.macro.CorrelatedSubqueryViewRootJpqlMacro;
 import com.blazebit.persistence.view.impl.macro.MutableViewJpqlMacro;
@@ -40,11 +41,14 @@ import com.blazebit.persistence.view.metamodel.ViewType;
 import javax.persistence.EntityManager;
 import javax.persistence.Parameter;
 import javax.persistence.Query;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  *
@@ -55,8 +59,11 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
     public static final String CORRELATION_KEY_ALIAS = "correlationKey";
     private static final String CORRELATION_PARAM_PREFIX = "correlationParam_";
+    private static final Object NULL_RESULT = new Object();
 
-    protected final int batchSize;
+    protected final int maxBatchSize;
+    protected final AttributeBatchStatistics statistics;
+    protected final EntityViewCacheRegion cacheRegion;
     protected final boolean correlatesThis;
     protected final BatchCorrelationMode expectBatchCorrelationMode;
     protected final int valueIndex;
@@ -68,17 +75,41 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     protected CorrelatedSubqueryViewRootJpqlMacro viewRootJpqlMacro;
     protected CorrelatedSubqueryEmbeddingViewJpqlMacro embeddingViewJpqlMacro;
     protected Query query;
+    protected EntityManager entityManager;
+    protected int batchSize;
+    private List<AbstractCorrelatedBatchTupleListTransformer> sharedTransformers;
+    private int loadQueryCount;
+    private long loadQueryNanos;
+    private List<String> sharedCorrelationResults;
+    private List<Map<Object, TuplePromise>> sharedCorrelationValues;
 
     public AbstractCorrelatedBatchTupleListTransformer(ExpressionFactory ef, Correlator correlator, ContainerAccumulator<?> containerAccumulator, ManagedViewTypeImplementor<?> viewRootType, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches, String[] indexFetches,
-                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, EntityViewConfiguration entityViewConfiguration) {
+                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, AttributeBatchStatistics statistics, EntityViewCacheRegion cacheRegion, EntityViewConfiguration entityViewConfiguration) {
         super(ef, correlator, containerAccumulator, viewRootType, embeddingViewType, correlationResult, correlationProviderFactory, attributePath, fetches, indexFetches, indexExpression, indexCorrelator, viewRootIndex, embeddingViewIndex, tupleIndex, correlationBasisType, correlationBasisEntity, limiter, entityViewConfiguration);
-        this.batchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        this.maxBatchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        this.statistics = statistics;
+        this.cacheRegion = cacheRegion;
+        this.batchSize = maxBatchSize;
         this.correlatesThis = correlatesThis;
         this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath);
         this.valueIndex = correlator.getElementOffset();
         this.keyIndex = valueIndex + 1;
     }
 
+    /**
+     * Adds a transformer of a sibling attribute with the same correlation, whose correlation result is loaded by the queries of this transformer.
+     *
+     * @param sharedTransformer The transformer of the sibling attribute
+     */
+    void addSharedTransformer(AbstractCorrelatedBatchTupleListTransformer sharedTransformer) {
+        if (sharedTransformers == null) {
+            sharedTransformers = new ArrayList<>();
+            sharedCorrelationResults = new ArrayList<>();
+        }
+        sharedTransformers.add(sharedTransformer);
+        sharedCorrelationResults.add(sharedTransformer.prefixCorrelationResult(correlationExternalAlias));
+    }
+
     private String generateCorrelationParamName() {
         final FullQueryBuilder<?, ?> queryBuilder = entityViewConfiguration.getCriteriaBuilder();
         final Map<String, Object> optionalParameters = entityViewConfiguration.getOptionalParameters();
@@ -124,7 +155,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             embeddingViewExpression = CORRELATION_KEY_ALIAS;
         }
 
-        this.criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(queryBuilder.getEntityManager(), Object[].class);
+        this.criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(entityManager == null ? queryBuilder.getEntityManager() : entityManager, Object[].class);
         if (queryBuilder instanceof CTEBuilder<?>) {
             this.criteriaBuilder.withCtesFrom((CTEBuilder<?>) queryBuilder);
         }
@@ -191,6 +222,63 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
     @Override
     public List<Object[]> transform(List<Object[]> tuples) {
+        transformWithoutConsuming(tuples);
+        consumeTupleMacroViewValues(tuples);
+        if (sharedTransformers != null) {
+            for (int i = 0; i < sharedTransformers.size(); i++) {
+                sharedTransformers.get(i).consumeTupleMacroViewValues(tuples);
+            }
+        }
+        return tuples;
+    }
+
+    @Override
+    public boolean supportsConcurrentTransform() {
+        return true;
+    }
+
+    @Override
+    public void transformConcurrently(List<Object[]> tuples, EntityManager entityManager) {
+        this.entityManager = entityManager;
+        try {
+            transformWithoutConsuming(tuples);
+        } finally {
+            this.entityManager = null;
+            this.criteriaBuilder = null;
+            this.query = null;
+            if (sharedTransformers != null) {
+                for (int i = 0; i < sharedTransformers.size(); i++) {
+                    AbstractCorrelatedBatchTupleListTransformer sharedTransformer = sharedTransformers.get(i);
+                    sharedTransformer.entityManager = null;
+                    sharedTransformer.criteriaBuilder = null;
+                    sharedTransformer.query = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void finishConcurrentTransform(List<Object[]> tuples) {
+        // The view root and embedding view values might be shared with sibling transformers, so consume them only after all are done
+        consumeTupleMacroViewValues(tuples);
+        if (sharedTransformers != null) {
+            for (int i = 0; i < sharedTransformers.size(); i++) {
+                sharedTransformers.get(i).consumeTupleMacroViewValues(tuples);
+            }
+        }
+    }
+
+    private void transformWithoutConsuming(List<Object[]> tuples) {
+        // The distinct keys are only needed for choosing an adaptive batch size
+        int distinctKeys = statistics.isAdaptive() ? countDistinctKeys(tuples) : -1;
+        this.batchSize = statistics.getBatchSize(maxBatchSize, distinctKeys);
+        this.loadQueryCount = 0;
+        this.loadQueryNanos = 0L;
+        transformBatches(tuples);
+        statistics.recordLoad(batchSize, distinctKeys, loadQueryCount, loadQueryNanos);
+    }
+
+    private void transformBatches(List<Object[]> tuples) {
         FixedArrayList correlationParams = new FixedArrayList(batchSize);
         // We have the correlation key on the first position if we do batching
         final int tupleOffset = (batchSize > 1 ? 1 : 0) + (indexCorrelator == null && indexExpression == null ? 0 : 1);
@@ -214,11 +302,13 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                 throw new IllegalStateException("The use of EMBEDDING_VIEW in the correlation for '" + embeddingViewType.getJavaType().getName() + "." + attributePath.substring(attributePath.lastIndexOf('.') + 1) + "' is illegal because the embedding view type '" + embeddingViewType.getJavaType().getName() + "' does not declare a @IdMapping!");
             }
             transformViewMacroAware(tuples, correlationParams, tupleOffset, correlationRoot, embeddingViewJpqlMacro, BatchCorrelationMode.EMBEDDING_VIEWS, embeddingViewType, embeddingViewIndex);
+            transformSharedSeparately(tuples);
         } else if (viewRootJpqlMacro.usesViewMacro()) {
             if (!(viewRootType instanceof ViewType<?>)) {
                 throw new IllegalStateException("The use of VIEW_ROOT in the correlation for '" + embeddingViewType.getJavaType().getName() + "." + attributePath.substring(attributePath.lastIndexOf('.') + 1) + "' is illegal because the view root type '" + viewRootType.getJavaType().getName() + "' does not declare a @IdMapping!");
             }
             transformViewMacroAware(tuples, correlationParams, tupleOffset, correlationRoot, viewRootJpqlMacro, BatchCorrelationMode.VIEW_ROOTS, viewRootType, viewRootIndex);
+            transformSharedSeparately(tuples);
         } else {
             EntityManager em = criteriaBuilder.getEntityManager();
             Iterator<Object[]> tupleListIter = tuples.iterator();
@@ -236,9 +326,21 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                     }
                 }
             }
+            if (sharedTransformers != null) {
+                // The correlation results of sibling attributes are plain paths, so they can be selected from our correlation alias
+                sharedCorrelationValues = new ArrayList<>(sharedTransformers.size());
+                for (int i = 0; i < sharedTransformers.size(); i++) {
+                    criteriaBuilder.select(sharedCorrelationResults.get(i));
+                    sharedCorrelationValues.add(new HashMap<Object, TuplePromise>(tuples.size()));
+                }
+            }
             populateParameters(criteriaBuilder);
             query = criteriaBuilder.getQuery();
 
+            // The generation must be read before querying so that results which might be stale due to a concurrent invalidation aren't cached
+            EntityViewCacheRegion cacheRegion = isCacheable() ? this.cacheRegion : null;
+            long cacheGeneration = cacheRegion == null ? 0L : cacheRegion.getGeneration();
+            List<Object> cacheMisses = cacheRegion == null ? null : new ArrayList<>();
             Map<Object, TuplePromise> correlationValues = new HashMap<>(tuples.size());
             while (tupleListIter.hasNext()) {
                 Object[] tuple = tupleListIter.next();
@@ -250,9 +352,19 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                     tupleIndexValue = new TuplePromise(startIndex);
                     tupleIndexValue.add(tuple);
                     correlationValues.put(correlationValue, tupleIndexValue);
+                    if (sharedCorrelationValues != null) {
+                        for (int i = 0; i < sharedCorrelationValues.size(); i++) {
+                            TuplePromise sharedPromise = new TuplePromise(sharedTransformers.get(i).startIndex);
+                            sharedPromise.add(tuple);
+                            sharedCorrelationValues.get(i).put(correlationValue, sharedPromise);
+                        }
+                    }
 
                     // Can't correlate null
-                    if (correlationValue != null) {
+                    if (correlationValue != null && !loadFromCache(cacheRegion, correlationValue, tupleIndexValue)) {
+                        if (cacheMisses != null) {
+                            cacheMisses.add(correlationValue);
+                        }
                         if (correlationBasisEntity != null) {
                             correlationParams.add(em.getReference(correlationBasisEntity, correlationValue));
                         } else {
@@ -271,6 +383,11 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                     }
                 } else {
                     tupleIndexValue.add(tuple);
+                    if (sharedCorrelationValues != null) {
+                        for (int i = 0; i < sharedCorrelationValues.size(); i++) {
+                            sharedCorrelationValues.get(i).get(correlationValue).add(tuple);
+                        }
+                    }
                 }
             }
 
@@ -279,10 +396,74 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
 
             fillDefaultValues(Collections.singletonMap(null, correlationValues));
+            if (sharedCorrelationValues != null) {
+                for (int i = 0; i < sharedCorrelationValues.size(); i++) {
+                    sharedTransformers.get(i).fillDefaultValues(Collections.singletonMap(null, sharedCorrelationValues.get(i)));
+                }
+                sharedCorrelationValues = null;
+            }
+
+            if (cacheMisses != null) {
+                for (int i = 0; i < cacheMisses.size(); i++) {
+                    Object correlationValue = cacheMisses.get(i);
+                    Object result = correlationValues.get(correlationValue).getResult();
+                    cacheRegion.put(correlationValue, result == null ? NULL_RESULT : copy(result), cacheGeneration);
+                }
+            }
         }
+    }
 
-        consumeTupleMacroViewValues(tuples);
-        return tuples;
+    private void transformSharedSeparately(List<Object[]> tuples) {
+        if (sharedTransformers != null) {
+            // Sibling attributes can only share the query when batching correlation values, otherwise they are loaded separately
+            for (int i = 0; i < sharedTransformers.size(); i++) {
+                AbstractCorrelatedBatchTupleListTransformer sharedTransformer = sharedTransformers.get(i);
+                sharedTransformer.entityManager = entityManager;
+                sharedTransformer.transformWithoutConsuming(tuples);
+            }
+        }
+    }
+
+    private boolean isCacheable() {
+        // Partially fetched results or results that depend on query parameters must not be shared
+        if (cacheRegion == null || !entityViewConfiguration.getFetches().isEmpty()) {
+            return false;
+        }
+        for (Parameter<?> parameter : criteriaBuilder.getParameters()) {
+            if (!correlationParamName.equals(parameter.getName()) && !CORRELATION_KEY_ALIAS.equals(parameter.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean loadFromCache(EntityViewCacheRegion cacheRegion, Object correlationValue, TuplePromise promise) {
+        if (cacheRegion == null) {
+            return false;
+        }
+        Object result = cacheRegion.get(correlationValue);
+        if (result == null) {
+            return false;
+        }
+        // Cached containers are never handed out directly, so that modifications of a result don't affect the cache
+        promise.onResult(result == NULL_RESULT ? null : copy(result), this);
+        return true;
+    }
+
+    private int countDistinctKeys(List<Object[]> tuples) {
+        // A batch never contains more elements than there are distinct correlation values or distinct view ids
+        Set<Object> correlationValues = new HashSet<>(tuples.size());
+        Set<Object> viewRootIds = new HashSet<>(tuples.size());
+        Set<Object> embeddingViewIds = new HashSet<>(tuples.size());
+        for (int i = 0; i < tuples.size(); i++) {
+            Object[] tuple = tuples.get(i);
+            if (tuple[startIndex] != null) {
+                correlationValues.add(tuple[startIndex]);
+            }
+            viewRootIds.add(tuple[viewRootIndex]);
+            embeddingViewIds.add(tuple[embeddingViewIndex]);
+        }
+        return Math.max(correlationValues.size(), Math.max(viewRootIds.size(), embeddingViewIds.size()));
     }
 
     @Override
@@ -488,7 +669,16 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
         }
 
-        populateResult(correlationValues, defaultKey, (List<Object>) query.getResultList());
+        long start = System.nanoTime();
+        List<Object> resultList = (List<Object>) query.getResultList();
+        long queryNanos = System.nanoTime() - start;
+        statistics.recordQuery(queryNanos);
+        loadQueryCount++;
+        loadQueryNanos += queryNanos;
+        if (sharedCorrelationValues != null) {
+            resultList = populateSharedResults(defaultKey, resultList);
+        }
+        populateResult(correlationValues, defaultKey, resultList, batchSize);
 
         batchParameters.reset();
         if (viewRootIds != null) {
@@ -496,7 +686,33 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
         }
     }
 
-    protected void populateResult(Map<Object, TuplePromise> correlationValues, Object defaultKey, List<Object> list) {
+    private List<Object> populateSharedResults(Object defaultKey, List<Object> list) {
+        // The correlation results of the sibling attributes are selected after the own value and correlation key
+        int sharedOffset = batchSize > 1 ? keyIndex + 1 : valueIndex + 1;
+        for (int i = 0; i < sharedTransformers.size(); i++) {
+            List<Object> sharedList = new ArrayList<>(list.size());
+            for (int j = 0; j < list.size(); j++) {
+                Object[] element = (Object[]) list.get(j);
+                if (batchSize > 1) {
+                    sharedList.add(new Object[]{ element[sharedOffset + i], element[keyIndex] });
+                } else {
+                    sharedList.add(element[sharedOffset + i]);
+                }
+            }
+            // The results of the sibling attributes are shaped by the batch size of this query
+            sharedTransformers.get(i).populateResult(sharedCorrelationValues.get(i), defaultKey, sharedList, batchSize);
+        }
+        if (batchSize > 1) {
+            return list;
+        }
+        List<Object> ownList = new ArrayList<>(list.size());
+        for (int j = 0; j < list.size(); j++) {
+            ownList.add(((Object[]) list.get(j))[valueIndex]);
+        }
+        return ownList;
+    }
+
+    protected void populateResult(Map<Object, TuplePromise> correlationValues, Object defaultKey, List<Object> list, int batchSize) {
         if (batchSize == 1) {
             if (indexCorrelator == null && indexExpression == null) {
                 correlationValues.get(defaultKey).onResult(createContainer(list), this);
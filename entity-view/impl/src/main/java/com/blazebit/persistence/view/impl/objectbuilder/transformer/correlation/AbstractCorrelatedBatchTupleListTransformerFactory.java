@@ -18,6 +18,7 @@ package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation
 
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.view.CorrelationProviderFactory;
+import com.blazebit.persistence.view.impl.cache.EntityViewCacheRegion;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.objectbuilder.Limiter;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformerFactory;
@@ -44,9 +45,11 @@ public abstract class AbstractCorrelatedBatchTupleListTransformerFactory impleme
     protected final Class<?> correlationBasisType;
     protected final Class<?> correlationBasisEntity;
     protected final Limiter limiter;
+    protected final AttributeBatchStatistics statistics;
+    protected final EntityViewCacheRegion cacheRegion;
 
     public AbstractCorrelatedBatchTupleListTransformerFactory(Correlator correlator, ManagedViewTypeImplementor<?> viewRootType, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches,
-                                                              boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int batchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter) {
+                                                              boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int batchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, AttributeBatchStatistics statistics, EntityViewCacheRegion cacheRegion) {
         this.correlator = correlator;
         this.viewRootType = viewRootType;
         this.embeddingViewType = embeddingViewType;
@@ -62,6 +65,8 @@ public abstract class AbstractCorrelatedBatchTupleListTransformerFactory impleme
         this.correlationBasisType = correlationBasisType;
         this.correlationBasisEntity = correlationBasisEntity;
         this.limiter = limiter;
+        this.statistics = statistics;
+        this.cacheRegion = cacheRegion;
     }
 
     @Override
@@ -71,6 +71,8 @@ public abstract class AbstractCorrelatedTupleListTransformer extends TupleListTr
     protected final Limiter limiter;
 
     protected final EntityViewConfiguration entityViewConfiguration;
+    private final ExpressionFactory ef;
+    private final Expression correlationResultExpression;
 
     public AbstractCorrelatedTupleListTransformer(ExpressionFactory ef, Correlator correlator, ContainerAccumulator<?> containerAccumulator, ManagedViewTypeImplementor<?> viewRootType, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches,
                                                   String[] indexFetches, Expression indexExpression, Correlator indexCorrelator, int viewRootIndex, int embeddingViewIndex, int tupleIndex, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, EntityViewConfiguration entityViewConfiguration) {
@@ -95,16 +97,27 @@ public abstract class AbstractCorrelatedTupleListTransformer extends TupleListTr
         } else {
             this.correlationExternalAlias = CorrelationProviderHelper.getDefaultExternalCorrelationAlias(attributePath);
         }
-        if (ExpressionUtils.isEmptyOrThis(correlationResult)) {
-            this.correlationResult = correlationExternalAlias;
-        } else {
-            this.correlationResult = PrefixingQueryGenerator.prefix(ef, correlationResult, correlationExternalAlias, viewRootType.getEntityViewRootTypes().keySet(), true);
-        }
+        this.ef = ef;
+        this.correlationResultExpression = correlationResult;
+        this.correlationResult = prefixCorrelationResult(correlationExternalAlias);
         this.indexExpression = indexExpression == null ? null : PrefixingQueryGenerator.prefix(ef, indexExpression, this.correlationResult, viewRootType.getEntityViewRootTypes().keySet(), true);
         this.fetches = prefix(correlationAlias, fetches);
         this.indexFetches = prefix(this.indexExpression, indexFetches);
     }
 
+    /**
+     * Returns the correlation result prefixed with the given correlation alias.
+     *
+     * @param alias The correlation alias
+     * @return The prefixed correlation result
+     */
+    protected final String prefixCorrelationResult(String alias) {
+        if (ExpressionUtils.isEmptyOrThis(correlationResultExpression)) {
+            return alias;
+        }
+        return PrefixingQueryGenerator.prefix(ef, correlationResultExpression, alias, viewRootType.getEntityViewRootTypes().keySet(), true);
+    }
+
     private static String[] prefix(String prefix, String[] fetches) {
         if (fetches == null || fetches.length == 0) {
             return fetches;
@@ -218,6 +231,10 @@ public abstract class AbstractCorrelatedTupleListTransformer extends TupleListTr
         public boolean hasResult() {
             return hasResult;
         }
+
+        public Object getResult() {
+            return result;
+        }
     }
 
     /**
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.spi.CorrelationBatchStatistics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the batch load statistics of a correlated attribute and determines the batch size for a load.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class AttributeBatchStatistics implements CorrelationBatchStatistics.AttributeStatistics {
+
+    private final boolean adaptive;
+    private final int batchSizeLimit;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger grownBatchSize = new AtomicInteger();
+    private final AtomicLong loadCount = new AtomicLong();
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong correlationKeyCount = new AtomicLong();
+    private final AtomicLong queryTimeNanos = new AtomicLong();
+    private volatile int lastBatchSize;
+
+    public AttributeBatchStatistics(boolean adaptive, int batchSizeLimit, long latencyThresholdNanos) {
+        this.adaptive = adaptive;
+        this.batchSizeLimit = batchSizeLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Returns the batch size to use for a load with the given amount of distinct keys.
+     * The size is bucketed to powers of two so that only few different query shapes are produced.
+     * It is limited by the configured batch size, or by the grown batch size if previous loads needed multiple fast queries.
+     *
+     * @param configuredBatchSize The configured batch size
+     * @param distinctKeys The maximum number of distinct keys that might end up in a single batch
+     * @return the batch size to use
+     */
+    public int getBatchSize(int configuredBatchSize, int distinctKeys) {
+        // A batch size of 1 means batching is disabled and results in a different query shape, so we only adapt bigger sizes
+        if (!adaptive || configuredBatchSize < 2) {
+            return configuredBatchSize;
+        }
+        int maxBatchSize = Math.max(configuredBatchSize, grownBatchSize.get());
+        int bucket = 2;
+        while (bucket < distinctKeys && bucket < maxBatchSize) {
+            bucket <<= 1;
+        }
+        return Math.min(bucket, maxBatchSize);
+    }
+
+    /**
+     * Records a finished load and adapts the batch size for subsequent loads.
+     * If the distinct keys didn't fit into a single batch and the queries were faster than the latency threshold,
+     * the batch size grows to the next power of two, up to the batch size limit.
+     * If the queries were slower than the latency threshold, a grown batch size shrinks again.
+     *
+     * @param batchSize The batch size that was used for the load
+     * @param distinctKeys The number of distinct keys of the load or <code>-1</code> if they weren't counted
+     * @param queries The number of queries executed for the load
+     * @param queryNanos The time in nanoseconds spent executing the queries of the load
+     */
+    public void recordLoad(int batchSize, int distinctKeys, int queries, long queryNanos) {
+        lastBatchSize = batchSize;
+        loadCount.incrementAndGet();
+        if (distinctKeys > 0) {
+            correlationKeyCount.addAndGet(distinctKeys);
+        }
+        if (!adaptive || batchSize < 2 || queries == 0) {
+            return;
+        }
+        long averageNanos = queryNanos / queries;
+        int current = grownBatchSize.get();
+        if (averageNanos < latencyThresholdNanos) {
+            if (distinctKeys > batchSize && batchSize < batchSizeLimit) {
+                // Fast queries that didn't cover all keys of a load, so we can save round trips by using bigger batches
+                int grown = Math.min(batchSize << 1, batchSizeLimit);
+                if (grown > current) {
+                    grownBatchSize.compareAndSet(current, grown);
+                }
+            }
+        } else if (current > 0 && batchSize >= current) {
+            // Slow queries with a grown batch size, so we go back one bucket
+            grownBatchSize.compareAndSet(current, current >> 1);
+        }
+    }
+
+    public void recordQuery(long nanos) {
+        queryCount.incrementAndGet();
+        queryTimeNanos.addAndGet(nanos);
+    }
+
+    @Override
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    @Override
+    public long getQueryCount() {
+        return queryCount.get();
+    }
+
+    @Override
+    public long getCorrelationKeyCount() {
+        return correlationKeyCount.get();
+    }
+
+    @Override
+    public long getQueryTimeNanos() {
+        return queryTimeNanos.get();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.spi.CorrelationBatchStatistics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class CorrelationBatchStatisticsImpl implements CorrelationBatchStatistics {
+
+    private final boolean adaptive;
+    private final int batchSizeLimit;
+    private final long latencyThresholdNanos;
+    private final ConcurrentMap<String, AttributeBatchStatistics> attributeStatistics = new ConcurrentHashMap<>();
+
+    public CorrelationBatchStatisticsImpl(boolean adaptive, int batchSizeLimit, long latencyThresholdNanos) {
+        this.adaptive = adaptive;
+        this.batchSizeLimit = batchSizeLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    public AttributeBatchStatistics getOrCreate(Class<?> viewRootClass, String attributePath) {
+        String key = getKey(viewRootClass, attributePath);
+        AttributeBatchStatistics statistics = attributeStatistics.get(key);
+        if (statistics == null) {
+            statistics = new AttributeBatchStatistics(adaptive, batchSizeLimit, latencyThresholdNanos);
+            AttributeBatchStatistics existing = attributeStatistics.putIfAbsent(key, statistics);
+            if (existing != null) {
+                statistics = existing;
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public AttributeStatistics getAttributeStatistics(Class<?> viewRootClass, String attributePath) {
+        AttributeBatchStatistics statistics = attributeStatistics.get(getKey(viewRootClass, attributePath));
+        if (statistics == null || statistics.getLoadCount() == 0) {
+            return null;
+        }
+        return statistics;
+    }
+
+    private static String getKey(Class<?> viewRootClass, String attributePath) {
+        return viewRootClass.getName() + '#' + attributePath;
+    }
+}
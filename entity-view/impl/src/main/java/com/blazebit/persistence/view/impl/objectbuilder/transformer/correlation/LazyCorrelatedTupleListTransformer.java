@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.impl.objectbuilder.TupleReuse;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformer;
+
+import java.util.List;
+
+/**
+ * Defers the batch loading of a correlated attribute by putting a {@link LazyCorrelatedValue} into the tuples
+ * which is registered at the entity view object when it is built.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class LazyCorrelatedTupleListTransformer extends TupleListTransformer {
+
+    private final AbstractCorrelatedBatchTupleListTransformer delegate;
+    private final int viewRootIndex;
+    private final int embeddingViewIndex;
+
+    public LazyCorrelatedTupleListTransformer(AbstractCorrelatedBatchTupleListTransformer delegate, int startIndex, int viewRootIndex, int embeddingViewIndex) {
+        super(startIndex);
+        this.delegate = delegate;
+        this.viewRootIndex = viewRootIndex;
+        this.embeddingViewIndex = embeddingViewIndex;
+    }
+
+    @Override
+    public int getConsumableIndex() {
+        return delegate.getConsumableIndex();
+    }
+
+    @Override
+    public List<Object[]> transform(List<Object[]> tuples) {
+        LazyCorrelationLoader loader = new LazyCorrelationLoader(delegate, startIndex);
+        // The load tuples only retain the values needed for the correlation
+        int loadTupleLength = Math.max(startIndex, Math.max(viewRootIndex, embeddingViewIndex)) + 1;
+        int totalSize = tuples.size();
+        for (int i = 0; i < totalSize; i++) {
+            Object[] tuple = tuples.get(i);
+            Object[] loadTuple = new Object[loadTupleLength];
+            loadTuple[startIndex] = tuple[startIndex];
+            loadTuple[viewRootIndex] = tuple[viewRootIndex];
+            loadTuple[embeddingViewIndex] = tuple[embeddingViewIndex];
+            tuple[startIndex] = new LazyCorrelatedValue(loader, loadTuple);
+            if (viewRootIndex > startIndex) {
+                tuple[viewRootIndex] = TupleReuse.CONSUMED;
+            }
+            if (embeddingViewIndex > startIndex) {
+                tuple[embeddingViewIndex] = TupleReuse.CONSUMED;
+            }
+        }
+        return tuples;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.ParameterHolder;
+import com.blazebit.persistence.view.impl.EntityViewConfiguration;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformer;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformerFactory;
+
+import java.util.Map;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class LazyCorrelatedTupleListTransformerFactory implements TupleListTransformerFactory {
+
+    private final AbstractCorrelatedBatchTupleListTransformerFactory delegate;
+
+    public LazyCorrelatedTupleListTransformerFactory(AbstractCorrelatedBatchTupleListTransformerFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int getConsumableIndex() {
+        return delegate.getConsumableIndex();
+    }
+
+    @Override
+    public TupleListTransformer create(ParameterHolder<?> parameterHolder, Map<String, Object> optionalParameters, EntityViewConfiguration entityViewConfiguration) {
+        TupleListTransformer transformer = delegate.create(parameterHolder, optionalParameters, entityViewConfiguration);
+        // Attributes that aren't fetched at all don't need to be deferred
+        if (!(transformer instanceof AbstractCorrelatedBatchTupleListTransformer)) {
+            return transformer;
+        }
+        return new LazyCorrelatedTupleListTransformer((AbstractCorrelatedBatchTupleListTransformer) transformer, delegate.tupleIndex, delegate.viewRootIndex, delegate.embeddingViewIndex);
+    }
+
+}
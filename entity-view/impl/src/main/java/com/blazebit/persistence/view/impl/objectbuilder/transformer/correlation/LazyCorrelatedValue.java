@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.impl.proxy.LazyAttributeLoadingProxy;
+
+/**
+ * A placeholder for the value of a lazy correlated attribute in a tuple.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class LazyCorrelatedValue {
+
+    private final LazyCorrelationLoader loader;
+    private final Object[] loadTuple;
+
+    LazyCorrelatedValue(LazyCorrelationLoader loader, Object[] loadTuple) {
+        this.loader = loader;
+        this.loadTuple = loadTuple;
+    }
+
+    /**
+     * Registers the given entity view object for loading the lazy attribute with the given index.
+     *
+     * @param view The entity view object
+     * @param index The attribute index
+     */
+    public void register(LazyAttributeLoadingProxy view, int index) {
+        loader.register(view, index, loadTuple);
+    }
+}
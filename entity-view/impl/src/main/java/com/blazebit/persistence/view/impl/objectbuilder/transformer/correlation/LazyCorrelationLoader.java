@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.impl.proxy.LazyAttributeLoader;
+import com.blazebit.persistence.view.impl.proxy.LazyAttributeLoadingProxy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads a lazy correlated attribute for all entity view objects that were built from the same tuple list.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class LazyCorrelationLoader implements LazyAttributeLoader {
+
+    private final AbstractCorrelatedBatchTupleListTransformer delegate;
+    private final int startIndex;
+    private List<LazyAttributeLoadingProxy> views = new ArrayList<>();
+    private List<Integer> indexes = new ArrayList<>();
+    private List<Object[]> loadTuples = new ArrayList<>();
+
+    public LazyCorrelationLoader(AbstractCorrelatedBatchTupleListTransformer delegate, int startIndex) {
+        this.delegate = delegate;
+        this.startIndex = startIndex;
+    }
+
+    void register(LazyAttributeLoadingProxy view, int index, Object[] loadTuple) {
+        views.add(view);
+        indexes.add(index);
+        loadTuples.add(loadTuple);
+        view.$$_setLazyAttributeLoader(index, this);
+    }
+
+    @Override
+    public void load() {
+        // The delegate is shared by all loaders of a query
+        synchronized (delegate) {
+            if (views == null) {
+                return;
+            }
+            // Transform copies so that a failed load can be retried
+            int size = loadTuples.size();
+            List<Object[]> tuples = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                tuples.add(loadTuples.get(i).clone());
+            }
+            delegate.transform(tuples);
+            for (int i = 0; i < size; i++) {
+                views.get(i).$$_setLazyAttribute(indexes.get(i), tuples.get(i)[startIndex]);
+            }
+            views = null;
+            indexes = null;
+            loadTuples = null;
+        }
+    }
+}
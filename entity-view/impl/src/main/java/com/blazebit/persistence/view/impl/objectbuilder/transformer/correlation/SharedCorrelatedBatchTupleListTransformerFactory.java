@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.ParameterHolder;
+import com.blazebit.persistence.view.impl.EntityViewConfiguration;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformer;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.TupleListTransformerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups SELECT fetched correlations of sibling attributes that correlate the same entity with the same correlation basis,
+ * so that a single query per batch loads the correlation results of all attributes.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class SharedCorrelatedBatchTupleListTransformerFactory implements TupleListTransformerFactory {
+
+    private final List<AbstractCorrelatedBatchTupleListTransformerFactory> factories = new ArrayList<>();
+
+    public SharedCorrelatedBatchTupleListTransformerFactory(AbstractCorrelatedBatchTupleListTransformerFactory factory) {
+        this.factories.add(factory);
+    }
+
+    public void addFactory(AbstractCorrelatedBatchTupleListTransformerFactory factory) {
+        factories.add(factory);
+    }
+
+    @Override
+    public int getConsumableIndex() {
+        return -1;
+    }
+
+    @Override
+    public TupleListTransformer create(ParameterHolder<?> parameterHolder, Map<String, Object> optionalParameters, EntityViewConfiguration entityViewConfiguration) {
+        TupleListTransformer first = null;
+        AbstractCorrelatedBatchTupleListTransformer leader = null;
+        for (int i = 0; i < factories.size(); i++) {
+            TupleListTransformer transformer = factories.get(i).create(parameterHolder, optionalParameters, entityViewConfiguration);
+            if (first == null) {
+                first = transformer;
+            }
+            // Attributes that aren't fetched get a no-op transformer, so only the others have to be loaded
+            if (transformer instanceof AbstractCorrelatedBatchTupleListTransformer) {
+                if (leader == null) {
+                    leader = (AbstractCorrelatedBatchTupleListTransformer) transformer;
+                } else {
+                    leader.addSharedTransformer((AbstractCorrelatedBatchTupleListTransformer) transformer);
+                }
+            }
+        }
+        return leader == null ? first : leader;
+    }
+}
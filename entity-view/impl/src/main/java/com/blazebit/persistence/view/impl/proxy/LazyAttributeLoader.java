@@ -0,0 +1,30 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.proxy;
+
+/**
+ * Loads a lazy attribute of a group of entity view proxies on the first access of the attribute on any of them.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public interface LazyAttributeLoader {
+
+    /**
+     * Loads the lazy attribute for all entity view proxies of the group, unless that already happened.
+     */
+    public void load();
+}
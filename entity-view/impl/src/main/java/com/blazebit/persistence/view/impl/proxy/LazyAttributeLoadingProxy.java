@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.proxy;
+
+/**
+ * An entity view proxy that has lazy attributes.
+ * The attribute index refers to the position of the attribute in the tuple constructor of the proxy.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@SuppressWarnings("checkstyle:methodname")
+public interface LazyAttributeLoadingProxy {
+
+    /**
+     * Sets the loader that is invoked on the first access of the lazy attribute with the given index.
+     *
+     * @param index The attribute index
+     * @param loader The loader
+     */
+    public void $$_setLazyAttributeLoader(int index, LazyAttributeLoader loader);
+
+    /**
+     * Sets the loaded value of the lazy attribute with the given index and discards the loader.
+     *
+     * @param index The attribute index
+     * @param value The loaded value
+     */
+    public void $$_setLazyAttribute(int index, Object value);
+}
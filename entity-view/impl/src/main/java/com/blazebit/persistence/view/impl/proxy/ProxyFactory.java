@@ -397,14 +397,14 @@ public class ProxyFactory {
             }
 
             boolean dirtyChecking = false;
-            CtField dirtyField = null;
+            CtField[] dirtyFields = null;
             CtField readOnlyParentsField = null;
             CtField parentField = null;
             CtField parentIndexField = null;
             CtField initialStateField = null;
             CtField mutableStateField = null;
             CtMethod markDirtyStub = null;
-            long alwaysDirtyMask = 0L;
+            long[] alwaysDirtyMask = null;
             cc.addInterface(pool.get(EntityViewProxy.class.getName()));
             addGetJpaManagedClass(cc, managedViewType.getEntityClass());
             addGetJpaManagedBaseClass(cc, getJpaManagedBaseClass(managedViewType));
@@ -477,7 +477,7 @@ public class ProxyFactory {
             if (viewType != null) {
                 idAttribute = (AbstractMethodAttribute<? super T, ?>) viewType.getIdAttribute();
                 versionAttribute = (AbstractMethodAttribute<? super T, ?>) viewType.getVersionAttribute();
-                idField = addMembersForAttribute(idAttribute, clazz, cc, null, false, true, mutableStateField != null);
+                idField = addMembersForAttribute(idAttribute, clazz, cc, null, false, true, mutableStateField != null, null);
                 fieldMap.put(idAttribute.getName(), idField);
                 attributeFields[0] = idField;
                 attributeTypes[0] = idField.getType();
@@ -495,6 +495,9 @@ public class ProxyFactory {
             addGetter(cc, idField, "$$_getId", Object.class);
 
             int mutableAttributeCount = 0;
+            // Lazy attributes are only supported for read only entity views with an id
+            boolean supportsLazyAttributes = viewType != null && !managedViewType.isUpdatable() && !managedViewType.isCreatable();
+            CtField[] lazyLoaderFields = null;
             for (MethodAttribute<?, ?> attribute : attributes) {
                 AbstractMethodAttribute<?, ?> methodAttribute = (AbstractMethodAttribute<?, ?>) attribute;
                 if (NEEDS_READS_INJECTOR) {
@@ -512,7 +515,19 @@ public class ProxyFactory {
                     }
                 }
                 boolean forceMutable = mutableStateField != null && methodAttribute == versionAttribute;
-                CtField attributeField = addMembersForAttribute(methodAttribute, clazz, cc, mutableStateField, dirtyChecking, false, forceMutable);
+                CtField lazyLoaderField = null;
+                if (supportsLazyAttributes && methodAttribute.isLazy()) {
+                    if (lazyLoaderFields == null) {
+                        lazyLoaderFields = new CtField[attributeFields.length];
+                        cc.addInterface(pool.get(LazyAttributeLoadingProxy.class.getName()));
+                    }
+                    lazyLoaderField = new CtField(pool.get(LazyAttributeLoader.class.getName()), "$$_lazy_" + methodAttribute.getName(), cc);
+                    // The loader is reset after the attribute was assigned, so a getter that sees no loader also sees the loaded value
+                    lazyLoaderField.setModifiers(Modifier.PRIVATE | Modifier.TRANSIENT | Modifier.VOLATILE);
+                    cc.addField(lazyLoaderField);
+                    lazyLoaderFields[i] = lazyLoaderField;
+                }
+                CtField attributeField = addMembersForAttribute(methodAttribute, clazz, cc, mutableStateField, dirtyChecking, false, forceMutable, lazyLoaderField);
                 fieldMap.put(attribute.getName(), attributeField);
                 attributeFields[i] = attributeField;
                 attributeTypes[i] = attributeField.getType();
@@ -538,41 +553,47 @@ public class ProxyFactory {
                 addGetter(cc, null, "$$_getVersion", Object.class);
             }
 
+            if (lazyLoaderFields != null) {
+                addSetLazyAttributeLoader(cc, methodAttributes, lazyLoaderFields);
+                addSetLazyAttribute(cc, methodAttributes, attributeFields, lazyLoaderFields);
+            }
+
             if (dirtyChecking) {
                 addReplaceAttribute(cc, methodAttributes);
                 cc.removeMethod(markDirtyStub);
-                if (mutableAttributeCount > 64) {
-                    throw new IllegalArgumentException("Support for more than 64 mutable attributes per view is not yet implemented! " + viewType.getJavaType().getName() + " has " + mutableAttributeCount);
-                } else {
-                    dirtyField = new CtField(CtClass.longType, "$$_dirty", cc);
-                    dirtyField.setModifiers(getModifiers(true));
-                    cc.addField(dirtyField);
-
-                    boolean allSupportDirtyTracking = true;
-                    boolean[] supportsDirtyTracking = new boolean[mutableAttributeCount];
-                    int mutableAttributeIndex = 0;
-                    for (int j = 0; j < methodAttributes.length; j++) {
-                        if (methodAttributes[j] != null && methodAttributes[j].hasDirtyStateIndex()) {
-                            if (supportsDirtyTracking(methodAttributes[j])) {
-                                supportsDirtyTracking[mutableAttributeIndex++] = true;
-                            } else {
-                                allSupportDirtyTracking = false;
-                                alwaysDirtyMask |= 1 << mutableAttributeIndex;
-                                supportsDirtyTracking[mutableAttributeIndex++] = false;
-                            }
+                // Dirtyness is tracked in one long bit mask field per 64 mutable attributes
+                dirtyFields = new CtField[Math.max(1, (mutableAttributeCount + 63) >>> 6)];
+                alwaysDirtyMask = new long[dirtyFields.length];
+                for (int j = 0; j < dirtyFields.length; j++) {
+                    dirtyFields[j] = new CtField(CtClass.longType, getDirtyFieldName(j), cc);
+                    dirtyFields[j].setModifiers(getModifiers(true));
+                    cc.addField(dirtyFields[j]);
+                }
+
+                boolean allSupportDirtyTracking = true;
+                boolean[] supportsDirtyTracking = new boolean[mutableAttributeCount];
+                int mutableAttributeIndex = 0;
+                for (int j = 0; j < methodAttributes.length; j++) {
+                    if (methodAttributes[j] != null && methodAttributes[j].hasDirtyStateIndex()) {
+                        if (supportsDirtyTracking(methodAttributes[j])) {
+                            supportsDirtyTracking[mutableAttributeIndex++] = true;
+                        } else {
+                            allSupportDirtyTracking = false;
+                            alwaysDirtyMask[mutableAttributeIndex >>> 6] |= 1L << mutableAttributeIndex;
+                            supportsDirtyTracking[mutableAttributeIndex++] = false;
                         }
                     }
-
-                    addIsDirty(cc, dirtyField, allSupportDirtyTracking);
-                    addIsDirtyAttribute(cc, dirtyField, supportsDirtyTracking, allSupportDirtyTracking);
-                    addMarkDirty(cc, dirtyField);
-                    addUnmarkDirty(cc, dirtyField, alwaysDirtyMask);
-                    addSetDirty(cc, dirtyField, alwaysDirtyMask);
-                    addResetDirty(cc, dirtyField, alwaysDirtyMask);
-                    addGetDirty(cc, dirtyField);
-                    addGetSimpleDirty(cc, dirtyField);
-                    addCopyDirty(cc, dirtyField, supportsDirtyTracking, allSupportDirtyTracking);
                 }
+
+                addIsDirty(cc, dirtyFields, allSupportDirtyTracking);
+                addIsDirtyAttribute(cc, dirtyFields, supportsDirtyTracking, allSupportDirtyTracking);
+                addMarkDirty(cc, dirtyFields);
+                addUnmarkDirty(cc, dirtyFields, alwaysDirtyMask);
+                addSetDirty(cc, dirtyFields, alwaysDirtyMask);
+                addResetDirty(cc, dirtyFields, alwaysDirtyMask);
+                addGetDirty(cc, dirtyFields);
+                addGetSimpleDirty(cc, dirtyFields);
+                addCopyDirty(cc, dirtyFields, supportsDirtyTracking, allSupportDirtyTracking);
             }
 
             createEqualsHashCodeMethods(viewType, managedViewType, cc, superCc, attributeFields, idField);
@@ -679,7 +700,7 @@ public class ProxyFactory {
         for (AbstractMethodAttribute<?, ?> attribute : attributes) {
             CtClass attributeType = pool.get(attribute.getJavaType().getName());
             attributeTypes[index] = attributeType;
-            CtField field = addMembersForAttribute(attribute, clazz, serializableClass, null, false, false, true);
+            CtField field = addMembersForAttribute(attribute, clazz, serializableClass, null, false, false, true, null);
             field.setModifiers((field.getModifiers() & ~Modifier.PRIVATE) | Modifier.PUBLIC);
             index++;
         }
@@ -1173,6 +1194,15 @@ public class ProxyFactory {
     }
 
     private void addIsNewAndReferenceMembers(ManagedViewType<?> managedViewType, CtClass cc, Class<?> clazz) throws CannotCompileException, NotFoundException {
+        if (!hasKindField(managedViewType)) {
+            // Read-only flat views can neither be references nor new, so we can save the field
+            cc.addMethod(CtMethod.make("public boolean $$_isReference() { return false; }", cc));
+            cc.addMethod(CtMethod.make("public void $$_setIsReference(boolean isReference) { }", cc));
+            ClassPool classPool = cc.getClassPool();
+            addEmptyIsNew(cc, classPool.get("boolean"));
+            addEmptySetIsNew(cc, classPool.get("boolean"));
+            return;
+        }
         CtField kindField = new CtField(CtClass.byteType, "$$_kind", cc);
         kindField.setModifiers(getModifiers(true));
         cc.addField(kindField);
@@ -1192,6 +1222,10 @@ public class ProxyFactory {
         }
     }
     
+    private static boolean hasKindField(ManagedViewType<?> managedViewType) {
+        return managedViewType instanceof ViewType<?> || managedViewType.isUpdatable() || managedViewType.isCreatable();
+    }
+
     private CtMethod addGetter(CtClass cc, CtField field, String methodName) throws CannotCompileException {
         return addGetter(cc, field, methodName, field.getFieldInfo().getDescriptor(), false);
     }
@@ -1245,30 +1279,35 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtField addMembersForAttribute(AbstractMethodAttribute<?, ?> attribute, Class<?> clazz, CtClass cc, CtField mutableStateField, boolean dirtyChecking, boolean isId, boolean forceMutable) throws CannotCompileException, NotFoundException {
+    private CtField addMembersForAttribute(AbstractMethodAttribute<?, ?> attribute, Class<?> clazz, CtClass cc, CtField mutableStateField, boolean dirtyChecking, boolean isId, boolean forceMutable, CtField lazyLoaderField) throws CannotCompileException, NotFoundException {
         Method getter = attribute.getJavaMethod();
         Method setter = ReflectionUtils.getSetter(clazz, attribute.getName());
         
-        // Create the field from the attribute
+        // Create the field from the attribute, lazy attributes are assigned after construction
         CtField attributeField = new CtField(getType(attribute), attribute.getName(), cc);
-        attributeField.setModifiers(getModifiers(forceMutable || setter != null));
+        attributeField.setModifiers(getModifiers(forceMutable || setter != null || lazyLoaderField != null));
         String genericSignature = getGenericSignature(attribute, attributeField);
         if (genericSignature != null) {
             setGenericSignature(attributeField, genericSignature);
         }
         cc.addField(attributeField);
         
-        createGettersAndSetters(attribute, clazz, cc, getter, setter, mutableStateField, attributeField, dirtyChecking, isId);
+        createGettersAndSetters(attribute, clazz, cc, getter, setter, mutableStateField, attributeField, dirtyChecking, isId, lazyLoaderField);
         
         return attributeField;
     }
 
-    private void createGettersAndSetters(AbstractMethodAttribute<?, ?> attribute, Class<?> clazz, CtClass cc, Method getter, Method setter, CtField mutableStateField, CtField attributeField, boolean dirtyChecking, boolean isId) throws CannotCompileException, NotFoundException {
+    private void createGettersAndSetters(AbstractMethodAttribute<?, ?> attribute, Class<?> clazz, CtClass cc, Method getter, Method setter, CtField mutableStateField, CtField attributeField, boolean dirtyChecking, boolean isId, CtField lazyLoaderField) throws CannotCompileException, NotFoundException {
         SignatureAttribute sa = (SignatureAttribute)attributeField.getFieldInfo2().getAttribute(SignatureAttribute.tag);
         String genericSignature = sa == null ? null : sa.getSignature();
         List<Method> bridgeGetters = getBridgeGetters(clazz, attribute, getter);
         
-        CtMethod attributeGetter = addGetter(cc, attributeField, getter.getName());
+        CtMethod attributeGetter;
+        if (lazyLoaderField == null) {
+            attributeGetter = addGetter(cc, attributeField, getter.getName());
+        } else {
+            attributeGetter = addLazyGetter(cc, attributeField, lazyLoaderField, getter.getName());
+        }
         
         if (genericSignature != null) {
             String getterGenericSignature = "()" + genericSignature;
@@ -1318,7 +1357,7 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addIsDirty(CtClass cc, CtField dirtyField, boolean allSupportDirtyTracking) throws CannotCompileException {
+    private CtMethod addIsDirty(CtClass cc, CtField[] dirtyFields, boolean allSupportDirtyTracking) throws CannotCompileException {
         String desc = "()" + Descriptor.of("boolean");
         ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_isDirty", desc);
@@ -1326,7 +1365,11 @@ public class ProxyFactory {
         minfo.setAccessFlags(AccessFlag.PUBLIC);
 
         if (allSupportDirtyTracking) {
-            method.setBody("{ return $0." + dirtyField.getName() + " != 0; }");
+            StringBuilder sb = new StringBuilder();
+            sb.append("{ return ");
+            renderAnyDirty(sb, dirtyFields);
+            sb.append("; }");
+            method.setBody(sb.toString());
         } else {
             method.setBody("{ return true; }");
         }
@@ -1335,7 +1378,7 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addIsDirtyAttribute(CtClass cc, CtField dirtyField, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
+    private CtMethod addIsDirtyAttribute(CtClass cc, CtField[] dirtyFields, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
         String desc = "(" + Descriptor.of("int") + ")" + Descriptor.of("boolean");
         ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_isDirty", desc);
@@ -1354,7 +1397,12 @@ public class ProxyFactory {
             sb.append("\t}\n");
         }
 
-        sb.append("\treturn ($0.").append(dirtyField.getName()).append(" & (1L << $1)) != 0;\n");
+        for (int i = 0; i < dirtyFields.length - 1; i++) {
+            sb.append("\tif ($1 < ").append((i + 1) << 6).append(") {\n");
+            sb.append("\t\treturn ($0.").append(dirtyFields[i].getName()).append(" & (1L << $1)) != 0;\n");
+            sb.append("\t}\n");
+        }
+        sb.append("\treturn ($0.").append(dirtyFields[dirtyFields.length - 1].getName()).append(" & (1L << $1)) != 0;\n");
         sb.append("}");
         method.setBody(sb.toString());
         cc.addMethod(method);
@@ -1377,18 +1425,27 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addMarkDirty(CtClass cc, CtField dirtyField) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addMarkDirty(CtClass cc, CtField[] dirtyFields) throws CannotCompileException {
         String desc = "(" + Descriptor.of("int") + ")V";
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_markDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\t$0.").append(dirtyFieldName).append(" |= (1 << $1);\n");
+        if (dirtyFields.length == 1) {
+            sb.append("\t$0.").append(dirtyFields[0].getName()).append(" |= (1L << $1);\n");
+        } else {
+            for (int i = 0; i < dirtyFields.length - 1; i++) {
+                sb.append("\tif ($1 < ").append((i + 1) << 6).append(") {\n");
+                sb.append("\t\t$0.").append(dirtyFields[i].getName()).append(" |= (1L << $1);\n");
+                sb.append("\t} else ");
+            }
+            sb.append("{\n");
+            sb.append("\t\t$0.").append(dirtyFields[dirtyFields.length - 1].getName()).append(" |= (1L << $1);\n");
+            sb.append("\t}\n");
+        }
 
         sb.append("\tif ($0.$$_parent != null) {\n");
         sb.append("\t$0.$$_parent.$$_markDirty($0.$$_parentIndex);\n");
@@ -1401,24 +1458,26 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addSetDirty(CtClass cc, CtField dirtyField, long alwaysDirtyMask) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addSetDirty(CtClass cc, CtField[] dirtyFields, long[] alwaysDirtyMask) throws CannotCompileException {
         String desc = "([" + Descriptor.of("long") + ")V";
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_setDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        if (alwaysDirtyMask == 0L) {
-            sb.append("\t$0.").append(dirtyFieldName).append(" = $1[0];\n");
-        } else {
-            sb.append("\t$0.").append(dirtyFieldName).append(" = $1[0] | ").append(alwaysDirtyMask).append("L;\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            sb.append("\t$0.").append(dirtyFields[i].getName()).append(" = $1[").append(i).append("]");
+            if (alwaysDirtyMask[i] != 0L) {
+                sb.append(" | ").append(renderLong(alwaysDirtyMask[i]));
+            }
+            sb.append(";\n");
         }
 
-        sb.append("\tif ($0.").append(dirtyFieldName).append(" != 0 && $0.$$_parent != null) {\n");
+        sb.append("\tif ((");
+        renderAnyDirty(sb, dirtyFields);
+        sb.append(") && $0.$$_parent != null) {\n");
         sb.append("\t\t$0.$$_parent.$$_markDirty($0.$$_parentIndex);\n");
         sb.append("\t}\n");
         sb.append('}');
@@ -1429,18 +1488,18 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addUnmarkDirty(CtClass cc, CtField dirtyField, long alwaysDirtyMask) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addUnmarkDirty(CtClass cc, CtField[] dirtyFields, long[] alwaysDirtyMask) throws CannotCompileException {
         String desc = "()" + Descriptor.of("void");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_unmarkDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\t$0.").append(dirtyFieldName).append(" = ").append(alwaysDirtyMask).append("L;\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            sb.append("\t$0.").append(dirtyFields[i].getName()).append(" = ").append(renderLong(alwaysDirtyMask[i])).append(";\n");
+        }
         sb.append('}');
 
         CtMethod method = CtMethod.make(minfo, cc);
@@ -1449,20 +1508,20 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addResetDirty(CtClass cc, CtField dirtyField, long alwaysDirtyMask) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addResetDirty(CtClass cc, CtField[] dirtyFields, long[] alwaysDirtyMask) throws CannotCompileException {
         String desc = "()[" + Descriptor.of("long");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_resetDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\tlong[] dirty = new long[1];\n");
-        sb.append("\tdirty[0] = $0.").append(dirtyFieldName).append(";\n");
-        sb.append("\t$0.").append(dirtyFieldName).append(" = ").append(alwaysDirtyMask).append("L;\n");
+        sb.append("\tlong[] dirty = new long[").append(dirtyFields.length).append("];\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            sb.append("\tdirty[").append(i).append("] = $0.").append(dirtyFields[i].getName()).append(";\n");
+            sb.append("\t$0.").append(dirtyFields[i].getName()).append(" = ").append(renderLong(alwaysDirtyMask[i])).append(";\n");
+        }
         sb.append("\treturn dirty;\n");
         sb.append('}');
 
@@ -1472,19 +1531,19 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addGetDirty(CtClass cc, CtField dirtyField) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addGetDirty(CtClass cc, CtField[] dirtyFields) throws CannotCompileException {
         String desc = "()[" + Descriptor.of("long");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_getDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\tlong[] dirty = new long[1];\n");
-        sb.append("\tdirty[0] = $0.").append(dirtyFieldName).append(";\n");
+        sb.append("\tlong[] dirty = new long[").append(dirtyFields.length).append("];\n");
+        for (int i = 0; i < dirtyFields.length; i++) {
+            sb.append("\tdirty[").append(i).append("] = $0.").append(dirtyFields[i].getName()).append(";\n");
+        }
         sb.append("\treturn dirty;\n");
         sb.append('}');
 
@@ -1494,18 +1553,16 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addGetSimpleDirty(CtClass cc, CtField dirtyField) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addGetSimpleDirty(CtClass cc, CtField[] dirtyFields) throws CannotCompileException {
         String desc = "()" + Descriptor.of("long");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_getSimpleDirty", desc);
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
-        sb.append("\treturn $0.").append(dirtyFieldName).append(";\n");
+        sb.append("\treturn $0.").append(dirtyFields[0].getName()).append(";\n");
         sb.append('}');
 
         CtMethod method = CtMethod.make(minfo, cc);
@@ -1514,32 +1571,29 @@ public class ProxyFactory {
         return method;
     }
 
-    private CtMethod addCopyDirty(CtClass cc, CtField dirtyField, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
-        FieldInfo dirtyFieldInfo = dirtyField.getFieldInfo2();
+    private CtMethod addCopyDirty(CtClass cc, CtField[] dirtyFields, boolean[] supportsDirtyTracking, boolean allSupportDirtyTracking) throws CannotCompileException {
         String desc = "([" + Descriptor.of("java.lang.Object") + "[" + Descriptor.of("java.lang.Object") + ")" + Descriptor.of("boolean");
-        ConstPool cp = dirtyFieldInfo.getConstPool();
+        ConstPool cp = cc.getClassFile().getConstPool();
         MethodInfo minfo = new MethodInfo(cp, "$$_copyDirty", desc);
         minfo.addAttribute(new SignatureAttribute(minfo.getConstPool(), "<T:" + Descriptor.of("java.lang.Object") + ">([TT;[TT;)" + Descriptor.of("boolean")));
         minfo.setAccessFlags(AccessFlag.PUBLIC);
-        String dirtyFieldName = dirtyFieldInfo.getName();
 
         StringBuilder sb = new StringBuilder();
 
         sb.append("{\n");
 
-        sb.append("\tlong dirty = $0.").append(dirtyFieldName).append(";\n");
-
         if (allSupportDirtyTracking) {
-            sb.append("\tif (dirty == 0) {\n");
+            sb.append("\tif (!(");
+            renderAnyDirty(sb, dirtyFields);
+            sb.append(")) {\n");
             sb.append("\t\treturn false;\n");
             sb.append("\t} else {\n");
         }
 
         for (int i = 0; i < supportsDirtyTracking.length; i++) {
-            long mask = 1 << i;
-
             if (supportsDirtyTracking[i]) {
-                sb.append("\t\t$2[").append(i).append("] = (dirty & ").append(mask).append(") == 0 ? null : $1[").append(i).append("];\n");
+                long mask = 1L << i;
+                sb.append("\t\t$2[").append(i).append("] = ($0.").append(dirtyFields[i >>> 6].getName()).append(" & ").append(renderLong(mask)).append(") == 0 ? null : $1[").append(i).append("];\n");
             } else {
                 sb.append("\t\t$2[").append(i).append("] = $1[").append(i).append("];\n");
             }
@@ -1560,6 +1614,35 @@ public class ProxyFactory {
         return method;
     }
 
+    private static String getDirtyFieldName(int index) {
+        return index == 0 ? "$$_dirty" : "$$_dirty" + index;
+    }
+
+    private static void renderDirtyInitialization(long[] alwaysDirtyMask, boolean unsafe, StringBuilder sb) {
+        for (int i = 0; i < alwaysDirtyMask.length; i++) {
+            if (unsafe) {
+                sb.append("\t$0.").append(getDirtyFieldName(i)).append(" = ").append(renderLong(alwaysDirtyMask[i])).append(";\n");
+            } else {
+                sb.append("\t$0.").append(getDirtyFieldName(i)).append(" |= ").append(renderLong(alwaysDirtyMask[i])).append(";\n");
+            }
+        }
+    }
+
+    private static void renderAnyDirty(StringBuilder sb, CtField[] dirtyFields) {
+        sb.append("$0.").append(dirtyFields[0].getName()).append(" != 0L");
+        for (int i = 1; i < dirtyFields.length; i++) {
+            sb.append(" || $0.").append(dirtyFields[i].getName()).append(" != 0L");
+        }
+    }
+
+    private static String renderLong(long value) {
+        // The compiler can't parse the literal for Long.MIN_VALUE, so we render the sign bit as shift expression
+        if (value < 0L) {
+            return "(" + (value & Long.MAX_VALUE) + "L | (1L << 63))";
+        }
+        return value + "L";
+    }
+
     private boolean supportsDirtyTracking(AbstractMethodAttribute<?, ?> mutableAttribute) {
         // Non-mutable types always support dirty tracking as there is nothing to track
         // Subview types have dirty tracking implemented
@@ -1648,6 +1731,94 @@ public class ProxyFactory {
         return method;
     }
 
+    private CtMethod addLazyGetter(CtClass cc, CtField field, CtField lazyLoaderField, String methodName) throws CannotCompileException {
+        ConstPool cp = cc.getClassFile2().getConstPool();
+        MethodInfo minfo = new MethodInfo(cp, methodName, "()" + field.getFieldInfo().getDescriptor());
+        minfo.setAccessFlags(AccessFlag.PUBLIC);
+
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("{\n");
+        sb.append("\tif ($0.").append(lazyLoaderField.getName()).append(" != null) {\n");
+        sb.append("\t\t$0.").append(lazyLoaderField.getName()).append(".load();\n");
+        sb.append("\t}\n");
+        sb.append("\treturn $0.").append(field.getName()).append(";\n");
+        sb.append('}');
+
+        CtMethod method = CtMethod.make(minfo, cc);
+        method.setBody(sb.toString());
+        cc.addMethod(method);
+        return method;
+    }
+
+    private CtMethod addSetLazyAttributeLoader(CtClass cc, AbstractMethodAttribute<?, ?>[] attributes, CtField[] lazyLoaderFields) throws CannotCompileException {
+        String desc = "(I" + Descriptor.of(LazyAttributeLoader.class.getName()) + ")V";
+        ConstPool cp = cc.getClassFile().getConstPool();
+        MethodInfo minfo = new MethodInfo(cp, "$$_setLazyAttributeLoader", desc);
+        minfo.setAccessFlags(AccessFlag.PUBLIC);
+
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("{\n");
+
+        sb.append("\tswitch ($1) {");
+        for (int i = 0; i < lazyLoaderFields.length; i++) {
+            if (lazyLoaderFields[i] != null) {
+                sb.append("\t\tcase ").append(attributes[i].getAttributeIndex()).append(": ");
+                sb.append("$0.").append(lazyLoaderFields[i].getName()).append(" = $2; ");
+                sb.append("break;\n");
+            }
+        }
+
+        sb.append("\t\tdefault: throw new IllegalArgumentException(\"Invalid lazy attribute index: \" + $1);\n");
+        sb.append("\t}\n");
+
+        sb.append('}');
+
+        CtMethod method = CtMethod.make(minfo, cc);
+        method.setBody(sb.toString());
+        cc.addMethod(method);
+        return method;
+    }
+
+    private CtMethod addSetLazyAttribute(CtClass cc, AbstractMethodAttribute<?, ?>[] attributes, CtField[] attributeFields, CtField[] lazyLoaderFields) throws CannotCompileException, NotFoundException {
+        String desc = "(I" + Descriptor.of(Object.class.getName()) + ")V";
+        ConstPool cp = cc.getClassFile().getConstPool();
+        MethodInfo minfo = new MethodInfo(cp, "$$_setLazyAttribute", desc);
+        minfo.setAccessFlags(AccessFlag.PUBLIC);
+
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("{\n");
+
+        sb.append("\tswitch ($1) {");
+        for (int i = 0; i < lazyLoaderFields.length; i++) {
+            if (lazyLoaderFields[i] != null) {
+                CtClass type = attributeFields[i].getType();
+                sb.append("\t\tcase ").append(attributes[i].getAttributeIndex()).append(": ");
+                sb.append("$0.").append(attributeFields[i].getName()).append(" = ");
+                if (type.isPrimitive()) {
+                    appendUnwrap(sb, type, "$2");
+                } else {
+                    sb.append("(").append(type.getName()).append(") $2");
+                }
+                sb.append("; ");
+                sb.append("$0.").append(lazyLoaderFields[i].getName()).append(" = null; ");
+                sb.append("break;\n");
+            }
+        }
+
+        sb.append("\t\tdefault: throw new IllegalArgumentException(\"Invalid lazy attribute index: \" + $1);\n");
+        sb.append("\t}\n");
+
+        sb.append('}');
+
+        CtMethod method = CtMethod.make(minfo, cc);
+        method.setBody(sb.toString());
+        cc.addMethod(method);
+        return method;
+    }
+
     private CtMethod addReplaceAttribute(CtClass cc, AbstractMethodAttribute[] attributes) throws CannotCompileException {
         String desc = "(" + Descriptor.of(Object.class.getName()) + "I" + Descriptor.of(Object.class.getName()) + ")V";
         ConstPool cp = cc.getClassFile().getConstPool();
@@ -2384,19 +2555,19 @@ public class ProxyFactory {
     }
 
     private CtConstructor createNormalConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtClass cc, CtField[] attributeFields, CtClass[] attributeTypes, CtField initialStateField, CtField mutableStateField,
-                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         int superConstructorStart = attributeFields.length;
         int superConstructorEnd = attributeTypes.length;
         return createConstructor(evm, managedViewType, constructor, cc, superConstructorStart, superConstructorEnd, attributeFields, attributeTypes, initialStateField, mutableStateField, attributes, mutableAttributeCount, ConstructorKind.NORMAL, null, alwaysDirtyMask, unsafe);
     }
 
     private CtConstructor createCreateConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, CtClass cc, CtField[] attributeFields, CtClass[] attributeTypes, CtField idField, CtField initialStateField, CtField mutableStateField,
-                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                  AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         return createConstructor(evm, managedViewType, null, cc, 0, 0, attributeFields, attributeTypes, initialStateField, mutableStateField, attributes, mutableAttributeCount, ConstructorKind.CREATE, idField, alwaysDirtyMask, unsafe);
     }
 
     private CtConstructor createReferenceConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, CtClass cc, CtField[] attributeFields, CtField idField, CtField initialStateField, CtField mutableStateField,
-                                                     AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                     AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         CtClass[] attributeTypes = new CtClass[]{ idField.getType() };
         return createConstructor(evm, managedViewType, null, cc, 0, 0, attributeFields, attributeTypes, initialStateField, mutableStateField, attributes, mutableAttributeCount, ConstructorKind.REFERENCE, idField, alwaysDirtyMask, unsafe);
     }
@@ -2412,7 +2583,7 @@ public class ProxyFactory {
     }
 
     private CtConstructor createConstructor(EntityViewManager evm, ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtClass cc, int superConstructorStart, int superConstructorEnd, CtField[] attributeFields, CtClass[] attributeTypes, CtField initialStateField, CtField mutableStateField,
-                                            AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, ConstructorKind kind, CtField idField, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                            AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, ConstructorKind kind, CtField idField, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         CtClass[] parameterTypes;
         if (kind == ConstructorKind.CREATE) {
             parameterTypes = new CtClass[]{ cc, pool.get(Map.class.getName()) };
@@ -2440,7 +2611,7 @@ public class ProxyFactory {
     }
 
     private CtConstructor createTupleConstructor(ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtClass cc, int superConstructorStart, int superConstructorEnd, CtField[] attributeFields, CtClass[] attributeTypes, CtField initialStateField, CtField mutableStateField,
-                                                 AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, boolean assignment, long alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
+                                                 AbstractMethodAttribute<?, ?>[] attributes, int mutableAttributeCount, boolean assignment, long[] alwaysDirtyMask, boolean unsafe) throws CannotCompileException, NotFoundException, BadBytecode {
         CtClass[] parameterTypes;
         if (assignment) {
             parameterTypes = new CtClass[(superConstructorEnd - superConstructorStart) + 4];
@@ -2612,23 +2783,19 @@ public class ProxyFactory {
     }
 
     private void renderFieldInitialization(EntityViewManager entityViewManager, ManagedViewType<?> managedViewType, MappingConstructor<?> constructor, CtField[] attributeFields, CtField initialStateField, CtField mutableStateField,
-                                           AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, ConstructorKind kind, long alwaysDirtyMask, StringBuilder sb, boolean unsafe, CtField idField) throws NotFoundException, CannotCompileException {
+                                           AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, ConstructorKind kind, long[] alwaysDirtyMask, StringBuilder sb, boolean unsafe, CtField idField) throws NotFoundException, CannotCompileException {
         if (initialStateField != null) {
             sb.append("\tObject[] initialStateArr = new Object[").append(mutableAttributeCount).append("];\n");
         }
 
         if (mutableStateField != null) {
             sb.append("\tObject[] mutableStateArr = new Object[").append(mutableAttributeCount).append("];\n");
-            if (unsafe) {
-                sb.append("\t$0.$$_dirty = ").append(alwaysDirtyMask).append("L;\n");
-            } else {
-                sb.append("\t$0.$$_dirty |= ").append(alwaysDirtyMask).append("L;\n");
-            }
+            renderDirtyInitialization(alwaysDirtyMask, unsafe, sb);
         }
 
         if (kind == ConstructorKind.CREATE && managedViewType.isCreatable()) {
             sb.append("\t$0.$$_kind = (byte) 2;\n");
-        } else if (kind == ConstructorKind.REFERENCE) {
+        } else if (kind == ConstructorKind.REFERENCE && hasKindField(managedViewType)) {
             sb.append("\t$0.$$_kind = (byte) 1;\n");
         }
 
@@ -2902,18 +3069,14 @@ public class ProxyFactory {
         }
     }
 
-    private void renderFieldInitialization(MappingConstructor<?> constructor, CtField[] attributeFields, CtField initialStateField, CtField mutableStateField, AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, boolean assignment, long alwaysDirtyMask, boolean unsafe, StringBuilder sb) throws NotFoundException {
+    private void renderFieldInitialization(MappingConstructor<?> constructor, CtField[] attributeFields, CtField initialStateField, CtField mutableStateField, AbstractMethodAttribute<?, ?>[] methodAttributes, int mutableAttributeCount, boolean assignment, long[] alwaysDirtyMask, boolean unsafe, StringBuilder sb) throws NotFoundException {
         if (initialStateField != null) {
             sb.append("\tObject[] initialStateArr = new Object[").append(mutableAttributeCount).append("];\n");
         }
 
         if (mutableStateField != null) {
             sb.append("\tObject[] mutableStateArr = new Object[").append(mutableAttributeCount).append("];\n");
-            if (unsafe) {
-                sb.append("\t$0.$$_dirty = ").append(alwaysDirtyMask).append("L;\n");
-            } else {
-                sb.append("\t$0.$$_dirty |= ").append(alwaysDirtyMask).append("L;\n");
-            }
+            renderDirtyInitialization(alwaysDirtyMask, unsafe, sb);
         }
 
         for (int i = 0; i < attributeFields.length; i++) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.update;
+
+import com.blazebit.persistence.view.spi.PostCommitListenerDispatchStatistics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hands post commit listener invocations of a transaction to an executor.
+ * The number of pending invocations is bounded, when the bound is reached, the committing thread runs the invocations.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class AsyncPostCommitListenerDispatcher implements PostCommitListenerDispatchStatistics {
+
+    private static final Logger LOG = Logger.getLogger(AsyncPostCommitListenerDispatcher.class.getName());
+
+    private final Executor executor;
+    private final int queueSize;
+    private final Semaphore permits;
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public AsyncPostCommitListenerDispatcher(Executor executor, int queueSize) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Invalid post commit listener queue size: " + queueSize);
+        }
+        this.executor = executor;
+        this.queueSize = queueSize;
+        this.permits = new Semaphore(queueSize);
+    }
+
+    public void dispatch(final Runnable invoker) {
+        if (permits.tryAcquire()) {
+            dispatchedCount.incrementAndGet();
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            invoker.run();
+                        } catch (Throwable ex) {
+                            // Nobody observes the outcome of the executor task, so errors must not get lost
+                            LOG.log(Level.SEVERE, "Error during the invocation of post commit listeners", ex);
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                });
+                return;
+            } catch (RejectedExecutionException ex) {
+                dispatchedCount.decrementAndGet();
+                permits.release();
+            }
+        }
+        // Apply back-pressure by running the listeners in the committing thread
+        callerRunsCount.incrementAndGet();
+        invoker.run();
+    }
+
+    public void addCoalescedCount(int count) {
+        if (count != 0) {
+            coalescedCount.addAndGet(count);
+        }
+    }
+
+    @Override
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    @Override
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    @Override
+    public int getPendingCount() {
+        return queueSize - permits.availablePermits();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return queueSize;
+    }
+}
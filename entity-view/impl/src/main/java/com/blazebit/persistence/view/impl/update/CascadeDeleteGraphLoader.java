@@ -0,0 +1,200 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.update;
+
+import com.blazebit.persistence.parser.EntityMetamodel;
+import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
+import com.blazebit.persistence.spi.ExtendedAttribute;
+import com.blazebit.persistence.spi.ExtendedManagedType;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.accessor.AttributeAccessor;
+import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
+import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.MethodAttribute;
+import com.blazebit.persistence.view.metamodel.PluralAttribute;
+import com.blazebit.persistence.view.metamodel.SingularAttribute;
+import com.blazebit.persistence.view.metamodel.Type;
+import com.blazebit.persistence.view.metamodel.ViewType;
+
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the entities that are affected by cascading deletes of an entity view into the persistence context.
+ * The graph is loaded level by level with one query per delete cascaded association, fetching the association for all owners at once.
+ * Removing the entities afterwards then doesn't need to lazy load every association of every removed entity.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class CascadeDeleteGraphLoader {
+
+    // The maximum number of ids per query, as Oracle doesn't allow more elements in an IN list
+    private static final int CHUNK_SIZE = 1000;
+    private static final CascadeDeleteGraphNode[] EMPTY = new CascadeDeleteGraphNode[0];
+
+    private final Class<?> entityClass;
+    private final AttributeAccessor entityIdAccessor;
+    private CascadeDeleteGraphNode[] nodes = EMPTY;
+
+    private CascadeDeleteGraphLoader(Class<?> entityClass, AttributeAccessor entityIdAccessor) {
+        this.entityClass = entityClass;
+        this.entityIdAccessor = entityIdAccessor;
+    }
+
+    /**
+     * Creates a loader for the cascade delete graph of the given view type or returns <code>null</code> if there is nothing to pre-load.
+     *
+     * @param evm The entity view manager
+     * @param viewType The view type for which to create the loader
+     * @return The loader or <code>null</code>
+     */
+    public static CascadeDeleteGraphLoader create(EntityViewManagerImpl evm, ManagedViewType<?> viewType) {
+        CascadeDeleteGraphLoader loader = create(evm, viewType, new IdentityHashMap<ManagedViewType<?>, CascadeDeleteGraphLoader>());
+        if (loader == null || loader.nodes.length == 0) {
+            return null;
+        }
+        return loader;
+    }
+
+    private static CascadeDeleteGraphLoader create(EntityViewManagerImpl evm, ManagedViewType<?> viewType, Map<ManagedViewType<?>, CascadeDeleteGraphLoader> loaders) {
+        if (loaders.containsKey(viewType)) {
+            return loaders.get(viewType);
+        }
+        EntityMetamodel entityMetamodel = evm.getMetamodel().getEntityMetamodel();
+        EntityType<?> entityType = entityMetamodel.getEntity(viewType.getEntityClass());
+        if (!(viewType instanceof ViewType<?>) || entityType == null || !entityType.hasSingleIdAttribute()) {
+            loaders.put(viewType, null);
+            return null;
+        }
+        ExtendedManagedType<?> extendedManagedType = entityMetamodel.getManagedType(ExtendedManagedType.class, viewType.getEntityClass());
+        String idAttributeName = JpaMetamodelUtils.getSingleIdAttribute(entityType).getName();
+        CascadeDeleteGraphLoader loader = new CascadeDeleteGraphLoader(viewType.getEntityClass(), evm.getEntityIdAccessor());
+        // Register the loader before creating the nodes to support cyclic graphs
+        loaders.put(viewType, loader);
+        List<CascadeDeleteGraphNode> nodes = new ArrayList<>();
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            AbstractMethodAttribute<?, ?> methodAttribute = (AbstractMethodAttribute<?, ?>) attribute;
+            if (!methodAttribute.isDeleteCascaded() || methodAttribute.getMapping() == null) {
+                continue;
+            }
+            ExtendedAttribute<?, ?> extendedAttribute = (ExtendedAttribute<?, ?>) extendedManagedType.getOwnedAttributes().get(methodAttribute.getMapping());
+            // We only support direct associations, everything else is still loaded lazily
+            if (extendedAttribute == null || !extendedAttribute.getAttribute().isAssociation()) {
+                continue;
+            }
+            Type<?> elementType;
+            if (attribute instanceof PluralAttribute<?, ?, ?>) {
+                elementType = ((PluralAttribute<?, ?, ?>) attribute).getElementType();
+            } else {
+                elementType = ((SingularAttribute<?, ?>) attribute).getType();
+            }
+            CascadeDeleteGraphLoader elementLoader = null;
+            if (elementType instanceof ManagedViewType<?>) {
+                elementLoader = create(evm, (ManagedViewType<?>) elementType, loaders);
+            }
+            String queryString = "SELECT e FROM " + entityType.getName() + " e LEFT JOIN FETCH e." + methodAttribute.getMapping() + " WHERE e." + idAttributeName + " IN :entityIds";
+            nodes.add(new CascadeDeleteGraphNode(queryString, extendedAttribute, elementLoader));
+        }
+        loader.nodes = nodes.toArray(new CascadeDeleteGraphNode[nodes.size()]);
+        return loader;
+    }
+
+    /**
+     * Loads the cascade delete graph of the entity with the given id into the persistence context of the update context.
+     *
+     * @param context The update context
+     * @param entityId The entity id
+     */
+    public void load(UpdateContext context, Object entityId) {
+        load(context, Collections.singletonList(entityId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load(UpdateContext context, Collection<Object> entityIds) {
+        // Entities that were already loaded as part of the graph of a parent don't need to be loaded again
+        List<Object> ids = new ArrayList<>(entityIds.size());
+        for (Object id : entityIds) {
+            if (context.addCascadeDeleteGraphLoad(entityClass, id)) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        for (CascadeDeleteGraphNode node : nodes) {
+            List<Object> owners = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+                owners.addAll(context.getEntityManager().createQuery(node.queryString)
+                        .setParameter("entityIds", ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size())))
+                        .getResultList());
+            }
+            if (node.elementLoader == null || node.elementLoader.nodes.length == 0) {
+                continue;
+            }
+            Set<Object> elementIds = new HashSet<>();
+            for (Object owner : owners) {
+                Object value = ((com.blazebit.persistence.spi.AttributeAccessor<Object, Object>) node.attribute.getAccessor()).get(owner);
+                if (value instanceof Map<?, ?>) {
+                    value = ((Map<?, ?>) value).values();
+                }
+                if (value instanceof Collection<?>) {
+                    for (Object element : (Collection<?>) value) {
+                        addId(elementIds, node.elementLoader.entityIdAccessor, element);
+                    }
+                } else {
+                    addId(elementIds, node.elementLoader.entityIdAccessor, value);
+                }
+            }
+            node.elementLoader.load(context, elementIds);
+        }
+    }
+
+    private static void addId(Set<Object> ids, AttributeAccessor entityIdAccessor, Object element) {
+        if (element != null) {
+            Object id = entityIdAccessor.getValue(element);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+    }
+
+    /**
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class CascadeDeleteGraphNode {
+
+        private final String queryString;
+        private final ExtendedAttribute<?, ?> attribute;
+        private final CascadeDeleteGraphLoader elementLoader;
+
+        public CascadeDeleteGraphNode(String queryString, ExtendedAttribute<?, ?> attribute, CascadeDeleteGraphLoader elementLoader) {
+            this.queryString = queryString;
+            this.attribute = attribute;
+            this.elementLoader = elementLoader;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.view.impl.update;
 
+import com.blazebit.exception.ExceptionUtils;
 import com.blazebit.persistence.view.FlushOperationBuilder;
 import com.blazebit.persistence.view.OptimisticLockException;
 import com.blazebit.persistence.view.PostCommitListener;
@@ -56,10 +57,12 @@ import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import javax.persistence.EntityManager;
 import javax.transaction.Synchronization;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,6 +81,7 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
     private final boolean forceFull;
     private final boolean forceEntity;
     private final boolean remove;
+    private final boolean multiple;
     private final Class<?> entityViewClass;
     private final Object object;
     private final Object entity;
@@ -87,15 +91,22 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
     private Map<Object, Object> removedObjects;
     private Map<EntityKey, List<ViewCacheEntry>> viewCache;
     private Set<EntityKey> versionChecked;
+    private Set<EntityKey> cascadeDeleteGraphLoaded;
+    private Map<VersionCheckBatcher, Map<Object, List<MutableStateTrackable>>> batchedVersionChecks;
     private List<PostFlushDeleter> orphanRemovalDeleters = new ArrayList<>();
 
     public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, Class<?> entityViewClass, Object object, Object entity) {
+        this(evm, em, forceFull, forceEntity, remove, false, entityViewClass, object, entity);
+    }
+
+    public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, boolean multiple, Class<?> entityViewClass, Object object, Object entity) {
         this.evm = evm;
         this.em = em;
         this.forceFull = forceFull;
         this.transactionAccess = TransactionHelper.getTransactionAccess(em);
         this.forceEntity = forceEntity;
         this.remove = remove;
+        this.multiple = multiple;
         this.entityViewClass = entityViewClass;
         this.object = object;
         this.entity = entity;
@@ -211,6 +222,53 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
         return versionChecked.add(new EntityKey(entityClass, id));
     }
 
+    @Override
+    public boolean addCascadeDeleteGraphLoad(Class<?> entityClass, Object id) {
+        if (cascadeDeleteGraphLoaded == null) {
+            cascadeDeleteGraphLoaded = new HashSet<>();
+        }
+        return cascadeDeleteGraphLoaded.add(new EntityKey(entityClass, id));
+    }
+
+    @Override
+    public boolean addBatchedVersionCheck(VersionCheckBatcher batcher, MutableStateTrackable updatableProxy) {
+        if (batchedVersionChecks == null) {
+            batchedVersionChecks = new LinkedHashMap<>();
+        }
+        Map<Object, List<MutableStateTrackable>> viewsById = batchedVersionChecks.get(batcher);
+        if (viewsById == null) {
+            viewsById = new LinkedHashMap<>();
+            batchedVersionChecks.put(batcher, viewsById);
+        }
+        List<MutableStateTrackable> views = viewsById.get(updatableProxy.$$_getId());
+        if (views == null) {
+            views = new ArrayList<>(1);
+            viewsById.put(updatableProxy.$$_getId(), views);
+        } else if (!views.get(0).$$_getVersion().equals(updatableProxy.$$_getVersion())) {
+            // A view for the same id with a different version can't share the check, so it is flushed right away
+            return false;
+        }
+        views.add(updatableProxy);
+        return true;
+    }
+
+    @Override
+    public void executeBatchedVersionChecks() {
+        if (batchedVersionChecks == null) {
+            return;
+        }
+        Map<VersionCheckBatcher, Map<Object, List<MutableStateTrackable>>> checks = batchedVersionChecks;
+        batchedVersionChecks = null;
+        try {
+            for (Map.Entry<VersionCheckBatcher, Map<Object, List<MutableStateTrackable>>> entry : checks.entrySet()) {
+                entry.getKey().execute(this, entry.getValue());
+            }
+        } catch (Throwable t) {
+            transactionAccess.markRollbackOnly();
+            ExceptionUtils.doThrow(t);
+        }
+    }
+
     @Override
     public boolean addRemovedObject(Object value) {
         if (removedObjects == null) {
@@ -686,6 +744,8 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
             } else {
                 evm.remove(this, entityViewClass, object);
             }
+        } else if (multiple) {
+            evm.updateAll(this, (Collection<?>) object);
         } else {
             if (entity == null) {
                 evm.update(this, object);
@@ -693,6 +753,7 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
                 evm.updateTo(this, object, entity);
             }
         }
+        executeBatchedVersionChecks();
     }
 
     @Override
@@ -108,6 +108,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *
@@ -117,6 +119,7 @@ import java.util.TreeMap;
 public class EntityViewUpdaterImpl implements EntityViewUpdater {
 
     public static final String WHERE_CLAUSE_PREFIX = "_";
+    private static final int MAX_PARTIAL_UPDATE_QUERY_STRINGS = 256;
 
     private final boolean rootUpdateAllowed;
     private final ManagedViewTypeImplementor<?> managedViewType;
@@ -125,10 +128,15 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
     private final DirtyAttributeFlusher<?, Object, Object> idFlusher;
     private final VersionAttributeFlusher<Object, Object> versionFlusher;
     private final CompositeAttributeFlusher fullFlusher;
+    private final CascadeDeleteGraphLoader cascadeDeleteGraphLoader;
+    private final VersionCheckBatcher versionCheckBatcher;
     private final String updatePrefixString;
     private final String updatePostfixString;
     private final String versionedUpdatePostfixString;
     private final String fullUpdateQueryString;
+    private final String versionIncrementQueryString;
+    // Partial update query strings keyed by the fragment key of the dirty flusher, an empty string means no query is needed
+    private final ConcurrentMap<Long, String> partialUpdateQueryStrings = new ConcurrentHashMap<>();
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public EntityViewUpdaterImpl(EntityViewManagerImpl evm, Map<Object, EntityViewUpdaterImpl> localCache, ManagedViewTypeImplementor<?> viewType, ManagedViewTypeImplementor<?> declaredViewType, EntityViewUpdaterImpl owner, String ownerMapping) {
@@ -243,8 +251,14 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
                 tmpSb.append(" AND ");
                 versionFlusher.appendUpdateQueryFragment(null, tmpSb, "e.", WHERE_CLAUSE_PREFIX, " AND ");
                 this.versionedUpdatePostfixString = tmpSb.toString();
+                StringBuilder versionSb = new StringBuilder(updatePrefixString.length() + versionedUpdatePostfixString.length() + 50);
+                versionSb.append(updatePrefixString);
+                versionFlusher.appendUpdateQueryFragment(null, versionSb, "e.", "", ", ");
+                versionSb.append(versionedUpdatePostfixString);
+                this.versionIncrementQueryString = versionSb.toString();
             } else {
                 this.versionedUpdatePostfixString = null;
+                this.versionIncrementQueryString = null;
             }
             sb = new StringBuilder(updatePrefixString.length() + tmpSb.length() + attributes.size() * 50);
             sb.append(updatePrefixString);
@@ -253,6 +267,7 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             this.updatePrefixString = null;
             this.updatePostfixString = null;
             this.versionedUpdatePostfixString = null;
+            this.versionIncrementQueryString = null;
         }
 
         if (versionFlusher != null && sb != null) {
@@ -424,6 +439,19 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
         } else {
             this.fullUpdateQueryString = null;
         }
+        // The graph can only be pre-loaded if the view id is the entity id
+        if (evm.isPreloadCascadeDeleteGraph() && flushStrategy == FlushStrategy.ENTITY && persistable && viewType instanceof ViewType<?> && !((ViewType<?>) viewType).getIdAttribute().isSubview()
+                && entityType.hasSingleIdAttribute() && JpaMetamodelUtils.getSingleIdAttribute(entityType).getName().equals(((MappingAttribute<?, ?>) ((ViewType<?>) viewType).getIdAttribute()).getMapping())) {
+            this.cascadeDeleteGraphLoader = CascadeDeleteGraphLoader.create(evm, viewType);
+        } else {
+            this.cascadeDeleteGraphLoader = null;
+        }
+        // Version checks can only be batched if the view id is the basic entity id
+        if (evm.isBatchVersionChecks() && versionIncrementQueryString != null && !idAttribute.isSubview() && jpaIdInstantiator == null && entityType.hasSingleIdAttribute()) {
+            this.versionCheckBatcher = new VersionCheckBatcher(entityType.getName(), idAttribute.getMapping(), versionAttribute.getMapping(), versionFlusher);
+        } else {
+            this.versionCheckBatcher = null;
+        }
     }
 
     private static boolean isUpdateMappable(Set<AbstractMethodAttribute<?, ?>> attributes) {
@@ -654,6 +682,14 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             queryString = fullUpdateQueryString;
             needsOptimisticLocking = fullFlusher.hasVersionFlusher();
         } else {
+            long queryStringKey = flusher instanceof CompositeAttributeFlusher ? ((CompositeAttributeFlusher) flusher).getUpdateQueryFragmentKey(fullFlusher) : -1L;
+            if (queryStringKey != -1L) {
+                queryString = partialUpdateQueryStrings.get(queryStringKey);
+                if (queryString != null) {
+                    needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected();
+                    return createUpdateQuery(context, updatableProxy, queryString.isEmpty() ? null : queryString, needsOptimisticLocking);
+                }
+            }
             StringBuilder sb = new StringBuilder(updatePrefixString.length() + updatePostfixString.length() + 250);
             sb.append(updatePrefixString);
             int initialLength = sb.length();
@@ -661,9 +697,7 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             if (sb.length() == initialLength) {
                 // If we still need optimistic locking, we just append a flush for the version increment
                 if (needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected()) {
-                    versionFlusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
-                    sb.append(versionedUpdatePostfixString);
-                    queryString = sb.toString();
+                    queryString = versionIncrementQueryString;
                 } else {
                     queryString = null;
                 }
@@ -675,10 +709,21 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
                 }
                 queryString = sb.toString();
             }
+            if (queryStringKey != -1L && partialUpdateQueryStrings.size() < MAX_PARTIAL_UPDATE_QUERY_STRINGS) {
+                partialUpdateQueryStrings.putIfAbsent(queryStringKey, queryString == null ? "" : queryString);
+            }
         }
 
+        return createUpdateQuery(context, updatableProxy, queryString, needsOptimisticLocking);
+    }
+
+    private Query createUpdateQuery(UpdateContext context, MutableStateTrackable updatableProxy, String queryString, boolean needsOptimisticLocking) {
         Query query = null;
         if (queryString != null) {
+            // A pure version increment can be deferred to a batched version check at the end of the flush
+            if (versionCheckBatcher != null && queryString.equals(versionIncrementQueryString) && context.addBatchedVersionCheck(versionCheckBatcher, updatableProxy)) {
+                return null;
+            }
             query = context.getEntityManager().createQuery(queryString);
             if (idFlusher != null) {
                 idFlusher.flushQuery(context, WHERE_CLAUSE_PREFIX, null, query, updatableProxy, updatableProxy, updatableProxy.$$_getId(), null, null);
@@ -735,14 +780,17 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
 
     @Override
     public void remove(UpdateContext context, EntityViewProxy entityView) {
-        if (flushStrategy == FlushStrategy.ENTITY) {
-            // TODO: pre-load cascade deleted entity graph
+        if (cascadeDeleteGraphLoader != null && entityView.$$_getId() != null && !entityView.$$_isNew()) {
+            cascadeDeleteGraphLoader.load(context, entityView.$$_getId());
         }
         fullFlusher.remove(context, null, entityView, entityView);
     }
 
     @Override
     public void remove(UpdateContext context, Object viewId) {
+        if (cascadeDeleteGraphLoader != null) {
+            cascadeDeleteGraphLoader.load(context, viewId);
+        }
         fullFlusher.remove(context, viewId);
     }
 
@@ -357,18 +357,38 @@ public class ListenerManager {
     }
 
     public void invokePostCommit(UpdateContext context, EntityViewProxy entityView, ViewTransition viewTransition) {
+        invokePostCommit(context, entityView, viewTransition, context.getEntityManager());
+    }
+
+    public void invokePostCommit(UpdateContext context, EntityViewProxy entityView, ViewTransition viewTransition, EntityManager em) {
+        ManagedViewTypeImplementor<?> managedView = evm.getMetamodel().managedView(entityView.$$_getEntityViewClass());
+        Listeners listeners = this.listeners.get(managedView.getJavaType());
+        if (listeners != null) {
+            listeners.invokePostCommit(context, entityView, viewTransition, em);
+        }
+        listeners = this.listeners.get(managedView.getEntityClass());
+        if (listeners != null) {
+            listeners.invokePostCommit(context, entityView, viewTransition, em);
+        }
+        listeners = this.customListeners.get(managedView.getEntityClass());
+        if (listeners != null) {
+            listeners.invokePostCommit(context, entityView, viewTransition, em);
+        }
+    }
+
+    public void invokePostCommit(EntityViewProxy entityView, Set<ViewTransition> viewTransitions, EntityManager em) {
         ManagedViewTypeImplementor<?> managedView = evm.getMetamodel().managedView(entityView.$$_getEntityViewClass());
         Listeners listeners = this.listeners.get(managedView.getJavaType());
         if (listeners != null) {
-            listeners.invokePostCommit(context, entityView, viewTransition);
+            listeners.invokePostCommit(evm, entityView, viewTransitions, em);
         }
         listeners = this.listeners.get(managedView.getEntityClass());
         if (listeners != null) {
-            listeners.invokePostCommit(context, entityView, viewTransition);
+            listeners.invokePostCommit(evm, entityView, viewTransitions, em);
         }
         listeners = this.customListeners.get(managedView.getEntityClass());
         if (listeners != null) {
-            listeners.invokePostCommit(context, entityView, viewTransition);
+            listeners.invokePostCommit(evm, entityView, viewTransitions, em);
         }
     }
 
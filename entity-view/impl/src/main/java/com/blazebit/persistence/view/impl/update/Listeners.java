@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.view.impl.update;
 
+import com.blazebit.persistence.view.OptimisticLockException;
 import com.blazebit.persistence.view.PostCommitListener;
 import com.blazebit.persistence.view.PostPersistEntityListener;
 import com.blazebit.persistence.view.PostPersistListener;
@@ -27,6 +28,7 @@ import com.blazebit.persistence.view.PrePersistListener;
 import com.blazebit.persistence.view.PreRemoveListener;
 import com.blazebit.persistence.view.PreUpdateListener;
 import com.blazebit.persistence.view.ViewTransition;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
 import com.blazebit.persistence.view.impl.update.listener.ViewInstancePreRemoveListener;
 import com.blazebit.persistence.view.impl.update.listener.ViewPreRemoveListenerImpl;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
@@ -183,20 +185,63 @@ public class Listeners {
         }
     }
 
-    public void invokePostCommit(UpdateContext context, EntityViewProxy entityView, ViewTransition viewTransition) {
+    public void invokePostCommit(UpdateContext context, EntityViewProxy entityView, ViewTransition viewTransition, EntityManager em) {
         for (int i = 0; i < postCommitListeners.size(); i++) {
             ListenerTransitionEntry<PostCommitListener<Object>> entry = postCommitListeners.get(i);
             if (entry.viewTransitions.contains(viewTransition)) {
                 if (entry.entityViewClass.isInstance(entityView)) {
-                    entry.listener.postCommit(context.getEntityViewManager().getSerializableDelegate(entityView.$$_getEntityViewClass()), context.getEntityManager(), entityView, viewTransition);
+                    entry.listener.postCommit(context.getEntityViewManager().getSerializableDelegate(entityView.$$_getEntityViewClass()), em, entityView, viewTransition);
                 } else {
-                    EntityViewProxy view = context.getEntityView(entry.entityViewClass, entityClass, entityView, false, false);
-                    entry.listener.postCommit(context.getEntityViewManager().getSerializableDelegate(view.$$_getEntityViewClass()), context.getEntityManager(), view, viewTransition);
+                    EntityViewProxy view = context.getEntityView(entry.entityViewClass, entityClass, entityView, false, false, em);
+                    entry.listener.postCommit(context.getEntityViewManager().getSerializableDelegate(view.$$_getEntityViewClass()), em, view, viewTransition);
+                }
+            }
+        }
+    }
+
+    public void invokePostCommit(EntityViewManagerImpl evm, EntityViewProxy entityView, Set<ViewTransition> viewTransitions, EntityManager em) {
+        for (int i = 0; i < postCommitListeners.size(); i++) {
+            ListenerTransitionEntry<PostCommitListener<Object>> entry = postCommitListeners.get(i);
+            ViewTransition viewTransition = getCoalescedViewTransition(entry.viewTransitions, viewTransitions);
+            if (viewTransition != null) {
+                if (entry.entityViewClass.isInstance(entityView)) {
+                    entry.listener.postCommit(evm.getSerializableDelegate(entityView.$$_getEntityViewClass()), em, entityView, viewTransition);
+                } else {
+                    EntityViewProxy view = getEntityView(evm, entry.entityViewClass, entityView, em);
+                    entry.listener.postCommit(evm.getSerializableDelegate(view.$$_getEntityViewClass()), em, view, viewTransition);
                 }
             }
         }
     }
 
+    private static EntityViewProxy getEntityView(EntityViewManagerImpl evm, Class<?> viewType, EntityViewProxy entityView, EntityManager em) {
+        // Without an update context there is no view cache, so the view is converted or loaded with the given entity manager
+        if (evm.getConvertibleManagedViewTypes().get(entityView.$$_getEntityViewClass()).contains(viewType)) {
+            return (EntityViewProxy) evm.convert(entityView, viewType);
+        }
+        Object entityId = evm.getEntityId(em, entityView);
+        EntityViewProxy view = (EntityViewProxy) evm.find(em, viewType, entityId);
+        if (view == null) {
+            throw new OptimisticLockException("Could not fetch view of type [" + viewType.getName() + "] with entity id [" + entityId + "], which is required for an entity view lifecycle listener, because it appears to have been deleted already!", null, entityView);
+        }
+        return view;
+    }
+
+    static ViewTransition getCoalescedViewTransition(Set<ViewTransition> listenerViewTransitions, Set<ViewTransition> viewTransitions) {
+        // A removal supersedes everything and a persist followed by updates is still a persist,
+        // but only among the transitions a listener is interested in
+        if (viewTransitions.contains(ViewTransition.REMOVE) && listenerViewTransitions.contains(ViewTransition.REMOVE)) {
+            return ViewTransition.REMOVE;
+        }
+        if (viewTransitions.contains(ViewTransition.PERSIST) && listenerViewTransitions.contains(ViewTransition.PERSIST)) {
+            return ViewTransition.PERSIST;
+        }
+        if (viewTransitions.contains(ViewTransition.UPDATE) && listenerViewTransitions.contains(ViewTransition.UPDATE)) {
+            return ViewTransition.UPDATE;
+        }
+        return null;
+    }
+
     public void invokePostRollback(UpdateContext context, EntityViewProxy entityView, ViewTransition viewTransition, EntityManager em) {
         for (int i = 0; i < postRollbackListeners.size(); i++) {
             ListenerTransitionEntry<PostRollbackListener<Object>> entry = postRollbackListeners.get(i);
@@ -17,6 +17,7 @@
 package com.blazebit.persistence.view.impl.update;
 
 import com.blazebit.persistence.view.ViewTransition;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
 import com.blazebit.persistence.view.impl.collection.CollectionAction;
 import com.blazebit.persistence.view.impl.collection.MapAction;
 import com.blazebit.persistence.view.impl.collection.RecordingCollection;
@@ -29,14 +30,18 @@ import com.blazebit.persistence.view.spi.TransactionSupport;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.transaction.Status;
 import javax.transaction.Synchronization;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  *
@@ -298,6 +303,12 @@ public class ResetInitialStateSynchronization implements Synchronization, Initia
             }
         } else {
             if (listenerManager.hasPostCommitListeners()) {
+                AsyncPostCommitListenerDispatcher dispatcher = updateContext.getEntityViewManager().getPostCommitListenerDispatcher();
+                if (dispatcher != null) {
+                    // The update context and the views are bound to this thread, so only snapshots are handed to the executor
+                    dispatcher.dispatch(new PostCommitInvoker(updateContext.getEntityManager().getEntityManagerFactory(), listenerManager, coalescePostCommitEvents(dispatcher)));
+                    return;
+                }
                 if (persistedViews != null) {
                     for (int i = 0; i < persistedViews.size(); i += 7) {
                         listenerManager.invokePostCommit(updateContext, (MutableStateTrackable) persistedViews.get(i), ViewTransition.PERSIST);
@@ -317,6 +328,152 @@ public class ResetInitialStateSynchronization implements Synchronization, Initia
         }
     }
 
+    private List<PostCommitSnapshot> coalescePostCommitEvents(AsyncPostCommitListenerDispatcher dispatcher) {
+        Map<Object, PostCommitEvent> events = new LinkedHashMap<>();
+        int eventCount = 0;
+        if (persistedViews != null) {
+            for (int i = 0; i < persistedViews.size(); i += 7) {
+                addPostCommitEvent(events, (EntityViewProxy) persistedViews.get(i), ViewTransition.PERSIST);
+                eventCount++;
+            }
+        }
+        if (updatedViews != null) {
+            for (int i = 0; i < updatedViews.size(); i += 2) {
+                addPostCommitEvent(events, (EntityViewProxy) updatedViews.get(i), ViewTransition.UPDATE);
+                eventCount++;
+            }
+        }
+        if (removedViews != null) {
+            for (int i = 0; i < removedViews.size(); i += 4) {
+                addPostCommitEvent(events, (EntityViewProxy) removedViews.get(i), ViewTransition.REMOVE);
+                eventCount++;
+            }
+        }
+        dispatcher.addCoalescedCount(eventCount - events.size());
+        // The views might be changed by the application after the commit, so hand out copies to the listeners
+        EntityViewManagerImpl evm = updateContext.getEntityViewManager();
+        List<PostCommitSnapshot> snapshots = new ArrayList<>(events.size());
+        for (PostCommitEvent event : events.values()) {
+            EntityViewProxy view = (EntityViewProxy) evm.convert(event.view, event.view.$$_getEntityViewClass());
+            snapshots.add(new PostCommitSnapshot(view, Collections.unmodifiableSet(EnumSet.copyOf(event.viewTransitions))));
+        }
+        return snapshots;
+    }
+
+    private static void addPostCommitEvent(Map<Object, PostCommitEvent> events, EntityViewProxy view, ViewTransition viewTransition) {
+        Object id = view.$$_getId();
+        Object key = id == null ? view : new PostCommitEventKey(view.$$_getEntityViewClass(), id);
+        PostCommitEvent event = events.get(key);
+        if (event == null) {
+            events.put(key, new PostCommitEvent(view, viewTransition));
+        } else {
+            // The transition for a listener is chosen on invocation based on the transitions it is interested in
+            event.view = view;
+            event.viewTransitions.add(viewTransition);
+        }
+    }
+
+    /**
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class PostCommitEventKey {
+
+        private final Class<?> entityViewClass;
+        private final Object id;
+
+        public PostCommitEventKey(Class<?> entityViewClass, Object id) {
+            this.entityViewClass = entityViewClass;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PostCommitEventKey)) {
+                return false;
+            }
+            PostCommitEventKey that = (PostCommitEventKey) o;
+            return entityViewClass == that.entityViewClass && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityViewClass.hashCode() + id.hashCode();
+        }
+    }
+
+    /**
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class PostCommitEvent {
+
+        private EntityViewProxy view;
+        private final Set<ViewTransition> viewTransitions;
+
+        public PostCommitEvent(EntityViewProxy view, ViewTransition viewTransition) {
+            this.view = view;
+            this.viewTransitions = EnumSet.of(viewTransition);
+        }
+    }
+
+    /**
+     * An immutable copy of a committed view and its transitions that can be safely handed to a different thread.
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static final class PostCommitSnapshot {
+
+        private final EntityViewProxy view;
+        private final Set<ViewTransition> viewTransitions;
+
+        public PostCommitSnapshot(EntityViewProxy view, Set<ViewTransition> viewTransitions) {
+            this.view = view;
+            this.viewTransitions = viewTransitions;
+        }
+    }
+
+    /**
+     *
+     * @author Christian Beikov
+     * @since 1.6.12
+     */
+    private static class PostCommitInvoker implements Runnable {
+
+        private final EntityManagerFactory entityManagerFactory;
+        private final ListenerManager listenerManager;
+        private final List<PostCommitSnapshot> snapshots;
+
+        public PostCommitInvoker(EntityManagerFactory entityManagerFactory, ListenerManager listenerManager, List<PostCommitSnapshot> snapshots) {
+            this.entityManagerFactory = entityManagerFactory;
+            this.listenerManager = listenerManager;
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public void run() {
+            EntityManager em = null;
+            try {
+                // The entity manager of the transaction might already be closed and must not be used by a different thread
+                em = entityManagerFactory.createEntityManager();
+                for (int i = 0; i < snapshots.size(); i++) {
+                    PostCommitSnapshot snapshot = snapshots.get(i);
+                    listenerManager.invokePostCommit(snapshot.view, snapshot.viewTransitions, em);
+                }
+            } finally {
+                if (em != null) {
+                    em.close();
+                }
+            }
+        }
+    }
+
     /**
      *
      * @author Christian Beikov
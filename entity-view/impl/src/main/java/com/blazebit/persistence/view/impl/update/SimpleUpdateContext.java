@@ -70,6 +70,20 @@ public class SimpleUpdateContext implements UpdateContext {
         return false;
     }
 
+    @Override
+    public boolean addCascadeDeleteGraphLoad(Class<?> entityClass, Object id) {
+        return true;
+    }
+
+    @Override
+    public boolean addBatchedVersionCheck(VersionCheckBatcher batcher, MutableStateTrackable updatableProxy) {
+        return false;
+    }
+
+    @Override
+    public void executeBatchedVersionChecks() {
+    }
+
     @Override
     public boolean addRemovedObject(Object value) {
         return false;
@@ -44,6 +44,12 @@ public interface UpdateContext {
 
     public boolean addVersionCheck(Class<?> entityClass, Object id);
 
+    public boolean addCascadeDeleteGraphLoad(Class<?> entityClass, Object id);
+
+    public boolean addBatchedVersionCheck(VersionCheckBatcher batcher, MutableStateTrackable updatableProxy);
+
+    public void executeBatchedVersionChecks();
+
     public boolean addRemovedObject(Object value);
 
     public void removeRemovedObject(Object value);
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.update;
+
+import com.blazebit.persistence.view.OptimisticLockException;
+import com.blazebit.persistence.view.impl.update.flush.VersionAttributeFlusher;
+import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
+
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies and increments the versions of multiple rows of an entity type with a single update statement.
+ * Rows with different version values are matched by a disjunction of id and version predicates per version value.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class VersionCheckBatcher {
+
+    // Keep the IN lists within the element limit of Oracle
+    private static final int CHUNK_SIZE = 1000;
+    private static final String ID_PARAMETER_NAME = "id";
+    private static final String IDS_PARAMETER_NAME = "ids_";
+    private static final String VERSION_PARAMETER_NAME = "version_";
+    private static final String NEW_VERSION_PARAMETER_NAME = "newVersion_";
+
+    private final String entityName;
+    private final String idMapping;
+    private final String versionMapping;
+    private final String recheckQueryString;
+    private final String entityQueryString;
+    private final VersionAttributeFlusher<Object, Object> versionFlusher;
+
+    public VersionCheckBatcher(String entityName, String idMapping, String versionMapping, VersionAttributeFlusher<Object, Object> versionFlusher) {
+        this.entityName = entityName;
+        this.idMapping = idMapping;
+        this.versionMapping = versionMapping;
+        this.recheckQueryString = "SELECT COUNT(*) FROM " + entityName + " e WHERE e." + idMapping + " = :" + ID_PARAMETER_NAME + " AND e." + versionMapping + " = :" + NEW_VERSION_PARAMETER_NAME;
+        this.entityQueryString = "SELECT e FROM " + entityName + " e WHERE e." + idMapping + " = :" + ID_PARAMETER_NAME;
+        this.versionFlusher = versionFlusher;
+    }
+
+    public void execute(UpdateContext context, Map<Object, List<MutableStateTrackable>> viewsById) {
+        List<Map.Entry<Object, List<MutableStateTrackable>>> entries = new ArrayList<>(viewsById.entrySet());
+        for (int i = 0; i < entries.size(); i += CHUNK_SIZE) {
+            executeChunk(context, entries.subList(i, Math.min(i + CHUNK_SIZE, entries.size())));
+        }
+    }
+
+    private void executeChunk(UpdateContext context, List<Map.Entry<Object, List<MutableStateTrackable>>> chunk) {
+        // Group the ids by the version value so that every distinct version needs just one IN predicate
+        Map<Object, List<Object>> idsByVersion = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Map.Entry<Object, List<MutableStateTrackable>> entry = chunk.get(i);
+            Object version = entry.getValue().get(0).$$_getVersion();
+            List<Object> ids = idsByVersion.get(version);
+            if (ids == null) {
+                ids = new ArrayList<>();
+                idsByVersion.put(version, ids);
+            }
+            ids.add(entry.getKey());
+        }
+
+        // The next value is computed once per version since it might not be deterministic e.g. for timestamps
+        Map<Object, Object> nextVersions = new LinkedHashMap<>(idsByVersion.size());
+        Query query = context.getEntityManager().createQuery(createQueryString(idsByVersion.size()));
+        int index = 0;
+        for (Map.Entry<Object, List<Object>> entry : idsByVersion.entrySet()) {
+            Object nextVersion = versionFlusher.nextValue(entry.getKey());
+            nextVersions.put(entry.getKey(), nextVersion);
+            query.setParameter(IDS_PARAMETER_NAME + index, entry.getValue());
+            query.setParameter(VERSION_PARAMETER_NAME + index, entry.getKey());
+            query.setParameter(NEW_VERSION_PARAMETER_NAME + index, nextVersion);
+            index++;
+        }
+        int updated = query.executeUpdate();
+
+        if (updated != chunk.size()) {
+            throwOptimisticLockException(context, chunk, nextVersions, updated);
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            List<MutableStateTrackable> views = chunk.get(i).getValue();
+            Object nextVersion = nextVersions.get(views.get(0).$$_getVersion());
+            for (int j = 0; j < views.size(); j++) {
+                views.get(j).$$_setVersion(nextVersion);
+            }
+        }
+    }
+
+    private String createQueryString(int versionCount) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("UPDATE ").append(entityName).append(" e SET e.").append(versionMapping).append(" = ");
+        if (versionCount == 1) {
+            sb.append(':').append(NEW_VERSION_PARAMETER_NAME).append(0);
+        } else {
+            sb.append("CASE");
+            for (int i = 0; i < versionCount; i++) {
+                sb.append(" WHEN e.").append(versionMapping).append(" = :").append(VERSION_PARAMETER_NAME).append(i);
+                sb.append(" THEN :").append(NEW_VERSION_PARAMETER_NAME).append(i);
+            }
+            sb.append(" ELSE e.").append(versionMapping).append(" END");
+        }
+        sb.append(" WHERE ");
+        for (int i = 0; i < versionCount; i++) {
+            if (i != 0) {
+                sb.append(" OR ");
+            }
+            sb.append("(e.").append(idMapping).append(" IN :").append(IDS_PARAMETER_NAME).append(i);
+            sb.append(" AND e.").append(versionMapping).append(" = :").append(VERSION_PARAMETER_NAME).append(i).append(')');
+        }
+        return sb.toString();
+    }
+
+    private void throwOptimisticLockException(UpdateContext context, List<Map.Entry<Object, List<MutableStateTrackable>>> chunk, Map<Object, Object> nextVersions, int updated) {
+        // Re-check the ids one by one to report the entity and view that failed the version check
+        // A row that was concurrently changed to exactly the next version is indistinguishable from a row updated by the batch
+        for (int i = 0; i < chunk.size(); i++) {
+            Map.Entry<Object, List<MutableStateTrackable>> entry = chunk.get(i);
+            MutableStateTrackable view = entry.getValue().get(0);
+            Number count = (Number) context.getEntityManager().createQuery(recheckQueryString)
+                    .setParameter(ID_PARAMETER_NAME, entry.getKey())
+                    .setParameter(NEW_VERSION_PARAMETER_NAME, nextVersions.get(view.$$_getVersion()))
+                    .getSingleResult();
+            if (count.intValue() == 0) {
+                List<?> entities = context.getEntityManager().createQuery(entityQueryString)
+                        .setParameter(ID_PARAMETER_NAME, entry.getKey())
+                        .getResultList();
+                Object entity = entities.isEmpty() ? null : entities.get(0);
+                throw new OptimisticLockException("The batched version check for the entity with id [" + entry.getKey() + "] and version [" + view.$$_getVersion() + "] failed!", entity, view);
+            }
+        }
+        throw new OptimisticLockException("The batched version check did not return the expected update count! Expected " + chunk.size() + " but was " + updated, null, null);
+    }
+}
@@ -159,30 +159,37 @@ public class BasicAttributeFlusher<E, V> extends BasicDirtyChecker<V> implements
         return mapping;
     }
 
+    /**
+     * Returns whether this flusher appends an update query fragment. The fragment only depends on the full flusher this flusher was derived from.
+     *
+     * @return whether an update query fragment is appended
+     */
+    public boolean appendsUpdateQueryFragment() {
+        // It must be updatable and the value must have changed
+        return (updatable || isPassThrough()) && (flushOperation == null || update) && inverseFlusher == null && updateFragment != null;
+    }
+
     @Override
     public boolean appendUpdateQueryFragment(UpdateContext context, StringBuilder sb, String mappingPrefix, String parameterPrefix, String separator) {
-        // It must be updatable and the value must have changed
-        if ((updatable || isPassThrough()) && (flushOperation == null || update) && inverseFlusher == null) {
-            if (updateFragment != null) {
-                if (componentFlushers == null) {
-                    if (mappingPrefix == null) {
-                        sb.append(updateFragment);
-                        sb.append(" = :");
-                        sb.append(parameterName);
-                    } else {
-                        sb.append(mappingPrefix).append(updateFragment);
-                        sb.append(" = :");
-                        sb.append(parameterPrefix).append(parameterName);
-                    }
+        if (appendsUpdateQueryFragment()) {
+            if (componentFlushers == null) {
+                if (mappingPrefix == null) {
+                    sb.append(updateFragment);
+                    sb.append(" = :");
+                    sb.append(parameterName);
                 } else {
-                    componentFlushers[0].getValue().appendUpdateQueryFragment(context, sb, mappingPrefix, parameterPrefix, separator);
-                    for (int i = 1; i < componentFlushers.length; i++) {
-                        sb.append(separator);
-                        componentFlushers[i].getValue().appendUpdateQueryFragment(context, sb, mappingPrefix, parameterPrefix, separator);
-                    }
+                    sb.append(mappingPrefix).append(updateFragment);
+                    sb.append(" = :");
+                    sb.append(parameterPrefix).append(parameterName);
+                }
+            } else {
+                componentFlushers[0].getValue().appendUpdateQueryFragment(context, sb, mappingPrefix, parameterPrefix, separator);
+                for (int i = 1; i < componentFlushers.length; i++) {
+                    sb.append(separator);
+                    componentFlushers[i].getValue().appendUpdateQueryFragment(context, sb, mappingPrefix, parameterPrefix, separator);
                 }
-                return true;
             }
+            return true;
         }
 
         return false;
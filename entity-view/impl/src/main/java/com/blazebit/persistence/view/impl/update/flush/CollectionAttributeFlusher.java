@@ -395,8 +395,8 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
                 }
                 if (removeSpecific) {
                     if (inverseFlusher == null) {
-                        String entityIdAttributeName = elementDescriptor.getAttributeIdAttributeName();
-                        if (entityIdAttributeName != null) {
+                        // Basic elements can be compared directly, so we can remove specific elements with a single IN predicate
+                        if (elementDescriptor.getAttributeIdAttributeName() != null || elementDescriptor.isBasic()) {
                             removedObjects = appendRemoveSpecific(context, deleteCb, fusedCollectionActions);
                             removedAll = false;
                             if (removedObjects.isEmpty()) {
@@ -1981,7 +1981,7 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
 
     @SuppressWarnings("unchecked")
     private Map<Object, Object>[] getAddedAndRemovedElementsForInverseFlusher(List<? extends CollectionAction<?>> collectionActions) {
-        if (elementDescriptor.isIdentifiable()) {
+        if (elementDescriptor.isIdentifiable() && !elementDescriptor.isBasic()) {
             AttributeAccessor idAccessor = elementDescriptor.isJpaEntity() ? elementDescriptor.getLoadOnlyViewToEntityMapper().getEntityIdAccessor()
                     : elementDescriptor.getLoadOnlyViewToEntityMapper().getViewIdAccessor();
 
@@ -1995,8 +1995,16 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
             }
             return new Map[]{ added, removed };
         }
-        Map<Object, Object> added = new IdentityHashMap<>(collectionActions.size());
-        Map<Object, Object> removed = new IdentityHashMap<>(collectionActions.size());
+        Map<Object, Object> added;
+        Map<Object, Object> removed;
+        if (elementDescriptor.isBasic()) {
+            // Basic values are identified by equality
+            added = new HashMap<>(collectionActions.size());
+            removed = new HashMap<>(collectionActions.size());
+        } else {
+            added = new IdentityHashMap<>(collectionActions.size());
+            removed = new IdentityHashMap<>(collectionActions.size());
+        }
         for (CollectionAction<? extends Collection<?>> a : collectionActions) {
             Collection<Object> addedObjects = a.getAddedObjects();
             Collection<Object> removedObjects = a.getRemovedObjects();
@@ -2008,7 +2016,7 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
 
     @SuppressWarnings("unchecked")
     private Map<Object, Object>[] getAddedAndRemovedElementsForInverseFlusher(Collection<?> collection, List<CollectionAction<Collection<?>>> collectionActions) {
-        if (elementDescriptor.isIdentifiable()) {
+        if (elementDescriptor.isIdentifiable() && !elementDescriptor.isBasic()) {
             AttributeAccessor idAccessor = elementDescriptor.isJpaEntity() ? elementDescriptor.getLoadOnlyViewToEntityMapper().getEntityIdAccessor()
                     : elementDescriptor.getLoadOnlyViewToEntityMapper().getViewIdAccessor();
 
@@ -2022,8 +2030,16 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
             }
             return new Map[]{ added, removed };
         }
-        Map<Object, Object> added = new IdentityHashMap<>(collectionActions.size());
-        Map<Object, Object> removed = new IdentityHashMap<>(collectionActions.size());
+        Map<Object, Object> added;
+        Map<Object, Object> removed;
+        if (elementDescriptor.isBasic()) {
+            // Basic values are identified by equality
+            added = new HashMap<>(collectionActions.size());
+            removed = new HashMap<>(collectionActions.size());
+        } else {
+            added = new IdentityHashMap<>(collectionActions.size());
+            removed = new IdentityHashMap<>(collectionActions.size());
+        }
         for (CollectionAction<Collection<?>> a : collectionActions) {
             Collection<Object> addedObjects = a.getAddedObjects(collection);
             Collection<Object> removedObjects = a.getRemovedObjects(collection);
@@ -826,8 +826,11 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         // After Pre-Update the dirtyness could change
         long[] dirtyMask = context.getInitialStateResetter().addUpdatedView(element);
         boolean ranPreUpdate = context.invokePreUpdate(element);
-        if (ranPreUpdate && this.fullFlushers != this.flushers && element.$$_getSimpleDirty() != 0) {
-            dirtyMask[0] |= element.$$_getSimpleDirty();
+        if (ranPreUpdate && this.fullFlushers != this.flushers && element.$$_isDirty()) {
+            long[] newDirtyMask = element.$$_getDirty();
+            for (int i = 0; i < dirtyMask.length; i++) {
+                dirtyMask[i] |= newDirtyMask[i];
+            }
             element.$$_setDirty(dirtyMask);
             updateFlushers(context, element, this.flushers);
             element.$$_resetDirty();
@@ -1168,6 +1171,36 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         return (features & FEATURE_IS_ANY_OPTIMISTIC_LOCK_PROTECTED) != 0;
     }
 
+    /**
+     * Returns a key that uniquely identifies the update query fragment that this dirty flusher appends, or <code>-1</code> if that isn't possible.
+     * The key is a bit mask of the indexes of the contributing flushers with the bit 62 being set if the flusher is optimistic lock protected.
+     * This only works if the flushers are either full flushers or basic flushers derived from them, as their fragments don't depend on dirty state.
+     *
+     * @param fullFlusher The full flusher from which this flusher was derived
+     * @return the update query fragment key or <code>-1</code>
+     */
+    public long getUpdateQueryFragmentKey(CompositeAttributeFlusher fullFlusher) {
+        if (fullFlushers != fullFlusher.fullFlushers || flushers.length > 62) {
+            return -1L;
+        }
+        long key = isOptimisticLockProtected() ? 1L << 62 : 0L;
+        for (int i = 0; i < flushers.length; i++) {
+            DirtyAttributeFlusher<?, Object, Object> flusher = flushers[i];
+            if (flusher != null) {
+                if (flusher == fullFlushers[i]) {
+                    key |= 1L << i;
+                } else if (flusher instanceof BasicAttributeFlusher<?, ?> && fullFlushers[i] instanceof BasicAttributeFlusher<?, ?>) {
+                    if (((BasicAttributeFlusher<?, ?>) flusher).appendsUpdateQueryFragment()) {
+                        key |= 1L << i;
+                    }
+                } else {
+                    return -1L;
+                }
+            }
+        }
+        return key;
+    }
+
     @Override
     public boolean requiresFlushAfterPersist(Object value) {
         return false;
@@ -1209,21 +1242,32 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         if (!currentObject.$$_isDirty()) {
             return DirtyKind.NONE;
         }
-        long dirty = currentObject.$$_getSimpleDirty();
         Object[] initialState = initialObject.$$_getInitialState();
         Object[] dirtyState = currentObject.$$_getMutableState();
 
-        for (int i = 0; i < initialState.length; i++) {
-            long mask = 1L << i;
-            if ((dirty & mask) != 0) {
-                if (flushers[i].getDirtyKind(initialState[i], dirtyState[i]) != DirtyKind.NONE) {
-                    return DirtyKind.MUTATED;
-                }
+        if (initialState.length <= 64) {
+            return hasDirtyAttribute(currentObject.$$_getSimpleDirty(), 0, initialState, dirtyState) ? DirtyKind.MUTATED : DirtyKind.NONE;
+        }
+        long[] dirtyMasks = currentObject.$$_getDirty();
+        for (int i = 0; i < dirtyMasks.length; i++) {
+            if (hasDirtyAttribute(dirtyMasks[i], i << 6, initialState, dirtyState)) {
+                return DirtyKind.MUTATED;
             }
         }
         return DirtyKind.NONE;
     }
 
+    private boolean hasDirtyAttribute(long dirtyMask, int offset, Object[] initialState, Object[] dirtyState) {
+        // Only visit the attributes for which a bit is set in the dirty mask
+        for (; dirtyMask != 0L; dirtyMask &= dirtyMask - 1) {
+            int i = offset + Long.numberOfTrailingZeros(dirtyMask);
+            if (flushers[i].getDirtyKind(initialState[i], dirtyState[i]) != DirtyKind.NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends DirtyAttributeFlusher<T, E, V>, E, V> DirtyAttributeFlusher<T, E, V> getNestedDirtyFlusher(UpdateContext context, MutableStateTrackable updatableProxy) {
         // Only entities with an id can be persisted. We never consider this a persist operation for embeddables
@@ -1250,26 +1294,19 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
             return null;
         }
 
-        boolean first = true;
-        for (int i = 0; i < originalDirtyState.length; i++) {
-            if (flushers[i] != null) {
-                Object newState = originalDirtyState[i];
-                DirtyAttributeFlusher flusher = flushers[i].getDirtyFlusher(context, updatableProxy, initialState[i], newState);
-
-                if (flusher == null) {
-                    flushers[i] = null;
-                } else {
-                    flushers[i] = flusher;
-
-                    if (first) {
-                        first = false;
-                    }
-                }
+        boolean dirty;
+        if (originalDirtyState.length <= 64) {
+            dirty = updateFlushers(context, updatableProxy, flushers, initialState, originalDirtyState, updatableProxy.$$_getSimpleDirty(), 0);
+        } else {
+            dirty = false;
+            long[] dirtyMasks = updatableProxy.$$_getDirty();
+            for (int i = 0; i < dirtyMasks.length; i++) {
+                dirty |= updateFlushers(context, updatableProxy, flushers, initialState, originalDirtyState, dirtyMasks[i], i << 6);
             }
         }
 
         // If nothing is dirty, we don't have to do anything
-        if (first) {
+        if (!dirty) {
             return null;
         }
 
@@ -1286,4 +1323,18 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         return flushers;
     }
 
+    private boolean updateFlushers(UpdateContext context, MutableStateTrackable updatableProxy, DirtyAttributeFlusher[] flushers, Object[] initialState, Object[] originalDirtyState, long dirtyMask, int offset) {
+        boolean dirty = false;
+        // Only visit the attributes for which a bit is set in the dirty mask
+        for (; dirtyMask != 0L; dirtyMask &= dirtyMask - 1) {
+            int i = offset + Long.numberOfTrailingZeros(dirtyMask);
+            if (flushers[i] != null) {
+                DirtyAttributeFlusher flusher = flushers[i].getDirtyFlusher(context, updatableProxy, initialState[i], originalDirtyState[i]);
+                flushers[i] = flusher;
+                dirty |= flusher != null;
+            }
+        }
+        return dirty;
+    }
+
 }
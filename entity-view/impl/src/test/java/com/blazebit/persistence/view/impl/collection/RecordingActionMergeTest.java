@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class RecordingActionMergeTest {
+
+    @Test
+    public void testConsecutiveAddsAreMerged() {
+        RecordingList<String> list = new RecordingList<>(new ArrayList<String>(), false, Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), true, false, false);
+        list.add("o1");
+        list.add("o2");
+        list.addAll(Arrays.asList("o3", "o4"));
+        Assert.assertEquals(1, list.getActions().size());
+        Assert.assertEquals(Arrays.<Object>asList("o1", "o2", "o3", "o4"), new ArrayList<>(list.getActions().get(0).getAddedObjects()));
+    }
+
+    @Test
+    public void testConsecutiveSetRemovesAreMerged() {
+        RecordingSet<Set<String>, String> set = new RecordingSet<Set<String>, String>(new HashSet<>(Arrays.asList("o1", "o2", "o3")), false, Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), true, false, false);
+        set.remove("o1");
+        set.remove("o2");
+        Assert.assertEquals(1, set.getActions().size());
+        Assert.assertEquals(2, set.getActions().get(0).getRemovedObjects().size());
+    }
+
+    @Test
+    public void testConsecutivePutsAreMerged() {
+        RecordingMap<Map<String, String>, String, String> map = new RecordingMap<Map<String, String>, String, String>(new HashMap<String, String>(), false, Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), true, false, false);
+        map.put("k1", "v1");
+        map.put("k2", "v2");
+        map.put("k3", "v3");
+        List<MapAction<Map<String, String>>> actions = map.getActions();
+        Assert.assertEquals(1, actions.size());
+        Assert.assertTrue(actions.get(0) instanceof MapPutAllAction<?, ?, ?>);
+        Assert.assertEquals(3, actions.get(0).getAddedKeys().size());
+    }
+
+    @Test
+    public void testPutsAreNotMergedWhenOptimizing() {
+        RecordingMap<Map<String, String>, String, String> map = new RecordingMap<Map<String, String>, String, String>(new HashMap<String, String>(), false, Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), true, true, false);
+        map.put("k1", "v1");
+        map.put("k2", "v2");
+        List<MapAction<Map<String, String>>> actions = map.getActions();
+        Assert.assertEquals(2, actions.size());
+        Assert.assertTrue(actions.get(0) instanceof MapPutAction<?, ?, ?>);
+        Assert.assertTrue(actions.get(1) instanceof MapPutAction<?, ?, ?>);
+    }
+
+    @Test
+    public void testPutForSameKeyIsNotMerged() {
+        RecordingMap<Map<String, String>, String, String> map = new RecordingMap<Map<String, String>, String, String>(new HashMap<String, String>(), false, Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), Collections.<Class<?>>emptySet(), true, false, false);
+        map.put("k1", "v1");
+        map.put("k1", "v2");
+        Assert.assertEquals(2, map.getActions().size());
+    }
+}
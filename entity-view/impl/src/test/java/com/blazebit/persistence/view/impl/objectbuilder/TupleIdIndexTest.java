@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class TupleIdIndexTest {
+
+    @Test
+    public void longIds() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 0 }, 1);
+        TupleIndexValue[] values = new TupleIndexValue[1000];
+        // Exceed the initial capacity to cover resizing
+        for (int i = 0; i < values.length; i++) {
+            assertTrue(index.probe(new Object[]{ (long) i * 1024 }));
+            assertNull(index.get());
+            values[i] = value();
+            index.put(values[i]);
+        }
+        for (int i = 0; i < values.length; i++) {
+            assertTrue(index.probe(new Object[]{ (long) i * 1024 }));
+            assertSame(values[i], index.get());
+        }
+        assertFalse(index.probe(new Object[]{ null }));
+    }
+
+    @Test
+    public void uuidIds() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 1 }, 4);
+        UUID id1 = new UUID(1L, 2L);
+        UUID id2 = new UUID(2L, 1L);
+        TupleIndexValue value1 = value();
+        TupleIndexValue value2 = value();
+        assertTrue(index.probe(new Object[]{ "a", id1 }));
+        index.put(value1);
+        assertTrue(index.probe(new Object[]{ "b", id2 }));
+        assertNull(index.get());
+        index.put(value2);
+        assertTrue(index.probe(new Object[]{ "c", new UUID(1L, 2L) }));
+        assertSame(value1, index.get());
+    }
+
+    @Test
+    public void fallbackOnUnexpectedIdType() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 0 }, 4);
+        TupleIndexValue value1 = value();
+        TupleIndexValue value2 = value();
+        assertTrue(index.probe(new Object[]{ 1 }));
+        index.put(value1);
+        assertTrue(index.probe(new Object[]{ "1" }));
+        assertNull(index.get());
+        index.put(value2);
+        assertTrue(index.probe(new Object[]{ 1 }));
+        assertSame(value1, index.get());
+        assertTrue(index.probe(new Object[]{ "1" }));
+        assertSame(value2, index.get());
+    }
+
+    @Test
+    public void compositeIds() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 0, 1 }, 4);
+        TupleIndexValue value = value();
+        assertTrue(index.probe(new Object[]{ 1L, 2L }));
+        index.put(value);
+        assertTrue(index.probe(new Object[]{ 1L, 2L }));
+        assertSame(value, index.get());
+        assertTrue(index.probe(new Object[]{ 1L, null }));
+        assertNull(index.get());
+        assertFalse(index.probe(new Object[]{ null, null }));
+    }
+
+    private static TupleIndexValue value() {
+        return new TupleIndexValue(new Object(), new Object[]{ null }, 0, 1);
+    }
+}
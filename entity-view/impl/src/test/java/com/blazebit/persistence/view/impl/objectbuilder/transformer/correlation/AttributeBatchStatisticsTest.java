@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class AttributeBatchStatisticsTest {
+
+    private static final long THRESHOLD = 1000L;
+
+    @Test
+    public void testBatchSizeShrinksToDistinctKeys() {
+        AttributeBatchStatistics statistics = new AttributeBatchStatistics(true, 128, THRESHOLD);
+        Assert.assertEquals(4, statistics.getBatchSize(20, 3));
+        Assert.assertEquals(2, statistics.getBatchSize(20, 1));
+        Assert.assertEquals(20, statistics.getBatchSize(20, 30));
+    }
+
+    @Test
+    public void testBatchSizeGrowsForFastLoadsUpToLimit() {
+        AttributeBatchStatistics statistics = new AttributeBatchStatistics(true, 16, THRESHOLD);
+        int batchSize = statistics.getBatchSize(4, 100);
+        Assert.assertEquals(4, batchSize);
+        statistics.recordLoad(batchSize, 100, 25, 25 * (THRESHOLD - 1));
+
+        batchSize = statistics.getBatchSize(4, 100);
+        Assert.assertEquals(8, batchSize);
+        statistics.recordLoad(batchSize, 100, 13, 13 * (THRESHOLD - 1));
+
+        batchSize = statistics.getBatchSize(4, 100);
+        Assert.assertEquals(16, batchSize);
+        statistics.recordLoad(batchSize, 100, 7, 7 * (THRESHOLD - 1));
+
+        Assert.assertEquals(16, statistics.getBatchSize(4, 100));
+        // A grown batch size still shrinks to the distinct keys of a load
+        Assert.assertEquals(4, statistics.getBatchSize(4, 3));
+    }
+
+    @Test
+    public void testGrownBatchSizeShrinksForSlowLoads() {
+        AttributeBatchStatistics statistics = new AttributeBatchStatistics(true, 16, THRESHOLD);
+        statistics.recordLoad(4, 100, 25, 0);
+        statistics.recordLoad(8, 100, 13, 0);
+        Assert.assertEquals(16, statistics.getBatchSize(4, 100));
+
+        statistics.recordLoad(16, 100, 7, 7 * THRESHOLD);
+        Assert.assertEquals(8, statistics.getBatchSize(4, 100));
+    }
+
+    @Test
+    public void testBatchSizeDoesNotGrowForSlowLoadsOrSingleBatches() {
+        AttributeBatchStatistics statistics = new AttributeBatchStatistics(true, 16, THRESHOLD);
+        statistics.recordLoad(4, 100, 25, 25 * THRESHOLD);
+        Assert.assertEquals(4, statistics.getBatchSize(4, 100));
+        statistics.recordLoad(4, 4, 1, 0);
+        Assert.assertEquals(4, statistics.getBatchSize(4, 100));
+    }
+
+    @Test
+    public void testNonAdaptiveUsesConfiguredBatchSize() {
+        AttributeBatchStatistics statistics = new AttributeBatchStatistics(false, 16, THRESHOLD);
+        Assert.assertEquals(20, statistics.getBatchSize(20, 3));
+        // Distinct keys aren't counted when the batch size isn't adaptive
+        statistics.recordLoad(4, -1, 25, 0);
+        Assert.assertEquals(4, statistics.getBatchSize(4, -1));
+        Assert.assertEquals(0, statistics.getCorrelationKeyCount());
+    }
+}
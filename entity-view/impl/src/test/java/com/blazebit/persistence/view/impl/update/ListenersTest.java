@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.update;
+
+import com.blazebit.persistence.view.ViewTransition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class ListenersTest {
+
+    @Test
+    public void testPersistSupersedesUpdate() {
+        Assert.assertEquals(ViewTransition.PERSIST, Listeners.getCoalescedViewTransition(EnumSet.allOf(ViewTransition.class), EnumSet.of(ViewTransition.PERSIST, ViewTransition.UPDATE)));
+    }
+
+    @Test
+    public void testRemoveSupersedesPersistAndUpdate() {
+        Assert.assertEquals(ViewTransition.REMOVE, Listeners.getCoalescedViewTransition(EnumSet.allOf(ViewTransition.class), EnumSet.allOf(ViewTransition.class)));
+    }
+
+    @Test
+    public void testUpdateListenerReceivesCoalescedPersistAndUpdate() {
+        Assert.assertEquals(ViewTransition.UPDATE, Listeners.getCoalescedViewTransition(EnumSet.of(ViewTransition.UPDATE), EnumSet.of(ViewTransition.PERSIST, ViewTransition.UPDATE)));
+    }
+
+    @Test
+    public void testPersistListenerReceivesCoalescedPersistAndRemove() {
+        Assert.assertEquals(ViewTransition.PERSIST, Listeners.getCoalescedViewTransition(EnumSet.of(ViewTransition.PERSIST), EnumSet.of(ViewTransition.PERSIST, ViewTransition.REMOVE)));
+    }
+
+    @Test
+    public void testListenerNotInvokedForOtherTransitions() {
+        Assert.assertNull(Listeners.getCoalescedViewTransition(EnumSet.of(ViewTransition.REMOVE), EnumSet.of(ViewTransition.PERSIST, ViewTransition.UPDATE)));
+    }
+}
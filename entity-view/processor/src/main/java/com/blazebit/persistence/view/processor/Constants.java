@@ -49,6 +49,8 @@ public final class Constants {
     public static final String ENTITY_VIEW_SETTING = "com.blazebit.persistence.view.EntityViewSetting";
 
     public static final String ENTITY_VIEW = "com.blazebit.persistence.view.EntityView";
+    public static final String ENTITY_VIEW_LISTENER = "com.blazebit.persistence.view.EntityViewListener";
+    public static final String ENTITY_VIEW_LISTENERS = "com.blazebit.persistence.view.EntityViewListeners";
     public static final String UPDATABLE_ENTITY_VIEW = "com.blazebit.persistence.view.UpdatableEntityView";
     public static final String CREATABLE_ENTITY_VIEW = "com.blazebit.persistence.view.CreatableEntityView";
     public static final String POST_CREATE = "com.blazebit.persistence.view.PostCreate";
@@ -31,6 +31,7 @@ import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -46,7 +47,9 @@ import java.util.concurrent.atomic.LongAdder;
  * @since 1.5.0
  */
 @SupportedAnnotationTypes({
-    Constants.ENTITY_VIEW
+    Constants.ENTITY_VIEW,
+    Constants.ENTITY_VIEW_LISTENER,
+    Constants.ENTITY_VIEW_LISTENERS
 })
 @SupportedOptions({
     EntityViewAnnotationProcessor.DEBUG_OPTION,
@@ -60,6 +63,7 @@ import java.util.concurrent.atomic.LongAdder;
     EntityViewAnnotationProcessor.GENERATE_BUILDERS,
     EntityViewAnnotationProcessor.CREATE_EMPTY_FLAT_VIEWS,
     EntityViewAnnotationProcessor.GENERATE_DEEP_CONSTANTS,
+    EntityViewAnnotationProcessor.GENERATE_INDEX,
     EntityViewAnnotationProcessor.OPTIONAL_PARAMETERS,
     EntityViewAnnotationProcessor.THREADS,
 })
@@ -76,21 +80,41 @@ public class EntityViewAnnotationProcessor extends AbstractProcessor {
     public static final String GENERATE_BUILDERS = "generateBuilders";
     public static final String CREATE_EMPTY_FLAT_VIEWS = "createEmptyFlatViews";
     public static final String GENERATE_DEEP_CONSTANTS = "generateDeepConstants";
+    public static final String GENERATE_INDEX = "generateIndex";
     public static final String OPTIONAL_PARAMETERS = "optionalParameters";
     public static final String THREADS = "threads";
 
+    private static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+    private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+
     private Context context;
+    private EntityViewIndexWriter indexWriter;
 
     @Override
     public SourceVersion getSupportedSourceVersion() {
         return SourceVersion.latest();
     }
 
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> supportedOptions = new HashSet<>(super.getSupportedOptions());
+        // The index aggregates all entity views, so the processor can only be isolating if no index is generated
+        if (context == null || context.isGenerateIndex()) {
+            supportedOptions.add(GRADLE_AGGREGATING);
+        } else {
+            supportedOptions.add(GRADLE_ISOLATING);
+        }
+        return supportedOptions;
+    }
+
     @Override
     public synchronized void init(ProcessingEnvironment processingEnvironment) {
         super.init(processingEnvironment);
 
         context = new Context(processingEnvironment);
+        if (context.isGenerateIndex()) {
+            indexWriter = new EntityViewIndexWriter(context);
+        }
         // Pre-load some type elements and initialize them
         context.getTypeElement("java.lang.Object").getEnclosedElements();
         context.getTypeElement("java.io.Serializable").getEnclosedElements();
@@ -101,10 +125,10 @@ public class EntityViewAnnotationProcessor extends AbstractProcessor {
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (!roundEnv.processingOver() && !roundEnv.errorRaised() && !annotations.isEmpty()) {
             execute(annotations, roundEnv);
-            return false;
-        } else {
-            return false;
+        } else if (roundEnv.processingOver() && !roundEnv.errorRaised() && indexWriter != null) {
+            indexWriter.write();
         }
+        return false;
     }
 
     private void execute(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
@@ -141,6 +165,8 @@ public class EntityViewAnnotationProcessor extends AbstractProcessor {
             if (isEntityView(element)) {
                 context.logMessage(Diagnostic.Kind.OTHER, "Processing annotated class " + element.toString());
                 handleRootElementAnnotationMirrors(entityViews, element);
+            } else if (indexWriter != null && isEntityViewListener(element)) {
+                indexWriter.addEntityViewListener((TypeElement) element);
             }
             discoverEntityViews(entityViews, element.getEnclosedElements());
         }
@@ -156,6 +182,9 @@ public class EntityViewAnnotationProcessor extends AbstractProcessor {
         int views = 0;
         long startTime = System.nanoTime();
         for (MetaEntityView entityView : context.getMetaEntityViews()) {
+            if (indexWriter != null) {
+                indexWriter.addEntityView(entityView);
+            }
             if (!entityView.isValid()) {
                 continue;
             }
@@ -209,6 +238,13 @@ public class EntityViewAnnotationProcessor extends AbstractProcessor {
         return false;
     }
 
+    private boolean isEntityViewListener(Element element) {
+        if (element.getKind() == ElementKind.CLASS) {
+            return TypeUtils.containsAnnotation(element, Constants.ENTITY_VIEW_LISTENER, Constants.ENTITY_VIEW_LISTENERS);
+        }
+        return false;
+    }
+
     private void handleRootElementAnnotationMirrors(List<TypeElement> entityViews, final Element element) {
         if (!ElementKind.CLASS.equals(element.getKind()) && !ElementKind.INTERFACE.equals(element.getKind())) {
             return;
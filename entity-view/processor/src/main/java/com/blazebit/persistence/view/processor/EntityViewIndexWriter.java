@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.processor;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Writes the index of entity views, entity view listeners and the generated static classes
+ * which is consumed by <code>com.blazebit.persistence.view.spi.EntityViewIndex</code>.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class EntityViewIndexWriter {
+
+    public static final String INDEX_RESOURCE = "META-INF/blaze-persistence/entity-views.properties";
+    public static final String KIND_ENTITY_VIEW = "view";
+    public static final String KIND_ENTITY_VIEW_LISTENER = "listener";
+    public static final String KIND_STATIC_METAMODEL = "metamodel";
+    public static final String KIND_STATIC_IMPLEMENTATION = "implementation";
+    public static final String KIND_STATIC_BUILDER = "builder";
+
+    private final Context context;
+    private final Map<String, Set<String>> entries = new TreeMap<>();
+
+    public EntityViewIndexWriter(Context context) {
+        this.context = context;
+    }
+
+    public void addEntityView(MetaEntityView entityView) {
+        Set<String> kinds = getKinds(entityView.getTypeElement());
+        kinds.add(KIND_ENTITY_VIEW);
+        if (entityView.isValid() && (entityView.getModifiers().contains(Modifier.ABSTRACT) || entityView.getElementKind().isInterface())) {
+            kinds.add(KIND_STATIC_METAMODEL);
+            if (context.isGenerateImplementations()) {
+                kinds.add(KIND_STATIC_IMPLEMENTATION);
+                if (context.isGenerateBuilders()) {
+                    kinds.add(KIND_STATIC_BUILDER);
+                }
+            }
+        }
+    }
+
+    public void addEntityViewListener(TypeElement typeElement) {
+        getKinds(typeElement).add(KIND_ENTITY_VIEW_LISTENER);
+    }
+
+    private Set<String> getKinds(TypeElement typeElement) {
+        String binaryName = context.getElementUtils().getBinaryName(typeElement).toString();
+        Set<String> kinds = entries.get(binaryName);
+        if (kinds == null) {
+            kinds = new TreeSet<>();
+            entries.put(binaryName, kinds);
+        }
+        return kinds;
+    }
+
+    public void write() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Filer filer = context.getProcessingEnvironment().getFiler();
+        Map<String, Set<String>> index = new TreeMap<>();
+        // For incremental compilation, we retain the entries of an existing index for types that were not compiled
+        try {
+            FileObject existingIndex = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            Properties properties = new Properties();
+            try (InputStream inputStream = existingIndex.openInputStream()) {
+                properties.load(inputStream);
+            }
+            for (String className : properties.stringPropertyNames()) {
+                TypeElement typeElement = context.getElementUtils().getTypeElement(className.replace('$', '.'));
+                if (typeElement != null && TypeUtils.containsAnnotation(typeElement, Constants.ENTITY_VIEW, Constants.ENTITY_VIEW_LISTENER, Constants.ENTITY_VIEW_LISTENERS)) {
+                    Set<String> kinds = new TreeSet<>();
+                    for (String kind : properties.getProperty(className).split(",")) {
+                        kinds.add(kind.trim());
+                    }
+                    index.put(className, kinds);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Ignore, there is no existing index or the filer does not support reading it
+        }
+        index.putAll(entries);
+
+        try {
+            FileObject fileObject = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            try (OutputStream os = fileObject.openOutputStream(); Writer writer = new OutputStreamWriter(os, StandardCharsets.ISO_8859_1)) {
+                for (Map.Entry<String, Set<String>> entry : index.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('=');
+                    boolean first = true;
+                    for (String kind : entry.getValue()) {
+                        if (first) {
+                            first = false;
+                        } else {
+                            writer.write(',');
+                        }
+                        writer.write(kind);
+                    }
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            context.logMessage(Diagnostic.Kind.ERROR, "Problem writing the entity view index " + INDEX_RESOURCE + ": " + ex.getMessage());
+        }
+    }
+}
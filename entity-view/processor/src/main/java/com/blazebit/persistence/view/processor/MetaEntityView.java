@@ -121,7 +121,7 @@ public interface MetaEntityView {
 
     String getSafeTypeVariable(String typeVariable);
 
-    int getDefaultDirtyMask();
+    long getDefaultDirtyMask();
 
     boolean hasCustomEqualsOrHashCodeMethod();
 
@@ -98,7 +98,7 @@ public class AnnotationMetaEntityView implements MetaEntityView {
     private final boolean creatable;
     private final boolean allSupportDirtyTracking;
     private final int mutableAttributeCount;
-    private final int defaultDirtyMask;
+    private final long defaultDirtyMask;
     private final boolean hasEmptyConstructor;
     private final boolean hasSelfConstructor;
     private final boolean hasSubviews;
@@ -287,7 +287,7 @@ public class AnnotationMetaEntityView implements MetaEntityView {
         }
 
         int dirtyStateIndex = 0;
-        int defaultDirtyMask = 0;
+        long defaultDirtyMask = 0L;
         int index = 0;
         if (idMember != null) {
             idMember.setAttributeIndex(index);
@@ -304,7 +304,7 @@ public class AnnotationMetaEntityView implements MetaEntityView {
                     value.setDirtyStateIndex(dirtyStateIndex);
                     if (!value.supportsDirtyTracking()) {
                         allSupportDirtyTracking = false;
-                        defaultDirtyMask |= 1 << dirtyStateIndex;
+                        defaultDirtyMask |= 1L << dirtyStateIndex;
                     }
                     dirtyStateIndex++;
                 }
@@ -526,7 +526,7 @@ public class AnnotationMetaEntityView implements MetaEntityView {
     }
 
     @Override
-    public int getDefaultDirtyMask() {
+    public long getDefaultDirtyMask() {
         return defaultDirtyMask;
     }
 
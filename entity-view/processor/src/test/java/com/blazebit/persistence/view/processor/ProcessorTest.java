@@ -28,6 +28,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 
 /**
  * @author Christian Beikov
@@ -53,6 +54,15 @@ public class ProcessorTest {
         Assert.assertEquals("Test", obj.getPostLoadName());
     }
 
+    @Test
+    public void testIndex() {
+        Compilation compilation = test(AView.class);
+        CompilationSubject.assertThat(compilation)
+                .generatedFile(StandardLocation.CLASS_OUTPUT, EntityViewIndexWriter.INDEX_RESOURCE)
+                .contentsAsUtf8String()
+                .contains(AView.class.getName() + "=builder,implementation,metamodel,view");
+    }
+
     private Compilation test(Class<?>... views) {
         Compiler compiler = Compiler.javac().withProcessors(new EntityViewAnnotationProcessor());
         JavaFileObject[] javaFileObjects = new JavaFileObject[views.length];
@@ -40,6 +40,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -151,6 +152,7 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
             private final Map<Class<?>, Map<Class<?>, Class<?>>> typeConverters;
             private final Map<Class<?>, Class<?>> basicUserTypes;
             private final Set<EntityViewMappingEqualityWrapper> entityViewMappings;
+            private final Executor postCommitListenerExecutor;
 
             private EntityViewConfigurationEqualityWrapper(EntityViewConfiguration cfg) {
                 this.properties = cfg.getProperties();
@@ -166,6 +168,7 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
                 this.entityViewMappings = cfg.getEntityViewMappings().stream()
                         .map(mapping -> new EntityViewMappingEqualityWrapper(mapping.getEntityViewClass(), mapping.getFlushMode(), mapping.getFlushStrategy(), mapping.getVersionAttribute() != null))
                         .collect(Collectors.toSet());
+                this.postCommitListenerExecutor = cfg.getPostCommitListenerExecutor();
             }
 
             @Override
@@ -177,12 +180,13 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
                         optionalParameters.equals(that.optionalParameters) &&
                         typeConverters.equals(that.typeConverters) &&
                         basicUserTypes.equals(that.basicUserTypes) &&
-                        entityViewMappings.equals(that.entityViewMappings);
+                        entityViewMappings.equals(that.entityViewMappings) &&
+                        Objects.equals(postCommitListenerExecutor, that.postCommitListenerExecutor);
             }
 
             @Override
             public int hashCode() {
-                return Objects.hash(properties, optionalParameters, typeConverters, basicUserTypes, entityViewMappings);
+                return Objects.hash(properties, optionalParameters, typeConverters, basicUserTypes, entityViewMappings, postCommitListenerExecutor);
             }
         }
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.basic;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.FindAllDocumentView;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonView;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class FindAllTest extends AbstractEntityViewTest {
+
+    private Document doc1;
+    private Document doc2;
+    private Document doc3;
+    private EntityViewManager evm;
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+
+            @Override
+            public void work(EntityManager em) {
+                Person o1 = new Person("pers1");
+                Person o2 = new Person("pers2");
+                em.persist(o1);
+                em.persist(o2);
+
+                doc1 = new Document("doc1", o1);
+                doc2 = new Document("doc2", o1);
+                doc3 = new Document("doc3", o2);
+                em.persist(doc1);
+                em.persist(doc2);
+                em.persist(doc3);
+                o1.setPartnerDocument(doc1);
+                o2.setPartnerDocument(doc2);
+            }
+        });
+    }
+
+    @Before
+    public void setUp() {
+        doc1 = cbf.create(em, Document.class).where("name").eq("doc1").getSingleResult();
+        doc2 = cbf.create(em, Document.class).where("name").eq("doc2").getSingleResult();
+        doc3 = cbf.create(em, Document.class).where("name").eq("doc3").getSingleResult();
+        evm = build(FindAllDocumentView.class, PersonView.class);
+    }
+
+    @Test
+    public void testFindAllPreservesOrderAndReturnsNullForMisses() {
+        List<FindAllDocumentView> views = evm.findAll(em, FindAllDocumentView.class, Arrays.asList(doc3.getId(), -1L, doc1.getId(), null, doc3.getId()));
+
+        assertEquals(5, views.size());
+        assertEquals("doc3", views.get(0).getName());
+        assertNull(views.get(1));
+        assertEquals("doc1", views.get(2).getName());
+        assertNull(views.get(3));
+        assertSame(views.get(0), views.get(4));
+        assertEquals(1, views.get(2).getPartners().size());
+    }
+
+    @Test
+    public void testFindAllWithMultipleChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i < 2500; i++) {
+            ids.add(-i - 1);
+        }
+        ids.add(1200, doc2.getId());
+        ids.add(doc1.getId());
+        List<FindAllDocumentView> views = evm.findAll(em, FindAllDocumentView.class, ids);
+
+        assertEquals(ids.size(), views.size());
+        assertEquals("doc2", views.get(1200).getName());
+        assertEquals(1, views.get(1200).getPartners().size());
+        assertEquals("doc1", views.get(ids.size() - 1).getName());
+        assertEquals(1, views.get(ids.size() - 1).getPartners().size());
+        assertNull(views.get(0));
+    }
+
+    @Test
+    public void testFindAllEmpty() {
+        assertTrue(evm.findAll(em, FindAllDocumentView.class, Collections.emptyList()).isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.cache;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.cache.model.CacheableCorrelationDocumentView;
+import com.blazebit.persistence.view.testsuite.cache.model.PersonView;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class CacheableCorrelationTest extends AbstractEntityViewTest {
+
+    private Document doc1;
+    private Document doc2;
+    private EntityViewManager evm;
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+
+            @Override
+            public void work(EntityManager em) {
+                doc1 = new Document("doc1");
+                doc2 = new Document("doc2");
+                Person o1 = new Person("pers1");
+                Person o2 = new Person("pers2");
+                doc1.setOwner(o1);
+                doc2.setOwner(o2);
+
+                em.persist(o1);
+                em.persist(o2);
+                em.persist(doc1);
+                em.persist(doc2);
+            }
+        });
+    }
+
+    @Before
+    public void setUp() {
+        doc1 = cbf.create(em, Document.class).where("name").eq("doc1").fetch("owner").getSingleResult();
+        doc2 = cbf.create(em, Document.class).where("name").eq("doc2").fetch("owner").getSingleResult();
+        evm = build(CacheableCorrelationDocumentView.class, PersonView.class);
+    }
+
+    @Test
+    public void testCorrelationIsCached() {
+        List<CacheableCorrelationDocumentView> first = getResultList();
+        List<CacheableCorrelationDocumentView> second = getResultList();
+
+        assertNotSame(first.get(0), second.get(0));
+        assertSame(first.get(0).getCorrelatedOwner(), second.get(0).getCorrelatedOwner());
+        assertSame(first.get(1).getCorrelatedOwner(), second.get(1).getCorrelatedOwner());
+        assertEquals(doc1.getOwner().getName(), second.get(0).getCorrelatedOwner().getName());
+        assertEquals(doc2.getOwner().getName(), second.get(1).getCorrelatedOwner().getName());
+    }
+
+    @Test
+    public void testUpdateStatementEvicts() {
+        CacheableCorrelationDocumentView first = getResultList().get(0);
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Person.class)
+                        .set("name", "pers1-updated")
+                        .where("id").eq(doc1.getOwner().getId())
+                        .executeUpdate();
+            }
+        });
+        em.clear();
+        CacheableCorrelationDocumentView second = getResultList().get(0);
+
+        assertNotSame(first.getCorrelatedOwner(), second.getCorrelatedOwner());
+        assertEquals("pers1-updated", second.getCorrelatedOwner().getName());
+    }
+
+    @Test
+    public void testSettingWithFetchesBypassesCache() {
+        CacheableCorrelationDocumentView first = getResultList().get(0);
+        EntityViewSetting<CacheableCorrelationDocumentView, CriteriaBuilder<CacheableCorrelationDocumentView>> setting = EntityViewSetting.create(CacheableCorrelationDocumentView.class);
+        setting.fetch("correlatedOwner.name");
+        CacheableCorrelationDocumentView second = evm.applySetting(setting, cbf.create(em, Document.class).orderByAsc("name")).getResultList().get(0);
+
+        assertNotSame(first.getCorrelatedOwner(), second.getCorrelatedOwner());
+        assertSame(first.getCorrelatedOwner(), getResultList().get(0).getCorrelatedOwner());
+    }
+
+    private List<CacheableCorrelationDocumentView> getResultList() {
+        return evm.applySetting(EntityViewSetting.create(CacheableCorrelationDocumentView.class), cbf.create(em, Document.class).orderByAsc("name")).getResultList();
+    }
+}
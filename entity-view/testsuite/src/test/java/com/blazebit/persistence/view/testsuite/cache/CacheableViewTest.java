@@ -0,0 +1,287 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.cache;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoFirebird;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoH2;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMSSQL;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMySQL;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOracle;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoSQLite;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.IdHolderCTE;
+import com.blazebit.persistence.testsuite.entity.IntIdEntity;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.entity.Version;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.cache.model.CacheableDocumentView;
+import com.blazebit.persistence.view.testsuite.cache.model.PersonView;
+import com.blazebit.persistence.view.testsuite.cache.model.UpdatableCacheDocumentView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class CacheableViewTest extends AbstractEntityViewTest {
+
+    private Document doc1;
+    private EntityViewManager evm;
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return concat(super.getEntityClasses(), new Class<?>[] {
+            IdHolderCTE.class
+        });
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+
+            @Override
+            public void work(EntityManager em) {
+                doc1 = new Document("doc1");
+                Person o1 = new Person("pers1", 64);
+                doc1.setAge(10);
+                doc1.setOwner(o1);
+
+                em.persist(o1);
+                em.persist(doc1);
+            }
+        });
+    }
+
+    @Before
+    public void setUp() {
+        doc1 = cbf.create(em, Document.class).fetch("owner").getSingleResult();
+        evm = build(CacheableDocumentView.class, PersonView.class, UpdatableCacheDocumentView.class);
+    }
+
+    @Test
+    public void testFindIsCached() {
+        CacheableDocumentView first = evm.find(em, CacheableDocumentView.class, doc1.getId());
+        CacheableDocumentView second = evm.find(em, CacheableDocumentView.class, doc1.getId());
+
+        assertSame(first, second);
+        assertEquals(doc1.getOwner().getName(), second.getOwner().getName());
+    }
+
+    @Test
+    public void testSettingWithParametersBypassesCache() {
+        CacheableDocumentView first = evm.find(em, CacheableDocumentView.class, doc1.getId());
+        EntityViewSetting<CacheableDocumentView, CriteriaBuilder<CacheableDocumentView>> setting = EntityViewSetting.create(CacheableDocumentView.class);
+        setting.addOptionalParameter("param", 1);
+        CacheableDocumentView second = evm.find(em, setting, doc1.getId());
+
+        assertNotSame(first, second);
+        assertSame(first, evm.find(em, CacheableDocumentView.class, doc1.getId()));
+    }
+
+    @Test
+    public void testRootUpdateStatementEvicts() {
+        CacheableDocumentView first = evm.find(em, CacheableDocumentView.class, doc1.getId());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Document.class)
+                        .set("name", "doc1-updated")
+                        .where("id").eq(doc1.getId())
+                        .executeUpdate();
+            }
+        });
+        em.clear();
+        CacheableDocumentView second = evm.find(em, CacheableDocumentView.class, doc1.getId());
+
+        assertNotSame(first, second);
+        assertEquals("doc1-updated", second.getName());
+    }
+
+    @Test
+    public void testUpdateQueryEvicts() {
+        CacheableDocumentView first = evm.find(em, CacheableDocumentView.class, doc1.getId());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Document.class)
+                        .set("name", "doc1-query-updated")
+                        .where("id").eq(doc1.getId())
+                        .getQuery()
+                        .executeUpdate();
+            }
+        });
+        em.clear();
+        CacheableDocumentView second = evm.find(em, CacheableDocumentView.class, doc1.getId());
+
+        assertNotSame(first, second);
+        assertEquals("doc1-query-updated", second.getName());
+    }
+
+    // NOTE: Currently only PostgreSQL and DB2 support returning from within a CTE
+    @Test
+    @Category({ NoH2.class, NoOracle.class, NoMSSQL.class, NoSQLite.class, NoFirebird.class, NoMySQL.class, NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testModificationCteEvicts() {
+        CacheableDocumentView first = evm.find(em, CacheableDocumentView.class, doc1.getId());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                CriteriaBuilder<Document> cb = cbf.create(em, Document.class);
+                cb.withReturning(IdHolderCTE.class)
+                    .update(Document.class, "updatedDoc")
+                    .set("name", "doc1-cte-updated")
+                    .where("updatedDoc.id").eq(doc1.getId())
+                    .returning("id", "id")
+                .end();
+                cb.from(Document.class, "doc");
+                cb.from(IdHolderCTE.class, "idHolder");
+                cb.where("doc.id").eqExpression("idHolder.id");
+                cb.getResultList();
+            }
+        });
+        em.clear();
+        CacheableDocumentView second = evm.find(em, CacheableDocumentView.class, doc1.getId());
+
+        assertNotSame(first, second);
+        assertEquals("doc1-cte-updated", second.getName());
+    }
+
+    @Test
+    public void testNestedUpdateStatementEvicts() {
+        CacheableDocumentView first = evm.find(em, CacheableDocumentView.class, doc1.getId());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Person.class)
+                        .set("name", "pers1-updated")
+                        .where("id").eq(doc1.getOwner().getId())
+                        .executeUpdate();
+            }
+        });
+        em.clear();
+        CacheableDocumentView second = evm.find(em, CacheableDocumentView.class, doc1.getId());
+
+        assertNotSame(first, second);
+        assertEquals("pers1-updated", second.getOwner().getName());
+    }
+
+    @Test
+    public void testSaveEvicts() {
+        CacheableDocumentView first = evm.find(em, CacheableDocumentView.class, doc1.getId());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                UpdatableCacheDocumentView view = evm.find(em, UpdatableCacheDocumentView.class, doc1.getId());
+                view.setName("doc1-saved");
+                evm.save(em, view);
+            }
+        });
+        em.clear();
+        CacheableDocumentView second = evm.find(em, CacheableDocumentView.class, doc1.getId());
+
+        assertNotSame(first, second);
+        assertEquals("doc1-saved", second.getName());
+    }
+
+    @Test
+    public void testResultListIsCached() {
+        List<CacheableDocumentView> first = evm.getResultList(cacheableSetting(), cbf.create(em, Document.class));
+        List<CacheableDocumentView> second = evm.getResultList(cacheableSetting(), cbf.create(em, Document.class));
+
+        assertSame(first, second);
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    public void testResultListOfDifferentParameterNotShared() {
+        List<CacheableDocumentView> first = evm.getResultList(cacheableSetting(), cbf.create(em, Document.class).where("age").eq(10L));
+        List<CacheableDocumentView> second = evm.getResultList(cacheableSetting(), cbf.create(em, Document.class).where("age").eq(11L));
+
+        assertEquals(1, first.size());
+        assertEquals(0, second.size());
+    }
+
+    @Test
+    public void testResultListEvictedByJoinGraphEntity() {
+        List<CacheableDocumentView> first = evm.getResultList(cacheableSetting(), versionQuery());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, IntIdEntity.class)
+                        .set("value", 1)
+                        .executeUpdate();
+            }
+        });
+        assertSame(first, evm.getResultList(cacheableSetting(), versionQuery()));
+
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Version.class)
+                        .set("url", "url")
+                        .executeUpdate();
+            }
+        });
+        assertNotSame(first, evm.getResultList(cacheableSetting(), versionQuery()));
+    }
+
+    @Test
+    public void testResultListEvictedBySave() {
+        List<CacheableDocumentView> first = evm.getResultList(cacheableSetting(), cbf.create(em, Document.class));
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                UpdatableCacheDocumentView view = evm.find(em, UpdatableCacheDocumentView.class, doc1.getId());
+                view.setName("doc1-list-saved");
+                evm.save(em, view);
+            }
+        });
+        em.clear();
+        List<CacheableDocumentView> second = evm.getResultList(cacheableSetting(), cbf.create(em, Document.class));
+
+        assertNotSame(first, second);
+        assertEquals("doc1-list-saved", second.get(0).getName());
+    }
+
+    private CriteriaBuilder<Document> versionQuery() {
+        return cbf.create(em, Document.class)
+                .leftJoin("versions", "v")
+                .where("v.url").isNull();
+    }
+
+    private static EntityViewSetting<CacheableDocumentView, CriteriaBuilder<CacheableDocumentView>> cacheableSetting() {
+        EntityViewSetting<CacheableDocumentView, CriteriaBuilder<CacheableDocumentView>> setting = EntityViewSetting.create(CacheableDocumentView.class);
+        setting.setCacheable(true);
+        return setting;
+    }
+}
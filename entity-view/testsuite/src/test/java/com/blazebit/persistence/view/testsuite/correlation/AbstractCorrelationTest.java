@@ -21,6 +21,7 @@ import com.blazebit.persistence.testsuite.tx.TxVoidWork;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViewSetting;
 import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.CorrelationEntityManagerProvider;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
 import com.blazebit.persistence.view.testsuite.correlation.model.DocumentCorrelationView;
 import com.blazebit.persistence.view.testsuite.correlation.model.SimpleDocumentCorrelatedView;
@@ -34,6 +35,7 @@ import org.junit.Before;
 import javax.persistence.EntityManager;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.assertEquals;
 
@@ -90,6 +92,10 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
     }
 
     protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize) {
+        testCorrelation(entityView, batchSize, null);
+    }
+
+    protected <T extends DocumentCorrelationView> EntityViewManager testCorrelation(Class<T> entityView, Integer batchSize, Executor correlationExecutor) {
         EntityViewManager evm = build(
                 entityView,
                 SimpleDocumentCorrelatedView.class,
@@ -102,6 +108,20 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
         if (batchSize != null) {
             setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE + ".ownerRelatedDocumentIds", batchSize);
         }
+        if (correlationExecutor != null) {
+            setting.setProperty(ConfigurationProperties.CORRELATION_EXECUTOR, correlationExecutor);
+            setting.setProperty(ConfigurationProperties.CORRELATION_ENTITY_MANAGER_PROVIDER, new CorrelationEntityManagerProvider() {
+                @Override
+                public EntityManager acquire() {
+                    return emf.createEntityManager();
+                }
+
+                @Override
+                public void release(EntityManager entityManager) {
+                    entityManager.close();
+                }
+            });
+        }
         CriteriaBuilder<T> cb = evm.applySetting(setting, criteria);
         List<T> results = cb.getResultList();
 
@@ -190,6 +210,7 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
         assertEquals(0, results.get(3).getThisCorrelatedEmptyIdList().size());
         assertEquals(0, results.get(3).getThisCorrelatedEmptyEntityList().size());
         assertEquals(0, results.get(3).getThisCorrelatedEmptyViewList().size());
+        return evm;
     }
 
     private void assertExistsByName(String expectedName, Collection<SimpleDocumentCorrelatedView> views) {
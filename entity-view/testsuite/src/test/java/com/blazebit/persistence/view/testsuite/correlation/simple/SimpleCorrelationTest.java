@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.view.testsuite.correlation.simple;
 
+import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus4;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
@@ -23,16 +24,36 @@ import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.spi.CorrelationBatchStatistics;
 import com.blazebit.persistence.view.testsuite.correlation.AbstractCorrelationTest;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimpleDocumentCorrelatedView;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimplePersonCorrelatedSubView;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimpleVersionCorrelatedView;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewJoinId;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewJoinNormal;
+import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSharedSingular;
+import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSharedSingularAndCollection;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSubqueryId;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSubqueryNormal;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSubselectId;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSubselectNormal;
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
 /**
  *
  * @author Christian Beikov
@@ -40,6 +61,11 @@ import org.junit.experimental.categories.Category;
  */
 public class SimpleCorrelationTest extends AbstractCorrelationTest {
 
+    @After
+    public void tearDown() {
+        disableQueryCollecting();
+    }
+
     @Test
     // NOTE: Datenucleus issue: https://github.com/datanucleus/datanucleus-api-jpa/issues/77
     @Category({ NoDatanucleus.class })
@@ -96,6 +122,98 @@ public class SimpleCorrelationTest extends AbstractCorrelationTest {
         testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 20);
     }
 
+    @Test
+    // NOTE: Datenucleus issue: https://github.com/datanucleus/datanucleus-api-jpa/issues/77
+    @Category({ NoDatanucleus.class })
+    public void testSubqueryCorrelationNormalConcurrent() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            testCorrelation(DocumentSimpleCorrelationViewSubqueryNormal.class, null, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationIdSize2Concurrent() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 2, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCorrelationExecutorRequiresEntityManagerProvider() {
+        EntityViewManager evm = build(DocumentSimpleCorrelationViewSubqueryNormal.class, SimpleDocumentCorrelatedView.class, SimplePersonCorrelatedSubView.class, SimpleVersionCorrelatedView.class);
+        EntityViewSetting<DocumentSimpleCorrelationViewSubqueryNormal, CriteriaBuilder<DocumentSimpleCorrelationViewSubqueryNormal>> setting = EntityViewSetting.create(DocumentSimpleCorrelationViewSubqueryNormal.class);
+        setting.setProperty(ConfigurationProperties.CORRELATION_EXECUTOR, (Executor) Runnable::run);
+        try {
+            evm.applySetting(setting, cbf.create(em, Document.class, "d"));
+            Assert.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationAdaptiveSize() {
+        EntityViewManager evm = testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 20, null);
+        CorrelationBatchStatistics.AttributeStatistics statistics = evm.getService(CorrelationBatchStatistics.class)
+                .getAttributeStatistics(DocumentSimpleCorrelationViewSubqueryId.class, "ownerRelatedDocumentIds");
+
+        // The 4 documents fit into a batch of size 4, so a VALUES clause with 20 elements isn't necessary
+        assertEquals(4, statistics.getLastBatchSize());
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryCorrelationSharedBySingularSiblings() {
+        List<DocumentSimpleCorrelationViewSharedSingular> results = getResultListWithBatchSize20(DocumentSimpleCorrelationViewSharedSingular.class);
+
+        // The root query and a single correlation query for both siblings
+        assertQueryCount(2);
+        assertEquals(4, results.size());
+        assertEquals(doc1.getOwner().getId(), results.get(0).getCorrelatedOwnerId());
+        assertEquals(doc1.getOwner().getName(), results.get(0).getCorrelatedOwnerName());
+        assertEquals(doc2.getOwner().getId(), results.get(1).getCorrelatedOwnerId());
+        assertEquals(doc2.getOwner().getName(), results.get(1).getCorrelatedOwnerName());
+        assertEquals(doc4.getOwner().getId(), results.get(3).getCorrelatedOwnerId());
+        assertEquals(doc4.getOwner().getName(), results.get(3).getCorrelatedOwnerName());
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryCorrelationSharedBySingularAndCollectionSiblings() {
+        List<DocumentSimpleCorrelationViewSharedSingularAndCollection> results = getResultListWithBatchSize20(DocumentSimpleCorrelationViewSharedSingularAndCollection.class);
+
+        // The root query and a single correlation query for both siblings
+        assertQueryCount(2);
+        assertEquals(4, results.size());
+        assertEquals(doc1.getOwner().getId(), results.get(0).getCorrelatedOwnerId());
+        assertEquals(Collections.singleton(doc1.getOwner().getName()), results.get(0).getCorrelatedOwnerNames());
+        assertEquals(doc2.getOwner().getId(), results.get(1).getCorrelatedOwnerId());
+        assertEquals(Collections.singleton(doc2.getOwner().getName()), results.get(1).getCorrelatedOwnerNames());
+        assertEquals(doc4.getOwner().getId(), results.get(3).getCorrelatedOwnerId());
+        assertEquals(Collections.singleton(doc4.getOwner().getName()), results.get(3).getCorrelatedOwnerNames());
+    }
+
+    private <T> List<T> getResultListWithBatchSize20(Class<T> entityView) {
+        EntityViewManager evm = build(entityView);
+        EntityViewSetting<T, CriteriaBuilder<T>> setting = EntityViewSetting.create(entityView);
+        setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE, 20);
+        CriteriaBuilder<T> cb = evm.applySetting(setting, cbf.create(em, Document.class, "d").orderByAsc("id"));
+        enableQueryCollecting();
+        return cb.getResultList();
+    }
+
     // TODO: test batch correlation expectation configuration
     // TODO: make explicit test for correlation key batching with view root usage maybe via nested subviews through collections?
 
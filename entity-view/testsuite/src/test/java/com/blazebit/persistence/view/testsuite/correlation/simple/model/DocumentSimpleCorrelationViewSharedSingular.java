@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.correlation.simple.model;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.FetchStrategy;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.MappingCorrelatedSimple;
+
+/**
+ * Sibling attributes with singular results that share the same correlation.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@EntityView(Document.class)
+public interface DocumentSimpleCorrelationViewSharedSingular {
+
+    @IdMapping
+    public Long getId();
+
+    @MappingCorrelatedSimple(correlationBasis = "owner.id", correlationResult = "id", correlated = Person.class, correlationExpression = "id IN correlationKey", fetch = FetchStrategy.SELECT)
+    public Long getCorrelatedOwnerId();
+
+    @MappingCorrelatedSimple(correlationBasis = "owner.id", correlationResult = "name", correlated = Person.class, correlationExpression = "id IN correlationKey", fetch = FetchStrategy.SELECT)
+    public String getCorrelatedOwnerName();
+
+}
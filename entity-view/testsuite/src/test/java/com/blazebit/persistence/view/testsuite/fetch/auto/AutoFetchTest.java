@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.fetch.auto;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.FetchStrategy;
+import com.blazebit.persistence.view.metamodel.ViewType;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.fetch.auto.model.DocumentAutoFetchView;
+import com.blazebit.persistence.view.testsuite.fetch.auto.model.DocumentSingleCollectionAutoFetchView;
+import com.blazebit.persistence.view.testsuite.fetch.auto.model.PersonAutoFetchView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class AutoFetchTest extends AbstractEntityViewTest {
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Document doc1 = new Document("doc1");
+
+                Person o1 = new Person("pers1");
+                Person o2 = new Person("pers2");
+                Person o3 = new Person("pers3");
+
+                doc1.setOwner(o1);
+                doc1.getPeople().add(o1);
+                doc1.getPeople().add(o2);
+                doc1.getPeopleCollectionBag().add(o3);
+
+                em.persist(o1);
+                em.persist(o2);
+                em.persist(o3);
+
+                em.persist(doc1);
+
+                o2.setPartnerDocument(doc1);
+                o3.setPartnerDocument(doc1);
+            }
+        });
+    }
+
+    @Test
+    public void testResolveAutoFetchStrategy() {
+        EntityViewManager evm = build(DocumentAutoFetchView.class, PersonAutoFetchView.class);
+        ViewType<?> viewType = evm.getMetamodel().view(DocumentAutoFetchView.class);
+        FetchStrategy relocatedFetchStrategy = dbmsDialect.supportsArbitraryLengthMultiset() ? FetchStrategy.MULTISET : FetchStrategy.SUBSELECT;
+
+        assertEquals(FetchStrategy.JOIN, viewType.getAttribute("owner").getFetchStrategy());
+        // Indexed lists can't be relocated
+        assertEquals(FetchStrategy.JOIN, viewType.getAttribute("people").getFetchStrategy());
+        assertEquals(relocatedFetchStrategy, viewType.getAttribute("partners").getFetchStrategy());
+        assertEquals(relocatedFetchStrategy, viewType.getAttribute("peopleCollectionBag").getFetchStrategy());
+    }
+
+    @Test
+    public void testResolveAutoFetchStrategySingleCollection() {
+        EntityViewManager evm = build(DocumentSingleCollectionAutoFetchView.class, PersonAutoFetchView.class);
+        ViewType<?> viewType = evm.getMetamodel().view(DocumentSingleCollectionAutoFetchView.class);
+
+        assertEquals(FetchStrategy.JOIN, viewType.getAttribute("partners").getFetchStrategy());
+        assertEquals(FetchStrategy.SELECT, viewType.getAttribute("peopleCollectionBag").getFetchStrategy());
+    }
+
+    @Test
+    // NOTE: Eclipselink and Datanucleus don't support the single valued id access optimization which causes a cyclic join dependency
+    @Category({ NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class })
+    public void testAutoFetch() {
+        EntityViewManager evm = build(DocumentAutoFetchView.class, PersonAutoFetchView.class);
+
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d").orderByAsc("id");
+        CriteriaBuilder<DocumentAutoFetchView> cb = evm.applySetting(EntityViewSetting.create(DocumentAutoFetchView.class), criteria);
+        List<DocumentAutoFetchView> results = cb.getResultList();
+
+        assertEquals(1, results.size());
+        DocumentAutoFetchView view = results.get(0);
+        assertEquals("pers1", view.getOwner().getName());
+        assertEquals(2, view.getPeople().size());
+        assertEquals(2, view.getPartners().size());
+        assertEquals(1, view.getPeopleCollectionBag().size());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.fetch.auto.model;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.FetchStrategy;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.Mapping;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@EntityView(Document.class)
+public interface DocumentAutoFetchView {
+
+    @IdMapping
+    public Long getId();
+
+    public String getName();
+
+    @Mapping(fetch = FetchStrategy.AUTO)
+    public PersonAutoFetchView getOwner();
+
+    @Mapping(fetch = FetchStrategy.AUTO)
+    public List<PersonAutoFetchView> getPeople();
+
+    @Mapping(fetch = FetchStrategy.AUTO)
+    public Set<PersonAutoFetchView> getPartners();
+
+    @Mapping(fetch = FetchStrategy.AUTO)
+    public Collection<PersonAutoFetchView> getPeopleCollectionBag();
+
+}
@@ -265,6 +265,66 @@ public class InheritanceTest extends AbstractEntityViewTest {
         assertSubviewEquals(doc6.getPartners(), docView6.getPartners());
     }
 
+    @Test
+    @Category({ NoDatanucleus.class })
+    public void inheritanceQueryPrunedSubtypes() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d")
+            .orderByAsc("id");
+        EntityViewSetting<DocumentBaseView, CriteriaBuilder<DocumentBaseView>> setting = EntityViewSetting.create(DocumentBaseView.class)
+            .withInheritanceSubtype(NewSub1DocumentView.class)
+            .withInheritanceSubtype(NewSub2DocumentView.class);
+        CriteriaBuilder<DocumentBaseView> cb = evm.applySetting(setting, criteria);
+        // The attributes of the pruned subtypes must not be part of the query
+        assertFalse(cb.getQueryString().contains("partners"));
+        List<DocumentBaseView> results = cb.getResultList();
+
+        assertEquals(3, results.size());
+        assertTypeMatches(results.get(0), evm, DocumentBaseView.class, NewSub1DocumentView.class);
+        assertTypeMatches(results.get(1), evm, DocumentBaseView.class, NewSub1DocumentView.class);
+        assertTypeMatches(results.get(2), evm, DocumentBaseView.class, NewSub2DocumentView.class);
+
+        NewSub1DocumentView docView1 = (NewSub1DocumentView) results.get(0);
+        NewSub1DocumentView docView2 = (NewSub1DocumentView) results.get(1);
+        NewSub2DocumentView docView3 = (NewSub2DocumentView) results.get(2);
+
+        assertDocumentEquals(doc1, docView1);
+        assertDocumentEquals(doc2, docView2);
+        assertDocumentEquals(doc3, docView3);
+
+        assertSubviewEquals(doc1.getContacts().values(), docView1.getContacts());
+        assertVersionsEquals(doc1.getVersions(), docView1.getVersionIds());
+        assertSubviewEquals(doc2.getContacts().values(), docView2.getContacts());
+        assertVersionsEquals(doc2.getVersions(), docView2.getVersionIds());
+        assertEquals(doc3.getDefaultContact(), docView3.getDefaultContact());
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class })
+    public void inheritanceQueryPrunedSubtypesFallbackToSuperType() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d")
+            .orderByAsc("id");
+        EntityViewSetting<DocumentBaseView, CriteriaBuilder<DocumentBaseView>> setting = EntityViewSetting.create(DocumentBaseView.class)
+            .withInheritanceSubtype(DocumentBaseView.class)
+            .withInheritanceSubtype(UsedOldDocumentView.class);
+        CriteriaBuilder<DocumentBaseView> cb = evm.applySetting(setting, criteria);
+        assertFalse(cb.getQueryString().contains("versions"));
+        List<DocumentBaseView> results = cb.getResultList();
+
+        // Objects of pruned subtypes are materialized as the most specific considered super type
+        assertEquals(6, results.size());
+        assertTypeMatches(results.get(0), evm, DocumentBaseView.class, DocumentBaseView.class);
+        assertTypeMatches(results.get(1), evm, DocumentBaseView.class, DocumentBaseView.class);
+        assertTypeMatches(results.get(2), evm, DocumentBaseView.class, DocumentBaseView.class);
+        assertTypeMatches(results.get(3), evm, DocumentBaseView.class, DocumentBaseView.class);
+        assertTypeMatches(results.get(4), evm, DocumentBaseView.class, UsedOldDocumentView.class);
+        assertTypeMatches(results.get(5), evm, DocumentBaseView.class, DocumentBaseView.class);
+
+        UsedOldDocumentView docView5 = (UsedOldDocumentView) results.get(4);
+        assertDocumentEquals(doc5, docView5);
+        assertSubviewEquals(doc5.getContacts().values(), docView5.getContacts());
+        assertSubviewEquals(doc5.getPartners(), docView5.getPartners());
+    }
+
     public static <T> void assertTypeMatches(T o, EntityViewManager evm, Class<T> baseType, Class<? extends T> subtype) {
         String name = o.getClass().getName();
         if (name.endsWith("_")) {
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.lazy;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.CacheableCorrelation;
+import com.blazebit.persistence.view.CacheableView;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.FetchStrategy;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.LazyFetch;
+import com.blazebit.persistence.view.MappingCorrelatedSimple;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.IdHolderView;
+import com.blazebit.persistence.view.testsuite.lazy.model.LazyDocumentView;
+import com.blazebit.persistence.view.testsuite.lazy.model.PersonView;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class LazyFetchTest extends AbstractEntityViewTest {
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+
+            @Override
+            public void work(EntityManager em) {
+                Document doc1 = new Document("doc1");
+                Document doc2 = new Document("doc2");
+                Person o1 = new Person("pers1");
+                Person o2 = new Person("pers2");
+                Person p1 = new Person("partner1");
+                Person p2 = new Person("partner2");
+                doc1.setOwner(o1);
+                doc2.setOwner(o2);
+                p1.setPartnerDocument(doc1);
+                p2.setPartnerDocument(doc1);
+
+                em.persist(o1);
+                em.persist(o2);
+                em.persist(doc1);
+                em.persist(doc2);
+                em.persist(p1);
+                em.persist(p2);
+            }
+        });
+    }
+
+    @Test
+    public void testLazyAttributesAreLoadedOnAccess() {
+        EntityViewManager evm = build(LazyDocumentView.class, PersonView.class);
+        List<LazyDocumentView> results = getResultList(evm);
+
+        assertEquals(2, results.size());
+        assertEquals("pers1", results.get(0).getCorrelatedOwner().getName());
+        assertEquals("pers2", results.get(1).getCorrelatedOwner().getName());
+        assertEquals(new HashSet<>(Arrays.asList("partner1", "partner2")), results.get(0).getPartnerNames());
+        assertEquals(Collections.emptySet(), results.get(1).getPartnerNames());
+    }
+
+    @Test
+    public void testLazyAttributesAreNotLoadedWithQuery() {
+        EntityViewManager evm = build(LazyDocumentView.class, PersonView.class);
+        List<LazyDocumentView> results = getResultList(evm);
+
+        // Changes that happen after the query are visible because the correlated attribute is loaded on first access
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Person.class)
+                        .set("name", "pers2-updated")
+                        .where("name").eq("pers2")
+                        .executeUpdate();
+            }
+        });
+        em.clear();
+
+        try {
+            assertEquals("pers1", results.get(0).getCorrelatedOwner().getName());
+            assertEquals("pers2-updated", results.get(1).getCorrelatedOwner().getName());
+        } finally {
+            transactional(new TxVoidWork() {
+                @Override
+                public void work(EntityManager em) {
+                    cbf.update(em, Person.class)
+                            .set("name", "pers2")
+                            .where("name").eq("pers2-updated")
+                            .executeUpdate();
+                }
+            });
+        }
+    }
+
+    @EntityView(Document.class)
+    public interface InvalidLazyDocumentView {
+
+        @IdMapping
+        public Long getId();
+
+        @LazyFetch
+        public String getName();
+    }
+
+    @Test
+    public void testLazyRequiresSelectCorrelation() {
+        try {
+            build(InvalidLazyDocumentView.class);
+            Assert.fail("Expected validation exception!");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("Only correlated attributes that use the SELECT fetch strategy can be lazy"));
+        }
+    }
+
+    @CacheableView
+    @EntityView(Document.class)
+    public interface CacheableLazyDocumentView extends LazyDocumentView {
+    }
+
+    @Test
+    public void testLazyNotAllowedInCacheableView() {
+        try {
+            build(CacheableLazyDocumentView.class, PersonView.class);
+            Assert.fail("Expected validation exception!");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("Lazy attributes can't be used in cacheable entity views"));
+        }
+    }
+
+    @EntityView(Person.class)
+    public interface CacheableCorrelationPersonView extends IdHolderView<Long> {
+
+        @CacheableCorrelation
+        @MappingCorrelatedSimple(
+                correlationBasis = "id",
+                correlated = Document.class,
+                correlationExpression = "owner.id IN correlationKey",
+                fetch = FetchStrategy.SELECT
+        )
+        public Set<LazyDocumentView> getOwnedDocuments();
+    }
+
+    @Test
+    public void testLazyNotAllowedInCacheableCorrelationResult() {
+        try {
+            build(CacheableCorrelationPersonView.class, LazyDocumentView.class, PersonView.class);
+            Assert.fail("Expected validation exception!");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("Lazy attributes can't be used in objects that are cached"));
+        }
+    }
+
+    private List<LazyDocumentView> getResultList(EntityViewManager evm) {
+        return evm.applySetting(EntityViewSetting.create(LazyDocumentView.class), cbf.create(em, Document.class).orderByAsc("name")).getResultList();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.lazy.model;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.FetchStrategy;
+import com.blazebit.persistence.view.LazyFetch;
+import com.blazebit.persistence.view.MappingCorrelatedSimple;
+import com.blazebit.persistence.view.testsuite.basic.model.IdHolderView;
+
+import java.util.Set;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@EntityView(Document.class)
+public interface LazyDocumentView extends IdHolderView<Long> {
+
+    public String getName();
+
+    @LazyFetch
+    @MappingCorrelatedSimple(
+            correlationBasis = "owner.id",
+            correlated = Person.class,
+            correlationExpression = "id IN correlationKey",
+            fetch = FetchStrategy.SELECT
+    )
+    public PersonView getCorrelatedOwner();
+
+    @LazyFetch
+    @MappingCorrelatedSimple(
+            correlationBasis = "id",
+            correlated = Person.class,
+            correlationExpression = "partnerDocument.id IN correlationKey",
+            correlationResult = "name",
+            fetch = FetchStrategy.SELECT
+    )
+    public Set<String> getPartnerNames();
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.limit;
+
+import com.blazebit.persistence.impl.CriteriaBuilderConfigurationImpl;
+import com.blazebit.persistence.impl.dialect.MariaDBDbmsDialect;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.spi.DbmsDialect;
+import com.blazebit.persistence.spi.LateralStyle;
+import com.blazebit.persistence.testsuite.DelegatingDbmsDialect;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.limit.model.DocumentLimitView;
+import com.blazebit.persistence.view.testsuite.limit.model.PersonLimitOffsetSelectView;
+import com.blazebit.persistence.view.testsuite.limit.model.PersonLimitView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the limit of correlated collections on a DBMS that, like MariaDB, supports neither lateral joins nor LIMIT in quantified predicate subqueries.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public class LimitWithoutLateralTest extends AbstractEntityViewTest {
+
+    private static final DbmsDialect MARIADB_DIALECT = new MariaDBDbmsDialect();
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        DbmsDialect dbmsDialect = ((CriteriaBuilderConfigurationImpl) config).getDbmsDialects().get(dbms);
+        if (dbmsDialect == null) {
+            dbmsDialect = ((CriteriaBuilderConfigurationImpl) config).getDbmsDialects().get(null);
+        }
+        config.registerDialect(dbms, new DelegatingDbmsDialect(dbmsDialect) {
+            @Override
+            public LateralStyle getLateralStyle() {
+                return MARIADB_DIALECT.getLateralStyle();
+            }
+
+            @Override
+            public boolean supportsLimitInQuantifiedPredicateSubquery() {
+                return MARIADB_DIALECT.supportsLimitInQuantifiedPredicateSubquery();
+            }
+        });
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person o1 = new Person("pers1");
+                Document doc1 = new Document("doc1", o1);
+                doc1.setAge(10);
+                Document doc2 = new Document("doc2", o1);
+                doc2.setAge(5);
+                Document doc3 = new Document("doc3", o1);
+                doc3.setAge(10);
+                Person o2 = new Person("pers2");
+                Document doc4 = new Document("doc4", o2);
+                doc4.setAge(7);
+                Document doc5 = new Document("doc5", o2);
+                doc5.setAge(3);
+
+                em.persist(o1);
+                em.persist(o2);
+                em.persist(doc1);
+                em.persist(doc2);
+                em.persist(doc3);
+                em.persist(doc4);
+                em.persist(doc5);
+            }
+        });
+    }
+
+    @Test
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    // EclipseLink doesn't support subqueries in functions which is required for LIMIT
+    // Datanucleus fails because of a NPE?
+    // OpenJPA has no function support
+    public void testLimitSelectBatch1() {
+        test(PersonLimitOffsetSelectView.class, 1);
+    }
+
+    @Test
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    // EclipseLink doesn't support subqueries in functions which is required for LIMIT
+    // Datanucleus fails because of a NPE?
+    // OpenJPA has no function support
+    public void testLimitSelectBatch2Fails() {
+        try {
+            test(PersonLimitOffsetSelectView.class, 2);
+            fail("Expected querying to fail!");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage().contains("batch size 1"));
+        }
+    }
+
+    private void test(Class<? extends PersonLimitView> clazz, int batchSize) {
+        EntityViewManager evm = build(DocumentLimitView.class, clazz);
+        String prop = ConfigurationProperties.DEFAULT_BATCH_SIZE + ".ownedDocuments";
+        List<? extends PersonLimitView> list = evm.applySetting(EntityViewSetting.create(clazz).withProperty(prop, batchSize), cbf.create(em, Person.class, "p").orderByAsc("p.name")).getResultList();
+        assertEquals(2, list.size());
+        assertEquals(2, list.get(0).getOwnedDocuments().size());
+        assertEquals("doc1", list.get(0).getOwnedDocuments().get(0).getName());
+        assertEquals("doc3", list.get(0).getOwnedDocuments().get(1).getName());
+        assertEquals(1, list.get(1).getOwnedDocuments().size());
+        assertEquals("doc4", list.get(1).getOwnedDocuments().get(0).getName());
+    }
+}
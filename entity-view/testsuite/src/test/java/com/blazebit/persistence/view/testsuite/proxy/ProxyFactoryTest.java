@@ -22,6 +22,9 @@ import com.blazebit.persistence.view.ConfigurationProperties;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViews;
 import com.blazebit.persistence.view.SerializableEntityViewManager;
+import com.blazebit.persistence.view.change.ChangeModel;
+import com.blazebit.persistence.view.change.SingularChangeModel;
+import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
@@ -29,16 +32,21 @@ import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
 import com.blazebit.persistence.view.impl.proxy.TupleConstructorReflectionInstantiator;
 import com.blazebit.persistence.view.metamodel.FlatViewType;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.MethodAttribute;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import com.blazebit.persistence.view.metamodel.ViewType;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.spi.type.DirtyTracker;
+import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentClassView;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentCreateView;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentCreateViewWithPrimitiveArray;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentInterfaceView;
+import com.blazebit.persistence.view.testsuite.proxy.model.DocumentPrimitiveView;
 import com.blazebit.persistence.view.testsuite.proxy.model.NameObjectView;
 import com.blazebit.persistence.view.testsuite.proxy.model.UnsafeDocumentClassView;
+import com.blazebit.persistence.view.testsuite.proxy.model.WideUpdatableDocumentView;
 import com.blazebit.reflection.ReflectionUtils;
 import org.junit.Test;
 
@@ -48,6 +56,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -75,6 +84,7 @@ public class ProxyFactoryTest extends AbstractEntityViewTest {
                 DocumentClassView.class,
                 UnsafeDocumentClassView.class,
                 DocumentCreateView.class,
+                DocumentPrimitiveView.class,
                 NameObjectView.class
         ).getMetamodel();
     }
@@ -286,6 +296,38 @@ public class ProxyFactoryTest extends AbstractEntityViewTest {
         assertAttribute(proxyClass, "name", Modifier.PRIVATE | Modifier.FINAL, String.class);
     }
 
+    @Test
+    public void testReadOnlyPrimitiveProxyStructure() throws Exception {
+        ViewType<DocumentPrimitiveView> viewType = getViewMetamodel().view(DocumentPrimitiveView.class);
+        Class<? extends DocumentPrimitiveView> proxyClass = proxyFactory.getProxy(evm, (ManagedViewTypeImplementor<DocumentPrimitiveView>) viewType);
+
+        // 3 Fields, 2 static field for EntityViewManager, 1 field for EntityViewProxy kind
+        assertEquals(6, proxyClass.getDeclaredFields().length);
+        assertAttribute(proxyClass, "id", Modifier.PRIVATE | Modifier.FINAL, Long.class);
+        assertAttribute(proxyClass, "age", Modifier.PRIVATE | Modifier.FINAL, long.class);
+        assertAttribute(proxyClass, "idx", Modifier.PRIVATE | Modifier.FINAL, int.class);
+
+        DocumentPrimitiveView instance = proxyClass.getDeclaredConstructor(Long.class, long.class, int.class).newInstance(1L, 2L, 3);
+        assertEquals(2L, instance.getAge());
+        assertEquals(3, instance.getIdx());
+    }
+
+    @Test
+    public void testReadOnlyFlatViewProxyStructure() throws Exception {
+        FlatViewType<NameObjectView> viewType = getViewMetamodel().flatView(NameObjectView.class);
+        Class<? extends NameObjectView> proxyClass = proxyFactory.getProxy(evm, (ManagedViewTypeImplementor<NameObjectView>) viewType);
+
+        // 1 Field, 2 static field for EntityViewManager, no field for EntityViewProxy kind
+        assertEquals(3, proxyClass.getDeclaredFields().length);
+        assertAttribute(proxyClass, "primaryName", Modifier.PRIVATE | Modifier.FINAL, String.class);
+
+        NameObjectView instance = proxyClass.getConstructor(String.class).newInstance("test");
+        EntityViewProxy proxy = (EntityViewProxy) instance;
+        proxy.$$_setIsReference(true);
+        assertFalse(proxy.$$_isReference());
+        assertFalse(proxy.$$_isNew());
+    }
+
     @Test
     public void testProxyCreateInitialization() throws Exception {
         ViewType<DocumentCreateView> viewType = getViewMetamodel().view(DocumentCreateView.class);
@@ -343,6 +385,67 @@ public class ProxyFactoryTest extends AbstractEntityViewTest {
         proxyFactory.getProxy(evm, (ManagedViewTypeImplementor<DocumentCreateViewWithPrimitiveArray>) viewType);
     }
 
+    @Test
+    public void testWideMutableProxyDirtyTracking() {
+        EntityViewManager evm = build(entityViewConfiguration, WideUpdatableDocumentView.class);
+        ManagedViewType<WideUpdatableDocumentView> viewType = evm.getMetamodel().managedView(WideUpdatableDocumentView.class);
+        int lowIndex = ((AbstractMethodAttribute<?, ?>) viewType.getAttribute("name1")).getDirtyStateIndex();
+        int midIndex = ((AbstractMethodAttribute<?, ?>) viewType.getAttribute("name33")).getDirtyStateIndex();
+        int highIndex = ((AbstractMethodAttribute<?, ?>) viewType.getAttribute("name65")).getDirtyStateIndex();
+        WideUpdatableDocumentView instance = evm.getReference(WideUpdatableDocumentView.class, 1L);
+        DirtyTracker dirtyTracker = (DirtyTracker) instance;
+
+        instance.setName33("test");
+        instance.setName65("test");
+
+        assertTrue(dirtyTracker.$$_isDirty());
+        assertFalse(dirtyTracker.$$_isDirty(lowIndex));
+        assertTrue(dirtyTracker.$$_isDirty(midIndex));
+        assertTrue(dirtyTracker.$$_isDirty(highIndex));
+        long[] dirty = dirtyTracker.$$_getDirty();
+        assertEquals(2, dirty.length);
+        assertEquals(1L << midIndex, dirty[midIndex >>> 6] & (1L << midIndex));
+        assertEquals(1L << highIndex, dirty[highIndex >>> 6] & (1L << highIndex));
+        assertEquals(2, Long.bitCount(dirty[0]) + Long.bitCount(dirty[1]));
+
+        dirtyTracker.$$_resetDirty();
+        assertFalse(dirtyTracker.$$_isDirty());
+        dirtyTracker.$$_setDirty(dirty);
+        assertTrue(dirtyTracker.$$_isDirty(highIndex));
+    }
+
+    @Test
+    public void testWideMutableViewChangeModel() throws Exception {
+        EntityViewManager evm = build(entityViewConfiguration, WideUpdatableDocumentView.class);
+        ManagedViewType<WideUpdatableDocumentView> viewType = evm.getMetamodel().managedView(WideUpdatableDocumentView.class);
+        // Find an attribute of the second mask and the attribute with the same bit in the first mask
+        String highName = null;
+        int highIndex = -1;
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            int index = ((AbstractMethodAttribute<?, ?>) attribute).getDirtyStateIndex();
+            if (index >= 64) {
+                highName = attribute.getName();
+                highIndex = index;
+                break;
+            }
+        }
+        String lowName = null;
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            if (((AbstractMethodAttribute<?, ?>) attribute).getDirtyStateIndex() == highIndex - 64) {
+                lowName = attribute.getName();
+            }
+        }
+        WideUpdatableDocumentView instance = evm.getReference(WideUpdatableDocumentView.class, 1L);
+        WideUpdatableDocumentView.class.getMethod("set" + Character.toUpperCase(highName.charAt(0)) + highName.substring(1), String.class).invoke(instance, "test");
+
+        SingularChangeModel<WideUpdatableDocumentView> changeModel = evm.getChangeModel(instance);
+        List<ChangeModel<?>> dirtyChanges = changeModel.getDirtyChanges();
+        assertEquals(1, dirtyChanges.size());
+        assertEquals("test", dirtyChanges.get(0).getCurrentState());
+        assertTrue(changeModel.get(highName).isDirty());
+        assertFalse(changeModel.get(lowName).isDirty());
+    }
+
     @Test
     public void close() throws NoSuchFieldException, IllegalAccessException {
         // Given
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.proxy.model;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.Mapping;
+import com.blazebit.persistence.view.UpdatableEntityView;
+
+/**
+ * A view with more than 64 mutable attributes to test dirty tracking that spans multiple bit masks.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@UpdatableEntityView
+@EntityView(Document.class)
+public interface WideUpdatableDocumentView {
+
+    @IdMapping
+    public Long getId();
+
+    @Mapping("name")
+    public String getName0();
+    public void setName0(String name0);
+
+    @Mapping("name")
+    public String getName1();
+    public void setName1(String name1);
+
+    @Mapping("name")
+    public String getName2();
+    public void setName2(String name2);
+
+    @Mapping("name")
+    public String getName3();
+    public void setName3(String name3);
+
+    @Mapping("name")
+    public String getName4();
+    public void setName4(String name4);
+
+    @Mapping("name")
+    public String getName5();
+    public void setName5(String name5);
+
+    @Mapping("name")
+    public String getName6();
+    public void setName6(String name6);
+
+    @Mapping("name")
+    public String getName7();
+    public void setName7(String name7);
+
+    @Mapping("name")
+    public String getName8();
+    public void setName8(String name8);
+
+    @Mapping("name")
+    public String getName9();
+    public void setName9(String name9);
+
+    @Mapping("name")
+    public String getName10();
+    public void setName10(String name10);
+
+    @Mapping("name")
+    public String getName11();
+    public void setName11(String name11);
+
+    @Mapping("name")
+    public String getName12();
+    public void setName12(String name12);
+
+    @Mapping("name")
+    public String getName13();
+    public void setName13(String name13);
+
+    @Mapping("name")
+    public String getName14();
+    public void setName14(String name14);
+
+    @Mapping("name")
+    public String getName15();
+    public void setName15(String name15);
+
+    @Mapping("name")
+    public String getName16();
+    public void setName16(String name16);
+
+    @Mapping("name")
+    public String getName17();
+    public void setName17(String name17);
+
+    @Mapping("name")
+    public String getName18();
+    public void setName18(String name18);
+
+    @Mapping("name")
+    public String getName19();
+    public void setName19(String name19);
+
+    @Mapping("name")
+    public String getName20();
+    public void setName20(String name20);
+
+    @Mapping("name")
+    public String getName21();
+    public void setName21(String name21);
+
+    @Mapping("name")
+    public String getName22();
+    public void setName22(String name22);
+
+    @Mapping("name")
+    public String getName23();
+    public void setName23(String name23);
+
+    @Mapping("name")
+    public String getName24();
+    public void setName24(String name24);
+
+    @Mapping("name")
+    public String getName25();
+    public void setName25(String name25);
+
+    @Mapping("name")
+    public String getName26();
+    public void setName26(String name26);
+
+    @Mapping("name")
+    public String getName27();
+    public void setName27(String name27);
+
+    @Mapping("name")
+    public String getName28();
+    public void setName28(String name28);
+
+    @Mapping("name")
+    public String getName29();
+    public void setName29(String name29);
+
+    @Mapping("name")
+    public String getName30();
+    public void setName30(String name30);
+
+    @Mapping("name")
+    public String getName31();
+    public void setName31(String name31);
+
+    @Mapping("name")
+    public String getName32();
+    public void setName32(String name32);
+
+    @Mapping("name")
+    public String getName33();
+    public void setName33(String name33);
+
+    @Mapping("name")
+    public String getName34();
+    public void setName34(String name34);
+
+    @Mapping("name")
+    public String getName35();
+    public void setName35(String name35);
+
+    @Mapping("name")
+    public String getName36();
+    public void setName36(String name36);
+
+    @Mapping("name")
+    public String getName37();
+    public void setName37(String name37);
+
+    @Mapping("name")
+    public String getName38();
+    public void setName38(String name38);
+
+    @Mapping("name")
+    public String getName39();
+    public void setName39(String name39);
+
+    @Mapping("name")
+    public String getName40();
+    public void setName40(String name40);
+
+    @Mapping("name")
+    public String getName41();
+    public void setName41(String name41);
+
+    @Mapping("name")
+    public String getName42();
+    public void setName42(String name42);
+
+    @Mapping("name")
+    public String getName43();
+    public void setName43(String name43);
+
+    @Mapping("name")
+    public String getName44();
+    public void setName44(String name44);
+
+    @Mapping("name")
+    public String getName45();
+    public void setName45(String name45);
+
+    @Mapping("name")
+    public String getName46();
+    public void setName46(String name46);
+
+    @Mapping("name")
+    public String getName47();
+    public void setName47(String name47);
+
+    @Mapping("name")
+    public String getName48();
+    public void setName48(String name48);
+
+    @Mapping("name")
+    public String getName49();
+    public void setName49(String name49);
+
+    @Mapping("name")
+    public String getName50();
+    public void setName50(String name50);
+
+    @Mapping("name")
+    public String getName51();
+    public void setName51(String name51);
+
+    @Mapping("name")
+    public String getName52();
+    public void setName52(String name52);
+
+    @Mapping("name")
+    public String getName53();
+    public void setName53(String name53);
+
+    @Mapping("name")
+    public String getName54();
+    public void setName54(String name54);
+
+    @Mapping("name")
+    public String getName55();
+    public void setName55(String name55);
+
+    @Mapping("name")
+    public String getName56();
+    public void setName56(String name56);
+
+    @Mapping("name")
+    public String getName57();
+    public void setName57(String name57);
+
+    @Mapping("name")
+    public String getName58();
+    public void setName58(String name58);
+
+    @Mapping("name")
+    public String getName59();
+    public void setName59(String name59);
+
+    @Mapping("name")
+    public String getName60();
+    public void setName60(String name60);
+
+    @Mapping("name")
+    public String getName61();
+    public void setName61(String name61);
+
+    @Mapping("name")
+    public String getName62();
+    public void setName62(String name62);
+
+    @Mapping("name")
+    public String getName63();
+    public void setName63(String name63);
+
+    @Mapping("name")
+    public String getName64();
+    public void setName64(String name64);
+
+    @Mapping("name")
+    public String getName65();
+    public void setName65(String name65);
+
+    @Mapping("name")
+    public String getName66();
+    public void setName66(String name66);
+
+    @Mapping("name")
+    public String getName67();
+    public void setName67(String name67);
+
+    @Mapping("name")
+    public String getName68();
+    public void setName68(String name68);
+
+    @Mapping("name")
+    public String getName69();
+    public void setName69(String name69);
+}
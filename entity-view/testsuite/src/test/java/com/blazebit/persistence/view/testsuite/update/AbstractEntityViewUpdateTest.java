@@ -322,6 +322,17 @@ public abstract class AbstractEntityViewUpdateTest<T> extends AbstractEntityView
         });
     }
 
+    protected void saveAll(final Collection<?> docViews) {
+        transactional(new TxVoidWork() {
+
+            @Override
+            public void work(EntityManager em) {
+                evm.saveAll(em, docViews);
+                em.flush();
+            }
+        });
+    }
+
     protected void saveWith(final Object docView, Consumer<FlushOperationBuilder> c) {
         transactional(new TxVoidWork() {
 
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.update.basic.mutable;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.OptimisticLockException;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.update.basic.AbstractEntityViewUpdateBasicCollectionsTest;
+import com.blazebit.persistence.view.testsuite.update.basic.mutable.model.UpdatableDocumentBasicWithCollectionsView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(Parameterized.class)
+// NOTE: No Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class EntityViewUpdateMutableBasicCollectionsBatchVersionCheckTest extends AbstractEntityViewUpdateBasicCollectionsTest<UpdatableDocumentBasicWithCollectionsView> {
+
+    public EntityViewUpdateMutableBasicCollectionsBatchVersionCheckTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableDocumentBasicWithCollectionsView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return new Object[][] {
+                { FlushMode.LAZY, FlushStrategy.QUERY, true },
+                { FlushMode.PARTIAL, FlushStrategy.QUERY, true }
+        };
+    }
+
+    @Override
+    protected void registerViewTypes(EntityViewConfiguration cfg) {
+        cfg.setProperty(ConfigurationProperties.UPDATER_BATCH_VERSION_CHECKS, "true");
+    }
+
+    @Test
+    public void testSaveAllBatchesVersionChecks() {
+        // Given
+        final UpdatableDocumentBasicWithCollectionsView docView1 = getDoc1View();
+        final UpdatableDocumentBasicWithCollectionsView docView2 = getDoc2View();
+        Long oldVersion1 = docView1.getVersion();
+        Long oldVersion2 = docView2.getVersion();
+        clearQueries();
+
+        // When
+        docView1.getStrings().add("newString1");
+        docView2.getStrings().add("newString2");
+        saveAll(Arrays.asList(docView1, docView2));
+
+        // Then
+        // Assert that both version increments are done with a single update statement
+        assertUnorderedQuerySequence()
+                .update(Document.class)
+                .assertInsert()
+                    .forRelation(Document.class, "strings")
+                .and()
+                .assertInsert()
+                    .forRelation(Document.class, "strings")
+                .and()
+                .validate();
+
+        assertVersionDiff(oldVersion1, docView1.getVersion(), 1, 1);
+        assertVersionDiff(oldVersion2, docView2.getVersion(), 1, 1);
+        clearPersistenceContextAndReload();
+        assertEquals(doc1.getStrings(), docView1.getStrings());
+        assertEquals(doc2.getStrings(), docView2.getStrings());
+        assertEquals(doc1.getVersion(), docView1.getVersion());
+        assertEquals(doc2.getVersion(), docView2.getVersion());
+    }
+
+    @Test
+    public void testSaveAllBatchesVersionChecksWithDifferentVersions() {
+        // Given
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.createQuery("UPDATE Document d SET d.version = d.version + 1 WHERE d.id = :id")
+                        .setParameter("id", doc2.getId())
+                        .executeUpdate();
+            }
+        });
+        final UpdatableDocumentBasicWithCollectionsView docView1 = getDoc1View();
+        final UpdatableDocumentBasicWithCollectionsView docView2 = getDoc2View();
+        Long oldVersion1 = docView1.getVersion();
+        Long oldVersion2 = docView2.getVersion();
+        assertNotEquals(oldVersion1, oldVersion2);
+        clearQueries();
+
+        // When
+        docView1.getStrings().add("newString1");
+        docView2.getStrings().add("newString2");
+        saveAll(Arrays.asList(docView1, docView2));
+
+        // Then
+        // Assert that the version increments of both versions are done with a single update statement
+        assertUnorderedQuerySequence()
+                .update(Document.class)
+                .assertInsert()
+                    .forRelation(Document.class, "strings")
+                .and()
+                .assertInsert()
+                    .forRelation(Document.class, "strings")
+                .and()
+                .validate();
+
+        assertVersionDiff(oldVersion1, docView1.getVersion(), 1, 1);
+        assertVersionDiff(oldVersion2, docView2.getVersion(), 1, 1);
+        clearPersistenceContextAndReload();
+        assertEquals(doc1.getStrings(), docView1.getStrings());
+        assertEquals(doc2.getStrings(), docView2.getStrings());
+        assertEquals(doc1.getVersion(), docView1.getVersion());
+        assertEquals(doc2.getVersion(), docView2.getVersion());
+    }
+
+    @Test
+    public void testSaveAllBatchedVersionCheckFails() {
+        // Given
+        final UpdatableDocumentBasicWithCollectionsView docView1 = getDoc1View();
+        final UpdatableDocumentBasicWithCollectionsView docView2 = getDoc2View();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.createQuery("UPDATE Document d SET d.version = d.version + 1 WHERE d.id = :id")
+                        .setParameter("id", doc2.getId())
+                        .executeUpdate();
+            }
+        });
+
+        // When
+        docView1.getStrings().add("newString1");
+        docView2.getStrings().add("newString2");
+        try {
+            saveAll(Arrays.asList(docView1, docView2));
+            fail("Expected an optimistic lock exception");
+        } catch (OptimisticLockException ex) {
+            // Expected
+        }
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertFalse(doc1.getStrings().contains("newString1"));
+        assertFalse(doc2.getStrings().contains("newString2"));
+    }
+
+    @Test
+    public void testSaveAllBatchedVersionCheckFailsReportsStaleView() {
+        // Given
+        final UpdatableDocumentBasicWithCollectionsView docView1 = getDoc1View();
+        final UpdatableDocumentBasicWithCollectionsView docView2 = getDoc2View();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.createQuery("UPDATE Document d SET d.version = d.version + 2 WHERE d.id = :id")
+                        .setParameter("id", doc2.getId())
+                        .executeUpdate();
+            }
+        });
+
+        // When
+        docView1.getStrings().add("newString1");
+        docView2.getStrings().add("newString2");
+        try {
+            saveAll(Arrays.asList(docView1, docView2));
+            fail("Expected an optimistic lock exception");
+        } catch (OptimisticLockException ex) {
+            // Then
+            assertSame(docView2, ex.getEntityView());
+            assertEquals(doc2.getId(), ((Document) ex.getEntity()).getId());
+        }
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder.assertSelect()
+                .fetching(Document.class)
+                .fetching(Document.class, "strings")
+                .and();
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder.update(Document.class);
+    }
+}
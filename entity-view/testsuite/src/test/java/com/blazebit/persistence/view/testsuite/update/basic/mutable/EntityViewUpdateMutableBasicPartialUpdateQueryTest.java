@@ -0,0 +1,201 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.update.basic.mutable;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.tx.TxWork;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import com.blazebit.persistence.view.impl.update.DefaultUpdateContext;
+import com.blazebit.persistence.view.impl.update.EntityViewUpdaterImpl;
+import com.blazebit.persistence.view.impl.update.flush.CompositeAttributeFlusher;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
+import com.blazebit.persistence.view.testsuite.proxy.model.WideUpdatableDocumentView;
+import com.blazebit.persistence.view.testsuite.update.basic.AbstractEntityViewUpdateBasicTest;
+import com.blazebit.persistence.view.testsuite.update.basic.mutable.model.UpdatableDocumentBasicView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Field;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the caching of partial update query strings by the dirty state of an updatable entity view.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(Parameterized.class)
+// NOTE: No Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class EntityViewUpdateMutableBasicPartialUpdateQueryTest extends AbstractEntityViewUpdateBasicTest<UpdatableDocumentBasicView> {
+
+    private static final long OPTIMISTIC_LOCK_BIT = 1L << 62;
+
+    public EntityViewUpdateMutableBasicPartialUpdateQueryTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableDocumentBasicView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return new Object[][] {
+                { FlushMode.LAZY, FlushStrategy.QUERY, true },
+                { FlushMode.LAZY, FlushStrategy.QUERY, false },
+                { FlushMode.PARTIAL, FlushStrategy.QUERY, true },
+                { FlushMode.PARTIAL, FlushStrategy.QUERY, false }
+        };
+    }
+
+    @Override
+    protected void registerViewTypes(EntityViewConfiguration cfg) {
+        cfg.addEntityView(WideUpdatableDocumentView.class);
+    }
+
+    @Test
+    public void testSameDirtySetReusesQueryString() throws Exception {
+        // Given
+        final UpdatableDocumentBasicView docView = getDoc1View();
+
+        // When
+        docView.setName("newDoc1");
+        long key1 = getUpdateQueryFragmentKey(UpdatableDocumentBasicView.class, docView);
+        update(docView);
+        Map<Long, String> queryStrings = getPartialUpdateQueryStrings(UpdatableDocumentBasicView.class);
+        String queryString = queryStrings.get(key1);
+        docView.setName("newDoc2");
+        long key2 = getUpdateQueryFragmentKey(UpdatableDocumentBasicView.class, docView);
+        update(docView);
+
+        // Then
+        assertEquals(key1, key2);
+        assertEquals(1, queryStrings.size());
+        assertNotNull(queryString);
+        assertSame(queryString, queryStrings.get(key2));
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc2", doc1.getName());
+    }
+
+    @Test
+    public void testDifferentDirtySetsUseDifferentKeys() throws Exception {
+        // Given
+        final UpdatableDocumentBasicView docView = getDoc1View();
+
+        // When
+        docView.setName("newDoc");
+        long nameKey = getUpdateQueryFragmentKey(UpdatableDocumentBasicView.class, docView);
+        update(docView);
+        docView.setLastModified(new Date(0));
+        long lastModifiedKey = getUpdateQueryFragmentKey(UpdatableDocumentBasicView.class, docView);
+        update(docView);
+        docView.setName("newDoc2");
+        docView.setLastModified(new Date(EPOCH_2K));
+        long bothKey = getUpdateQueryFragmentKey(UpdatableDocumentBasicView.class, docView);
+        update(docView);
+
+        // Then
+        assertNotEquals(-1L, nameKey);
+        assertNotEquals(-1L, lastModifiedKey);
+        assertNotEquals(-1L, bothKey);
+        assertNotEquals(nameKey, lastModifiedKey);
+        assertEquals(nameKey | lastModifiedKey, bothKey);
+        Map<Long, String> queryStrings = getPartialUpdateQueryStrings(UpdatableDocumentBasicView.class);
+        assertEquals(3, queryStrings.size());
+        assertFalse(queryStrings.get(nameKey).equals(queryStrings.get(lastModifiedKey)));
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc2", doc1.getName());
+    }
+
+    @Test
+    public void testOptimisticLockBit() throws Exception {
+        // Given
+        final UpdatableDocumentBasicView docView = getDoc1View();
+
+        // When
+        docView.setName("newDoc");
+        long key = getUpdateQueryFragmentKey(UpdatableDocumentBasicView.class, docView);
+
+        // Then
+        // Only a versioned view needs the version check, which results in a different query string for the same dirty set
+        assertEquals(version, (key & OPTIMISTIC_LOCK_BIT) != 0);
+        assertEquals(0L, key & ~OPTIMISTIC_LOCK_BIT & (-1L << 62));
+    }
+
+    @Test
+    public void testTooManyFlushersAreNotCached() throws Exception {
+        // Given
+        final WideUpdatableDocumentView docView = evm.find(em, WideUpdatableDocumentView.class, doc1.getId());
+
+        // When
+        docView.setName0("newDoc");
+        long key = getUpdateQueryFragmentKey(WideUpdatableDocumentView.class, docView);
+        update(docView);
+
+        // Then
+        // The key only has room for 62 attributes
+        assertEquals(-1L, key);
+        assertTrue(getPartialUpdateQueryStrings(WideUpdatableDocumentView.class).isEmpty());
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc", doc1.getName());
+    }
+
+    private EntityViewUpdaterImpl getUpdater(Class<?> viewClass) {
+        ManagedViewTypeImplementor<?> viewType = (ManagedViewTypeImplementor<?>) evm.getMetamodel().managedView(viewClass);
+        return ((EntityViewManagerImpl) evm).getUpdater(null, viewType, null, null, null);
+    }
+
+    private long getUpdateQueryFragmentKey(final Class<?> viewClass, final Object view) {
+        return transactional(new TxWork<Long>() {
+            @Override
+            public Long work(EntityManager em) {
+                DefaultUpdateContext context = new DefaultUpdateContext((EntityViewManagerImpl) evm, em, false, false, false, null, view, null);
+                CompositeAttributeFlusher fullFlusher = getUpdater(viewClass).getFullGraphNode();
+                CompositeAttributeFlusher dirtyFlusher = (CompositeAttributeFlusher) fullFlusher.getNestedDirtyFlusher(context, (MutableStateTrackable) view);
+                return dirtyFlusher.getUpdateQueryFragmentKey(fullFlusher);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, String> getPartialUpdateQueryStrings(Class<?> viewClass) throws Exception {
+        Field field = EntityViewUpdaterImpl.class.getDeclaredField("partialUpdateQueryStrings");
+        field.setAccessible(true);
+        return (Map<Long, String>) field.get(getUpdater(viewClass));
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder.assertSelect()
+                .fetching(Document.class)
+                .and();
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder.update(Document.class);
+    }
+}
@@ -68,6 +68,28 @@ public class EntityViewUpdateMutableBasicTest extends AbstractEntityViewUpdateBa
         assertEquals("newDoc", doc1.getName());
     }
 
+    @Test
+    public void testSaveAll() {
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+        Long oldVersion1 = docView1.getVersion();
+        Long oldVersion2 = docView2.getVersion();
+
+        // When
+        docView1.setName("newDoc1");
+        docView2.setName("newDoc2");
+        saveAll(Arrays.asList(docView1, docView2));
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc1", doc1.getName());
+        assertEquals("newDoc2", doc2.getName());
+        assertVersionDiff(oldVersion1, docView1.getVersion(), 1, 1);
+        assertVersionDiff(oldVersion2, docView2.getVersion(), 1, 1);
+        assertEquals(doc1.getVersion(), docView1.getVersion());
+        assertEquals(doc2.getVersion(), docView2.getVersion());
+    }
+
     @Test
     public void testSimpleUpdate() {
         // Given & When
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.update.elementcollection;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.testsuite.update.AbstractEntityViewUpdateTest;
+import com.blazebit.persistence.view.testsuite.update.elementcollection.model.TaggedDocument;
+import com.blazebit.persistence.view.testsuite.update.elementcollection.model.UpdatableTaggedDocumentView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(Parameterized.class)
+// NOTE: No EclipseLink and Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class ElementCollectionSetUpdateTest extends AbstractEntityViewUpdateTest<UpdatableTaggedDocumentView> {
+
+    private TaggedDocument doc1;
+
+    public ElementCollectionSetUpdateTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableTaggedDocumentView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return MODE_STRATEGY_VERSION_COMBINATIONS;
+    }
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return new Class<?>[] {
+            TaggedDocument.class
+        };
+    }
+
+    @Override
+    protected void prepareData(EntityManager em) {
+        doc1 = new TaggedDocument("doc1");
+        doc1.setVersion(1L);
+        doc1.getTags().addAll(Arrays.asList("a", "b", "c"));
+        em.persist(doc1);
+    }
+
+    @Test
+    public void testAddManyToSet() {
+        // Given
+        final UpdatableTaggedDocumentView docView = evm.find(em, UpdatableTaggedDocumentView.class, doc1.getId());
+        clearQueries();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            docView.getTags().add("tag" + i);
+        }
+        update(docView);
+
+        // Then
+        // All added elements are inserted with a single statement
+        if (isQueryStrategy() && !isFullMode()) {
+            AssertStatementBuilder builder = assertUnorderedQuerySequence();
+            if (version) {
+                versionUpdate(builder);
+            }
+            builder.assertInsert()
+                    .forRelation(TaggedDocument.class, "tags")
+                    .validate();
+        }
+        clearPersistenceContextAndReload();
+        assertEquals(docView.getTags(), doc1.getTags());
+    }
+
+    @Test
+    public void testRemoveFromSet() {
+        // Given
+        final UpdatableTaggedDocumentView docView = evm.find(em, UpdatableTaggedDocumentView.class, doc1.getId());
+        clearQueries();
+
+        // When
+        docView.getTags().remove("b");
+        update(docView);
+
+        // Then
+        // Only the removed element is deleted instead of recreating the whole collection
+        if (isQueryStrategy() && !isFullMode()) {
+            AssertStatementBuilder builder = assertUnorderedQuerySequence();
+            if (version) {
+                versionUpdate(builder);
+            }
+            builder.assertDelete()
+                    .forRelation(TaggedDocument.class, "tags")
+                    .validate();
+        }
+        clearPersistenceContextAndReload();
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), doc1.getTags());
+    }
+
+    @Override
+    protected void reload() {
+        doc1 = cbf.create(em, TaggedDocument.class)
+                .fetch("tags")
+                .where("id").eq(doc1.getId())
+                .getSingleResult();
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder.assertSelect()
+                .fetching(TaggedDocument.class)
+                .fetching(TaggedDocument.class, "tags")
+                .and();
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder.update(TaggedDocument.class);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.update.listener;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.spi.PostCommitListenerDispatchStatistics;
+import com.blazebit.persistence.view.testsuite.update.AbstractEntityViewUpdateDocumentTest;
+import com.blazebit.persistence.view.testsuite.update.listener.model.DocumentView;
+import com.blazebit.persistence.view.testsuite.update.listener.model.UpdatableDocumentView;
+import com.blazebit.persistence.view.testsuite.update.listener.model.UpdatablePersonView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(Parameterized.class)
+// NOTE: No Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class EntityViewUpdateAsyncPostCommitListenerTest extends AbstractEntityViewUpdateDocumentTest<UpdatableDocumentView> {
+
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "post-commit-listener");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    public EntityViewUpdateAsyncPostCommitListenerTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableDocumentView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return new Object[][] {
+                { FlushMode.LAZY, FlushStrategy.ENTITY, false },
+                { FlushMode.LAZY, FlushStrategy.QUERY, false }
+        };
+    }
+
+    @Override
+    protected void registerViewTypes(EntityViewConfiguration cfg) {
+        cfg.addEntityView(UpdatablePersonView.class);
+        cfg.addEntityView(DocumentView.class);
+        cfg.setPostCommitListenerExecutor(EXECUTOR);
+    }
+
+    @Test
+    public void testPostCommitListenerInvokedAsynchronously() throws Exception {
+        // Given
+        final UpdatableDocumentView docView = getDoc1View();
+        PostCommitListenerDispatchStatistics statistics = evm.getService(PostCommitListenerDispatchStatistics.class);
+        long dispatchedCount = statistics.getDispatchedCount();
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        AtomicBoolean entityManagerOpen = new AtomicBoolean();
+        AtomicReference<Object> listenerViewId = new AtomicReference<>();
+
+        // When
+        docView.setName("newDoc");
+        saveWith(docView, flushOperationBuilder -> {
+            flushOperationBuilder.onPostCommitUpdate(UpdatableDocumentView.class, (entityViewManager, entityManager, view, transition) -> {
+                listenerThread.set(Thread.currentThread());
+                entityManagerOpen.set(entityManager.isOpen());
+                listenerViewId.set(view.getId());
+                latch.countDown();
+            });
+        });
+
+        // Then
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), listenerThread.get());
+        assertTrue(entityManagerOpen.get());
+        assertEquals(doc1.getId(), listenerViewId.get());
+        assertEquals(dispatchedCount + 1, statistics.getDispatchedCount());
+        assertEquals(0, statistics.getCallerRunsCount());
+    }
+
+    @Test
+    public void testPostCommitListenerReceivesSnapshotOfView() throws Exception {
+        // Given
+        final UpdatableDocumentView docView = getDoc1View();
+        CountDownLatch mutated = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Object> listenerView = new AtomicReference<>();
+        AtomicReference<String> listenerViewName = new AtomicReference<>();
+
+        // When
+        docView.setName("newDoc");
+        saveWith(docView, flushOperationBuilder -> {
+            flushOperationBuilder.onPostCommitUpdate(UpdatableDocumentView.class, (entityViewManager, entityManager, view, transition) -> {
+                try {
+                    mutated.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                listenerView.set(view);
+                listenerViewName.set(view.getName());
+                latch.countDown();
+            });
+        });
+        docView.setName("changedAfterCommit");
+        mutated.countDown();
+
+        // Then
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNotSame(docView, listenerView.get());
+        assertEquals("newDoc", listenerViewName.get());
+    }
+
+    @Test
+    public void testPostCommitListenerForOtherViewTypeInvokedAsynchronously() throws Exception {
+        // Given
+        final UpdatableDocumentView docView = getDoc1View();
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        AtomicReference<Object> listenerView = new AtomicReference<>();
+        AtomicReference<String> listenerViewName = new AtomicReference<>();
+
+        // When
+        docView.setName("newDoc");
+        saveWith(docView, flushOperationBuilder -> {
+            flushOperationBuilder.onPostCommitUpdate(DocumentView.class, Document.class, (entityViewManager, entityManager, view, transition) -> {
+                listenerThread.set(Thread.currentThread());
+                listenerView.set(view);
+                listenerViewName.set(view.getName());
+                latch.countDown();
+            });
+        });
+
+        // Then
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), listenerThread.get());
+        assertTrue(listenerView.get() instanceof DocumentView);
+        assertEquals("newDoc", listenerViewName.get());
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder;
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.update.remove.cascade.nested;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.entity.Version;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.update.remove.cascade.AbstractEntityViewRemoveDocumentTest;
+import com.blazebit.persistence.view.testsuite.update.remove.cascade.nested.model.FriendPersonView;
+import com.blazebit.persistence.view.testsuite.update.remove.cascade.nested.model.UpdatableDocumentWithCollectionsView;
+import com.blazebit.persistence.view.testsuite.update.remove.cascade.nested.model.UpdatableResponsiblePersonView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(Parameterized.class)
+// NOTE: No Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class EntityViewRemoveNestedSubviewCollectionsPreloadTest extends AbstractEntityViewRemoveDocumentTest<UpdatableDocumentWithCollectionsView> {
+
+    public EntityViewRemoveNestedSubviewCollectionsPreloadTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableDocumentWithCollectionsView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return new Object[][] {
+                { FlushMode.LAZY, FlushStrategy.ENTITY, true },
+                { FlushMode.LAZY, FlushStrategy.ENTITY, false },
+                { FlushMode.FULL, FlushStrategy.ENTITY, true },
+                { FlushMode.FULL, FlushStrategy.ENTITY, false }
+        };
+    }
+
+    @Override
+    protected void registerViewTypes(EntityViewConfiguration cfg) {
+        cfg.addEntityView(UpdatableResponsiblePersonView.class);
+        cfg.addEntityView(FriendPersonView.class);
+        cfg.setProperty(ConfigurationProperties.UPDATER_PRELOAD_CASCADE_DELETE_GRAPH, "true");
+    }
+
+    @Test
+    public void testSimpleRemove() {
+        // Given
+        final UpdatableDocumentWithCollectionsView docView = getDoc1View();
+        clearQueries();
+
+        // When
+        remove(docView);
+
+        // Then
+        AssertStatementBuilder builder = assertUnorderedQuerySequence();
+        assertPreloadAndRemove(builder, false);
+
+        clearPersistenceContextAndReload();
+        assertNull(doc1);
+        assertNull(p1);
+        assertNull(p3);
+    }
+
+    @Test
+    public void testRemoveById() {
+        // Given
+        clearQueries();
+
+        // When
+        remove(UpdatableDocumentWithCollectionsView.class, doc1.getId());
+
+        // Then
+        AssertStatementBuilder builder = assertUnorderedQuerySequence();
+        assertPreloadAndRemove(builder, true);
+
+        clearPersistenceContextAndReload();
+        assertNull(doc1);
+        assertNull(p1);
+        assertNull(p3);
+    }
+
+    private void assertPreloadAndRemove(AssertStatementBuilder builder, boolean byId) {
+        // The cascade delete graph is loaded with one query per level, document.people and document.people.friend
+        builder.assertSelect()
+                .fetching(Document.class)
+                .fetching(Document.class, "people")
+                .fetching(Person.class)
+                .and()
+                .assertSelect()
+                .fetching(Person.class)
+                .fetching(Person.class)
+                .and();
+        // cascade of document.versions
+        builder.select(Version.class);
+        if (byId) {
+            // Hibernate flushes the changes done to the document because Person#1 was deleted => responsiblePerson set to NULL
+            builder.update(Document.class);
+        }
+
+        deleteDocumentOwned(builder, true);
+        deletePersonOwned(builder, false);
+        deletePersonOwned(builder, true);
+
+        builder.delete(Person.class)
+                .update(Document.class)
+                // document.people.friend
+                .delete(Person.class)
+                .update(Document.class)
+                // document.versions
+                .delete(Version.class)
+                .delete(Version.class, "localized")
+                .delete(Document.class)
+                .validate();
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder;
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.update.subview.simple.creatable;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.update.AbstractEntityViewUpdateDocumentTest;
+import com.blazebit.persistence.view.testsuite.update.subview.simple.creatable.model.DocumentCreateView;
+import com.blazebit.persistence.view.testsuite.update.subview.simple.creatable.model.PersonCreateView;
+import com.blazebit.persistence.view.testsuite.update.subview.simple.creatable.model.PersonView;
+import com.blazebit.persistence.view.testsuite.update.subview.simple.creatable.model.UpdatableDocumentView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(Parameterized.class)
+// NOTE: No Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class EntityViewUpdateSimpleCreatableSaveAllTest extends AbstractEntityViewUpdateDocumentTest<UpdatableDocumentView> {
+
+    public EntityViewUpdateSimpleCreatableSaveAllTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableDocumentView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return MODE_STRATEGY_VERSION_COMBINATIONS;
+    }
+
+    @Override
+    protected void registerViewTypes(EntityViewConfiguration cfg) {
+        cfg.addEntityView(PersonView.class);
+        cfg.addEntityView(PersonCreateView.class);
+        cfg.addEntityView(DocumentCreateView.class);
+    }
+
+    @Test
+    public void testSaveAllPersistsReferencedViewsFirst() {
+        // Given
+        PersonCreateView newPerson1 = evm.create(PersonCreateView.class);
+        newPerson1.setName("newPerson1");
+        PersonCreateView newPerson2 = evm.create(PersonCreateView.class);
+        newPerson2.setName("newPerson2");
+        DocumentCreateView newDocument1 = evm.create(DocumentCreateView.class);
+        newDocument1.setName("newDocument1");
+        newDocument1.setOwner(newPerson1);
+        DocumentCreateView newDocument2 = evm.create(DocumentCreateView.class);
+        newDocument2.setName("newDocument2");
+        newDocument2.setOwner(newPerson2);
+        clearQueries();
+
+        // When
+        saveAll(Arrays.asList(newDocument1, newDocument2, newPerson1, newPerson2));
+
+        // Then
+        // The documents reference the persons, so the persons are persisted first
+        assertOrderedQuerySequence()
+                .insert(Person.class)
+                .insert(Person.class)
+                .insert(Document.class)
+                .insert(Document.class)
+                .validate();
+
+        assertNotNull(newPerson1.getId());
+        assertNotNull(newDocument1.getId());
+        clearPersistenceContextAndReload();
+        assertEquals(newPerson1.getId(), em.find(Document.class, newDocument1.getId()).getOwner().getId());
+        assertEquals(newPerson2.getId(), em.find(Document.class, newDocument2.getId()).getOwner().getId());
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder.assertSelect()
+                .fetching(Document.class)
+                .and();
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder.update(Document.class);
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.blazebit.persistence.integration.view.spring.impl;
 
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.spi.EntityViewIndex;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
@@ -53,10 +55,25 @@ public abstract class AbstractEntityViewConfigurationSource {
             scanner.addExcludeFilter(filter);
         }
 
+        // The index of the annotation processor only contains entity views and entity view listeners,
+        // so we can only use it if the default include filters are used.
+        // Entity views that weren't processed by the annotation processor aren't indexed, so using the index for discovery is opt-in
+        EntityViewIndex index = null;
+        if (!getIncludeFilters().iterator().hasNext() && environment != null
+                && Boolean.parseBoolean(environment.getProperty(ConfigurationProperties.INDEX_DISCOVERY_ENABLED))
+                && !Boolean.parseBoolean(environment.getProperty(ConfigurationProperties.INDEX_DISABLED))) {
+            index = EntityViewIndex.load(resourceLoader == null ? null : resourceLoader.getClassLoader());
+        }
+
         Set<BeanDefinition> result = new HashSet<BeanDefinition>();
 
         for (String basePackage : getBasePackages()) {
-            Set<BeanDefinition> candidate = scanner.findCandidateComponents(basePackage);
+            Set<BeanDefinition> candidate;
+            if (index == null || basePackage.indexOf('*') != -1 || basePackage.indexOf('?') != -1) {
+                candidate = scanner.findCandidateComponents(basePackage);
+            } else {
+                candidate = scanner.findCandidateComponents(index, basePackage, resourceLoader);
+            }
             result.addAll(candidate);
         }
 
@@ -19,8 +19,14 @@ package com.blazebit.persistence.integration.view.spring.impl;
 import com.blazebit.persistence.view.EntityView;
 import com.blazebit.persistence.view.EntityViewListener;
 import com.blazebit.persistence.view.EntityViewListeners;
+import com.blazebit.persistence.view.spi.EntityViewIndex;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ScannedGenericBeanDefinition;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
@@ -28,6 +34,9 @@ import org.springframework.core.type.filter.TypeFilter;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * @author Moritz Becker
@@ -59,6 +68,40 @@ public class EntityViewComponentProvider extends ClassPathScanningCandidateCompo
         });
     }
 
+    /**
+     * Returns the candidate components from the given entity view index within the given base package instead of scanning the class path.
+     *
+     * @param index The entity view index
+     * @param basePackage The base package
+     * @param resourceLoader The resource loader to use for reading the class metadata
+     * @return The candidate components
+     */
+    public Set<BeanDefinition> findCandidateComponents(EntityViewIndex index, String basePackage, ResourceLoader resourceLoader) {
+        String packagePrefix = getEnvironment().resolveRequiredPlaceholders(basePackage) + ".";
+        MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+        Set<BeanDefinition> candidates = new LinkedHashSet<>();
+        Set<String> classNames = new TreeSet<>(index.getEntityViewClassNames());
+        classNames.addAll(index.getEntityViewListenerClassNames());
+        try {
+            for (String className : classNames) {
+                if (!className.startsWith(packagePrefix)) {
+                    continue;
+                }
+                MetadataReader metadataReader = metadataReaderFactory.getMetadataReader(className);
+                if (isCandidateComponent(metadataReader)) {
+                    ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(metadataReader);
+                    beanDefinition.setSource(metadataReader.getResource());
+                    if (isCandidateComponent(beanDefinition)) {
+                        candidates.add(beanDefinition);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new BeanDefinitionStoreException("I/O failure during entity view index lookup", ex);
+        }
+        return candidates;
+    }
+
     @Override
     protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
         return beanDefinition.getMetadata().isIndependent();
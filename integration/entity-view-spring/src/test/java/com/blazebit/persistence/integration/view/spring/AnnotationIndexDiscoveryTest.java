@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.integration.view.spring;
+
+import com.blazebit.persistence.integration.view.spring.views.sub1.TestView1;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.inject.Inject;
+import java.util.Set;
+
+/**
+ * The test index only contains {@link TestView1}, so only that view is discovered when the index is used for discovery.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = AnnotationIndexDiscoveryTest.TestConfig.class)
+@TestPropertySource(properties = "com.blazebit.persistence.view.index_discovery_enabled=true")
+public class AnnotationIndexDiscoveryTest {
+
+    @Inject
+    private EntityViewConfiguration entityViewConfiguration;
+
+    @Test
+    public void testInjection() {
+        Set<Class<?>> entityViews = entityViewConfiguration.getEntityViews();
+        Assert.assertEquals(1, entityViews.size());
+        Assert.assertTrue(entityViewConfiguration.getEntityViews().contains(TestView1.class));
+    }
+
+    @Configuration
+    @EnableEntityViews
+    static class TestConfig {
+    }
+}
@@ -36,6 +36,7 @@ import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ServiceProviderBuildItem;
+import io.quarkus.deployment.pkg.steps.NativeBuild;
 import io.quarkus.hibernate.orm.deployment.AdditionalJpaModelBuildItem;
 import io.quarkus.hibernate.orm.deployment.PersistenceUnitDescriptorBuildItem;
 import io.quarkus.hibernate.orm.runtime.PersistenceUnitUtil;
@@ -48,6 +49,7 @@ import org.jboss.jandex.IndexView;
 import org.jboss.logging.Logger;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -341,6 +343,28 @@ class BlazePersistenceProcessor {
         }
     }
 
+    @BuildStep(onlyIf = NativeBuild.class)
+    void verifyStaticImplementations(EntityViewsBuildItem entityViewsBuildItem, CombinedIndexBuildItem indexBuildItem) {
+        // Entity view proxies can't be generated at runtime in a native image,
+        // so abstract entity views need an implementation generated by the annotation processor
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Set<String> entityViewClassesWithoutImplementation = new TreeSet<>();
+        for (String entityViewClassName : entityViewsBuildItem.getEntityViewClassNames()) {
+            ClassInfo entityViewClassInfo = indexBuildItem.getIndex().getClassByName(DotName.createSimple(entityViewClassName));
+            if (entityViewClassInfo != null && !Modifier.isInterface(entityViewClassInfo.flags()) && !Modifier.isAbstract(entityViewClassInfo.flags())) {
+                continue;
+            }
+            String implementationClassName = entityViewClassName.replace("$", "") + "Impl";
+            if (classLoader.getResource(implementationClassName.replace('.', '/') + ".class") == null) {
+                entityViewClassesWithoutImplementation.add(entityViewClassName);
+            }
+        }
+        if (!entityViewClassesWithoutImplementation.isEmpty()) {
+            LOG.warnf("No static implementation was generated for the following entity views which will fail at runtime in a native image. Make sure the blaze-persistence-entity-view-processor annotation processor runs for:\n\t- %s",
+                    String.join("\n\t- ", entityViewClassesWithoutImplementation));
+        }
+    }
+
     private List<String> getGeneratedEntityViewModelClassNames(String entityViewClassName) {
         return Arrays.asList(
                 entityViewClassName.replace("$", "") + "_",
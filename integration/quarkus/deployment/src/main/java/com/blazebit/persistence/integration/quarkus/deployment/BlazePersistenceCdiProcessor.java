@@ -21,6 +21,7 @@ import com.blazebit.persistence.integration.quarkus.runtime.BlazePersistenceInst
 import com.blazebit.persistence.integration.quarkus.runtime.BlazePersistenceInstanceUtil;
 import com.blazebit.persistence.integration.quarkus.runtime.EntityViewRecorder;
 import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.AnnotationsTransformerBuildItem;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
@@ -32,6 +33,7 @@ import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.hibernate.orm.runtime.PersistenceUnitUtil;
+import io.quarkus.runtime.RuntimeValue;
 import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.AnnotationValue;
 import org.jboss.jandex.DotName;
@@ -39,7 +41,9 @@ import org.jboss.jandex.FieldInfo;
 
 import javax.enterprise.inject.Default;
 import javax.inject.Singleton;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 /**
@@ -99,10 +103,30 @@ class BlazePersistenceCdiProcessor {
         return new AnnotationsTransformerBuildItem(transformer);
     }
 
+    @Record(ExecutionTime.STATIC_INIT)
+    @BuildStep
+    void prepareEntityViewConfigurations(EntityViewRecorder recorder,
+                                         List<BlazePersistenceInstanceDescriptorBuildItem> blazePersistenceDescriptors,
+                                         BuildProducer<PreparedEntityViewConfigurationBuildItem> preparedEntityViewConfigurationProducer) {
+        // Reading the entity view mappings does not require a persistence unit, so we do it during static init
+        // which is executed during the build for native images
+        for (BlazePersistenceInstanceDescriptorBuildItem blazePersistenceDescriptor : blazePersistenceDescriptors) {
+            preparedEntityViewConfigurationProducer.produce(new PreparedEntityViewConfigurationBuildItem(
+                    blazePersistenceDescriptor.getBlazePersistenceInstanceName(),
+                    recorder.prepareEntityViewConfiguration(
+                            blazePersistenceDescriptor.getBlazePersistenceConfig(),
+                            blazePersistenceDescriptor.getEntityViewClasses(),
+                            blazePersistenceDescriptor.getEntityViewListenerClasses()
+                    )
+            ));
+        }
+    }
+
     @Record(ExecutionTime.RUNTIME_INIT)
     @BuildStep
     void generateBeans(EntityViewRecorder recorder,
                                  List<BlazePersistenceInstanceDescriptorBuildItem> blazePersistenceDescriptors,
+                                 List<PreparedEntityViewConfigurationBuildItem> preparedEntityViewConfigurationBuildItems,
                                  BuildProducer<AdditionalBeanBuildItem> additionalBeans,
                                  BuildProducer<SyntheticBeanBuildItem> syntheticBeanBuildItemBuildProducer) {
         if (blazePersistenceDescriptors.isEmpty()) {
@@ -110,6 +134,11 @@ class BlazePersistenceCdiProcessor {
             return;
         }
 
+        Map<String, RuntimeValue<EntityViewConfiguration>> preparedEntityViewConfigurations = new HashMap<>(preparedEntityViewConfigurationBuildItems.size());
+        for (PreparedEntityViewConfigurationBuildItem preparedEntityViewConfigurationBuildItem : preparedEntityViewConfigurationBuildItems) {
+            preparedEntityViewConfigurations.put(preparedEntityViewConfigurationBuildItem.getBlazePersistenceInstanceName(), preparedEntityViewConfigurationBuildItem.getEntityViewConfiguration());
+        }
+
         // add the @BlazePersistenceInstance class otherwise it won't be registered as a qualifier
         additionalBeans.produce(AdditionalBeanBuildItem.builder().addBeanClass(BlazePersistenceInstance.class).build());
 
@@ -132,10 +161,8 @@ class BlazePersistenceCdiProcessor {
                             true,
                             EntityViewManager.class,
                             recorder.entityViewManagerSupplier(
-                                    blazePersistenceConfig,
                                     blazePersistenceInstanceName,
-                                    blazePersistenceDescriptor.getEntityViewClasses(),
-                                    blazePersistenceDescriptor.getEntityViewListenerClasses()
+                                    preparedEntityViewConfigurations.get(blazePersistenceInstanceName)
                             ),
                             false));
 
@@ -160,10 +187,8 @@ class BlazePersistenceCdiProcessor {
                             defaultBlazePersistenceInstance,
                             EntityViewManager.class,
                             recorder.entityViewManagerSupplier(
-                                    blazePersistenceConfig,
                                     blazePersistenceInstanceName,
-                                    blazePersistenceDescriptor.getEntityViewClasses(),
-                                    blazePersistenceDescriptor.getEntityViewListenerClasses()
+                                    preparedEntityViewConfigurations.get(blazePersistenceInstanceName)
                             ),
                             false));
         }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.quarkus.deployment;
+
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import io.quarkus.builder.item.MultiBuildItem;
+import io.quarkus.runtime.RuntimeValue;
+
+/**
+ * The entity view configuration of a Blaze-Persistence instance as prepared during static init.
+ *
+ * @author Christian Beikov
+ * @since 1.6.12
+ */
+public final class PreparedEntityViewConfigurationBuildItem extends MultiBuildItem {
+    private final String blazePersistenceInstanceName;
+    private final RuntimeValue<EntityViewConfiguration> entityViewConfiguration;
+
+    public PreparedEntityViewConfigurationBuildItem(String blazePersistenceInstanceName, RuntimeValue<EntityViewConfiguration> entityViewConfiguration) {
+        this.blazePersistenceInstanceName = blazePersistenceInstanceName;
+        this.entityViewConfiguration = entityViewConfiguration;
+    }
+
+    public String getBlazePersistenceInstanceName() {
+        return blazePersistenceInstanceName;
+    }
+
+    public RuntimeValue<EntityViewConfiguration> getEntityViewConfiguration() {
+        return entityViewConfiguration;
+    }
+}
@@ -25,6 +25,7 @@ import com.blazebit.persistence.view.EntityViews;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
 import io.quarkus.arc.Arc;
 import io.quarkus.hibernate.orm.runtime.JPAConfig;
+import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.runtime.annotations.Recorder;
 
 import javax.enterprise.inject.Default;
@@ -57,34 +58,47 @@ public class EntityViewRecorder {
         };
     }
 
-    public Supplier<EntityViewManager> entityViewManagerSupplier(BlazePersistenceInstanceConfiguration blazePersistenceConfig,
-                                                                 String blazePersistenceInstanceName,
-                                                                 Set<String> entityViewClasses,
-                                                                 Set<String> entityViewListenerClasses) {
-        return () -> {
-            EntityViewConfiguration entityViewConfiguration = EntityViews.createDefaultConfiguration();
-            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-            for (String entityViewClass : entityViewClasses) {
-                try {
-                    entityViewConfiguration.addEntityView(
-                        classLoader.loadClass(entityViewClass)
-                    );
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
+    /**
+     * Reads the entity view and entity view listener mappings during static init, so that annotation processing
+     * and class loading is done at build time for native images and before application start in JVM mode.
+     *
+     * @param blazePersistenceConfig The Blaze-Persistence instance configuration
+     * @param entityViewClasses The entity view class names
+     * @param entityViewListenerClasses The entity view listener class names
+     * @return The prepared entity view configuration
+     */
+    public RuntimeValue<EntityViewConfiguration> prepareEntityViewConfiguration(BlazePersistenceInstanceConfiguration blazePersistenceConfig,
+                                                                                Set<String> entityViewClasses,
+                                                                                Set<String> entityViewListenerClasses) {
+        EntityViewConfiguration entityViewConfiguration = EntityViews.createDefaultConfiguration();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (String entityViewClass : entityViewClasses) {
+            try {
+                entityViewConfiguration.addEntityView(
+                    classLoader.loadClass(entityViewClass)
+                );
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
             }
-            for (String entityViewListenerClass : entityViewListenerClasses) {
-                try {
-                    entityViewConfiguration.addEntityViewListener(
-                            classLoader.loadClass(entityViewListenerClass)
-                    );
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
+        }
+        for (String entityViewListenerClass : entityViewListenerClasses) {
+            try {
+                entityViewConfiguration.addEntityViewListener(
+                        classLoader.loadClass(entityViewListenerClass)
+                );
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
             }
-            blazePersistenceConfig.apply(entityViewConfiguration);
-            entityViewConfiguration.setProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED, Boolean.FALSE.toString());
+        }
+        blazePersistenceConfig.apply(entityViewConfiguration);
+        entityViewConfiguration.setProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED, Boolean.FALSE.toString());
+        return new RuntimeValue<>(entityViewConfiguration);
+    }
 
+    public Supplier<EntityViewManager> entityViewManagerSupplier(String blazePersistenceInstanceName,
+                                                                 RuntimeValue<EntityViewConfiguration> preparedEntityViewConfiguration) {
+        return () -> {
+            EntityViewConfiguration entityViewConfiguration = preparedEntityViewConfiguration.getValue();
             Annotation[] cbfQualifiers;
             if (BlazePersistenceInstanceUtil.isDefaultBlazePersistenceInstance(blazePersistenceInstanceName)) {
                 cbfQualifiers = new Annotation[] { new Default.Literal() };